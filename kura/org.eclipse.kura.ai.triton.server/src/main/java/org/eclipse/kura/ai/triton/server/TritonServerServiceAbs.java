@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Eurotech and/or its affiliates and others
+ * Copyright (c) 2022, 2023 Eurotech and/or its affiliates and others
  *
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -18,15 +18,9 @@ import static java.util.Objects.nonNull;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
-import java.nio.DoubleBuffer;
-import java.nio.FloatBuffer;
-import java.nio.IntBuffer;
-import java.nio.LongBuffer;
-import java.nio.ShortBuffer;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -51,6 +45,7 @@ import org.slf4j.LoggerFactory;
 
 import com.google.protobuf.ByteString;
 import com.google.protobuf.ProtocolStringList;
+import com.google.protobuf.UnsafeByteOperations;
 
 import inference.GRPCInferenceServiceGrpc;
 import inference.GRPCInferenceServiceGrpc.GRPCInferenceServiceBlockingStub;
@@ -374,7 +369,15 @@ public abstract class TritonServerServiceAbs implements InferenceEngineService,
             if (!modelInfo.getParameters().isEmpty()) {
                 inferRequest.putAllParameters(getInferParameters(modelInfo.getParameters()));
             }
-            inputData.forEach(input -> inferRequest.addInputs(createInputDataBuilder(input)));
+            if (inputData.stream().anyMatch(input -> input.getBuffer().isPresent())) {
+                // raw contents must be used for all the inputs or for none of them
+                inputData.forEach(input -> {
+                    inferRequest.addInputs(createInputTensorBuilder(input));
+                    inferRequest.addRawInputContents(createRawInputContents(input));
+                });
+            } else {
+                inputData.forEach(input -> inferRequest.addInputs(createInputDataBuilder(input)));
+            }
             modelInfo.getOutputs().forEach(
                     outputDescriptor -> inferRequest.addOutputs(createRequestedOutputBuilder(outputDescriptor)));
 
@@ -482,17 +485,150 @@ public abstract class TritonServerServiceAbs implements InferenceEngineService,
             throw new IllegalArgumentException("Date type " + modelInputType + " not supported");
         }
 
+        ModelInferRequest.InferInputTensor.Builder inputBuilder = createInputTensorBuilder(input);
+        inputBuilder.setContents(inputDataBuilder);
+        return inputBuilder;
+    }
+
+    private ModelInferRequest.InferInputTensor.Builder createInputTensorBuilder(Tensor input) {
         ModelInferRequest.InferInputTensor.Builder inputBuilder = ModelInferRequest.InferInputTensor.newBuilder();
         inputBuilder.setName(input.getDescriptor().getName());
         inputBuilder.setDatatype(input.getDescriptor().getType());
         input.getDescriptor().getShape().forEach(inputBuilder::addShape);
-        inputBuilder.setContents(inputDataBuilder);
         if (!input.getDescriptor().getParameters().isEmpty()) {
             inputBuilder.putAllParameters(getInferParameters(input.getDescriptor().getParameters()));
         }
         return inputBuilder;
     }
 
+    private ByteString createRawInputContents(Tensor input) {
+        DataType modelInputType = DataType.valueOf(input.getDescriptor().getType());
+        Class<?> elementType = getRawElementType(modelInputType);
+        Optional<ByteBuffer> inputBuffer = input.getBuffer();
+
+        if (inputBuffer.isPresent() && input.getType() != elementType) {
+            throw new IllegalArgumentException("Expected a buffer of " + elementType.getSimpleName()
+                    + " but got a buffer of " + input.getType().getSimpleName());
+        }
+
+        ByteBuffer contents;
+
+        if (inputBuffer.isPresent() && modelInputType != DataType.BYTES) {
+            // the buffer is read only, it can be sent without copying it
+            contents = inputBuffer.get();
+        } else if (inputBuffer.isPresent()) {
+            contents = ByteBuffer.allocate(4 + inputBuffer.get().remaining()).order(ByteOrder.LITTLE_ENDIAN);
+            contents.putInt(inputBuffer.get().remaining());
+            contents.put(inputBuffer.get());
+            contents.flip();
+        } else {
+            contents = listToBuffer(input, modelInputType);
+        }
+
+        return UnsafeByteOperations.unsafeWrap(contents);
+    }
+
+    private static Class<?> getRawElementType(DataType dataType) {
+        switch (dataType) {
+        case BOOL:
+            return Boolean.class;
+        case UINT8:
+        case INT8:
+        case BYTES:
+            return Byte.class;
+        case UINT16:
+        case INT16:
+            return Short.class;
+        case UINT32:
+        case INT32:
+            return Integer.class;
+        case UINT64:
+        case INT64:
+            return Long.class;
+        case FP32:
+            return Float.class;
+        case FP64:
+            return Double.class;
+        default:
+            throw new IllegalArgumentException("Date type " + dataType + " not supported");
+        }
+    }
+
+    private ByteBuffer listToBuffer(Tensor input, DataType dataType) {
+        List<?> data = input.getData(input.getType()).orElseThrow(
+                () -> new IllegalArgumentException("Cannot read data of tensor " + input.getDescriptor().getName()));
+        ByteBuffer buffer;
+
+        if (dataType == DataType.BYTES) {
+            buffer = ByteBuffer.allocate(4 + data.size()).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(data.size());
+        } else {
+            buffer = ByteBuffer.allocate(getRawElementSize(dataType) * data.size()).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        for (Object element : data) {
+            putRawElement(buffer, dataType, element);
+        }
+
+        buffer.flip();
+        return buffer;
+    }
+
+    private static int getRawElementSize(DataType dataType) {
+        Class<?> elementType = getRawElementType(dataType);
+
+        if (elementType == Boolean.class || elementType == Byte.class) {
+            return 1;
+        } else if (elementType == Short.class) {
+            return 2;
+        } else if (elementType == Integer.class || elementType == Float.class) {
+            return 4;
+        } else {
+            return 8;
+        }
+    }
+
+    private static void putRawElement(ByteBuffer buffer, DataType dataType, Object element) {
+        if (dataType == DataType.BOOL && element instanceof Boolean) {
+            buffer.put((byte) ((Boolean) element ? 1 : 0));
+            return;
+        }
+
+        if (!(element instanceof Number)) {
+            throw new IllegalArgumentException("Cannot convert " + element + " to " + dataType);
+        }
+
+        Number number = (Number) element;
+
+        switch (dataType) {
+        case UINT8:
+        case INT8:
+        case BYTES:
+            buffer.put(number.byteValue());
+            break;
+        case UINT16:
+        case INT16:
+            buffer.putShort(number.shortValue());
+            break;
+        case UINT32:
+        case INT32:
+            buffer.putInt(number.intValue());
+            break;
+        case UINT64:
+        case INT64:
+            buffer.putLong(number.longValue());
+            break;
+        case FP32:
+            buffer.putFloat(number.floatValue());
+            break;
+        case FP64:
+            buffer.putDouble(number.doubleValue());
+            break;
+        default:
+            throw new IllegalArgumentException("Cannot convert " + element + " to " + dataType);
+        }
+    }
+
     private <T> void addDataTypeInputData(Tensor input, Class<T> clazz, Consumer<List<T>> dataConsumer) {
         dataConsumer.accept(input.getData(clazz).orElseThrow(() -> new IllegalArgumentException(
                 "Expected a list of " + clazz.getSimpleName() + " but got a list of " + input.getType())));
@@ -595,210 +731,25 @@ public abstract class TritonServerServiceAbs implements InferenceEngineService,
                 }
                 TensorDescriptor outputDescriptor = outputDescriptorBuilder.build();
 
-                switch (outputType) {
-                case BOOL:
-                    List<Boolean> booleanList = bufferToBooleanList(
-                            byteStringResponse.asReadOnlyByteBuffer().order(ByteOrder.LITTLE_ENDIAN));
-                    results.add(new Tensor(Boolean.class, outputDescriptor, booleanList));
-                    break;
-                case UINT8:
-                case INT8:
-                    List<Byte> byteList = bufferToByteList(
-                            byteStringResponse.asReadOnlyByteBuffer().order(ByteOrder.LITTLE_ENDIAN));
-                    results.add(new Tensor(Byte.class, outputDescriptor, byteList));
-                    break;
-                case UINT16:
-                case INT16:
-                    List<Short> shortList = bufferToShortList(
-                            byteStringResponse.asReadOnlyByteBuffer().order(ByteOrder.LITTLE_ENDIAN).asShortBuffer());
-                    results.add(new Tensor(Short.class, outputDescriptor, shortList));
-                    break;
-                case UINT32:
-                case INT32:
-                    List<Integer> integerList = bufferToIntList(
-                            byteStringResponse.asReadOnlyByteBuffer().order(ByteOrder.LITTLE_ENDIAN).asIntBuffer());
-                    results.add(new Tensor(Integer.class, outputDescriptor, integerList));
-                    break;
-                case UINT64:
-                case INT64:
-                    List<Long> longList = bufferToLongList(
-                            byteStringResponse.asReadOnlyByteBuffer().order(ByteOrder.LITTLE_ENDIAN).asLongBuffer());
-                    results.add(new Tensor(Long.class, outputDescriptor, longList));
-                    break;
-                case FP32:
-                    List<Float> floatList = bufferToFloatList(
-                            byteStringResponse.asReadOnlyByteBuffer().order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer());
-                    results.add(new Tensor(Float.class, outputDescriptor, floatList));
-                    break;
-                case FP64:
-                    List<Double> doubleList = bufferToDoubleList(
-                            byteStringResponse.asReadOnlyByteBuffer().order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer());
-                    results.add(new Tensor(Double.class, outputDescriptor, doubleList));
-                    break;
-                case BYTES:
-                    List<Byte> bytesList = bufferToBytes(
-                            byteStringResponse.asReadOnlyByteBuffer().order(ByteOrder.LITTLE_ENDIAN));
-                    results.add(new Tensor(Byte.class, outputDescriptor, bytesList));
-                    break;
-                default:
-                    throw new IllegalArgumentException("Date type " + outputType + " not supported");
-                }
-            }
-        }
-
-        return results;
-    }
+                // the output tensors are views of the response contents, the data is not copied or boxed
+                ByteBuffer rawContents = byteStringResponse.asReadOnlyByteBuffer();
 
-    private List<Byte> bufferToBytes(ByteBuffer buffer) {
-        List<Byte> byteList = new ArrayList<>();
-        if (buffer.capacity() < 4) {
-            throw new IllegalArgumentException("Too few bytes in buffer; cannot read array length");
-        }
-        buffer.getInt();
-        while (buffer.hasRemaining()) {
-            byteList.add(buffer.get());
-        }
-        return byteList;
-    }
-
-    private List<Float> bufferToFloatList(FloatBuffer buffer) {
-        List<Float> floatList = new ArrayList<>();
-        float[] floatArray;
-        if (buffer.hasArray()) {
-            if (buffer.arrayOffset() == 0) {
-                floatArray = buffer.array();
-            } else {
-                floatArray = Arrays.copyOfRange(buffer.array(), buffer.arrayOffset(), buffer.array().length);
-            }
-        } else {
-            buffer.rewind();
-            floatArray = new float[buffer.remaining()];
-            buffer.get(floatArray);
-        }
-        for (float floatValue : floatArray) {
-            floatList.add(floatValue);
-        }
-        return floatList;
-    }
-
-    private List<Double> bufferToDoubleList(DoubleBuffer buffer) {
-        List<Double> doubleList = new ArrayList<>();
-        double[] doubleArray;
-        if (buffer.hasArray()) {
-            if (buffer.arrayOffset() == 0) {
-                doubleArray = buffer.array();
-            } else {
-                doubleArray = Arrays.copyOfRange(buffer.array(), buffer.arrayOffset(), buffer.array().length);
-            }
-        } else {
-            buffer.rewind();
-            doubleArray = new double[buffer.remaining()];
-            buffer.get(doubleArray);
-        }
-        for (double doubleValue : doubleArray) {
-            doubleList.add(doubleValue);
-        }
-        return doubleList;
-    }
-
-    private List<Long> bufferToLongList(LongBuffer buffer) {
-        List<Long> longList = new ArrayList<>();
-        long[] longArray;
-        if (buffer.hasArray()) {
-            if (buffer.arrayOffset() == 0) {
-                longArray = buffer.array();
-            } else {
-                longArray = Arrays.copyOfRange(buffer.array(), buffer.arrayOffset(), buffer.array().length);
-            }
-        } else {
-            buffer.rewind();
-            longArray = new long[buffer.remaining()];
-            buffer.get(longArray);
-        }
-        for (long longValue : longArray) {
-            longList.add(longValue);
-        }
-        return longList;
-    }
-
-    private List<Integer> bufferToIntList(IntBuffer buffer) {
-        List<Integer> intList = new ArrayList<>();
-        int[] intArray;
-        if (buffer.hasArray()) {
-            if (buffer.arrayOffset() == 0) {
-                intArray = buffer.array();
-            } else {
-                intArray = Arrays.copyOfRange(buffer.array(), buffer.arrayOffset(), buffer.array().length);
-            }
-        } else {
-            buffer.rewind();
-            intArray = new int[buffer.remaining()];
-            buffer.get(intArray);
-        }
-        for (int intValue : intArray) {
-            intList.add(intValue);
-        }
-        return intList;
-    }
+                if (outputType == DataType.BYTES) {
+                    if (rawContents.remaining() < 4) {
+                        throw new IllegalArgumentException("Too few bytes in buffer; cannot read array length");
+                    }
+                    rawContents.position(rawContents.position() + 4);
+                }
 
-    private List<Short> bufferToShortList(ShortBuffer buffer) {
-        List<Short> shortList = new ArrayList<>();
-        short[] shortArray;
-        if (buffer.hasArray()) {
-            if (buffer.arrayOffset() == 0) {
-                shortArray = buffer.array();
-            } else {
-                shortArray = Arrays.copyOfRange(buffer.array(), buffer.arrayOffset(), buffer.array().length);
+                results.add(createBufferTensor(getRawElementType(outputType), outputDescriptor, rawContents));
             }
-        } else {
-            buffer.rewind();
-            shortArray = new short[buffer.remaining()];
-            buffer.get(shortArray);
-        }
-        for (short shortValue : shortArray) {
-            shortList.add(shortValue);
         }
-        return shortList;
-    }
 
-    private List<Byte> bufferToByteList(ByteBuffer buffer) {
-        List<Byte> byteList = new ArrayList<>();
-        byte[] byteArray;
-        if (buffer.hasArray()) {
-            if (buffer.arrayOffset() == 0) {
-                byteArray = buffer.array();
-            } else {
-                byteArray = Arrays.copyOfRange(buffer.array(), buffer.arrayOffset(), buffer.array().length);
-            }
-        } else {
-            buffer.rewind();
-            byteArray = new byte[buffer.remaining()];
-            buffer.get(byteArray);
-        }
-        for (byte byteValue : byteArray) {
-            byteList.add(byteValue);
-        }
-        return byteList;
+        return results;
     }
 
-    private List<Boolean> bufferToBooleanList(ByteBuffer buffer) {
-        List<Boolean> booleanList = new ArrayList<>();
-        byte[] byteArray;
-        if (buffer.hasArray()) {
-            if (buffer.arrayOffset() == 0) {
-                byteArray = buffer.array();
-            } else {
-                byteArray = Arrays.copyOfRange(buffer.array(), buffer.arrayOffset(), buffer.array().length);
-            }
-        } else {
-            buffer.rewind();
-            byteArray = new byte[buffer.remaining()];
-            buffer.get(byteArray);
-        }
-        for (byte byteValue : byteArray) {
-            booleanList.add(byteValue == 0x01);
-        }
-        return booleanList;
+    private static <T> Tensor createBufferTensor(Class<T> type, TensorDescriptor descriptor, ByteBuffer contents) {
+        return new Tensor(type, descriptor, contents);
     }
 
     private static void sleepFor(long timeout) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Eurotech and/or its affiliates and others
+ * Copyright (c) 2022, 2023 Eurotech and/or its affiliates and others
  *
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -12,14 +12,22 @@
  ******************************************************************************/
 package org.eclipse.kura.ai.inference;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.AbstractList;
 import java.util.List;
 import java.util.Optional;
+import java.util.RandomAccess;
 
 import org.osgi.annotation.versioning.ProviderType;
 
 /**
  * The Tensor class represents the input or output of a model
  * for Artificial Intelligence and Machine Learning algorithms
+ * <p>
+ * The data of a tensor can be stored either as a list of objects or, since 2.7, as a {@link ByteBuffer} containing
+ * the primitive values of the elements. The latter avoids allocating an object for each element and allows
+ * {@link InferenceEngineService} implementations to transfer the data without conversions.
  *
  * @since 2.3
  */
@@ -29,6 +37,7 @@ public class Tensor {
     private final TensorDescriptor descriptor;
     private final Class<?> type;
     private final List<?> data;
+    private final ByteBuffer buffer;
 
     /**
      * Instantiates a Tensor
@@ -44,6 +53,41 @@ public class Tensor {
         this.type = type;
         this.descriptor = descriptor;
         this.data = data;
+        this.buffer = null;
+    }
+
+    /**
+     * Instantiates a Tensor backed by a {@link ByteBuffer}.
+     * <p>
+     * The content of the buffer between its position and its limit must be the values of the elements, packed one
+     * after the other in little endian byte order. The supported types and the related element sizes are
+     * {@link Boolean} (1 byte, zero means false), {@link Byte} (1 byte), {@link Short} (2 bytes), {@link Integer}
+     * (4 bytes), {@link Long} (8 bytes), {@link Float} (4 bytes) and {@link Double} (8 bytes).
+     * <p>
+     * The buffer is not copied, its content must not be modified after the tensor has been created.
+     *
+     * @param type
+     *            the type of tensor data as Java class
+     * @param descriptor
+     *            the {@link TensorDescriptor} of this tensor
+     * @param buffer
+     *            the buffer containing the data of this tensor
+     * @throws IllegalArgumentException
+     *             if the type is not supported or if the buffer size is not a multiple of the element size
+     * @since 2.7
+     */
+    public <T> Tensor(Class<T> type, TensorDescriptor descriptor, ByteBuffer buffer) {
+        final int elementSize = elementSize(type);
+
+        if (buffer.remaining() % elementSize != 0) {
+            throw new IllegalArgumentException("The buffer size " + buffer.remaining()
+                    + " is not a multiple of the size of " + type.getSimpleName());
+        }
+
+        this.type = type;
+        this.descriptor = descriptor;
+        this.buffer = buffer.slice().asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+        this.data = new BufferList<>(type, this.buffer, elementSize);
     }
 
     /**
@@ -57,6 +101,9 @@ public class Tensor {
 
     /**
      * Return the data contained in the tensor
+     * <p>
+     * If the tensor is backed by a {@link ByteBuffer}, the returned list is an unmodifiable view of the buffer and
+     * the elements are converted at each access. In this case {@link #getBuffer()} should be preferred.
      *
      * @param type
      *            the type of the data as Java class. The type argument must match the type of the tensor.
@@ -71,6 +118,22 @@ public class Tensor {
         }
     }
 
+    /**
+     * Return the buffer containing the data of the tensor, if the tensor is backed by a {@link ByteBuffer}.
+     * <p>
+     * The returned buffer is read only, uses little endian byte order and its position is zero. See
+     * {@link #Tensor(Class, TensorDescriptor, ByteBuffer)} for the format of the content.
+     *
+     * @return the buffer containing the data of the tensor, or an empty optional if the data is stored as a list
+     * @since 2.7
+     */
+    public Optional<ByteBuffer> getBuffer() {
+        if (this.buffer == null) {
+            return Optional.empty();
+        }
+        return Optional.of(this.buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN));
+    }
+
     /**
      * Return the type of the tensor
      *
@@ -79,4 +142,65 @@ public class Tensor {
     public Class<?> getType() {
         return this.type;
     }
+
+    private static int elementSize(final Class<?> type) {
+        if (type == Boolean.class || type == Byte.class) {
+            return 1;
+        } else if (type == Short.class) {
+            return 2;
+        } else if (type == Integer.class || type == Float.class) {
+            return 4;
+        } else if (type == Long.class || type == Double.class) {
+            return 8;
+        }
+        throw new IllegalArgumentException("Type " + type + " is not supported by buffer backed tensors");
+    }
+
+    private static final class BufferList<T> extends AbstractList<T> implements RandomAccess {
+
+        private final Class<T> type;
+        private final ByteBuffer buffer;
+        private final int elementSize;
+        private final int size;
+
+        BufferList(final Class<T> type, final ByteBuffer buffer, final int elementSize) {
+            this.type = type;
+            this.buffer = buffer;
+            this.elementSize = elementSize;
+            this.size = buffer.remaining() / elementSize;
+        }
+
+        @Override
+        public T get(final int index) {
+            if (index < 0 || index >= this.size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+            }
+
+            final int offset = index * this.elementSize;
+            final Object result;
+
+            if (this.type == Boolean.class) {
+                result = this.buffer.get(offset) != 0;
+            } else if (this.type == Byte.class) {
+                result = this.buffer.get(offset);
+            } else if (this.type == Short.class) {
+                result = this.buffer.getShort(offset);
+            } else if (this.type == Integer.class) {
+                result = this.buffer.getInt(offset);
+            } else if (this.type == Long.class) {
+                result = this.buffer.getLong(offset);
+            } else if (this.type == Float.class) {
+                result = this.buffer.getFloat(offset);
+            } else {
+                result = this.buffer.getDouble(offset);
+            }
+
+            return this.type.cast(result);
+        }
+
+        @Override
+        public int size() {
+            return this.size;
+        }
+    }
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2020 Eurotech and/or its affiliates and others
+ * Copyright (c) 2016, 2023 Eurotech and/or its affiliates and others
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -74,6 +74,32 @@ public interface Asset {
      */
     public List<ChannelRecord> read(Set<String> channelNames) throws KuraException;
 
+    /**
+     * Reads the channels identified by the provided names, allowing the values that have been read or received
+     * through a channel listener at most {@code maxAge} milliseconds ago to be returned without performing a new read
+     * operation. Only the channels without a recent enough value are read from the device.
+     * <br>
+     * The default implementation ignores {@code maxAge} and calls {@link #read(Set)}.
+     *
+     * @param channelNames
+     *            the set of channel names which are to be read
+     * @param maxAge
+     *            the maximum age in milliseconds of the returned values, if zero or negative all the channels are
+     *            read
+     * @throws KuraException
+     *             if the connection to the asset was interrupted, then error
+     *             code {@code KuraErrorCode#CONNECTION_FAILED} needs to be set
+     *             in the thrown {@link KuraException}.
+     * @throws NullPointerException
+     *             if argument is null
+     * @return the list of channel records
+     * @see #read(Set)
+     * @since 2.7
+     */
+    public default List<ChannelRecord> read(Set<String> channelNames, long maxAge) throws KuraException {
+        return read(channelNames);
+    }
+
     /**
      * Performs a read on all READ or READ_WRITE channels that are defined on this asset and returns
      * the result as a list of {@link ChannelRecord} instances.
@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ ******************************************************************************/
+package org.eclipse.kura.scheduler;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.osgi.annotation.versioning.ProviderType;
+
+/**
+ * The SchedulerService allows to run delayed and periodic tasks on worker pools shared by the whole framework, instead
+ * of creating dedicated threads in each component.
+ * <p>
+ * Every task has a name, that is used to collect execution statistics (see {@link #getTaskStatistics()}) and to
+ * identify the task in thread dumps, and a {@link WorkloadClass} that selects the worker pool that will run it.
+ * <p>
+ * Periodic tasks follow the same rules as {@link java.util.concurrent.ScheduledExecutorService}: the executions of a
+ * task never overlap and, if an execution throws an exception, subsequent executions are suppressed. Tasks should not
+ * block for a long time unless they are submitted with the {@link WorkloadClass#BLOCKING} class.
+ * <p>
+ * When the service is deactivated, the futures of the tasks that are still pending complete exceptionally with a
+ * {@link java.util.concurrent.RejectedExecutionException}, and the methods of the service reject new tasks by
+ * throwing the same exception.
+ *
+ * @noimplement This interface is not intended to be implemented by clients.
+ * @since 2.7
+ */
+@ProviderType
+public interface SchedulerService {
+
+    /**
+     * Runs a task once after the given delay.
+     *
+     * @param name
+     *            the name of the task
+     * @param workloadClass
+     *            the class of the task
+     * @param task
+     *            the task to be executed
+     * @param delay
+     *            the delay after which the task will be executed
+     * @param unit
+     *            the time unit of the delay
+     * @return a {@link ScheduledFuture} that can be used to cancel the task and that completes when the task has been
+     *         executed
+     */
+    public ScheduledFuture<?> schedule(String name, WorkloadClass workloadClass, Runnable task, long delay,
+            TimeUnit unit);
+
+    /**
+     * Runs a task periodically, the first execution happens after {@code initialDelay}, the following ones after
+     * {@code initialDelay + period}, {@code initialDelay + 2 * period} and so on. If an execution takes longer than
+     * the period, the next one starts as soon as the previous one completes.
+     *
+     * @param name
+     *            the name of the task
+     * @param workloadClass
+     *            the class of the task
+     * @param task
+     *            the task to be executed
+     * @param initialDelay
+     *            the delay of the first execution
+     * @param period
+     *            the period between successive executions
+     * @param unit
+     *            the time unit of the initialDelay and period parameters
+     * @return a {@link ScheduledFuture} that can be used to cancel the task
+     */
+    public ScheduledFuture<?> scheduleAtFixedRate(String name, WorkloadClass workloadClass, Runnable task,
+            long initialDelay, long period, TimeUnit unit);
+
+    /**
+     * Runs a task periodically, the first execution happens after {@code initialDelay}, the following ones after
+     * the given delay from the completion of the previous one.
+     *
+     * @param name
+     *            the name of the task
+     * @param workloadClass
+     *            the class of the task
+     * @param task
+     *            the task to be executed
+     * @param initialDelay
+     *            the delay of the first execution
+     * @param delay
+     *            the delay between the completion of an execution and the start of the next one
+     * @param unit
+     *            the time unit of the initialDelay and delay parameters
+     * @return a {@link ScheduledFuture} that can be used to cancel the task
+     */
+    public ScheduledFuture<?> scheduleWithFixedDelay(String name, WorkloadClass workloadClass, Runnable task,
+            long initialDelay, long delay, TimeUnit unit);
+
+    /**
+     * Returns an {@link ExecutorService} that runs the submitted tasks one at a time, in submission order, on the
+     * worker pool of the given class. No thread is dedicated to the returned executor.
+     * <p>
+     * Calling {@link ExecutorService#shutdown()} or {@link ExecutorService#shutdownNow()} on the returned executor only
+     * affects the tasks submitted to it, the shared worker pools are not affected. The executor should be shut down
+     * when it is no longer needed.
+     *
+     * @param name
+     *            the name of the tasks submitted to the executor
+     * @param workloadClass
+     *            the class of the tasks submitted to the executor
+     * @return a serial executor
+     */
+    public ExecutorService newSerialExecutor(String name, WorkloadClass workloadClass);
+
+    /**
+     * Returns a snapshot of the execution statistics of the tasks submitted so far, indexed by task name.
+     *
+     * @return the task statistics
+     */
+    public Map<String, TaskStatistics> getTaskStatistics();
+}
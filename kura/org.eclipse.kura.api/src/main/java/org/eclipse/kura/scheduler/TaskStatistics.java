@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ ******************************************************************************/
+package org.eclipse.kura.scheduler;
+
+import org.osgi.annotation.versioning.ProviderType;
+
+/**
+ * Provides the execution statistics of the tasks submitted to the {@link SchedulerService} with a given name. The
+ * statistics of tasks with the same name are aggregated.
+ *
+ * @noimplement This interface is not intended to be implemented by clients.
+ * @since 2.7
+ */
+@ProviderType
+public interface TaskStatistics {
+
+    /**
+     * Returns the name of the task.
+     *
+     * @return the name of the task
+     */
+    public String getName();
+
+    /**
+     * Returns the {@link WorkloadClass} of the task.
+     *
+     * @return the workload class of the task
+     */
+    public WorkloadClass getWorkloadClass();
+
+    /**
+     * Returns the number of executions of the task, including the failed ones.
+     *
+     * @return the number of executions
+     */
+    public long getExecutionCount();
+
+    /**
+     * Returns the number of executions of the task that terminated with an exception.
+     *
+     * @return the number of failed executions
+     */
+    public long getFailureCount();
+
+    /**
+     * Returns the total time spent executing the task, in nanoseconds.
+     *
+     * @return the total execution time in nanoseconds
+     */
+    public long getTotalExecutionTimeNanos();
+
+    /**
+     * Returns the longest execution time of the task, in nanoseconds.
+     *
+     * @return the maximum execution time in nanoseconds
+     */
+    public long getMaxExecutionTimeNanos();
+
+    /**
+     * Returns the longest delay between the time at which the task was scheduled to run and the time at which it
+     * actually started, in nanoseconds. A large value means that the worker pool of the task is saturated.
+     *
+     * @return the maximum start delay in nanoseconds
+     */
+    public long getMaxStartDelayNanos();
+}
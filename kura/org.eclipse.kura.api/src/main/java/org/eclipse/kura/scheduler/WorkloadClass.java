@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ ******************************************************************************/
+package org.eclipse.kura.scheduler;
+
+/**
+ * Describes the kind of work performed by a task submitted to the {@link SchedulerService}. Tasks belonging to
+ * different classes are executed by separate worker pools, so that a class of tasks cannot starve the others.
+ *
+ * @since 2.7
+ */
+public enum WorkloadClass {
+
+    /**
+     * Short tasks that mostly wait for I/O, for example reading a field device or checking the status of a process.
+     */
+    IO,
+    /**
+     * Short tasks that mostly use the CPU, for example processing data.
+     */
+    CPU,
+    /**
+     * Tasks that can block for a long or unknown amount of time, for example legacy code performing synchronous
+     * network operations with long timeouts.
+     */
+    BLOCKING
+}
@@ -0,0 +1,18 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ ******************************************************************************/
+/**
+ * Defines APIs for scheduling tasks on the shared worker pools of the framework.
+ *
+ * @since 2.7
+ */
+package org.eclipse.kura.scheduler;
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ ******************************************************************************/
+package org.eclipse.kura.wire.graph;
+
+import java.util.List;
+
+import org.osgi.annotation.versioning.ProviderType;
+
+/**
+ * A factory that returns a {@link PortAggregator} that acts as a barrier with a time window for a provided set of
+ * input ports.
+ * The barrier behaves as follows:
+ *
+ * <ul>
+ * <li>It maintains, for each port, a slot that can contain a WireEnvelope.</li>
+ * <li>When a WireEnvelope is received on a port, the corresponding slot is filled with it. If the slot is not empty,
+ * its content is replaced</li>
+ * <li>When all slots are filled, their contents are provided to the registered callback and the slots are
+ * cleared.</li>
+ * <li>If the slots are not all filled within the time window, starting from the reception of the first WireEnvelope,
+ * their current contents are provided to the registered callback, with {@code null} in place of the empty slots, and
+ * the slots are cleared.</li>
+ * </ul>
+ *
+ * The registered callback is invoked without holding any lock, it can be invoked concurrently by different threads.
+ *
+ * @since 2.7
+ */
+@ProviderType
+public interface TimedBarrierAggregatorFactory extends PortAggregatorFactory {
+
+    /**
+     * Builds a barrier with the provided time window.
+     *
+     * @param ports
+     *            the ports to aggregate
+     * @param windowMillis
+     *            the time window in milliseconds, if less or equal than zero, the barrier waits until all slots are
+     *            filled
+     * @return the {@link PortAggregator}
+     */
+    public PortAggregator build(List<ReceiverPort> ports, long windowMillis);
+
+}
@@ -27,9 +27,11 @@ import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -59,14 +61,19 @@ import org.eclipse.kura.core.configuration.metatype.Tocd;
 import org.eclipse.kura.driver.Driver;
 import org.eclipse.kura.driver.PreparedRead;
 import org.eclipse.kura.internal.asset.provider.BaseAssetConfiguration;
+import org.eclipse.kura.internal.asset.provider.ChannelValueCache;
 import org.eclipse.kura.internal.asset.provider.DriverTrackerCustomizer;
+import org.eclipse.kura.scheduler.SchedulerService;
+import org.eclipse.kura.scheduler.WorkloadClass;
 import org.eclipse.kura.type.DataType;
 import org.eclipse.kura.type.DoubleValue;
 import org.eclipse.kura.type.FloatValue;
 import org.eclipse.kura.type.IntegerValue;
 import org.eclipse.kura.type.LongValue;
+import org.osgi.framework.ServiceReference;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.util.tracker.ServiceTracker;
+import org.osgi.util.tracker.ServiceTrackerCustomizer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -150,10 +157,20 @@ public class BaseAsset implements Asset, SelfConfiguringComponent {
 
     private ServiceTracker<Driver, Driver> driverServiceTracker;
 
-    private BaseAssetExecutor executor;
+    private volatile BaseAssetExecutor executor;
+
+    private final Object executorLock = new Object();
+
+    private ServiceTracker<SchedulerService, SchedulerService> schedulerServiceTracker;
+
+    private SchedulerService schedulerService;
+
+    private boolean isDeactivated;
 
     private final AtomicReference<DriverState> driverState = new AtomicReference<>();
 
+    private final ChannelValueCache valueCache = new ChannelValueCache();
+
     /**
      * OSGi service component callback while activation.
      *
@@ -165,7 +182,12 @@ public class BaseAsset implements Asset, SelfConfiguringComponent {
     protected void activate(final ComponentContext componentContext, final Map<String, Object> properties) {
         logger.info("activating...");
         this.context = componentContext;
-        this.executor = initBaseAssetExecutor();
+        this.schedulerServiceTracker = new ServiceTracker<>(componentContext.getBundleContext(),
+                SchedulerService.class, new SchedulerServiceTrackerCustomizer());
+        this.schedulerServiceTracker.open();
+        synchronized (this.executorLock) {
+            this.executor = initBaseAssetExecutor();
+        }
         updated(properties);
         logger.info("activating...done");
     }
@@ -187,6 +209,8 @@ public class BaseAsset implements Asset, SelfConfiguringComponent {
         }
         logger.info("loading asset configuration...done in {} ms", System.currentTimeMillis() - start);
 
+        this.valueCache.clear();
+
         reopenDriverTracker(this.config.getAssetConfiguration().getDriverPid());
     }
 
@@ -203,7 +227,15 @@ public class BaseAsset implements Asset, SelfConfiguringComponent {
             this.driverServiceTracker.close();
         }
 
-        this.executor.shutdown();
+        synchronized (this.executorLock) {
+            this.isDeactivated = true;
+            this.executor.shutdownNow();
+        }
+
+        if (this.schedulerServiceTracker != null) {
+            this.schedulerServiceTracker.close();
+            this.schedulerServiceTracker = null;
+        }
 
         logger.debug("deactivating...done");
     }
@@ -245,6 +277,8 @@ public class BaseAsset implements Asset, SelfConfiguringComponent {
         final DriverState newState = new DriverState(driver);
         final DriverState oldState = this.driverState.getAndSet(newState);
 
+        this.valueCache.clear();
+
         this.executor.runConfig(() -> {
             if (oldState != null) {
                 oldState.shutdown();
@@ -266,6 +300,8 @@ public class BaseAsset implements Asset, SelfConfiguringComponent {
     public void unsetDriver() {
         final DriverState oldState = this.driverState.getAndSet(null);
 
+        this.valueCache.clear();
+
         if (oldState != null) {
             this.executor.runConfig(() -> {
                 final PreparedRead preparedRead = oldState.getPreparedRead();
@@ -345,7 +381,10 @@ public class BaseAsset implements Asset, SelfConfiguringComponent {
         }));
 
         logger.debug("Reading asset channels...Done");
-        return getFinalRecords(channelRecords, this.config.getAssetConfiguration().getAssetChannels());
+        final List<ChannelRecord> result = getFinalRecords(channelRecords,
+                this.config.getAssetConfiguration().getAssetChannels());
+        this.valueCache.update(result);
+        return result;
     }
 
     private void validateChannel(final Channel channel, final EnumSet<ChannelType> allowedTypes,
@@ -401,7 +440,61 @@ public class BaseAsset implements Asset, SelfConfiguringComponent {
             }));
         }
         logger.debug("Reading asset channels...Done");
-        return getFinalRecords(channelRecords, channels);
+        final List<ChannelRecord> result = getFinalRecords(channelRecords, channels);
+        this.valueCache.update(result);
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br>
+     * The values are served from a cache that is updated by every read operation and by every event received by the
+     * registered channel listeners. The cache is cleared when the configuration or the driver change.
+     */
+    @Override
+    public List<ChannelRecord> read(final Set<String> channelNames, final long maxAge) throws KuraException {
+        requireNonNull(channelNames, "Channel names cannot be null");
+
+        if (maxAge <= 0) {
+            return read(channelNames);
+        }
+
+        final Map<String, ChannelRecord> records = new LinkedHashMap<>();
+        final Set<String> channelsToRead = new HashSet<>();
+
+        for (final String name : channelNames) {
+            final Optional<ChannelRecord> cached = this.valueCache.get(name, maxAge);
+
+            if (cached.isPresent()) {
+                records.put(name, cached.get());
+            } else {
+                records.put(name, null);
+                channelsToRead.add(name);
+            }
+        }
+
+        if (!channelsToRead.isEmpty()) {
+            for (final ChannelRecord channelRecord : read(channelsToRead)) {
+                records.put(channelRecord.getChannelName(), channelRecord);
+            }
+        }
+
+        return new ArrayList<>(records.values());
+    }
+
+    /**
+     * Returns the number of channel values that have been served from the cache by {@link #read(Set, long)}.
+     */
+    public long getCacheHitCount() {
+        return this.valueCache.getHitCount();
+    }
+
+    /**
+     * Returns the number of channel values requested through {@link #read(Set, long)} that have been read from the
+     * driver because the cache did not contain a recent enough value.
+     */
+    public long getCacheMissCount() {
+        return this.valueCache.getMissCount();
     }
 
     protected List<ChannelRecord> getFinalRecords(List<ChannelRecord> channelRecords, Map<String, Channel> channels) {
@@ -519,7 +612,15 @@ public class BaseAsset implements Asset, SelfConfiguringComponent {
 
     protected BaseAssetExecutor initBaseAssetExecutor() {
 
-        // TODO make this configurable and maybe allow using shared thread pools
+        final SchedulerService currentSchedulerService = this.schedulerService;
+
+        if (currentSchedulerService != null) {
+            // serial views of the shared pools, they preserve the ordering guarantees of the dedicated executors
+            final String name = "Asset_" + this.context.getProperties().get(ConfigurationService.KURA_SERVICE_PID);
+
+            return new BaseAssetExecutor(currentSchedulerService.newSerialExecutor(name + "_IO", WorkloadClass.IO),
+                    currentSchedulerService.newSerialExecutor(name + "_Config", WorkloadClass.IO));
+        }
 
         final ExecutorService ioExecutor = new ThreadPoolExecutor(1, 5, 60L, TimeUnit.SECONDS,
                 new LinkedBlockingQueue<>());
@@ -529,6 +630,74 @@ public class BaseAsset implements Asset, SelfConfiguringComponent {
         return new BaseAssetExecutor(ioExecutor, configExecutor);
     }
 
+    private void onSchedulerServiceAdded(final SchedulerService service) {
+        synchronized (this.executorLock) {
+            if (this.schedulerService == null) {
+                rebuildExecutor(service, false);
+            }
+        }
+    }
+
+    private void onSchedulerServiceRemoved(final SchedulerService service) {
+        synchronized (this.executorLock) {
+            if (this.schedulerService == service) {
+                final ServiceTracker<SchedulerService, SchedulerService> tracker = this.schedulerServiceTracker;
+
+                rebuildExecutor(tracker != null ? tracker.getService() : null, true);
+            }
+        }
+    }
+
+    private void rebuildExecutor(final SchedulerService newSchedulerService, final boolean isPreviousRemoved) {
+        this.schedulerService = newSchedulerService;
+
+        if (this.executor == null || this.isDeactivated) {
+            return;
+        }
+
+        logger.info("scheduler service changed, rebuilding executors...");
+
+        final BaseAssetExecutor previous = this.executor;
+        this.executor = initBaseAssetExecutor();
+
+        if (isPreviousRemoved) {
+            // the worker pools of the removed service are no longer available, pending tasks would never complete
+            previous.shutdownNow();
+        } else {
+            previous.shutdown();
+        }
+
+        logger.info("scheduler service changed, rebuilding executors...done");
+    }
+
+    private class SchedulerServiceTrackerCustomizer
+            implements ServiceTrackerCustomizer<SchedulerService, SchedulerService> {
+
+        @Override
+        public SchedulerService addingService(final ServiceReference<SchedulerService> reference) {
+            final SchedulerService service = BaseAsset.this.context.getBundleContext().getService(reference);
+
+            if (service != null) {
+                onSchedulerServiceAdded(service);
+            }
+
+            return service;
+        }
+
+        @Override
+        public void modifiedService(final ServiceReference<SchedulerService> reference,
+                final SchedulerService service) {
+            // nothing to do
+        }
+
+        @Override
+        public void removedService(final ServiceReference<SchedulerService> reference,
+                final SchedulerService service) {
+            onSchedulerServiceRemoved(service);
+            BaseAsset.this.context.getBundleContext().ungetService(reference);
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public void write(final List<ChannelRecord> channelRecords) throws KuraException {
@@ -562,10 +731,17 @@ public class BaseAsset implements Asset, SelfConfiguringComponent {
         }
 
         if (!validRecords.isEmpty()) {
-            unwrap(this.executor.runIO(() -> {
-                state.getDriver().write(validRecords);
-                return null;
-            }));
+            try {
+                unwrap(this.executor.runIO(() -> {
+                    state.getDriver().write(validRecords);
+                    return null;
+                }));
+            } finally {
+                // the value read back after a write might differ from the cached one
+                for (final ChannelRecord channelRecord : validRecords) {
+                    this.valueCache.invalidate(channelRecord.getChannelName());
+                }
+            }
         }
         logger.debug("Writing to channels...Done");
     }
@@ -642,8 +818,10 @@ public class BaseAsset implements Asset, SelfConfiguringComponent {
 
                 applyScaleAndOffset(cloned, channel);
 
+                BaseAsset.this.valueCache.update(cloned);
                 this.listener.onChannelEvent(new ChannelEvent(cloned));
             } else {
+                BaseAsset.this.valueCache.update(originaRecord);
                 this.listener.onChannelEvent(event);
             }
         }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2018, 2020 Eurotech and/or its affiliates and others
+ * Copyright (c) 2018, 2024 Eurotech and/or its affiliates and others
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -12,9 +12,12 @@
  *******************************************************************************/
 package org.eclipse.kura.asset.provider;
 
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.slf4j.Logger;
@@ -33,6 +36,9 @@ public class BaseAssetExecutor {
     private final AtomicReference<CompletableFuture<Void>> queue = new AtomicReference<>(
             CompletableFuture.completedFuture(null));
 
+    private final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+    private volatile boolean isShutdown;
+
     public BaseAssetExecutor(final ExecutorService ioExecutor, final ExecutorService configExecutor) {
         this(ioExecutor, false, configExecutor, false);
     }
@@ -46,37 +52,59 @@ public class BaseAssetExecutor {
     }
 
     public <T> CompletableFuture<T> runIO(final Callable<T> task) {
-        final CompletableFuture<T> result = new CompletableFuture<>();
+        final CompletableFuture<T> result = track(new CompletableFuture<>());
 
-        this.ioExecutor.execute(() -> {
-            try {
-                result.complete(task.call());
-            } catch (Exception e) {
-                result.completeExceptionally(e);
-            }
-        });
+        if (result.isDone()) {
+            return result;
+        }
+
+        try {
+            this.ioExecutor.execute(() -> {
+                try {
+                    result.complete(task.call());
+                } catch (Exception e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
 
         return result;
     }
 
     public CompletableFuture<Void> runConfig(final Runnable task) {
 
-        final CompletableFuture<Void> next = new CompletableFuture<>();
+        final CompletableFuture<Void> next = track(new CompletableFuture<>());
+
+        if (next.isDone()) {
+            return next;
+        }
+
         final CompletableFuture<Void> previous = this.queue.getAndSet(next);
 
-        previous.whenComplete((ok, err) -> this.configExecutor.execute(() -> {
+        previous.whenComplete((ok, err) -> {
             try {
-                task.run();
-                next.complete(null);
-            } catch (Exception e) {
-                logger.warn("Asset task failed", e);
+                this.configExecutor.execute(() -> {
+                    try {
+                        task.run();
+                        next.complete(null);
+                    } catch (Exception e) {
+                        logger.warn("Asset task failed", e);
+                        next.completeExceptionally(e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
                 next.completeExceptionally(e);
             }
-        }));
+        });
 
         return next;
     }
 
+    /**
+     * Shuts down the executors that are not shared, the tasks that have already been submitted are still executed.
+     */
     public void shutdown() {
         if (!this.isIoExecutorShared) {
             this.ioExecutor.shutdown();
@@ -86,4 +114,41 @@ public class BaseAssetExecutor {
         }
     }
 
+    /**
+     * Shuts down the executors that are not shared and fails the futures of the tasks that have not been completed yet
+     * with a {@link RejectedExecutionException}, the tasks submitted after this method returns are rejected in the same
+     * way.
+     */
+    public void shutdownNow() {
+        this.isShutdown = true;
+
+        if (!this.isIoExecutorShared) {
+            this.ioExecutor.shutdownNow();
+        }
+        if (!this.isConfigExecutorShared) {
+            this.configExecutor.shutdownNow();
+        }
+
+        for (final CompletableFuture<?> future : this.pending) {
+            future.completeExceptionally(new RejectedExecutionException("Asset executor has been shut down"));
+        }
+    }
+
+    private <T> CompletableFuture<T> track(final CompletableFuture<T> future) {
+        if (this.isShutdown) {
+            future.completeExceptionally(new RejectedExecutionException("Asset executor has been shut down"));
+            return future;
+        }
+
+        this.pending.add(future);
+        future.whenComplete((ok, err) -> this.pending.remove(future));
+
+        if (this.isShutdown) {
+            // raced with shutdownNow()
+            future.completeExceptionally(new RejectedExecutionException("Asset executor has been shut down"));
+        }
+
+        return future;
+    }
+
 }
@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.internal.asset.provider;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.kura.channel.ChannelFlag;
+import org.eclipse.kura.channel.ChannelRecord;
+import org.eclipse.kura.channel.ChannelStatus;
+
+/**
+ * Keeps the last value successfully read or received through a channel listener for each channel of an asset.
+ * <p>
+ * The age of a value is the time elapsed since it has been stored in the cache, the timestamp of the record is not
+ * used since it is provided by the driver and might not be consistent with the local clock.
+ */
+public class ChannelValueCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Stores the successful records of the given collection.
+     */
+    public void update(final Collection<ChannelRecord> channelRecords) {
+        final long now = System.nanoTime();
+
+        for (final ChannelRecord channelRecord : channelRecords) {
+            update(channelRecord, now);
+        }
+    }
+
+    /**
+     * Stores the given record, if successful.
+     */
+    public void update(final ChannelRecord channelRecord) {
+        update(channelRecord, System.nanoTime());
+    }
+
+    /**
+     * Returns a copy of the last value of the given channel if it is not older than {@code maxAge} milliseconds.
+     * Every call is accounted either as a hit or as a miss.
+     */
+    public Optional<ChannelRecord> get(final String channelName, final long maxAge) {
+        final Entry entry = this.entries.get(channelName);
+
+        if (entry == null || System.nanoTime() - entry.storedAt > TimeUnit.MILLISECONDS.toNanos(maxAge)) {
+            this.misses.incrementAndGet();
+            return Optional.empty();
+        }
+
+        this.hits.incrementAndGet();
+        return Optional.of(copy(entry.channelRecord));
+    }
+
+    public void invalidate(final String channelName) {
+        this.entries.remove(channelName);
+    }
+
+    public void clear() {
+        this.entries.clear();
+    }
+
+    public long getHitCount() {
+        return this.hits.get();
+    }
+
+    public long getMissCount() {
+        return this.misses.get();
+    }
+
+    private void update(final ChannelRecord channelRecord, final long now) {
+        if (channelRecord == null || channelRecord.getChannelName() == null || channelRecord.getValueType() == null
+                || channelRecord.getValue() == null) {
+            return;
+        }
+
+        final ChannelStatus status = channelRecord.getChannelStatus();
+
+        if (status == null || status.getChannelFlag() != ChannelFlag.SUCCESS) {
+            return;
+        }
+
+        // records are mutable and owned by the caller
+        this.entries.put(channelRecord.getChannelName(), new Entry(copy(channelRecord), now));
+    }
+
+    private static ChannelRecord copy(final ChannelRecord channelRecord) {
+        final ChannelRecord result = ChannelRecord.createReadRecord(channelRecord.getChannelName(),
+                channelRecord.getValueType(), channelRecord.getUnit());
+
+        result.setValue(channelRecord.getValue());
+        result.setChannelStatus(channelRecord.getChannelStatus());
+        result.setTimestamp(channelRecord.getTimestamp());
+
+        if (channelRecord.getChannelConfig() != null) {
+            result.setChannelConfig(channelRecord.getChannelConfig());
+        }
+
+        return result;
+    }
+
+    private static final class Entry {
+
+        private final ChannelRecord channelRecord;
+        private final long storedAt;
+
+        Entry(final ChannelRecord channelRecord, final long storedAt) {
+            this.channelRecord = channelRecord;
+            this.storedAt = storedAt;
+        }
+    }
+}
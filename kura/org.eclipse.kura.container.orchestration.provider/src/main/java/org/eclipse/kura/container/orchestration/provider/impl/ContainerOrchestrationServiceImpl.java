@@ -86,6 +86,7 @@ public class ContainerOrchestrationServiceImpl implements ConfigurableComponent,
 
     private final Set<ContainerOrchestrationServiceListener> dockerServiceListeners = new HashSet<>();
     private final Set<FrameworkManagedContainer> frameworkManagedContainers = new HashSet<>();
+    private final ContainerStateCache stateCache = new ContainerStateCache();
 
     private DockerClient dockerClient;
     private CryptoService cryptoService;
@@ -112,6 +113,7 @@ public class ContainerOrchestrationServiceImpl implements ConfigurableComponent,
 
     public void deactivate() {
         logger.info("Bundle {} is stopping!", APP_ID);
+        this.stateCache.stop();
         if (testConnection()) {
             disconnect();
         }
@@ -136,6 +138,8 @@ public class ContainerOrchestrationServiceImpl implements ConfigurableComponent,
                 closeEnforcementMonitor();
             }
 
+            this.stateCache.stop();
+
             connect();
 
             if (!testConnection()) {
@@ -144,6 +148,8 @@ public class ContainerOrchestrationServiceImpl implements ConfigurableComponent,
             }
             logger.info("Connection Successful");
 
+            this.stateCache.start(this.dockerClient);
+
             if (currentConfig.isEnforcementEnabled()) {
                 try {
                     startEnforcementMonitor();
@@ -202,7 +208,7 @@ public class ContainerOrchestrationServiceImpl implements ConfigurableComponent,
             throw new IllegalStateException(UNABLE_TO_CONNECT_TO_DOCKER_CLI);
         }
 
-        List<Container> containers = this.dockerClient.listContainersCmd().withShowAll(true).exec();
+        List<Container> containers = listContainers();
 
         List<String> result = new ArrayList<>();
 
@@ -214,13 +220,29 @@ public class ContainerOrchestrationServiceImpl implements ConfigurableComponent,
 
     }
 
+    private List<Container> listContainers() {
+        return this.stateCache.getContainers()
+                .orElseGet(() -> this.dockerClient.listContainersCmd().withShowAll(true).exec());
+    }
+
+    private boolean containerExists(String id) {
+        return listContainers().stream().anyMatch(container -> id.equals(container.getId()));
+    }
+
+    /**
+     * Returns the statistics of the cache that holds the state of containers and images.
+     */
+    public ContainerStateCache.Statistics getStateCacheStatistics() {
+        return this.stateCache.getStatistics();
+    }
+
     @Override
     public List<ContainerInstanceDescriptor> listContainerDescriptors() {
         if (!testConnection()) {
             throw new IllegalStateException(UNABLE_TO_CONNECT_TO_DOCKER_CLI);
         }
 
-        List<Container> containers = this.dockerClient.listContainersCmd().withShowAll(true).exec();
+        List<Container> containers = listContainers();
 
         List<ContainerInstanceDescriptor> result = new ArrayList<>();
         containers.forEach(container -> result.add(ContainerInstanceDescriptor.builder()
@@ -322,7 +344,7 @@ public class ContainerOrchestrationServiceImpl implements ConfigurableComponent,
     public Optional<String> getContainerIdByName(String name) {
         checkRequestEnv(name);
 
-        List<Container> containers = this.dockerClient.listContainersCmd().withShowAll(true).exec();
+        List<Container> containers = listContainers();
 
         for (Container cont : containers) {
             String[] containerNames = cont.getNames();
@@ -341,6 +363,7 @@ public class ContainerOrchestrationServiceImpl implements ConfigurableComponent,
         checkRequestEnv(id);
         try {
             this.dockerClient.startContainerCmd(id).exec();
+            this.stateCache.refreshContainer(id);
         } catch (Exception e) {
             logger.error("Could not start container {}. It could be already running or not exist at all. Caused by {}",
                     id, e);
@@ -396,8 +419,9 @@ public class ContainerOrchestrationServiceImpl implements ConfigurableComponent,
         checkRequestEnv(id);
         try {
 
-            if (listContainersIds().contains(id)) {
+            if (containerExists(id)) {
                 this.dockerClient.stopContainerCmd(id).exec();
+                this.stateCache.refreshContainer(id);
             }
 
             removeContainerInstanceDigest(id);
@@ -413,8 +437,9 @@ public class ContainerOrchestrationServiceImpl implements ConfigurableComponent,
         checkRequestEnv(id);
         try {
 
-            if (listContainersIds().contains(id)) {
+            if (containerExists(id)) {
                 this.dockerClient.removeContainerCmd(id).exec();
+                this.stateCache.removeContainer(id);
             }
 
             this.frameworkManagedContainers.removeIf(c -> id.equals(c.id));
@@ -466,6 +491,8 @@ public class ContainerOrchestrationServiceImpl implements ConfigurableComponent,
 
         }).awaitCompletion(timeOutSeconds, TimeUnit.SECONDS);
 
+        this.stateCache.refreshImages();
+
     }
 
     private void doAuthenticate(RegistryCredentials repositoryCredentials, PullImageCmd pullRequest)
@@ -558,7 +585,10 @@ public class ContainerOrchestrationServiceImpl implements ConfigurableComponent,
 
             commandBuilder = commandBuilder.withExposedPorts(this.exposedPorts);
 
-            return commandBuilder.withHostConfig(configuration).exec().getId();
+            final String containerId = commandBuilder.withHostConfig(configuration).exec().getId();
+            this.stateCache.refreshContainer(containerId);
+
+            return containerId;
 
         } catch (Exception e) {
             logger.error("Failed to create container", e);
@@ -816,7 +846,7 @@ public class ContainerOrchestrationServiceImpl implements ConfigurableComponent,
             throw new IllegalStateException(UNABLE_TO_CONNECT_TO_DOCKER_CLI);
         }
 
-        List<Image> images = this.dockerClient.listImagesCmd().exec();
+        List<Image> images = this.stateCache.getImages().orElseGet(() -> this.dockerClient.listImagesCmd().exec());
 
         String requiredImage = imageName + ":" + imageTag;
 
@@ -836,6 +866,8 @@ public class ContainerOrchestrationServiceImpl implements ConfigurableComponent,
 
     private void cleanUpDocker() {
 
+        this.stateCache.stop();
+
         if (this.allowlistEnforcementMonitor != null) {
             closeEnforcementMonitor();
         }
@@ -950,10 +982,11 @@ public class ContainerOrchestrationServiceImpl implements ConfigurableComponent,
         if (!testConnection()) {
             throw new IllegalStateException(UNABLE_TO_CONNECT_TO_DOCKER_CLI);
         }
-        List<Image> images = this.dockerClient.listImagesCmd().withShowAll(true).exec();
+        List<Image> images = this.stateCache.getImages()
+                .orElseGet(() -> this.dockerClient.listImagesCmd().withShowAll(true).exec());
         List<ImageInstanceDescriptor> result = new ArrayList<>();
         images.forEach(image -> {
-            InspectImageResponse iir = this.dockerClient.inspectImageCmd(image.getId()).exec();
+            InspectImageResponse iir = this.stateCache.inspectImage(this.dockerClient, image.getId());
 
             ImageInstanceDescriptorBuilder imageBuilder = ImageInstanceDescriptor.builder()
                     .setImageName(getImageName(image)).setImageTag(getImageTag(image)).setImageId(image.getId())
@@ -991,6 +1024,7 @@ public class ContainerOrchestrationServiceImpl implements ConfigurableComponent,
         checkRequestEnv(imageId);
         try {
             this.dockerClient.removeImageCmd(imageId).exec();
+            this.stateCache.refreshImages();
         } catch (Exception e) {
             logger.error("Could not remove image {}. Caused by {}", imageId, e);
             throw new KuraException(KuraErrorCode.OS_COMMAND_ERROR, "Delete Container Image",
@@ -0,0 +1,623 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.container.orchestration.provider.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallbackTemplate;
+import com.github.dockerjava.api.command.InspectImageResponse;
+import com.github.dockerjava.api.model.Container;
+import com.github.dockerjava.api.model.Event;
+import com.github.dockerjava.api.model.EventType;
+import com.github.dockerjava.api.model.Image;
+
+/**
+ * Keeps an in-memory copy of the containers and images known by the Docker daemon.
+ * <p>
+ * The cache subscribes to the Docker events stream and refreshes only the entries affected by each event. A full
+ * resynchronization is performed when the cache is started and periodically afterwards, the number of entries that
+ * are found to be different during a periodic resynchronization is reported as a staleness indicator. The cache
+ * statistics are logged after each periodic resynchronization at debug level and when the cache is stopped.
+ * <p>
+ * The events received while the initial resynchronization is in progress are buffered and applied once it completes,
+ * since the lists returned by the daemon may not include the changes they report.
+ * <p>
+ * The cache is live only while the events stream is open. If the stream fails the cache tries to subscribe again, in
+ * the meantime the getters return an empty optional and the caller is expected to query the daemon directly.
+ */
+public class ContainerStateCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContainerStateCache.class);
+
+    private static final long RESUBSCRIBE_DELAY_SECONDS = 5;
+    private static final long RESYNC_INTERVAL_SECONDS = 300;
+    private static final int MAX_PENDING_EVENTS = 1000;
+
+    private static final String DESTROY_ACTION = "destroy";
+    private static final String DELETE_ACTION = "delete";
+    private static final Set<String> CONTAINER_ACTIONS = new HashSet<>(Arrays.asList("create", "start", "restart",
+            "stop", "die", "kill", "oom", "pause", "unpause", "rename", "update"));
+    private static final Set<String> IMAGE_ACTIONS = new HashSet<>(
+            Arrays.asList("pull", "tag", "untag", DELETE_ACTION, "import", "load"));
+
+    private final Object refreshLock = new Object();
+
+    private final Map<String, Container> containers = new LinkedHashMap<>();
+    private final Map<String, Image> images = new LinkedHashMap<>();
+    private final Map<String, InspectImageResponse> imageDetails = new ConcurrentHashMap<>();
+    private final List<Event> pendingEvents = new ArrayList<>();
+
+    private final AtomicLong eventCount = new AtomicLong();
+    private final AtomicLong resyncCount = new AtomicLong();
+    private final AtomicLong resyncCorrections = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+
+    private DockerClient dockerClient;
+    private ScheduledExecutorService executor;
+    private EventCallback eventCallback;
+    private boolean pendingEventsOverflow;
+
+    private volatile boolean live;
+    private volatile long lastSyncNanos;
+    private volatile long lastEventNanos;
+
+    /**
+     * Starts tracking the state of the daemon reachable through the given client, stopping any previous tracking.
+     */
+    public void start(final DockerClient client) {
+        stop();
+
+        final ScheduledExecutorService newExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "ContainerStateCache");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        synchronized (this) {
+            this.dockerClient = client;
+            this.executor = newExecutor;
+        }
+
+        subscribe();
+
+        newExecutor.scheduleWithFixedDelay(this::periodicResync, RESYNC_INTERVAL_SECONDS, RESYNC_INTERVAL_SECONDS,
+                TimeUnit.SECONDS);
+    }
+
+    public void stop() {
+        final EventCallback callback;
+        final ScheduledExecutorService oldExecutor;
+
+        synchronized (this) {
+            this.live = false;
+            callback = this.eventCallback;
+            oldExecutor = this.executor;
+            this.eventCallback = null;
+            this.executor = null;
+            this.dockerClient = null;
+            this.containers.clear();
+            this.images.clear();
+            this.imageDetails.clear();
+            clearPendingEvents();
+        }
+
+        closeCallback(callback);
+
+        if (oldExecutor != null) {
+            oldExecutor.shutdownNow();
+            logger.info("Container state cache stopped: {}", getStatistics());
+        }
+    }
+
+    public boolean isLive() {
+        return this.live;
+    }
+
+    /**
+     * Returns the containers known by the daemon, including the stopped ones, or an empty optional if the cache is
+     * not live.
+     */
+    public synchronized Optional<List<Container>> getContainers() {
+        if (!this.live) {
+            this.cacheMisses.incrementAndGet();
+            return Optional.empty();
+        }
+        this.cacheHits.incrementAndGet();
+        return Optional.of(new ArrayList<>(this.containers.values()));
+    }
+
+    /**
+     * Returns the images known by the daemon, including the intermediate ones, or an empty optional if the cache is
+     * not live.
+     */
+    public synchronized Optional<List<Image>> getImages() {
+        if (!this.live) {
+            this.cacheMisses.incrementAndGet();
+            return Optional.empty();
+        }
+        this.cacheHits.incrementAndGet();
+        return Optional.of(new ArrayList<>(this.images.values()));
+    }
+
+    /**
+     * Returns the result of the inspection of the given image. The result is cached while the cache is live, since
+     * the image id identifies the image content.
+     */
+    public InspectImageResponse inspectImage(final DockerClient client, final String imageId) {
+        if (!this.live) {
+            return client.inspectImageCmd(imageId).exec();
+        }
+
+        final InspectImageResponse cached = this.imageDetails.get(imageId);
+
+        if (cached != null) {
+            this.cacheHits.incrementAndGet();
+            return cached;
+        }
+
+        this.cacheMisses.incrementAndGet();
+        final InspectImageResponse result = client.inspectImageCmd(imageId).exec();
+        this.imageDetails.put(imageId, result);
+        return result;
+    }
+
+    /**
+     * Reloads the given container from the daemon. It should be called after modifying the container, so that the
+     * change is visible to the caller without waiting for the related event.
+     */
+    public void refreshContainer(final String containerId) {
+        final DockerClient client = getLiveClient();
+
+        if (client == null) {
+            return;
+        }
+
+        try {
+            synchronized (this.refreshLock) {
+                final List<Container> result = client.listContainersCmd().withShowAll(true)
+                        .withIdFilter(Collections.singleton(containerId)).exec();
+
+                synchronized (this) {
+                    this.containers.remove(containerId);
+                    for (final Container container : result) {
+                        this.containers.put(container.getId(), container);
+                    }
+                }
+            }
+        } catch (final Exception e) {
+            onFailure(e);
+        }
+    }
+
+    public void removeContainer(final String containerId) {
+        synchronized (this) {
+            this.containers.remove(containerId);
+        }
+    }
+
+    /**
+     * Reloads the image list from the daemon. It should be called after pulling or removing images.
+     */
+    public void refreshImages() {
+        final DockerClient client = getLiveClient();
+
+        if (client == null) {
+            return;
+        }
+
+        try {
+            synchronized (this.refreshLock) {
+                final List<Image> result = client.listImagesCmd().withShowAll(true).exec();
+
+                synchronized (this) {
+                    replaceImages(result);
+                }
+            }
+        } catch (final Exception e) {
+            onFailure(e);
+        }
+    }
+
+    public Statistics getStatistics() {
+        final long now = System.nanoTime();
+        final long lastSync = this.lastSyncNanos;
+        final long lastEvent = this.lastEventNanos;
+
+        return new Statistics(this.live, lastSync != 0 ? TimeUnit.NANOSECONDS.toMillis(now - lastSync) : -1,
+                lastEvent != 0 ? TimeUnit.NANOSECONDS.toMillis(now - lastEvent) : -1, this.eventCount.get(),
+                this.resyncCount.get(), this.resyncCorrections.get(), this.cacheHits.get(), this.cacheMisses.get());
+    }
+
+    private synchronized DockerClient getLiveClient() {
+        return this.live ? this.dockerClient : null;
+    }
+
+    private void subscribe() {
+        final DockerClient client;
+        final EventCallback callback = new EventCallback();
+
+        synchronized (this) {
+            if (this.dockerClient == null) {
+                return;
+            }
+            client = this.dockerClient;
+            this.eventCallback = callback;
+            clearPendingEvents();
+        }
+
+        try {
+            client.eventsCmd().withEventTypeFilter("container", "image").exec(callback);
+            resync(client, false);
+            logger.info("Container state cache is live");
+        } catch (final Exception e) {
+            onFailure(e);
+        }
+    }
+
+    private void periodicResync() {
+        final DockerClient client = getLiveClient();
+
+        if (client == null) {
+            return;
+        }
+
+        try {
+            resync(client, true);
+
+            if (logger.isDebugEnabled()) {
+                logger.debug("Container state cache resynchronized: {}", getStatistics());
+            }
+        } catch (final Exception e) {
+            onFailure(e);
+        }
+    }
+
+    private void resync(final DockerClient client, final boolean countCorrections) {
+        synchronized (this.refreshLock) {
+            final List<Container> newContainers = client.listContainersCmd().withShowAll(true).exec();
+            final List<Image> newImages = client.listImagesCmd().withShowAll(true).exec();
+
+            synchronized (this) {
+                if (client != this.dockerClient) {
+                    return;
+                }
+
+                if (countCorrections) {
+                    final long corrections = countContainerDifferences(newContainers)
+                            + countImageDifferences(newImages);
+
+                    if (corrections > 0) {
+                        logger.info("Container state cache was stale, {} entries updated by resynchronization",
+                                corrections);
+                    }
+                    this.resyncCorrections.addAndGet(corrections);
+                }
+
+                this.containers.clear();
+                for (final Container container : newContainers) {
+                    this.containers.put(container.getId(), container);
+                }
+                replaceImages(newImages);
+
+                this.resyncCount.incrementAndGet();
+                this.lastSyncNanos = System.nanoTime();
+                this.live = true;
+
+                replayPendingEvents();
+            }
+        }
+    }
+
+    private void replaceImages(final List<Image> newImages) {
+        this.images.clear();
+        for (final Image image : newImages) {
+            this.images.put(image.getId(), image);
+        }
+        this.imageDetails.keySet().retainAll(this.images.keySet());
+    }
+
+    private long countContainerDifferences(final List<Container> newContainers) {
+        long result = 0;
+        final Set<String> seen = new HashSet<>();
+
+        for (final Container container : newContainers) {
+            final Container cached = this.containers.get(container.getId());
+            seen.add(container.getId());
+
+            if (cached == null || !Objects.equals(cached.getState(), container.getState())
+                    || !Arrays.equals(cached.getNames(), container.getNames())) {
+                result++;
+            }
+        }
+
+        for (final String id : this.containers.keySet()) {
+            if (!seen.contains(id)) {
+                result++;
+            }
+        }
+
+        return result;
+    }
+
+    private long countImageDifferences(final List<Image> newImages) {
+        long result = 0;
+        final Set<String> seen = new HashSet<>();
+
+        for (final Image image : newImages) {
+            final Image cached = this.images.get(image.getId());
+            seen.add(image.getId());
+
+            if (cached == null || !Arrays.equals(cached.getRepoTags(), image.getRepoTags())) {
+                result++;
+            }
+        }
+
+        for (final String id : this.images.keySet()) {
+            if (!seen.contains(id)) {
+                result++;
+            }
+        }
+
+        return result;
+    }
+
+    private void onEvent(final EventCallback callback, final Event event) {
+        final ScheduledExecutorService currentExecutor;
+
+        synchronized (this) {
+            if (callback != this.eventCallback) {
+                return;
+            }
+            currentExecutor = this.executor;
+
+            this.eventCount.incrementAndGet();
+            this.lastEventNanos = System.nanoTime();
+
+            if (!this.live) {
+                // the initial resynchronization is in progress
+                bufferEvent(event);
+                return;
+            }
+        }
+
+        try {
+            currentExecutor.execute(() -> apply(event));
+        } catch (final RejectedExecutionException e) {
+            // stopped
+        }
+    }
+
+    private void bufferEvent(final Event event) {
+        if (this.pendingEvents.size() < MAX_PENDING_EVENTS) {
+            this.pendingEvents.add(event);
+        } else {
+            this.pendingEventsOverflow = true;
+        }
+    }
+
+    private void replayPendingEvents() {
+        final List<Event> events = new ArrayList<>(this.pendingEvents);
+        final boolean overflow = this.pendingEventsOverflow;
+
+        clearPendingEvents();
+
+        try {
+            if (overflow) {
+                // too many changes to track them one by one, reload everything
+                this.executor.execute(this::periodicResync);
+            } else {
+                for (final Event event : events) {
+                    this.executor.execute(() -> apply(event));
+                }
+            }
+        } catch (final RejectedExecutionException e) {
+            // stopped
+        }
+    }
+
+    private void clearPendingEvents() {
+        this.pendingEvents.clear();
+        this.pendingEventsOverflow = false;
+    }
+
+    private void apply(final Event event) {
+        final String action = event.getAction() != null ? event.getAction() : event.getStatus();
+        final String id = event.getId();
+
+        if (action == null || id == null) {
+            return;
+        }
+
+        if (event.getType() == EventType.CONTAINER) {
+            if (DESTROY_ACTION.equals(action)) {
+                removeContainer(id);
+            } else if (CONTAINER_ACTIONS.contains(action)) {
+                refreshContainer(id);
+            }
+        } else if (event.getType() == EventType.IMAGE && IMAGE_ACTIONS.contains(action)) {
+            if (DELETE_ACTION.equals(action)) {
+                this.imageDetails.remove(id);
+            }
+            refreshImages();
+        }
+    }
+
+    private void onStreamClosed(final EventCallback callback, final Throwable cause) {
+        synchronized (this) {
+            if (callback != this.eventCallback) {
+                return;
+            }
+        }
+
+        onFailure(cause);
+    }
+
+    private void onFailure(final Throwable cause) {
+        final EventCallback callback;
+        final ScheduledExecutorService currentExecutor;
+
+        synchronized (this) {
+            if (this.executor == null) {
+                return;
+            }
+            this.live = false;
+            callback = this.eventCallback;
+            currentExecutor = this.executor;
+            this.eventCallback = null;
+        }
+
+        if (callback == null) {
+            // a subscription is already scheduled
+            return;
+        }
+
+        logger.warn("Container state cache is not live, subscribing again in {} seconds: {}",
+                RESUBSCRIBE_DELAY_SECONDS, cause != null ? cause.getMessage() : "event stream closed");
+
+        closeCallback(callback);
+
+        try {
+            currentExecutor.schedule(this::subscribe, RESUBSCRIBE_DELAY_SECONDS, TimeUnit.SECONDS);
+        } catch (final RejectedExecutionException e) {
+            // stopped
+        }
+    }
+
+    private static void closeCallback(final EventCallback callback) {
+        if (callback == null) {
+            return;
+        }
+
+        try {
+            callback.close();
+        } catch (final IOException e) {
+            logger.debug("Failed to close event stream", e);
+        }
+    }
+
+    private class EventCallback extends ResultCallbackTemplate<EventCallback, Event> {
+
+        @Override
+        public void onNext(final Event event) {
+            onEvent(this, event);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            super.onError(throwable);
+            onStreamClosed(this, throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            super.onComplete();
+            onStreamClosed(this, null);
+        }
+    }
+
+    public static final class Statistics {
+
+        private final boolean live;
+        private final long millisSinceLastSync;
+        private final long millisSinceLastEvent;
+        private final long eventCount;
+        private final long resyncCount;
+        private final long resyncCorrections;
+        private final long cacheHits;
+        private final long cacheMisses;
+
+        Statistics(final boolean live, final long millisSinceLastSync, final long millisSinceLastEvent,
+                final long eventCount, final long resyncCount, final long resyncCorrections, final long cacheHits,
+                final long cacheMisses) {
+            this.live = live;
+            this.millisSinceLastSync = millisSinceLastSync;
+            this.millisSinceLastEvent = millisSinceLastEvent;
+            this.eventCount = eventCount;
+            this.resyncCount = resyncCount;
+            this.resyncCorrections = resyncCorrections;
+            this.cacheHits = cacheHits;
+            this.cacheMisses = cacheMisses;
+        }
+
+        public boolean isLive() {
+            return this.live;
+        }
+
+        /**
+         * Returns the time elapsed since the last full resynchronization, or -1 if it never happened.
+         */
+        public long getMillisSinceLastSync() {
+            return this.millisSinceLastSync;
+        }
+
+        /**
+         * Returns the time elapsed since the last event received from the daemon, or -1 if no event was received.
+         */
+        public long getMillisSinceLastEvent() {
+            return this.millisSinceLastEvent;
+        }
+
+        public long getEventCount() {
+            return this.eventCount;
+        }
+
+        public long getResyncCount() {
+            return this.resyncCount;
+        }
+
+        /**
+         * Returns the number of cached entries that were found to be out of date by the periodic
+         * resynchronizations.
+         */
+        public long getResyncCorrections() {
+            return this.resyncCorrections;
+        }
+
+        public long getCacheHits() {
+            return this.cacheHits;
+        }
+
+        public long getCacheMisses() {
+            return this.cacheMisses;
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics [live=" + this.live + ", millisSinceLastSync=" + this.millisSinceLastSync
+                    + ", millisSinceLastEvent=" + this.millisSinceLastEvent + ", eventCount=" + this.eventCount
+                    + ", resyncCount=" + this.resyncCount + ", resyncCorrections=" + this.resyncCorrections
+                    + ", cacheHits=" + this.cacheHits + ", cacheMisses=" + this.cacheMisses + "]";
+        }
+    }
+}
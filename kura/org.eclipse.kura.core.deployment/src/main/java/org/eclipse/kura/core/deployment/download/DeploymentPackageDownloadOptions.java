@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2020 Eurotech and/or its affiliates and others
+ * Copyright (c) 2011, 2023 Eurotech and/or its affiliates and others
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -30,6 +30,8 @@ public class DeploymentPackageDownloadOptions extends DeploymentPackageInstallOp
     public static final String METRIC_DP_DOWNLOAD_BLOCK_DELAY = "dp.download.block.delay";
     public static final String METRIC_DP_DOWNLOAD_TIMEOUT = "dp.download.timeout";
     public static final String METRIC_DP_DOWNLOAD_RESUME = "dp.download.resume";
+    public static final String METRIC_DP_DOWNLOAD_SEGMENTS = "dp.download.segments";
+    public static final String METRIC_DP_DOWNLOAD_MAX_RETRIES = "dp.download.max.retries";
     public static final String METRIC_DP_DOWNLOAD_USER = "dp.download.username";
     public static final String METRIC_DP_DOWNLOAD_PASSWORD = "dp.download.password";
     public static final String METRIC_DP_DOWNLOAD_NOTIFY_BLOCK_SIZE = "dp.download.notify.block.size";
@@ -43,6 +45,8 @@ public class DeploymentPackageDownloadOptions extends DeploymentPackageInstallOp
     private int notifyBlockSize;
     private int blockDelay = 0;
     private int timeout = 4000;
+    private int segments = 1;
+    private int maxRetries = 3;
 
     private String username = null;
     private String password = null;
@@ -111,6 +115,14 @@ public class DeploymentPackageDownloadOptions extends DeploymentPackageInstallOp
             if (metric != null) {
                 super.setResume((Boolean) metric);
             }
+            metric = request.getMetric(METRIC_DP_DOWNLOAD_SEGMENTS);
+            if (metric != null) {
+                this.segments = (Integer) metric;
+            }
+            metric = request.getMetric(METRIC_DP_DOWNLOAD_MAX_RETRIES);
+            if (metric != null) {
+                this.maxRetries = (Integer) metric;
+            }
             metric = request.getMetric(METRIC_DP_DOWNLOAD_USER);
             if (metric != null) {
                 this.username = (String) metric;
@@ -210,6 +222,22 @@ public class DeploymentPackageDownloadOptions extends DeploymentPackageInstallOp
         this.timeout = timeout;
     }
 
+    public int getSegments() {
+        return this.segments;
+    }
+
+    public void setSegments(int segments) {
+        this.segments = segments;
+    }
+
+    public int getMaxRetries() {
+        return this.maxRetries;
+    }
+
+    public void setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+    }
+
     public boolean isDownloadForced() {
         return this.forceDownload;
     }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2020 Eurotech and/or its affiliates and others
+ * Copyright (c) 2011, 2023 Eurotech and/or its affiliates and others
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -33,4 +33,12 @@ public interface DownloadCountingOutputStream {
     public void setTotalBytes(long totalBytes);
 
     public void close() throws IOException;
+
+    /**
+     * Returns the hash of the downloaded content computed with the given algorithm while receiving it, or null if it
+     * is not available and the content must be read again to compute it.
+     */
+    public default String getHash(String algorithm) {
+        return null;
+    }
 }
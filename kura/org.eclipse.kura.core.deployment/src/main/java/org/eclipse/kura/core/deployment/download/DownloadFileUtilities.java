@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2020 Eurotech and/or its affiliates and others
+ * Copyright (c) 2011, 2023 Eurotech and/or its affiliates and others
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -40,9 +40,34 @@ public class DownloadFileUtilities extends FileUtilities {
         return new File(fileName);
     }
 
+    /**
+     * Returns the file that contains the content received so far while downloading the given file.
+     */
+    public static File getPartialDownloadFile(File downloadFile) {
+        return new File(downloadFile.getPath() + ".part");
+    }
+
+    /**
+     * Returns the file used to persist the progress of a download into the given file, so that it can be resumed.
+     */
+    public static File getDownloadStateFile(File downloadFile) {
+        return new File(downloadFile.getPath() + ".state");
+    }
+
+    public static void deletePartialDownload(File downloadFile) {
+        File partialFile = getPartialDownloadFile(downloadFile);
+
+        deleteIfExists(getDownloadStateFile(partialFile));
+        deleteIfExists(partialFile);
+    }
+
     public static boolean deleteDownloadedFile(DeploymentPackageInstallOptions options) throws IOException {
         File file = getDpDownloadFile(options);
 
+        if (file != null) {
+            deletePartialDownload(file);
+        }
+
         if (file != null && file.exists() && file.isFile()) {
             return file.delete();
         }
@@ -50,6 +75,12 @@ public class DownloadFileUtilities extends FileUtilities {
         return false;
     }
 
+    private static void deleteIfExists(File file) {
+        if (file.isFile()) {
+            file.delete();
+        }
+    }
+
     private static String validateFileName(String destFileName, String intendedDir) throws IOException {
         File destFile = new File(destFileName);
         String filePath = destFile.getCanonicalPath();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2020 Eurotech and/or its affiliates and others
+ * Copyright (c) 2011, 2023 Eurotech and/or its affiliates and others
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -13,9 +13,8 @@
 package org.eclipse.kura.core.deployment.download.impl;
 
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Date;
 import java.util.concurrent.CancellationException;
 
@@ -175,12 +174,20 @@ public class DownloadImpl implements ProgressListener {
     // ----------------------------------------------------------------
 
     private void incrementalDownloadFromURL(File dpFile, String url, int downloadIndex) throws Exception {
-        OutputStream os = null;
+        // The content is received into a separate file, that is renamed only when complete. If resume is enabled
+        // the partial file is kept on failure so that a later request can continue the download.
+        final File partialFile = DownloadFileUtilities.getPartialDownloadFile(dpFile);
+        final boolean resume = this.options.isResume() && !this.options.isDownloadForced();
+
+        if (!resume) {
+            DownloadFileUtilities.deletePartialDownload(dpFile);
+        }
 
         try {
-            os = new FileOutputStream(dpFile);
+            partialFile.createNewFile();
+
             DownloadOptions downloadOptions = new DownloadOptions();
-            downloadOptions.setOut(os);
+            downloadOptions.setOutFile(partialFile);
             downloadOptions.setRequestOptions(this.options);
             downloadOptions.setCallback(this);
             downloadOptions.setSslManagerService(this.sslManagerService);
@@ -190,16 +197,15 @@ public class DownloadImpl implements ProgressListener {
             this.downloadHelper = getDownloadInstance(this.options.getDownloadProtocol(), downloadOptions);
             this.downloadHelper.startWork();
             this.downloadHelper.close();
-        } finally {
-            if (os != null) {
-                try {
-                    os.close();
-                } catch (IOException e1) {
-                    s_logger.error("Exception while trying to close stream.", e1);
-                }
+        } catch (Exception e) {
+            if (!resume) {
+                DownloadFileUtilities.deletePartialDownload(dpFile);
             }
+            throw e;
         }
 
+        Files.move(partialFile.toPath(), dpFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
         if (this.options.getHash() != null) {
             String[] hashAlgorithmValue = this.options.getHash().split(":");
 
@@ -218,7 +224,13 @@ public class DownloadImpl implements ProgressListener {
                             "Failed to verify checksum with empty algorithm: " + hashAlgorithm);
                 }
 
-                String checksum = HashUtil.hash(hashAlgorithm, dpFile);
+                String checksum = this.downloadHelper.getHash(hashAlgorithm);
+
+                if (checksum == null) {
+                    checksum = HashUtil.hash(hashAlgorithm, dpFile);
+                } else {
+                    s_logger.info("Using checksum computed during the download");
+                }
 
                 if (checksum == null || !checksum.equals(hashValue)) {
                     throw new KuraException(KuraErrorCode.INTERNAL_ERROR, null,
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2020 Eurotech and/or its affiliates and others
+ * Copyright (c) 2011, 2023 Eurotech and/or its affiliates and others
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,7 @@ import java.io.IOException;
 import java.io.InputStream;
 
 import org.apache.commons.io.output.CountingOutputStream;
+import org.apache.commons.io.output.NullOutputStream;
 import org.eclipse.kura.core.deployment.DownloadStatus;
 import org.eclipse.kura.core.deployment.download.DeploymentPackageDownloadOptions;
 import org.eclipse.kura.core.deployment.download.DownloadOptions;
@@ -45,7 +46,7 @@ public class GenericDownloadCountingOutputStream extends CountingOutputStream {
     private DownloadStatus downloadStatus = DownloadStatus.FAILED;
 
     public GenericDownloadCountingOutputStream(DownloadOptions downloadOptions) {
-        super(downloadOptions.getOut());
+        super(downloadOptions.getOut() != null ? downloadOptions.getOut() : NullOutputStream.NULL_OUTPUT_STREAM);
         this.options = downloadOptions.getRequestOptions();
         this.sslManagerService = downloadOptions.getSslManagerService();
         this.pl = downloadOptions.getCallback();
@@ -82,15 +83,18 @@ public class GenericDownloadCountingOutputStream extends CountingOutputStream {
         } else if (this.propResolution == 0) {
             this.propResolution = 1024 * 256;
         }
-        if (getByteCount() >= this.currentStep * this.propResolution) {
-            this.currentStep++;
-            postProgressEvent(this.options.getClientId(), getByteCount(), this.totalBytes, DownloadStatus.IN_PROGRESS,
+        final long byteCount = getByteCount();
+        if (byteCount >= this.currentStep * this.propResolution) {
+            this.currentStep = byteCount / this.propResolution + 1;
+            postProgressEvent(this.options.getClientId(), byteCount, this.totalBytes, DownloadStatus.IN_PROGRESS,
                     null);
         }
-        try {
-            Thread.sleep(this.propBlockDelay);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        if (this.propBlockDelay > 0) {
+            try {
+                Thread.sleep(this.propBlockDelay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
         }
     }
 
@@ -1,25 +1,37 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2020 Eurotech and/or its affiliates and others
- * 
+ * Copyright (c) 2011, 2023 Eurotech and/or its affiliates and others
+ *
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
  * which is available at https://www.eclipse.org/legal/epl-2.0/
- * 
+ *
  * SPDX-License-Identifier: EPL-2.0
- * 
+ *
  * Contributors:
  *  Eurotech
  *******************************************************************************/
 package org.eclipse.kura.core.deployment.download.impl;
 
+import java.io.EOFException;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.net.Authenticator;
 import java.net.HttpURLConnection;
 import java.net.PasswordAuthentication;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.security.GeneralSecurityException;
-import java.util.concurrent.Callable;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -27,7 +39,6 @@ import java.util.concurrent.Future;
 
 import javax.net.ssl.HttpsURLConnection;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.kura.KuraConnectException;
 import org.eclipse.kura.KuraErrorCode;
@@ -35,31 +46,72 @@ import org.eclipse.kura.KuraException;
 import org.eclipse.kura.KuraRuntimeException;
 import org.eclipse.kura.core.deployment.DownloadStatus;
 import org.eclipse.kura.core.deployment.download.DownloadCountingOutputStream;
+import org.eclipse.kura.core.deployment.download.DownloadFileUtilities;
 import org.eclipse.kura.core.deployment.download.DownloadOptions;
+import org.eclipse.kura.core.deployment.download.impl.PartialDownload.Segment;
+import org.eclipse.kura.core.deployment.util.HashUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Downloads a resource over HTTP into the file provided by {@link DownloadOptions#getOutFile()}.
+ * <p>
+ * If the server supports range requests, the transfer is resumed from the last received byte after a connection
+ * failure and, if {@link org.eclipse.kura.core.deployment.DeploymentPackageOptions#isResume()} is set, the progress
+ * is persisted so that a later request for the same URL can continue the download. The resource can also be split in
+ * multiple segments that are downloaded in parallel. When the content is received in order, the hash requested by the
+ * download options is computed while streaming it to disk.
+ */
 public class HttpDownloadCountingOutputStream extends GenericDownloadCountingOutputStream
         implements DownloadCountingOutputStream {
 
     private static final Logger s_logger = LoggerFactory.getLogger(HttpDownloadCountingOutputStream.class);
 
+    private static final long MIN_SEGMENT_SIZE = 1024L * 1024L;
+    private static final long CHECKPOINT_INTERVAL = 1024L * 1024L;
+    private static final long MAX_RETRY_DELAY = 30000;
+
+    private final File outFile;
+    private final File stateFile;
+    private final boolean resume;
+    private final Set<HttpURLConnection> connections = ConcurrentHashMap.newKeySet();
+
     private ExecutorService executor;
+    private ExecutorService segmentExecutor;
     private Future<Void> future;
 
+    private volatile boolean cancelled;
+    private volatile boolean aborted;
+
+    private FileChannel channel;
+    private PartialDownload state;
+    private long resumedBytes;
+    private long lastCheckpoint;
+
+    private MessageDigest digest;
+    private boolean digestInOrder;
+    private String hash;
+
     public HttpDownloadCountingOutputStream(DownloadOptions downloadOptions) {
         super(downloadOptions);
         setBufferSize(this.options.getBlockSize());
         setResolution(this.options.getNotifyBlockSize());
         setBlockDelay(this.options.getBlockDelay());
         setConnectTimeout(this.options.getTimeout());
+
+        this.outFile = downloadOptions.getOutFile();
+        this.stateFile = DownloadFileUtilities.getDownloadStateFile(this.outFile);
+        this.resume = this.options.isResume() && !this.options.isDownloadForced();
+        this.digest = createDigest(this.options.getHash());
     }
 
     @Override
     public void cancelDownload() throws Exception {
         if (this.executor != null && this.future != null) {
+            this.cancelled = true;
             this.future.cancel(true);
             this.executor.shutdownNow();
+            abortSegments();
 
             postProgressEvent(this.options.getClientId(), getByteCount(), this.totalBytes, DownloadStatus.CANCELLED,
                     "Download cancelled");
@@ -67,87 +119,74 @@ public class HttpDownloadCountingOutputStream extends GenericDownloadCountingOut
     }
 
     @Override
-    public void startWork() throws KuraException {
-
-        this.executor = Executors.newSingleThreadExecutor();
+    public synchronized long getByteCount() {
+        return this.resumedBytes + super.getByteCount();
+    }
 
-        this.future = this.executor.submit(new Callable<Void>() {
+    @Override
+    public String getHash(String algorithm) {
+        if (this.hash != null && this.digest != null && this.digest.getAlgorithm().equalsIgnoreCase(algorithm)) {
+            return this.hash;
+        }
+        return null;
+    }
 
-            @Override
-            public Void call() throws Exception {
-                boolean shouldAuthenticate = false;
-                try {
-                    shouldAuthenticate = HttpDownloadCountingOutputStream.this.options.getUsername() != null
-                            && HttpDownloadCountingOutputStream.this.options.getPassword() != null
-                            && !(HttpDownloadCountingOutputStream.this.options.getUsername().trim().isEmpty()
-                                    && !HttpDownloadCountingOutputStream.this.options.getPassword().trim().isEmpty());
-
-                    if (shouldAuthenticate) {
-                        Authenticator.setDefault(new Authenticator() {
-
-                            @Override
-                            protected PasswordAuthentication getPasswordAuthentication() {
-                                return new PasswordAuthentication(
-                                        HttpDownloadCountingOutputStream.this.options.getUsername(),
-                                        HttpDownloadCountingOutputStream.this.options.getPassword().toCharArray());
-                            }
-                        });
-                    }
+    @Override
+    public void startWork() throws KuraException {
 
-                    HttpURLConnection.setFollowRedirects(false);
-                    URLConnection urlConnection = getUrlConnection(HttpDownloadCountingOutputStream.this.downloadURL);
+        this.executor = Executors.newSingleThreadExecutor();
 
-                    testConnectionProtocol(urlConnection);
+        this.future = this.executor.submit(() -> {
+            final String username = this.options.getUsername();
+            final String password = this.options.getPassword();
+            final boolean shouldAuthenticate = username != null && password != null
+                    && !(username.trim().isEmpty() && !password.trim().isEmpty());
 
-                    HttpDownloadCountingOutputStream.this.is = urlConnection.getInputStream();
+            try {
+                if (shouldAuthenticate) {
+                    Authenticator.setDefault(new Authenticator() {
 
-                    String s = urlConnection.getHeaderField("Content-Length");
-                    s_logger.info("Content-lenght: " + s);
+                        @Override
+                        protected PasswordAuthentication getPasswordAuthentication() {
+                            return new PasswordAuthentication(username, password.toCharArray());
+                        }
+                    });
+                }
 
-                    setTotalBytes(s != null ? Integer.parseInt(s) : -1);
-                    postProgressEvent(HttpDownloadCountingOutputStream.this.options.getClientId(), 0,
-                            HttpDownloadCountingOutputStream.this.totalBytes, DownloadStatus.IN_PROGRESS, null);
+                HttpURLConnection.setFollowRedirects(false);
 
-                    int bufferSize = getBufferSize();
+                this.channel = FileChannel.open(this.outFile.toPath(), StandardOpenOption.CREATE,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE);
 
-                    if (bufferSize == 0 && getTotalBytes() > 0) {
-                        int newSize = Math.round(HttpDownloadCountingOutputStream.this.totalBytes / 100F + 1F);
-                        bufferSize = newSize;
-                        setBufferSize(newSize);
-                    } else if (bufferSize == 0) {
-                        int newSize = 1024 * 4;
-                        bufferSize = newSize;
-                        setBufferSize(newSize);
-                    }
+                transfer();
 
-                    long numBytes = IOUtils.copyLarge(HttpDownloadCountingOutputStream.this.is,
-                            HttpDownloadCountingOutputStream.this, new byte[bufferSize]);
-                    postProgressEvent(HttpDownloadCountingOutputStream.this.options.getClientId(), numBytes,
-                            HttpDownloadCountingOutputStream.this.totalBytes, DownloadStatus.COMPLETED, null);
+                postProgressEvent(this.options.getClientId(), getByteCount(), this.totalBytes,
+                        DownloadStatus.COMPLETED, null);
 
-                } catch (IOException e) {
-                    postProgressEvent(HttpDownloadCountingOutputStream.this.options.getClientId(), getByteCount(),
-                            HttpDownloadCountingOutputStream.this.totalBytes, DownloadStatus.FAILED, e.getMessage());
-                    throw new KuraConnectException(e);
-                } finally {
-                    if (HttpDownloadCountingOutputStream.this.is != null) {
-                        try {
-                            HttpDownloadCountingOutputStream.this.is.close();
-                        } catch (IOException e) {
-                        }
-                    }
+            } catch (IOException e) {
+                postProgressEvent(this.options.getClientId(), getByteCount(), this.totalBytes, DownloadStatus.FAILED,
+                        e.getMessage());
+                throw new KuraConnectException(e);
+            } finally {
+                if (this.segmentExecutor != null) {
+                    this.segmentExecutor.shutdownNow();
+                }
+                if (this.channel != null) {
                     try {
-                        close();
+                        this.channel.close();
                     } catch (IOException e) {
                     }
-                    if (shouldAuthenticate) {
-                        Authenticator.setDefault(null);
-                    }
                 }
-
-                return null;
+                try {
+                    close();
+                } catch (IOException e) {
+                }
+                if (shouldAuthenticate) {
+                    Authenticator.setDefault(null);
+                }
             }
 
+            return null;
         });
 
         try {
@@ -160,25 +199,422 @@ public class HttpDownloadCountingOutputStream extends GenericDownloadCountingOut
         }
     }
 
-    private URLConnection getUrlConnection(String downloadUrlString) throws IOException {
+    private void transfer() throws IOException, KuraException {
+        boolean restarted = false;
+
+        while (true) {
+            HttpURLConnection firstConnection = null;
+
+            try {
+                if (this.resume) {
+                    this.state = PartialDownload.load(this.stateFile, this.downloadURL).orElse(null);
+                }
+
+                if (this.state != null) {
+                    resumePartialDownload();
+                } else {
+                    firstConnection = startNewDownload();
+                }
+
+                transferSegments(firstConnection);
+                completeDownload();
+                return;
+            } catch (RestartException e) {
+                if (firstConnection != null) {
+                    firstConnection.disconnect();
+                }
+                if (restarted) {
+                    throw new IOException("Download failed, the remote resource changed during the transfer", e);
+                }
+                s_logger.info("Restarting download of {} from the beginning: {}", this.downloadURL, e.getMessage());
+                restarted = true;
+                this.state = null;
+                deleteStateFile();
+            }
+        }
+    }
+
+    private synchronized void resetProgress() throws IOException {
+        this.channel.truncate(0);
+        this.resumedBytes = 0;
+        this.lastCheckpoint = 0;
+        resetByteCount();
+        if (this.digest != null) {
+            this.digest.reset();
+        }
+    }
+
+    private void resumePartialDownload() throws IOException {
+        this.state.clamp(this.channel.size());
+
+        final List<Segment> segments = this.state.getSegments();
+
+        synchronized (this) {
+            resetByteCount();
+            this.resumedBytes = this.state.getTransferredBytes();
+            this.lastCheckpoint = this.resumedBytes;
+        }
+
+        setTotalBytes(this.state.getLength());
+        initBufferSize();
+
+        this.digestInOrder = this.digest != null && segments.size() == 1;
+
+        if (this.digestInOrder) {
+            this.digest.reset();
+            HashUtil.update(this.digest, this.channel, 0, segments.get(0).getWritten());
+        }
+
+        s_logger.info("Resuming download of {}, {} of {} bytes already downloaded in {} segments", this.downloadURL,
+                this.resumedBytes, this.state.getLength(), segments.size());
+
+        postProgressEvent(this.options.getClientId(), getByteCount(), this.totalBytes, DownloadStatus.IN_PROGRESS,
+                null);
+    }
+
+    private HttpURLConnection startNewDownload() throws IOException, KuraException {
+        resetProgress();
+
+        final HttpURLConnection connection = openConnection(this.downloadURL, 0, -1, null);
+        final int responseCode = connection.getResponseCode();
+
+        final boolean acceptsRanges;
+        final long length;
+
+        if (responseCode == HttpURLConnection.HTTP_PARTIAL) {
+            final long[] contentRange = parseContentRange(connection.getHeaderField("Content-Range"));
+            acceptsRanges = contentRange != null && contentRange[0] == 0;
+            length = contentRange != null ? contentRange[2] : -1;
+        } else if (responseCode == HttpURLConnection.HTTP_OK) {
+            acceptsRanges = false;
+            length = connection.getContentLengthLong();
+        } else {
+            connection.disconnect();
+            throw new IOException("Unexpected HTTP response code: " + responseCode);
+        }
+
+        s_logger.info("Content-length: {}, range requests supported: {}", length, acceptsRanges);
+
+        this.state = PartialDownload.create(this.downloadURL, connection.getHeaderField("ETag"),
+                connection.getHeaderField("Last-Modified"), length, acceptsRanges,
+                Math.max(1, this.options.getSegments()), MIN_SEGMENT_SIZE);
+
+        this.digestInOrder = this.digest != null && this.state.getSegments().size() == 1;
+
+        setTotalBytes(length);
+        initBufferSize();
+
+        if (this.resume && this.state.isPersistent()) {
+            this.state.store(this.stateFile);
+        }
+
+        postProgressEvent(this.options.getClientId(), 0, this.totalBytes, DownloadStatus.IN_PROGRESS, null);
+
+        return connection;
+    }
+
+    private void initBufferSize() {
+        int bufferSize = getBufferSize();
+
+        if (bufferSize == 0 && getTotalBytes() > 0) {
+            setBufferSize(Math.round(this.totalBytes / 100F + 1F));
+        } else if (bufferSize == 0) {
+            setBufferSize(1024 * 4);
+        }
+    }
+
+    private void transferSegments(final HttpURLConnection firstConnection) throws IOException, KuraException {
+        final List<Segment> pending = new ArrayList<>();
+
+        for (final Segment segment : this.state.getSegments()) {
+            if (!segment.isComplete()) {
+                pending.add(segment);
+            }
+        }
+
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        this.aborted = false;
+
+        final List<Future<?>> futures = new ArrayList<>();
+
+        if (pending.size() > 1) {
+            this.segmentExecutor = Executors.newFixedThreadPool(pending.size() - 1);
+
+            for (final Segment segment : pending.subList(1, pending.size())) {
+                futures.add(this.segmentExecutor.submit(() -> {
+                    transferSegment(segment, null);
+                    return null;
+                }));
+            }
+        }
+
+        try {
+            transferSegment(pending.get(0), firstConnection);
+
+            for (final Future<?> segmentFuture : futures) {
+                segmentFuture.get();
+            }
+        } catch (ExecutionException e) {
+            abortSegments();
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof KuraException) {
+                throw (KuraException) cause;
+            }
+            throw new KuraException(KuraErrorCode.INTERNAL_ERROR, cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abortSegments();
+            throw new InterruptedIOException("Download interrupted");
+        } catch (IOException | KuraException | RuntimeException e) {
+            abortSegments();
+            throw e;
+        } finally {
+            if (this.segmentExecutor != null) {
+                this.segmentExecutor.shutdownNow();
+                this.segmentExecutor = null;
+            }
+        }
+    }
+
+    private void transferSegment(final Segment segment, final HttpURLConnection initialConnection)
+            throws IOException, KuraException {
+        HttpURLConnection connection = initialConnection;
+        int failures = 0;
+
+        while (!segment.isComplete()) {
+            final long transferred = segment.getWritten();
+
+            try {
+                if (connection == null) {
+                    connection = openSegmentConnection(segment);
+                }
+                copy(connection, segment);
+            } catch (RestartException e) {
+                throw e;
+            } catch (IOException e) {
+                if (this.cancelled || this.aborted) {
+                    throw e;
+                }
+
+                failures = segment.getWritten() > transferred ? 1 : failures + 1;
+
+                synchronized (this) {
+                    checkpoint();
+                }
+
+                if (failures > this.options.getMaxRetries()) {
+                    throw e;
+                }
+
+                final long delay = Math.min(MAX_RETRY_DELAY, 1000L << Math.min(failures - 1, 15));
+
+                s_logger.warn("Download of {} interrupted at byte {}, retrying in {} ms: {}", this.downloadURL,
+                        segment.getPosition(), delay, e.getMessage());
+
+                sleep(delay);
+            } finally {
+                if (connection != null) {
+                    this.connections.remove(connection);
+                    connection = null;
+                }
+            }
+        }
+    }
+
+    private HttpURLConnection openSegmentConnection(final Segment segment) throws IOException, KuraException {
+        if (!this.state.acceptsRanges() && segment.getWritten() > 0) {
+            // the server does not support ranges, the only option is to start again
+            synchronized (this) {
+                segment.reset();
+                resetProgress();
+            }
+        }
+
+        final long position = segment.getPosition();
+        final long last = segment.getEnd() >= 0 ? segment.getEnd() - 1 : -1;
+
+        final HttpURLConnection connection;
+
+        if (this.state.acceptsRanges()) {
+            connection = openConnection(this.downloadURL, position, last, this.state.getValidator().orElse(null));
+        } else {
+            connection = openConnection(this.downloadURL, -1, -1, null);
+        }
+
+        final int responseCode = connection.getResponseCode();
+
+        if (responseCode == HttpURLConnection.HTTP_PARTIAL) {
+            final long[] contentRange = parseContentRange(connection.getHeaderField("Content-Range"));
+
+            if (contentRange == null || contentRange[0] != position
+                    || contentRange[2] >= 0 && contentRange[2] != this.state.getLength()) {
+                connection.disconnect();
+                throw new RestartException("unexpected Content-Range " + connection.getHeaderField("Content-Range"));
+            }
+        } else if (responseCode == HttpURLConnection.HTTP_OK) {
+            if (position != 0 || this.state.getSegments().size() > 1) {
+                connection.disconnect();
+                throw new RestartException("the server returned the whole resource");
+            }
+        } else if (responseCode == 416) {
+            connection.disconnect();
+            throw new RestartException("range not satisfiable");
+        } else {
+            connection.disconnect();
+            throw new IOException("Unexpected HTTP response code: " + responseCode);
+        }
+
+        return connection;
+    }
+
+    private void copy(final HttpURLConnection connection, final Segment segment) throws IOException {
+        final byte[] buffer = new byte[getBufferSize()];
+
+        try (InputStream in = connection.getInputStream()) {
+            while (!segment.isComplete()) {
+                checkAborted();
+
+                final long position = segment.getPosition();
+                final int len = segment.getEnd() >= 0 ? (int) Math.min(buffer.length, segment.getEnd() - position)
+                        : buffer.length;
+
+                final int count = in.read(buffer, 0, len);
+
+                if (count < 0) {
+                    if (segment.getEnd() >= 0) {
+                        throw new EOFException("Connection closed before the end of the content");
+                    }
+                    segment.setDone();
+                    break;
+                }
+
+                final ByteBuffer src = ByteBuffer.wrap(buffer, 0, count);
+                long offset = position;
+
+                while (src.hasRemaining()) {
+                    offset += this.channel.write(src, offset);
+                }
+
+                onSegmentProgress(segment, buffer, count);
+            }
+        }
+    }
+
+    private synchronized void onSegmentProgress(final Segment segment, final byte[] buffer, final int count)
+            throws IOException {
+        if (this.digestInOrder) {
+            this.digest.update(buffer, 0, count);
+        }
+
+        segment.advance(count);
+        write(buffer, 0, count);
+
+        if (getByteCount() - this.lastCheckpoint >= CHECKPOINT_INTERVAL) {
+            checkpoint();
+        }
+    }
+
+    private void checkpoint() throws IOException {
+        if (!this.resume || this.state == null || !this.state.isPersistent()) {
+            return;
+        }
+
+        this.channel.force(false);
+        this.state.store(this.stateFile);
+        this.lastCheckpoint = getByteCount();
+    }
+
+    private void completeDownload() throws IOException {
+        this.channel.truncate(this.state.getEnd());
+        this.channel.force(true);
+
+        if (this.digestInOrder) {
+            this.hash = HashUtil.toHex(this.digest.digest());
+        }
+
+        deleteStateFile();
+    }
+
+    private void deleteStateFile() {
+        if (this.stateFile.exists() && !this.stateFile.delete()) {
+            s_logger.warn("Failed to delete {}", this.stateFile);
+        }
+    }
+
+    private void abortSegments() {
+        this.aborted = true;
+
+        if (this.segmentExecutor != null) {
+            this.segmentExecutor.shutdownNow();
+        }
+
+        for (final HttpURLConnection connection : this.connections) {
+            connection.disconnect();
+        }
+    }
+
+    private void checkAborted() throws IOException {
+        if (this.cancelled || this.aborted || Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Download aborted");
+        }
+    }
+
+    private void sleep(final long delay) throws IOException {
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Download interrupted");
+        }
+        checkAborted();
+    }
+
+    private HttpURLConnection openConnection(String downloadUrlString, long rangeStart, long rangeEnd,
+            String validator) throws IOException, KuraException {
         URL localUrl = new URL(downloadUrlString);
         URLConnection urlConnection = localUrl.openConnection();
-        int connectTimeout = getConnectTimeout();
-        int readTimeout = getPropReadTimeout();
-        urlConnection.setConnectTimeout(connectTimeout);
-        urlConnection.setReadTimeout(readTimeout);
 
-        int responseCode = ((HttpURLConnection) urlConnection).getResponseCode();
+        testConnectionProtocol(urlConnection);
+
+        HttpURLConnection httpConnection = (HttpURLConnection) urlConnection;
+        httpConnection.setConnectTimeout(getConnectTimeout());
+        httpConnection.setReadTimeout(getPropReadTimeout());
+
+        if (rangeStart >= 0) {
+            httpConnection.setRequestProperty("Range",
+                    "bytes=" + rangeStart + "-" + (rangeEnd >= 0 ? Long.toString(rangeEnd) : ""));
+            if (validator != null) {
+                httpConnection.setRequestProperty("If-Range", validator);
+            }
+        }
+
+        this.connections.add(httpConnection);
+
+        final int responseCode;
+        try {
+            responseCode = httpConnection.getResponseCode();
+        } catch (IOException e) {
+            this.connections.remove(httpConnection);
+            throw e;
+        }
+
         if (responseCode == HttpURLConnection.HTTP_MOVED_TEMP || responseCode == HttpURLConnection.HTTP_MOVED_PERM
                 || responseCode == HttpURLConnection.HTTP_SEE_OTHER) {
-            String newLocation = urlConnection.getHeaderField("Location");
+            String newLocation = httpConnection.getHeaderField("Location");
+            this.connections.remove(httpConnection);
+            httpConnection.disconnect();
             if (StringUtils.isNotEmpty(newLocation)) {
-                return getUrlConnection(newLocation);
+                return openConnection(new URL(localUrl, newLocation).toString(), rangeStart, rangeEnd, validator);
             } else {
                 throw new KuraRuntimeException(KuraErrorCode.INVALID_PARAMETER);
             }
         }
-        return urlConnection;
+        return httpConnection;
     }
 
     private void testConnectionProtocol(URLConnection urlConnection) throws IOException, KuraConnectException {
@@ -196,4 +632,58 @@ public class HttpDownloadCountingOutputStream extends GenericDownloadCountingOut
             throw new KuraConnectException(e, "Unsupported protocol!");
         }
     }
+
+    /**
+     * Parses a Content-Range header in the form {@code bytes first-last/length}, the length is -1 if not known.
+     */
+    static long[] parseContentRange(final String contentRange) {
+        if (contentRange == null || !contentRange.startsWith("bytes ")) {
+            return null;
+        }
+
+        try {
+            final String value = contentRange.substring("bytes ".length()).trim();
+            final int dash = value.indexOf('-');
+            final int slash = value.indexOf('/');
+
+            if (dash < 0 || slash < dash) {
+                return null;
+            }
+
+            final String length = value.substring(slash + 1).trim();
+
+            return new long[] { Long.parseLong(value.substring(0, dash).trim()),
+                    Long.parseLong(value.substring(dash + 1, slash).trim()),
+                    "*".equals(length) ? -1 : Long.parseLong(length) };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static MessageDigest createDigest(final String hash) {
+        if (hash == null) {
+            return null;
+        }
+
+        final String[] hashAlgorithmValue = hash.split(":");
+
+        if (hashAlgorithmValue.length != 2 || hashAlgorithmValue[0].trim().isEmpty()) {
+            return null;
+        }
+
+        try {
+            return MessageDigest.getInstance(hashAlgorithmValue[0].trim());
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    private static final class RestartException extends IOException {
+
+        private static final long serialVersionUID = -5032213785468707474L;
+
+        RestartException(final String message) {
+            super(message);
+        }
+    }
 }
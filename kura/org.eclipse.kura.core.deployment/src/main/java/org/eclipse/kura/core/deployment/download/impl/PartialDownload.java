@@ -0,0 +1,275 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.core.deployment.download.impl;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Describes a ranged HTTP download that is split in one or more segments, together with the validator of the remote
+ * resource. The state can be persisted next to the partially downloaded file so that the transfer can be resumed
+ * after a reconnection or a reboot.
+ */
+final class PartialDownload {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartialDownload.class);
+
+    private static final String URL_KEY = "url";
+    private static final String ETAG_KEY = "etag";
+    private static final String LAST_MODIFIED_KEY = "last.modified";
+    private static final String LENGTH_KEY = "length";
+    private static final String SEGMENT_COUNT_KEY = "segment.count";
+    private static final String SEGMENT_KEY_PREFIX = "segment.";
+
+    private final String url;
+    private final String etag;
+    private final String lastModified;
+    private final long length;
+    private final boolean acceptsRanges;
+    private final List<Segment> segments;
+
+    PartialDownload(final String url, final String etag, final String lastModified, final long length,
+            final boolean acceptsRanges, final List<Segment> segments) {
+        this.url = url;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.length = length;
+        this.acceptsRanges = acceptsRanges;
+        this.segments = Collections.unmodifiableList(segments);
+    }
+
+    static PartialDownload create(final String url, final String etag, final String lastModified, final long length,
+            final boolean acceptsRanges, final int requestedSegments, final long minSegmentSize) {
+        int segmentCount = 1;
+
+        if (acceptsRanges && length > 0 && requestedSegments > 1) {
+            segmentCount = (int) Math.max(1, Math.min(requestedSegments, length / minSegmentSize));
+        }
+
+        final List<Segment> segments = new ArrayList<>(segmentCount);
+
+        if (length < 0) {
+            segments.add(new Segment(0, -1, 0));
+        } else {
+            final long segmentSize = length / segmentCount;
+
+            for (int i = 0; i < segmentCount; i++) {
+                final long start = i * segmentSize;
+                final long end = i == segmentCount - 1 ? length : start + segmentSize;
+                segments.add(new Segment(start, end, 0));
+            }
+        }
+
+        return new PartialDownload(url, etag, lastModified, length, acceptsRanges, segments);
+    }
+
+    String getUrl() {
+        return this.url;
+    }
+
+    long getLength() {
+        return this.length;
+    }
+
+    boolean acceptsRanges() {
+        return this.acceptsRanges;
+    }
+
+    List<Segment> getSegments() {
+        return this.segments;
+    }
+
+    /**
+     * Returns the value of the If-Range header to be used for requesting the remaining content, a strong ETag is
+     * preferred over the last modified date.
+     */
+    Optional<String> getValidator() {
+        if (this.etag != null && !this.etag.startsWith("W/")) {
+            return Optional.of(this.etag);
+        }
+        return Optional.ofNullable(this.lastModified);
+    }
+
+    /**
+     * Returns true if the download can be resumed by a different session.
+     */
+    boolean isPersistent() {
+        return this.acceptsRanges && this.length >= 0 && getValidator().isPresent();
+    }
+
+    long getTransferredBytes() {
+        long result = 0;
+        for (final Segment segment : this.segments) {
+            result += segment.written;
+        }
+        return result;
+    }
+
+    long getEnd() {
+        if (this.length >= 0) {
+            return this.length;
+        }
+        return this.segments.get(0).written;
+    }
+
+    /**
+     * Reduces the progress of the segments so that it does not exceed the actual size of the partial file.
+     */
+    void clamp(final long fileSize) {
+        for (final Segment segment : this.segments) {
+            segment.written = Math.max(0, Math.min(segment.written, fileSize - segment.start));
+        }
+    }
+
+    void store(final File stateFile) throws IOException {
+        final Properties properties = new Properties();
+
+        properties.setProperty(URL_KEY, this.url);
+        if (this.etag != null) {
+            properties.setProperty(ETAG_KEY, this.etag);
+        }
+        if (this.lastModified != null) {
+            properties.setProperty(LAST_MODIFIED_KEY, this.lastModified);
+        }
+        properties.setProperty(LENGTH_KEY, Long.toString(this.length));
+        properties.setProperty(SEGMENT_COUNT_KEY, Integer.toString(this.segments.size()));
+
+        for (int i = 0; i < this.segments.size(); i++) {
+            final Segment segment = this.segments.get(i);
+            properties.setProperty(SEGMENT_KEY_PREFIX + i, segment.start + "," + segment.end + "," + segment.written);
+        }
+
+        final File tmpFile = new File(stateFile.getPath() + ".tmp");
+
+        try (OutputStream out = new FileOutputStream(tmpFile)) {
+            properties.store(out, null);
+            out.flush();
+            ((FileOutputStream) out).getFD().sync();
+        }
+
+        try {
+            Files.move(tmpFile.toPath(), stateFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmpFile.toPath(), stateFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Loads the state of a previous download of the given URL, returns an empty optional if the state file does not
+     * exist, if it refers to a different URL or if it is not valid.
+     */
+    static Optional<PartialDownload> load(final File stateFile, final String url) {
+        if (!stateFile.isFile()) {
+            return Optional.empty();
+        }
+
+        final Properties properties = new Properties();
+
+        try (InputStream in = new FileInputStream(stateFile)) {
+            properties.load(in);
+
+            if (!url.equals(properties.getProperty(URL_KEY))) {
+                logger.info("Ignoring partial download of {}", properties.getProperty(URL_KEY));
+                return Optional.empty();
+            }
+
+            final int segmentCount = Integer.parseInt(properties.getProperty(SEGMENT_COUNT_KEY));
+            final List<Segment> segments = new ArrayList<>(segmentCount);
+
+            for (int i = 0; i < segmentCount; i++) {
+                final String[] values = properties.getProperty(SEGMENT_KEY_PREFIX + i).split(",");
+                segments.add(new Segment(Long.parseLong(values[0]), Long.parseLong(values[1]),
+                        Long.parseLong(values[2])));
+            }
+
+            final PartialDownload result = new PartialDownload(url, properties.getProperty(ETAG_KEY),
+                    properties.getProperty(LAST_MODIFIED_KEY), Long.parseLong(properties.getProperty(LENGTH_KEY)),
+                    true, segments);
+
+            if (segments.isEmpty() || !result.isPersistent()) {
+                return Optional.empty();
+            }
+
+            return Optional.of(result);
+        } catch (final Exception e) {
+            logger.warn("Failed to load partial download state from {}", stateFile, e);
+            return Optional.empty();
+        }
+    }
+
+    static final class Segment {
+
+        private final long start;
+        private final long end;
+        private long written;
+        private boolean done;
+
+        Segment(final long start, final long end, final long written) {
+            this.start = start;
+            this.end = end;
+            this.written = written;
+        }
+
+        long getStart() {
+            return this.start;
+        }
+
+        /**
+         * Returns the end offset of the segment (exclusive), or -1 if the length of the resource is not known.
+         */
+        long getEnd() {
+            return this.end;
+        }
+
+        long getWritten() {
+            return this.written;
+        }
+
+        long getPosition() {
+            return this.start + this.written;
+        }
+
+        void advance(final long count) {
+            this.written += count;
+        }
+
+        void reset() {
+            this.written = 0;
+            this.done = false;
+        }
+
+        void setDone() {
+            this.done = true;
+        }
+
+        boolean isComplete() {
+            return this.done || this.end >= 0 && this.start + this.written >= this.end;
+        }
+    }
+}
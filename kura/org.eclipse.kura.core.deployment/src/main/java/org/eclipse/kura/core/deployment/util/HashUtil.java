@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2020 Eurotech and/or its affiliates and others
+ * Copyright (c) 2011, 2023 Eurotech and/or its affiliates and others
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,8 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 
@@ -25,6 +27,8 @@ import org.eclipse.kura.KuraException;
 
 public class HashUtil {
 
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     public static String hash(String digestAlgorithm, File file) throws IOException, Exception {
         MessageDigest cript = null;
         FileInputStream fis = null;
@@ -32,17 +36,12 @@ public class HashUtil {
             cript = MessageDigest.getInstance(digestAlgorithm);
             fis = new FileInputStream(file);
 
-            byte[] byteArray = new byte[1024];
+            byte[] byteArray = new byte[BUFFER_SIZE];
             int bytesCount = 0;
             while ((bytesCount = fis.read(byteArray)) != -1) {
                 cript.update(byteArray, 0, bytesCount);
             }
-            byte[] encodedBytes = cript.digest();
-            StringBuilder sb = new StringBuilder();
-            for (byte encodedByte : encodedBytes) {
-                sb.append(Integer.toString((encodedByte & 0xff) + 0x100, 16).substring(1));
-            }
-            return sb.toString();
+            return toHex(cript.digest());
         } catch (FileNotFoundException e) {
             throw new KuraException(KuraErrorCode.STORE_ERROR, null, e.getMessage());
         } catch (IOException e) {
@@ -56,4 +55,34 @@ public class HashUtil {
         }
     }
 
+    /**
+     * Updates the digest with the content of the channel between the given positions.
+     */
+    public static void update(MessageDigest digest, FileChannel channel, long from, long to) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long position = from;
+
+        while (position < to) {
+            buffer.clear();
+            buffer.limit((int) Math.min(BUFFER_SIZE, to - position));
+
+            int count = channel.read(buffer, position);
+            if (count < 0) {
+                throw new IOException("Unexpected end of file at position " + position);
+            }
+
+            buffer.flip();
+            digest.update(buffer);
+            position += count;
+        }
+    }
+
+    public static String toHex(byte[] encodedBytes) {
+        StringBuilder sb = new StringBuilder(encodedBytes.length * 2);
+        for (byte encodedByte : encodedBytes) {
+            sb.append(Integer.toString((encodedByte & 0xff) + 0x100, 16).substring(1));
+        }
+        return sb.toString();
+    }
+
 }
@@ -0,0 +1,290 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.core.system;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Caches the values of system properties that are expensive to compute, for example because they require running an
+ * external command.
+ * <p>
+ * Each property has its own time to live. When a property is requested after its time to live has elapsed the cached
+ * value is returned and a refresh is started in background, so that callers never wait for a command execution once
+ * the property has been loaded. All registered properties can be loaded in parallel with {@link #populate()}; a caller
+ * requesting a property that is still being loaded waits for the ongoing load instead of starting a new one.
+ */
+class SystemPropertyCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SystemPropertyCache.class);
+
+    private static final int MAX_THREADS = 4;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+
+    /**
+     * Registers a property, if a property with the same name already exists it is left unchanged.
+     */
+    void register(final String name, final long ttl, final TimeUnit unit, final Supplier<String> loader) {
+        this.entries.computeIfAbsent(name, n -> new Entry(n, unit.toNanos(ttl), loader));
+    }
+
+    /**
+     * Returns the value of the given property, loading it in the calling thread if it has never been loaded. If the
+     * cache is not started expired values are reloaded in the calling thread as well. If the property is not
+     * registered, for example because the cache has been stopped, the value returned by the fallback is returned
+     * without caching it.
+     */
+    String get(final String name, final Supplier<String> fallback) {
+        final Entry entry = this.entries.get(name);
+
+        if (entry == null) {
+            return fallback.get();
+        }
+
+        return entry.get();
+    }
+
+    /**
+     * Starts the threads used for background loading.
+     */
+    synchronized void start() {
+        if (this.executor != null) {
+            return;
+        }
+
+        final AtomicInteger threadCount = new AtomicInteger();
+
+        this.executor = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    final Thread thread = new Thread(r, "SystemPropertyCache-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Starts loading in parallel all the properties that have not been loaded yet.
+     */
+    void populate() {
+        for (final Entry entry : this.entries.values()) {
+            entry.loadInBackground();
+        }
+    }
+
+    /**
+     * Stops the background threads and removes all the registered properties.
+     */
+    void stop() {
+        final ThreadPoolExecutor oldExecutor;
+
+        synchronized (this) {
+            oldExecutor = this.executor;
+            this.executor = null;
+        }
+
+        if (oldExecutor != null) {
+            oldExecutor.shutdownNow();
+        }
+
+        for (final Entry entry : this.entries.values()) {
+            entry.clear();
+        }
+        this.entries.clear();
+    }
+
+    private boolean submit(final Runnable task) {
+        final ThreadPoolExecutor currentExecutor;
+
+        synchronized (this) {
+            currentExecutor = this.executor;
+        }
+
+        if (currentExecutor == null) {
+            return false;
+        }
+
+        try {
+            currentExecutor.execute(task);
+            return true;
+        } catch (final RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private final class Entry {
+
+        private final String name;
+        private final long ttlNanos;
+        private final Supplier<String> loader;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private CompletableFuture<String> value;
+        private CompletableFuture<String> claimed;
+        private volatile long loadedAt;
+
+        Entry(final String name, final long ttlNanos, final Supplier<String> loader) {
+            this.name = name;
+            this.ttlNanos = ttlNanos;
+            this.loader = loader;
+        }
+
+        String get() {
+            while (true) {
+                final CompletableFuture<String> current;
+                boolean loadHere = false;
+
+                synchronized (this) {
+                    if (this.value == null) {
+                        this.value = new CompletableFuture<>();
+                        this.claimed = this.value;
+                        loadHere = true;
+                    }
+                    current = this.value;
+                }
+
+                if (!current.isDone() && claim(current)) {
+                    // the background load has not started yet, run it here instead of waiting for a free thread
+                    loadHere = true;
+                }
+
+                if (loadHere) {
+                    load(current);
+                } else if (current.isDone() && isExpired()) {
+                    refreshInBackground();
+                }
+
+                try {
+                    return current.join();
+                } catch (final CompletionException e) {
+                    if (loadHere && e.getCause() instanceof RuntimeException) {
+                        throw (RuntimeException) e.getCause();
+                    } else if (loadHere) {
+                        throw e;
+                    }
+                    // a background load failed, retry in the calling thread
+                }
+            }
+        }
+
+        void loadInBackground() {
+            final CompletableFuture<String> current;
+
+            synchronized (this) {
+                if (this.value != null) {
+                    return;
+                }
+                current = new CompletableFuture<>();
+                this.value = current;
+            }
+
+            final Runnable task = () -> {
+                if (claim(current)) {
+                    load(current);
+                }
+            };
+
+            if (!submit(task)) {
+                fail(current, new IllegalStateException("cache is not started"));
+            }
+        }
+
+        void clear() {
+            final CompletableFuture<String> current;
+
+            synchronized (this) {
+                current = this.value;
+                this.value = null;
+            }
+
+            if (current != null) {
+                // callers waiting for a load that will not run anymore load the property by themselves
+                current.completeExceptionally(new IllegalStateException("cache stopped"));
+            }
+        }
+
+        private synchronized boolean claim(final CompletableFuture<String> target) {
+            if (this.claimed == target) {
+                return false;
+            }
+            this.claimed = target;
+            return true;
+        }
+
+        private boolean isExpired() {
+            return System.nanoTime() - this.loadedAt >= this.ttlNanos;
+        }
+
+        private void load(final CompletableFuture<String> target) {
+            try {
+                final String result = this.loader.get();
+                this.loadedAt = System.nanoTime();
+                target.complete(result);
+            } catch (final RuntimeException e) {
+                logger.debug("Failed to load system property {}", this.name, e);
+                fail(target, e);
+            }
+        }
+
+        private void fail(final CompletableFuture<String> target, final RuntimeException cause) {
+            synchronized (this) {
+                if (this.value == target) {
+                    this.value = null;
+                }
+            }
+            target.completeExceptionally(cause);
+        }
+
+        private void refreshInBackground() {
+            if (!this.refreshing.compareAndSet(false, true)) {
+                return;
+            }
+
+            final Runnable refresh = () -> {
+                try {
+                    final String result = this.loader.get();
+
+                    synchronized (this) {
+                        if (this.value != null) {
+                            this.value = CompletableFuture.completedFuture(result);
+                        }
+                    }
+                } catch (final RuntimeException e) {
+                    logger.debug("Failed to refresh system property {}, keeping the previous value", this.name, e);
+                } finally {
+                    this.loadedAt = System.nanoTime();
+                    this.refreshing.set(false);
+                }
+            };
+
+            if (!submit(refresh)) {
+                refresh.run();
+            }
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2021 Eurotech and/or its affiliates and others
+ * Copyright (c) 2011, 2023 Eurotech and/or its affiliates and others
  *
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -40,6 +40,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 import org.apache.commons.io.Charsets;
@@ -66,6 +67,13 @@ import org.slf4j.LoggerFactory;
 public class SystemServiceImpl extends SuperSystemService implements SystemService {
 
     private static final String PROPERTY_PROVIDER_SUFFIX = ".provider";
+    private static final String PROPERTY_PROVIDER_TTL_SUFFIX = ".provider.ttl";
+
+    private static final long HARDWARE_PROPERTY_TTL_HOURS = 24;
+    private static final long HOST_PROPERTY_TTL_SECONDS = 60;
+    private static final long DEFAULT_PROVIDER_TTL_SECONDS = 60;
+    private static final String HOSTNAME_PROPERTY = "hostname";
+    private static final String PRIMARY_MAC_ADDRESS_PROPERTY = "primary.mac.address";
 
     private static final String DMIDECODE_COMMAND = "dmidecode -t system";
 
@@ -95,6 +103,8 @@ public class SystemServiceImpl extends SuperSystemService implements SystemServi
 
     private String primaryInterfaceMacAddress;
 
+    private final SystemPropertyCache propertyCache = new SystemPropertyCache();
+
     // ----------------------------------------------------------------
     //
     // Dependencies
@@ -489,6 +499,8 @@ public class SystemServiceImpl extends SuperSystemService implements SystemServi
                 createDirIfNotExists(getKuraTemporaryConfigDirectory());
             }
 
+            startPropertyCache();
+
             logger.info("Kura version {} is starting", getKuraVersion());
         } catch (IOException e) {
             throw new ComponentException("Error loading default properties", e);
@@ -533,7 +545,68 @@ public class SystemServiceImpl extends SuperSystemService implements SystemServi
         return IOUtils.toString(resourceUrl);
     }
 
+    private void startPropertyCache() {
+        this.propertyCache.stop();
+
+        this.propertyCache.register(KEY_BIOS_VERSION, HARDWARE_PROPERTY_TTL_HOURS, TimeUnit.HOURS,
+                this::probeBiosVersion);
+        this.propertyCache.register(KEY_FIRMWARE_VERSION, HARDWARE_PROPERTY_TTL_HOURS, TimeUnit.HOURS,
+                this::probeFirmwareVersion);
+        this.propertyCache.register(KEY_MODEL_ID, HARDWARE_PROPERTY_TTL_HOURS, TimeUnit.HOURS, this::probeModelId);
+        this.propertyCache.register(KEY_MODEL_NAME, HARDWARE_PROPERTY_TTL_HOURS, TimeUnit.HOURS,
+                this::probeModelName);
+        this.propertyCache.register(KEY_PART_NUMBER, HARDWARE_PROPERTY_TTL_HOURS, TimeUnit.HOURS,
+                this::probePartNumber);
+        this.propertyCache.register(KEY_SERIAL_NUM, HARDWARE_PROPERTY_TTL_HOURS, TimeUnit.HOURS,
+                this::probeSerialNumber);
+        this.propertyCache.register(KEY_CPU_VERSION, HARDWARE_PROPERTY_TTL_HOURS, TimeUnit.HOURS,
+                this::probeCpuVersion);
+        this.propertyCache.register(KEY_DEVICE_NAME, HOST_PROPERTY_TTL_SECONDS, TimeUnit.SECONDS,
+                this::probeDeviceName);
+        this.propertyCache.register(HOSTNAME_PROPERTY, HOST_PROPERTY_TTL_SECONDS, TimeUnit.SECONDS,
+                this::probeHostname);
+        this.propertyCache.register(PRIMARY_MAC_ADDRESS_PROPERTY, HOST_PROPERTY_TTL_SECONDS, TimeUnit.SECONDS,
+                this::probePrimaryMacAddress);
+
+        for (final String name : this.kuraProperties.stringPropertyNames()) {
+            if (name.endsWith(PROPERTY_PROVIDER_SUFFIX)) {
+                registerPropertyProvider(name.substring(0, name.length() - PROPERTY_PROVIDER_SUFFIX.length()));
+            }
+        }
+
+        this.propertyCache.start();
+        this.propertyCache.populate();
+    }
+
+    private void registerPropertyProvider(final String key) {
+        long ttl = DEFAULT_PROVIDER_TTL_SECONDS;
+
+        final String ttlProperty = this.kuraProperties.getProperty(key + PROPERTY_PROVIDER_TTL_SUFFIX);
+
+        if (ttlProperty != null) {
+            try {
+                ttl = Long.parseLong(ttlProperty.trim());
+            } catch (final NumberFormatException e) {
+                logger.warn("Invalid value for {}{}: {}", key, PROPERTY_PROVIDER_TTL_SUFFIX, ttlProperty);
+            }
+        }
+
+        this.propertyCache.register(key + PROPERTY_PROVIDER_SUFFIX, ttl, TimeUnit.SECONDS,
+                () -> runPropertyProvider(key));
+    }
+
+    private String runPropertyProvider(final String key) {
+        final String externalProvider = this.kuraProperties.getProperty(key + PROPERTY_PROVIDER_SUFFIX);
+
+        if (externalProvider == null) {
+            return null;
+        }
+
+        return processCommandOutput(runSystemCommand(externalProvider, true, this.executorService));
+    }
+
     protected void deactivate(ComponentContext componentContext) {
+        this.propertyCache.stop();
         this.componentContext = null;
         this.kuraProperties = null;
     }
@@ -563,6 +636,10 @@ public class SystemServiceImpl extends SuperSystemService implements SystemServi
 
     @Override
     public String getPrimaryMacAddress() {
+        return this.propertyCache.get(PRIMARY_MAC_ADDRESS_PROPERTY, this::probePrimaryMacAddress);
+    }
+
+    private String probePrimaryMacAddress() {
         String primaryNetworkInterfaceName = getPrimaryNetworkInterfaceName();
 
         if (OS_MAC_OSX.equals(getOsName())) {
@@ -1002,6 +1079,10 @@ public class SystemServiceImpl extends SuperSystemService implements SystemServi
             return override.get();
         }
 
+        return this.propertyCache.get(KEY_BIOS_VERSION, this::probeBiosVersion);
+    }
+
+    private String probeBiosVersion() {
         String biosVersion = UNSUPPORTED;
 
         if (OS_LINUX.equals(getOsName())) {
@@ -1039,6 +1120,10 @@ public class SystemServiceImpl extends SuperSystemService implements SystemServi
             return override.get();
         }
 
+        return this.propertyCache.get(KEY_DEVICE_NAME, this::probeDeviceName);
+    }
+
+    private String probeDeviceName() {
         String deviceName = UNKNOWN;
         if (OS_MAC_OSX.equals(getOsName())) {
             String displayTmp = runSystemCommand("scutil --get ComputerName", false, this.executorService);
@@ -1062,6 +1147,10 @@ public class SystemServiceImpl extends SuperSystemService implements SystemServi
             return override.get();
         }
 
+        return this.propertyCache.get(KEY_FIRMWARE_VERSION, this::probeFirmwareVersion);
+    }
+
+    private String probeFirmwareVersion() {
         String fwVersion = UNSUPPORTED;
 
         if (OS_LINUX.equals(getOsName()) && getOsVersion() != null) {
@@ -1083,6 +1172,10 @@ public class SystemServiceImpl extends SuperSystemService implements SystemServi
             return override.get();
         }
 
+        return this.propertyCache.get(KEY_MODEL_ID, this::probeModelId);
+    }
+
+    private String probeModelId() {
         String modelId = UNKNOWN;
 
         if (OS_MAC_OSX.equals(getOsName())) {
@@ -1114,6 +1207,10 @@ public class SystemServiceImpl extends SuperSystemService implements SystemServi
             return override.get();
         }
 
+        return this.propertyCache.get(KEY_MODEL_NAME, this::probeModelName);
+    }
+
+    private String probeModelName() {
         String modelName = UNKNOWN;
 
         if (OS_MAC_OSX.equals(getOsName())) {
@@ -1146,6 +1243,10 @@ public class SystemServiceImpl extends SuperSystemService implements SystemServi
             return override.get();
         }
 
+        return this.propertyCache.get(KEY_PART_NUMBER, this::probePartNumber);
+    }
+
+    private String probePartNumber() {
         String partNumber = UNSUPPORTED;
 
         if (OS_LINUX.equals(getOsName()) && (LINUX_2_6_34_9_WR4_2_0_0_STANDARD.equals(getOsVersion())
@@ -1164,6 +1265,10 @@ public class SystemServiceImpl extends SuperSystemService implements SystemServi
             return override.get();
         }
 
+        return this.propertyCache.get(KEY_SERIAL_NUM, this::probeSerialNumber);
+    }
+
+    private String probeSerialNumber() {
         String serialNum = UNKNOWN;
 
         if (OS_MAC_OSX.equals(getOsName())) {
@@ -1353,6 +1458,10 @@ public class SystemServiceImpl extends SuperSystemService implements SystemServi
 
     @Override
     public String getHostname() {
+        return this.propertyCache.get(HOSTNAME_PROPERTY, this::probeHostname);
+    }
+
+    private String probeHostname() {
         String hostname = UNKNOWN;
 
         if (OS_MAC_OSX.equals(getOsName())) {
@@ -1399,6 +1508,10 @@ public class SystemServiceImpl extends SuperSystemService implements SystemServi
             return override.get();
         }
 
+        return this.propertyCache.get(KEY_CPU_VERSION, this::probeCpuVersion);
+    }
+
+    private String probeCpuVersion() {
         if (OS_LINUX.equals(getOsName())) {
             try {
                 return probeCpuVersionLinux();
@@ -1433,16 +1546,25 @@ public class SystemServiceImpl extends SuperSystemService implements SystemServi
     }
 
     protected Optional<String> getProperty(final String key) {
-        final String prop = this.kuraProperties.getProperty(key);
+        final Properties properties = this.kuraProperties;
+
+        if (properties == null) {
+            // not activated
+            return Optional.empty();
+        }
+
+        final String prop = properties.getProperty(key);
 
         if (prop != null) {
             return Optional.of(prop);
         }
 
-        final String externalProvider = this.kuraProperties.getProperty(key + PROPERTY_PROVIDER_SUFFIX);
+        final String externalProvider = properties.getProperty(key + PROPERTY_PROVIDER_SUFFIX);
 
         if (externalProvider != null) {
-            final String result = processCommandOutput(runSystemCommand(externalProvider, true, this.executorService));
+            registerPropertyProvider(key);
+            final String result = this.propertyCache.get(key + PROPERTY_PROVIDER_SUFFIX,
+                    () -> runPropertyProvider(key));
 
             if (result != null && !result.isEmpty()) {
                 return Optional.of(result);
@@ -61,6 +61,8 @@ import org.eclipse.kura.status.CloudConnectionStatusEnum;
 import org.eclipse.kura.status.CloudConnectionStatusService;
 import org.eclipse.kura.util.jdbc.ConnectionProvider;
 import org.eclipse.kura.util.jdbc.SQLFunction;
+import org.eclipse.kura.util.message.store.QuotaAwareMessageStore;
+import org.eclipse.kura.util.message.store.QuotaAwareMessageStore.EvictionPolicy;
 import org.eclipse.kura.watchdog.CriticalComponent;
 import org.eclipse.kura.watchdog.WatchdogService;
 import org.eclipse.paho.client.mqttv3.MqttException;
@@ -88,6 +90,9 @@ public class DataServiceImpl implements DataService, DataTransportListener, Conf
 
     private static final int TRANSPORT_TASK_TIMEOUT = 1; // In seconds
 
+    // messages with this priority or higher are rate limited, can expire and can be evicted from the store
+    private static final int LOW_PRIORITY_THRESHOLD = 5;
+
     private DataServiceOptions dataServiceOptions;
 
     private DataTransportService dataTransportService;
@@ -565,13 +570,49 @@ public class DataServiceImpl implements DataService, DataTransportListener, Conf
             }
         }
 
-        if (this.inFlightMsgIds.size() < this.dataServiceOptions.getMaxInFlightMessages()) {
+        if (this.inFlightMsgIds.size() < getMaxInFlightMessages()) {
             handleInFlightDecongestion();
         }
 
         signalPublisher();
     }
 
+    private void enforceStoreCapacity(final MessageStore store, final int priority) throws KuraStoreException {
+        final int lowPriorityCapacity = this.dataServiceOptions.getStoreLowPriorityCapacity();
+
+        if (priority >= LOW_PRIORITY_THRESHOLD && lowPriorityCapacity > 0
+                && store instanceof QuotaAwareMessageStore) {
+            ((QuotaAwareMessageStore) store).enforceQuota(LOW_PRIORITY_THRESHOLD, Integer.MAX_VALUE,
+                    lowPriorityCapacity, this.dataServiceOptions.getStoreLowPriorityEvictionPolicy());
+        }
+
+        int count = store.getMessageCount();
+        logger.debug("Store message count: {}", count);
+
+        final int capacity = this.dataServiceOptions.getStoreCapacity();
+
+        if (count >= capacity && !evictLowPriorityMessages(store, count - capacity + 1)) {
+            logger.error("Store capacity exceeded");
+            throw new KuraStoreCapacityReachedException("Store capacity exceeded");
+        }
+    }
+
+    private boolean evictLowPriorityMessages(final MessageStore store, final int count) throws KuraStoreException {
+        if (this.dataServiceOptions.getStoreLowPriorityEvictionPolicy() != EvictionPolicy.DROP_OLDEST
+                || !(store instanceof QuotaAwareMessageStore)) {
+            return false;
+        }
+
+        final int evicted = ((QuotaAwareMessageStore) store).deleteOldestMessages(LOW_PRIORITY_THRESHOLD,
+                Integer.MAX_VALUE, count);
+
+        if (evicted > 0) {
+            logger.warn("Store capacity exceeded, dropped {} low priority messages", evicted);
+        }
+
+        return evicted >= count;
+    }
+
     private void disconnectDataTransportAndLog(Throwable e) {
 
         if (e instanceof KuraStoreCapacityReachedException) {
@@ -667,12 +708,7 @@ public class DataServiceImpl implements DataService, DataTransportListener, Conf
                     // We want to publish those message even if the DB is full, so allow their
                     // storage.
                     if (priority != 0 && priority != 1) {
-                        int count = currentStore.getMessageCount();
-                        logger.debug("Store message count: {}", count);
-                        if (count >= this.dataServiceOptions.getStoreCapacity()) {
-                            logger.error("Store capacity exceeded");
-                            throw new KuraStoreCapacityReachedException("Store capacity exceeded");
-                        }
+                        enforceStoreCapacity(currentStore, priority);
                     }
 
                     messageId = currentStore.store(topic, payload, qos, retain, priority);
@@ -868,6 +904,29 @@ public class DataServiceImpl implements DataService, DataTransportListener, Conf
         return ids;
     }
 
+    private int getMaxInFlightMessages() {
+        int result = this.dataServiceOptions.getMaxInFlightMessages();
+
+        final DataTransportService transport = this.dataTransportService;
+        if (transport instanceof FlowControlledTransport) {
+            result = Math.min(result, ((FlowControlledTransport) transport).getInFlightWindow());
+        }
+
+        return result;
+    }
+
+    private boolean isExpired(StoredMessage message) {
+        final long expiryIntervalSeconds = this.dataServiceOptions.getMessageExpiryIntervalSeconds();
+
+        if (expiryIntervalSeconds <= 0 || message.getPriority() < LOW_PRIORITY_THRESHOLD
+                || !message.getCreatedOn().isPresent()) {
+            return false;
+        }
+
+        final long ageMillis = System.currentTimeMillis() - message.getCreatedOn().get().getTime();
+        return ageMillis > TimeUnit.SECONDS.toMillis(expiryIntervalSeconds);
+    }
+
     private void handleInFlightDecongestion() {
         if (this.congestionFuture != null && !this.congestionFuture.isDone()) {
             this.congestionFuture.cancel(true);
@@ -968,11 +1027,14 @@ public class DataServiceImpl implements DataService, DataTransportListener, Conf
                             final Optional<StoredMessage> message = DataServiceImpl.this.storeState.get()
                                     .getOrOpenMessageStore().getNextMessage();
 
-                            if (message.isPresent()) {
+                            if (message.isPresent() && isExpired(message.get())) {
+                                discardExpiredMessage(message.get());
+                                messagePublished = true;
+                            } else if (message.isPresent()) {
                                 checkInFlightMessages(message.get());
 
                                 if (DataServiceImpl.this.dataServiceOptions.isRateLimitEnabled()
-                                        && message.get().getPriority() >= 5) {
+                                        && message.get().getPriority() >= LOW_PRIORITY_THRESHOLD) {
                                     messagePublished = publishMessageTokenBucket(message.get());
                                     sleepingTime = DataServiceImpl.this.throttle.getTokenWaitTime();
                                 } else {
@@ -1000,9 +1062,23 @@ public class DataServiceImpl implements DataService, DataTransportListener, Conf
             logger.debug("Exited publisher loop.");
         }
 
+        private void discardExpiredMessage(StoredMessage message) throws KuraStoreException {
+            logger.debug("Discarding expired message with ID: {} on topic: {}, priority: {}", message.getId(),
+                    message.getTopic(), message.getPriority());
+
+            final MessageStore messageStore = DataServiceImpl.this.storeState.get().getOrOpenMessageStore();
+
+            // the housekeeper only purges QoS 0 messages once published, QoS > 0 messages must also be confirmed,
+            // otherwise they would be considered in flight and republished on reconnection
+            messageStore.markAsPublished(message.getId());
+
+            if (message.getQos() > 0) {
+                messageStore.markAsConfirmed(message.getId());
+            }
+        }
+
         private void checkInFlightMessages(StoredMessage message) throws KuraTooManyInflightMessagesException {
-            if (message.getQos() > 0 && DataServiceImpl.this.inFlightMsgIds
-                    .size() >= DataServiceImpl.this.dataServiceOptions.getMaxInFlightMessages()) {
+            if (message.getQos() > 0 && DataServiceImpl.this.inFlightMsgIds.size() >= getMaxInFlightMessages()) {
                 logger.warn("The configured maximum number of in-flight messages has been reached");
                 throw new KuraTooManyInflightMessagesException("Too many in-flight messages");
             }
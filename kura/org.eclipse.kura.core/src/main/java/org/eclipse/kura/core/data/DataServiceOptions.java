@@ -21,6 +21,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.eclipse.kura.configuration.ConfigurationService;
 import org.eclipse.kura.db.H2DbService;
+import org.eclipse.kura.util.message.store.QuotaAwareMessageStore.EvictionPolicy;
 import org.quartz.CronExpression;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,6 +37,8 @@ public class DataServiceOptions {
     private static final String STORE_HOUSEKEEPER_INTERVAL_PROP_NAME = "store.housekeeper-interval";
     private static final String STORE_PURGE_AGE_PROP_NAME = "store.purge-age";
     private static final String STORE_CAPACITY_PROP_NAME = "store.capacity";
+    private static final String STORE_LOW_PRIORITY_CAPACITY_PROP_NAME = "store.low-priority.capacity";
+    private static final String STORE_LOW_PRIORITY_EVICTION_POLICY_PROP_NAME = "store.low-priority.eviction-policy";
     private static final String REPUBLISH_IN_FLIGHT_MSGS_PROP_NAME = "in-flight-messages.republish-on-new-session";
     private static final String MAX_IN_FLIGHT_MSGS_PROP_NAME = "in-flight-messages.max-number";
     private static final String IN_FLIGHT_MSGS_CONGESTION_TIMEOUT_PROP_NAME = "in-flight-messages.congestion-timeout";
@@ -51,6 +54,7 @@ public class DataServiceOptions {
     private static final String CONNECTION_SCHEDULE_PRIORITY_OVERRIDE_ENABLE = "connection.schedule.priority.override.enable";
     private static final String CONNECTION_SCHEDULE_PRIORITY_OVERRIDE_THRESHOLD = "connection.schedule.priority.override.threshold";
     private static final String MAXIMUM_PAYLOAD_SIZE = "maximum.payload.size";
+    private static final String MESSAGE_EXPIRY_INTERVAL_SECONDS = "message.expiry.interval.seconds";
 
     private static final boolean AUTOCONNECT_PROP_DEFAULT = false;
     private static final int CONNECT_DELAY_DEFAULT = 60;
@@ -59,6 +63,8 @@ public class DataServiceOptions {
     private static final int STORE_HOUSEKEEPER_INTERVAL_DEFAULT = 900;
     private static final int STORE_PURGE_AGE_DEFAULT = 60;
     private static final int STORE_CAPACITY_DEFAULT = 10000;
+    private static final int STORE_LOW_PRIORITY_CAPACITY_DEFAULT = 0;
+    private static final String STORE_LOW_PRIORITY_EVICTION_POLICY_DEFAULT = EvictionPolicy.REJECT.name();
     private static final boolean REPUBLISH_IN_FLIGHT_MSGS_DEFAULT = true;
     private static final int MAX_IN_FLIGHT_MSGS_DEFAULT = 9;
     private static final int IN_FLIGHT_MSGS_CONGESTION_TIMEOUT_DEFAULT = 0;
@@ -73,6 +79,7 @@ public class DataServiceOptions {
     private static final boolean CONNECTION_SCHEDULE_PRIORITY_OVERRIDE_ENABLE_DEFAULT = false;
     private static final int CONNECTION_SCHEDULE_PRIORITY_OVERRIDE_THRESHOLD_DEFAULT = 1;
     private static final long MAXIMUM_PAYLOAD_SIZE_DEFAULT = 16777216;
+    private static final long MESSAGE_EXPIRY_INTERVAL_SECONDS_DEFAULT = 0;
 
     private static final int CONNECT_CRITICAL_COMPONENT_TIMEOUT_MULTIPLIER = 5000;
 
@@ -96,6 +103,18 @@ public class DataServiceOptions {
         return (int) this.properties.getOrDefault(STORE_CAPACITY_PROP_NAME, STORE_CAPACITY_DEFAULT);
     }
 
+    public int getStoreLowPriorityCapacity() {
+        return (int) this.properties.getOrDefault(STORE_LOW_PRIORITY_CAPACITY_PROP_NAME,
+                STORE_LOW_PRIORITY_CAPACITY_DEFAULT);
+    }
+
+    public EvictionPolicy getStoreLowPriorityEvictionPolicy() {
+        final String policy = (String) this.properties.getOrDefault(STORE_LOW_PRIORITY_EVICTION_POLICY_PROP_NAME,
+                STORE_LOW_PRIORITY_EVICTION_POLICY_DEFAULT);
+
+        return EvictionPolicy.valueOf(policy);
+    }
+
     public boolean isPublishInFlightMessages() {
         return (boolean) this.properties.getOrDefault(REPUBLISH_IN_FLIGHT_MSGS_PROP_NAME,
                 REPUBLISH_IN_FLIGHT_MSGS_DEFAULT);
@@ -219,4 +238,9 @@ public class DataServiceOptions {
             return MAXIMUM_PAYLOAD_SIZE_DEFAULT;
         }
     }
+
+    public long getMessageExpiryIntervalSeconds() {
+        return (long) this.properties.getOrDefault(MESSAGE_EXPIRY_INTERVAL_SECONDS,
+                MESSAGE_EXPIRY_INTERVAL_SECONDS_DEFAULT);
+    }
 }
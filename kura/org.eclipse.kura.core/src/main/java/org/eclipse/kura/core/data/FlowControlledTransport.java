@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.core.data;
+
+/**
+ * Implemented by the {@link org.eclipse.kura.data.DataTransportService} instances that limit the number of
+ * QoS &gt; 0 messages that can be in flight at the same time. The {@link DataServiceImpl} never keeps more
+ * messages in flight than the window reported by the transport it is bound to.
+ * <p>
+ * The window is a static client side limit taken from the transport configuration, it is not negotiated with the
+ * broker.
+ */
+public interface FlowControlledTransport {
+
+    /**
+     * Returns the maximum number of QoS &gt; 0 messages that can be waiting for an acknowledgement at the same time.
+     *
+     * @return the in-flight window, {@link Integer#MAX_VALUE} if the transport does not enforce any limit
+     */
+    public int getInFlightWindow();
+}
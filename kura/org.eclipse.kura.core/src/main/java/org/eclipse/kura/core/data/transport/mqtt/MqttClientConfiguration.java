@@ -20,6 +20,7 @@ public class MqttClientConfiguration {
     private final String clientId;
     private final PersistenceType persistenceType;
     private final MqttConnectOptions connectOptions;
+    private final int publishSessions;
 
     public enum PersistenceType {
         FILE,
@@ -28,11 +29,17 @@ public class MqttClientConfiguration {
 
     public MqttClientConfiguration(String brokerUrl, String clientId, PersistenceType persistenceType,
             MqttConnectOptions connectOptions) {
+        this(brokerUrl, clientId, persistenceType, connectOptions, 1);
+    }
+
+    public MqttClientConfiguration(String brokerUrl, String clientId, PersistenceType persistenceType,
+            MqttConnectOptions connectOptions, int publishSessions) {
         super();
         this.brokerUrl = brokerUrl;
         this.clientId = clientId;
         this.persistenceType = persistenceType;
         this.connectOptions = connectOptions;
+        this.publishSessions = publishSessions;
     }
 
     public String getBrokerUrl() {
@@ -50,4 +57,11 @@ public class MqttClientConfiguration {
     public MqttConnectOptions getConnectOptions() {
         return this.connectOptions;
     }
+
+    /**
+     * Returns the number of MQTT sessions used to publish messages, including the main one.
+     */
+    public int getPublishSessions() {
+        return this.publishSessions;
+    }
 }
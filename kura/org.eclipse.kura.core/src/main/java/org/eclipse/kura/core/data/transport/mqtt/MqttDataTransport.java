@@ -14,7 +14,10 @@
 package org.eclipse.kura.core.data.transport.mqtt;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -29,6 +32,7 @@ import org.eclipse.kura.KuraTooManyInflightMessagesException;
 import org.eclipse.kura.configuration.ConfigurableComponent;
 import org.eclipse.kura.configuration.ConfigurationService;
 import org.eclipse.kura.configuration.Password;
+import org.eclipse.kura.core.data.FlowControlledTransport;
 import org.eclipse.kura.core.data.transport.mqtt.MqttClientConfiguration.PersistenceType;
 import org.eclipse.kura.core.util.ValidationUtil;
 import org.eclipse.kura.crypto.CryptoService;
@@ -57,7 +61,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class MqttDataTransport implements DataTransportService, MqttCallback, ConfigurableComponent, SslServiceListener,
-        CloudConnectionStatusComponent {
+        CloudConnectionStatusComponent, FlowControlledTransport {
 
     private static final String NOT_CONNECTED_MESSAGE = "Not connected";
 
@@ -95,6 +99,11 @@ public class MqttDataTransport implements DataTransportService, MqttCallback, Co
     private static final String CLOUD_ACCOUNT_NAME_PROP_NAME = "topic.context.account-name";
 
     private static final String PERSISTENCE_TYPE_PROP_NAME = "in-flight.persistence";
+    private static final String MAX_IN_FLIGHT_PROP_NAME = "in-flight.max-number";
+    private static final String PUBLISH_SESSIONS_PROP_NAME = "publish-sessions.number";
+
+    private static final int MAX_IN_FLIGHT_DEFAULT = 10;
+    private static final int PUBLISH_SESSIONS_DEFAULT = 1;
 
     private static final String TOPIC_ACCOUNT_NAME_CTX_NAME = "account-name";
     private static final String TOPIC_DEVICE_ID_CTX_NAME = "client-id";
@@ -119,6 +128,9 @@ public class MqttDataTransport implements DataTransportService, MqttCallback, Co
     private PersistenceType persistenceType;
     private MqttClientPersistence persistence;
 
+    // additional sessions opened to the same broker only to publish messages, the main client is not included
+    private volatile List<PublishSession> publishSessions = Collections.emptyList();
+
     private final Map<String, String> topicContext = new HashMap<>();
     private final Map<String, Object> properties = new HashMap<>();
 
@@ -331,6 +343,8 @@ public class MqttDataTransport implements DataTransportService, MqttCallback, Co
         logger.info("#  cleanSession    = {}", this.clientConf.getConnectOptions().isCleanSession());
         logger.info("#  MQTT version    = {}",
                 getMqttVersionLabel(this.clientConf.getConnectOptions().getMqttVersion()));
+        logger.info("#  maxInflight     = {}", this.clientConf.getConnectOptions().getMaxInflight());
+        logger.info("#  publishSessions = {}", this.clientConf.getPublishSessions());
         logger.info("#  willDestination = {}", this.clientConf.getConnectOptions().getWillDestination());
         logger.info("#  willMessage     = {}", this.clientConf.getConnectOptions().getWillMessage());
         logger.info("#");
@@ -346,6 +360,7 @@ public class MqttDataTransport implements DataTransportService, MqttCallback, Co
         try {
             IMqttToken connectToken = this.mqttClient.connect(this.clientConf.getConnectOptions());
             connectToken.waitForCompletion(getTimeToWaitMillis() * 3);
+            connectPublishSessions();
             logger.info("#  Connected!");
             logger.info("# ------------------------------------------------------------");
 
@@ -421,6 +436,16 @@ public class MqttDataTransport implements DataTransportService, MqttCallback, Co
         return "";
     }
 
+    @Override
+    public int getInFlightWindow() {
+        final MqttClientConfiguration currentConf = this.clientConf;
+        if (currentConf != null) {
+            // every session has its own window
+            return currentConf.getConnectOptions().getMaxInflight() * currentConf.getPublishSessions();
+        }
+        return Integer.MAX_VALUE;
+    }
+
     @Override
     public synchronized void disconnect(long quiesceTimeout) {
         // Disconnect the client if it's connected. If it fails log the
@@ -434,6 +459,8 @@ public class MqttDataTransport implements DataTransportService, MqttCallback, Co
             // notify the listeners
             this.dataTransportListeners.onDisconnecting();
 
+            disconnectPublishSessions(quiesceTimeout);
+
             try {
                 this.mqttClient.disconnect(quiesceTimeout).waitForCompletion(getTimeToWaitMillis());
                 logger.info("Disconnected");
@@ -525,6 +552,26 @@ public class MqttDataTransport implements DataTransportService, MqttCallback, Co
 
         topic = replaceTopicVariables(topic);
 
+        // Messages published on the same topic always go through the same session,
+        // so that their relative order is preserved.
+        final List<PublishSession> sessions = this.publishSessions;
+        final int sessionIndex = Math.floorMod(topic.hashCode(), sessions.size() + 1);
+
+        final MqttAsyncClient client;
+        final String tokenSessionId;
+        if (sessionIndex == 0) {
+            client = this.mqttClient;
+            tokenSessionId = this.sessionId;
+        } else {
+            final PublishSession session = sessions.get(sessionIndex - 1);
+            client = session.client;
+            tokenSessionId = session.sessionId;
+        }
+
+        if (!client.isConnected()) {
+            throw new KuraNotConnectedException(NOT_CONNECTED_MESSAGE);
+        }
+
         logger.info("Publishing message on topic: {} with QoS: {}", topic, qos);
 
         MqttMessage message = new MqttMessage();
@@ -534,7 +581,7 @@ public class MqttDataTransport implements DataTransportService, MqttCallback, Co
 
         Integer messageId = null;
         try {
-            IMqttDeliveryToken token = this.mqttClient.publish(topic, message);
+            IMqttDeliveryToken token = client.publish(topic, message);
             // At present Paho ALWAYS allocates (gets and increments) internally
             // a message ID,
             // even for messages published with QoS == 0.
@@ -567,7 +614,7 @@ public class MqttDataTransport implements DataTransportService, MqttCallback, Co
 
         DataTransportToken token = null;
         if (messageId != null) {
-            token = new DataTransportToken(messageId, this.sessionId);
+            token = new DataTransportToken(messageId, tokenSessionId);
         }
 
         return token;
@@ -592,12 +639,19 @@ public class MqttDataTransport implements DataTransportService, MqttCallback, Co
     public void connectionLost(final Throwable cause) {
         logger.warn("Connection Lost", cause);
 
+        // the publish sessions must be down before reconnecting
+        disconnectPublishSessionsForcibly();
+
         // notify the listeners
         this.dataTransportListeners.onConnectionLost(cause);
     }
 
     @Override
     public void deliveryComplete(IMqttDeliveryToken token) {
+        deliveryComplete(token, this.sessionId);
+    }
+
+    private void deliveryComplete(IMqttDeliveryToken token, String tokenSessionId) {
 
         if (token == null) {
             logger.error("null token");
@@ -651,7 +705,7 @@ public class MqttDataTransport implements DataTransportService, MqttCallback, Co
         // These confirms will be lost!
 
         // notify the listeners
-        DataTransportToken dataPublisherToken = new DataTransportToken(id, this.sessionId);
+        DataTransportToken dataPublisherToken = new DataTransportToken(id, tokenSessionId);
         this.dataTransportListeners.onMessageConfirmed(dataPublisherToken);
     }
 
@@ -783,6 +837,7 @@ public class MqttDataTransport implements DataTransportService, MqttCallback, Co
 
             conOpt.setMqttVersion((Integer) properties.get(MQTT_DEFAULT_VERSION_PROP_NAME));
             conOpt.setAutomaticReconnect(false);
+            conOpt.setMaxInflight((Integer) properties.getOrDefault(MAX_IN_FLIGHT_PROP_NAME, MAX_IN_FLIGHT_DEFAULT));
 
             synchronized (this.topicContext) {
                 this.topicContext.clear();
@@ -844,7 +899,11 @@ public class MqttDataTransport implements DataTransportService, MqttCallback, Co
                     "Invalid MQTT client configuration: persistenceType: " + localPersistenceType);
         }
 
-        clientConfiguration = new MqttClientConfiguration(brokerUrl, clientId, localPersistenceType, conOpt);
+        final int localPublishSessions = Math.max(1,
+                (Integer) properties.getOrDefault(PUBLISH_SESSIONS_PROP_NAME, PUBLISH_SESSIONS_DEFAULT));
+
+        clientConfiguration = new MqttClientConfiguration(brokerUrl, clientId, localPersistenceType, conOpt,
+                localPublishSessions);
 
         return clientConfiguration;
     }
@@ -887,7 +946,11 @@ public class MqttDataTransport implements DataTransportService, MqttCallback, Co
     }
 
     private String generateSessionId() {
-        return this.clientConf.getClientId() + "-" + this.clientConf.getBrokerUrl();
+        return generateSessionId(this.clientConf.getClientId());
+    }
+
+    private String generateSessionId(String clientId) {
+        return clientId + "-" + this.clientConf.getBrokerUrl();
     }
 
     private void setupMqttSession() {
@@ -915,7 +978,9 @@ public class MqttDataTransport implements DataTransportService, MqttCallback, Co
         // a new session.
         boolean newSessionTemp = this.clientConf.getConnectOptions().isCleanSession();
 
-        if (this.mqttClient == null) {
+        final boolean createClient = this.mqttClient == null;
+
+        if (createClient) {
 
             logger.info("Creating a new client instance");
 
@@ -963,31 +1028,18 @@ public class MqttDataTransport implements DataTransportService, MqttCallback, Co
             // Paho won't do that.
 
             PersistenceType newPersistenceType = this.clientConf.getPersistenceType();
-            if (newPersistenceType == PersistenceType.MEMORY) {
-                logger.info("Using memory persistence for in-flight messages");
-                this.persistence = new MemoryPersistence();
-            } else {
-                StringBuffer sb = new StringBuffer();
-                sb.append(this.systemService.getKuraDataDirectory()).append(this.systemService.getFileSeparator())
-                        .append("paho-persistence");
-
-                String dir = sb.toString();
-
-                logger.info("Using file persistence for in-flight messages: {}", dir);
-
+            if (newPersistenceType == PersistenceType.FILE && this.persistence != null) {
                 // Look for "Close on CONNACK timeout" FIXME in this file.
                 // Make sure persistence is closed.
                 // This is needed if the previous connect attempt was
                 // forcibly terminated by closing the client.
-                if (this.persistence != null) {
-                    try {
-                        this.persistence.close();
-                    } catch (MqttPersistenceException e) {
-                        logger.warn("Failed to close persistence. Ignoring exception.", e);
-                    }
+                try {
+                    this.persistence.close();
+                } catch (MqttPersistenceException e) {
+                    logger.warn("Failed to close persistence. Ignoring exception.", e);
                 }
-                this.persistence = new MqttDefaultFilePersistence(dir);
             }
+            this.persistence = createPersistence(newPersistenceType);
 
             //
             // Construct the MqttClient instance
@@ -1028,10 +1080,181 @@ public class MqttDataTransport implements DataTransportService, MqttCallback, Co
 
         this.newSession = newSessionTemp;
         this.sessionId = generateSessionId();
+
+        if (createClient || this.publishSessions.size() != this.clientConf.getPublishSessions() - 1) {
+            setupPublishSessions();
+        }
+    }
+
+    private MqttClientPersistence createPersistence(PersistenceType type) {
+        if (type == PersistenceType.MEMORY) {
+            logger.info("Using memory persistence for in-flight messages");
+            return new MemoryPersistence();
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(this.systemService.getKuraDataDirectory()).append(this.systemService.getFileSeparator())
+                .append("paho-persistence");
+
+        String dir = sb.toString();
+
+        logger.info("Using file persistence for in-flight messages: {}", dir);
+
+        // Paho creates a subdirectory for each client ID and broker URL
+        return new MqttDefaultFilePersistence(dir);
+    }
+
+    private void setupPublishSessions() {
+        closePublishSessions();
+
+        final int count = this.clientConf.getPublishSessions() - 1;
+        final List<PublishSession> sessions = new ArrayList<>(count);
+
+        // The additional sessions share the configuration of the main one, they use
+        // client IDs derived from the main one so that the broker keeps them apart.
+        for (int i = 1; i <= count; i++) {
+            final String clientId = this.clientConf.getClientId() + "-" + i;
+            final String publishSessionId = generateSessionId(clientId);
+
+            try {
+                MqttAsyncClient client = new MqttAsyncClient(this.clientConf.getBrokerUrl(), clientId,
+                        createPersistence(this.clientConf.getPersistenceType()));
+                client.setCallback(new PublishSessionCallback(publishSessionId));
+                sessions.add(new PublishSession(client, publishSessionId));
+            } catch (MqttException e) {
+                logger.error("Publish session client instantiation failed", e);
+                sessions.forEach(session -> closeClient(session.client));
+                throw new IllegalStateException("Client instantiation failed");
+            }
+        }
+
+        this.publishSessions = Collections.unmodifiableList(sessions);
+    }
+
+    private void connectPublishSessions() throws MqttException {
+        final MqttConnectOptions options = buildPublishSessionConnectOptions(this.clientConf.getConnectOptions());
+        final List<IMqttToken> connectTokens = new ArrayList<>();
+
+        // connect in parallel, the main session is already up
+        for (final PublishSession session : this.publishSessions) {
+            if (!session.client.isConnected()) {
+                connectTokens.add(session.client.connect(options));
+            }
+        }
+
+        for (final IMqttToken connectToken : connectTokens) {
+            connectToken.waitForCompletion(getTimeToWaitMillis() * 3);
+        }
+    }
+
+    private void disconnectPublishSessions(long quiesceTimeout) {
+        final List<IMqttToken> disconnectTokens = new ArrayList<>();
+
+        for (final PublishSession session : this.publishSessions) {
+            try {
+                if (session.client.isConnected()) {
+                    disconnectTokens.add(session.client.disconnect(quiesceTimeout));
+                }
+            } catch (MqttException e) {
+                logger.error("Disconnect of publish session {} failed", session.sessionId, e);
+            }
+        }
+
+        for (final IMqttToken disconnectToken : disconnectTokens) {
+            try {
+                disconnectToken.waitForCompletion(getTimeToWaitMillis());
+            } catch (MqttException e) {
+                logger.error("Disconnect of publish session failed", e);
+            }
+        }
+    }
+
+    private void disconnectPublishSessionsForcibly() {
+        for (final PublishSession session : this.publishSessions) {
+            if (session.client.isConnected()) {
+                try {
+                    session.client.disconnectForcibly(MQTT_QUIESCE_TIMEOUT, MQTT_DISCONNECT_TIMEOUT);
+                } catch (Exception e) {
+                    logger.warn("Cannot force disconnect of publish session {}", session.sessionId, e);
+                }
+            }
+        }
+    }
+
+    private void closePublishSessions() {
+        final List<PublishSession> sessions = this.publishSessions;
+        this.publishSessions = Collections.emptyList();
+
+        for (final PublishSession session : sessions) {
+            if (session.client.isConnected()) {
+                try {
+                    session.client.disconnectForcibly(MQTT_QUIESCE_TIMEOUT, MQTT_DISCONNECT_TIMEOUT);
+                } catch (Exception e) {
+                    logger.warn("Cannot force disconnect of publish session {}", session.sessionId, e);
+                }
+            }
+            closeClient(session.client);
+        }
+    }
+
+    private static void closeClient(MqttAsyncClient client) {
+        try {
+            // prevent callbacks from a zombie client
+            client.setCallback(null);
+            client.close();
+        } catch (Exception e) {
+            logger.warn("Cannot close client {}", client.getClientId(), e);
+        }
+    }
+
+    private static MqttConnectOptions buildPublishSessionConnectOptions(MqttConnectOptions mainOptions) {
+        // No Last Will and Testament, the main session is the one that represents the device
+        final MqttConnectOptions options = new MqttConnectOptions();
+
+        if (mainOptions.getUserName() != null) {
+            options.setUserName(mainOptions.getUserName());
+        }
+        if (mainOptions.getPassword() != null) {
+            options.setPassword(mainOptions.getPassword());
+        }
+        options.setKeepAliveInterval(mainOptions.getKeepAliveInterval());
+        options.setConnectionTimeout(mainOptions.getConnectionTimeout());
+        options.setCleanSession(mainOptions.isCleanSession());
+        options.setMqttVersion(mainOptions.getMqttVersion());
+        options.setAutomaticReconnect(false);
+        options.setMaxInflight(mainOptions.getMaxInflight());
+        if (mainOptions.getSocketFactory() != null) {
+            options.setSocketFactory(mainOptions.getSocketFactory());
+        }
+
+        return options;
+    }
+
+    private void publishSessionLost(String lostSessionId, Throwable cause) {
+        logger.warn("Connection Lost on publish session {}", lostSessionId, cause);
+
+        if (this.mqttClient == null || !this.mqttClient.isConnected()) {
+            // the main session is down too and the listeners have already been notified
+            return;
+        }
+
+        // Tear down the whole connection, the listeners will reconnect all the sessions
+        disconnectPublishSessionsForcibly();
+
+        try {
+            this.mqttClient.disconnectForcibly(MQTT_QUIESCE_TIMEOUT, MQTT_DISCONNECT_TIMEOUT);
+        } catch (MqttException e) {
+            logger.warn("Cannot force client disconnect", e);
+        }
+
+        // notify the listeners
+        this.dataTransportListeners.onConnectionLost(cause);
     }
 
     private void closeMqttClient() {
 
+        closePublishSessions();
+
         if (this.mqttClient == null) {
             return;
         }
@@ -1066,4 +1289,40 @@ public class MqttDataTransport implements DataTransportService, MqttCallback, Co
             return String.valueOf(mqttVersion);
         }
     }
+
+    private static final class PublishSession {
+
+        private final MqttAsyncClient client;
+        private final String sessionId;
+
+        PublishSession(MqttAsyncClient client, String sessionId) {
+            this.client = client;
+            this.sessionId = sessionId;
+        }
+    }
+
+    private final class PublishSessionCallback implements MqttCallback {
+
+        private final String sessionId;
+
+        PublishSessionCallback(String sessionId) {
+            this.sessionId = sessionId;
+        }
+
+        @Override
+        public void connectionLost(Throwable cause) {
+            publishSessionLost(this.sessionId, cause);
+        }
+
+        @Override
+        public void deliveryComplete(IMqttDeliveryToken token) {
+            MqttDataTransport.this.deliveryComplete(token, this.sessionId);
+        }
+
+        @Override
+        public void messageArrived(String topic, MqttMessage message) {
+            // nothing is subscribed on the publish sessions
+            logger.debug("Ignoring message arrived on publish session {} on topic: {}", this.sessionId, topic);
+        }
+    }
 }
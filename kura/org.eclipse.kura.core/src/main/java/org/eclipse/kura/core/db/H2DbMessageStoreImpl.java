@@ -83,6 +83,8 @@ public class H2DbMessageStoreImpl extends AbstractJdbcMessageStoreImpl {
                 + "smallPayload VARBINARY, largePayload BLOB(16777216), priority INTEGER,"
                 + " sessionId VARCHAR(32767 CHARACTERS), droppedOn TIMESTAMP);")
                 .withSqlMessageCount("SELECT COUNT(*) FROM " + super.escapedTableName + ";")
+                .withSqlMessageCountByPriority("SELECT COUNT(*) FROM " + super.escapedTableName
+                        + " WHERE priority >= ? AND priority <= ?;")
                 .withSqlStore("INSERT INTO " + super.escapedTableName
                         + " (topic, qos, retain, createdOn, publishedOn, publishedMessageId, confirmedOn, smallPayload, largePayload, priority, "
                         + "sessionId, droppedOn) VALUES(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?);")
@@ -116,6 +118,10 @@ public class H2DbMessageStoreImpl extends AbstractJdbcMessageStoreImpl {
                         + " WHERE confirmedOn <= DATEADD('MILLISECOND', ?, TIMESTAMP '1970-01-01 00:00:00') AND confirmedOn IS NOT NULL;")
                 .withSqlDeletePublishedMessages(DELETE_FROM + super.escapedTableName
                         + " WHERE qos = 0 AND publishedOn <= DATEADD('MILLISECOND', ?, TIMESTAMP '1970-01-01 00:00:00') AND publishedOn IS NOT NULL;")
+                .withSqlDeleteOldestMessagesByPriority(DELETE_FROM + super.escapedTableName
+                        + " WHERE id IN (SELECT id FROM " + super.escapedTableName + " WHERE priority >= ? AND priority <= ? AND (publishedOn IS NULL "
+                        + "OR qos = 0 OR confirmedOn IS NOT NULL OR droppedOn IS NOT NULL) "
+                        + "ORDER BY CASE WHEN publishedOn IS NULL THEN 1 ELSE 0 END, createdOn ASC LIMIT ?);")
                 .withSqlCreateNextMessageIndex(
                         CREATE_INDEX_IF_NOT_EXISTS + super.escapeIdentifier(super.tableName + "_nextMsg") + " ON "
                                 + super.escapedTableName + " (publishedOn ASC, priority ASC, createdOn ASC, qos);")
@@ -128,6 +134,9 @@ public class H2DbMessageStoreImpl extends AbstractJdbcMessageStoreImpl {
                 .withSqlCreateDroppedOnIndex(
                         CREATE_INDEX_IF_NOT_EXISTS + super.escapeIdentifier(super.tableName + "_DROPPEDON") + " ON "
                                 + this.escapedTableName + " (droppedOn DESC);")
+                .withSqlCreatePriorityIndex(
+                        CREATE_INDEX_IF_NOT_EXISTS + super.escapeIdentifier(super.tableName + "_PRIORITY") + " ON "
+                                + this.escapedTableName + " (priority ASC, createdOn ASC);")
                 .build();
     }
 
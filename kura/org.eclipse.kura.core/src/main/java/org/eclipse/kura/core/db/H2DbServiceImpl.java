@@ -32,6 +32,7 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -41,6 +42,7 @@ import org.eclipse.kura.KuraStoreException;
 import org.eclipse.kura.configuration.ConfigurableComponent;
 import org.eclipse.kura.configuration.ConfigurationService;
 import org.eclipse.kura.connection.listener.ConnectionListener;
+import org.eclipse.kura.core.db.H2DbServiceOptions.DefragMode;
 import org.eclipse.kura.crypto.CryptoService;
 import org.eclipse.kura.db.H2DbService;
 import org.eclipse.kura.message.store.provider.MessageStore;
@@ -96,12 +98,19 @@ public class H2DbServiceImpl implements H2DbService, MessageStoreProvider, WireR
 
     private final ReadWriteLock rwLock = new ReentrantReadWriteLock(true);
     private final AtomicInteger pendingUpdates = new AtomicInteger();
+    private final Object pendingUpdatesMonitor = new Object();
     private final ThreadLocal<Boolean> isOnExecutor = ThreadLocal.withInitial(() -> false);
 
     private ConnectionListenerManager listenerManager = new ConnectionListenerManager();
 
-    private final ThreadPoolExecutor executorService = new ThreadPoolExecutor(0, 10, 0L, TimeUnit.MILLISECONDS,
-            new LinkedBlockingQueue<>());
+    private final LongAdder connectionCheckouts = new LongAdder();
+    private final LongAdder contendedConnectionCheckouts = new LongAdder();
+    private final LongAdder connectionCheckoutWaitNanos = new LongAdder();
+    private volatile long lastConnectionCheckoutNanos = System.nanoTime();
+
+    // with an unbounded queue the pool never grows beyond its core size, the core size must track the
+    // connection pool size or withConnection() calls would be serialized on a single thread
+    private final ThreadPoolExecutor executorService = newExecutorService(10);
 
     // ----------------------------------------------------------------
     //
@@ -181,12 +190,9 @@ public class H2DbServiceImpl implements H2DbService, MessageStoreProvider, WireR
 
     @Override
     public Connection getConnection() throws SQLException {
-        if (this.pendingUpdates.get() > 0) {
-            syncWithExecutor();
-        }
+        awaitPendingUpdates();
 
-        final Lock lock = this.rwLock.readLock();
-        lock.lock();
+        final Lock lock = acquireReadLock();
         try {
             return getConnectionInternal();
         } finally {
@@ -195,8 +201,7 @@ public class H2DbServiceImpl implements H2DbService, MessageStoreProvider, WireR
     }
 
     private <T> T withConnectionInternal(ConnectionCallable<T> callable) throws SQLException {
-        final Lock executorlock = this.rwLock.readLock();
-        executorlock.lock();
+        final Lock executorlock = acquireReadLock();
         Connection connection = null;
         try {
             connection = getConnectionInternal();
@@ -213,14 +218,13 @@ public class H2DbServiceImpl implements H2DbService, MessageStoreProvider, WireR
 
     @Override
     public <T> T withConnection(ConnectionCallable<T> callable) throws SQLException {
-        if (this.pendingUpdates.get() > 0) {
-            syncWithExecutor();
-        }
-
         if (Boolean.TRUE.equals(this.isOnExecutor.get())) {
+            // nested call, the caller already holds the read lock, waiting for pending updates here would deadlock
             return withConnectionInternal(callable);
         }
 
+        awaitPendingUpdates();
+
         final Future<T> result = this.executorService.submit(() -> withConnectionInternal(callable));
 
         try {
@@ -344,7 +348,7 @@ public class H2DbServiceImpl implements H2DbService, MessageStoreProvider, WireR
 
             if (this.configuration == null
                     || newConfiguration.getConnectionPoolMaxSize() != this.configuration.getConnectionPoolMaxSize()) {
-                this.executorService.setMaximumPoolSize(newConfiguration.getConnectionPoolMaxSize());
+                setExecutorServicePoolSize(newConfiguration.getConnectionPoolMaxSize());
             }
 
             this.configuration = newConfiguration;
@@ -361,7 +365,10 @@ public class H2DbServiceImpl implements H2DbService, MessageStoreProvider, WireR
             logger.error("Database initialization failed", e);
         } finally {
             lock.unlock();
-            this.pendingUpdates.decrementAndGet();
+            synchronized (this.pendingUpdatesMonitor) {
+                this.pendingUpdates.decrementAndGet();
+                this.pendingUpdatesMonitor.notifyAll();
+            }
         }
     }
 
@@ -375,6 +382,24 @@ public class H2DbServiceImpl implements H2DbService, MessageStoreProvider, WireR
         }
     }
 
+    private static ThreadPoolExecutor newExecutorService(final int poolSize) {
+        final ThreadPoolExecutor result = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>());
+        result.allowCoreThreadTimeOut(true);
+        return result;
+    }
+
+    private void setExecutorServicePoolSize(final int poolSize) {
+        // the core size must never exceed the maximum size, update them in an order that preserves this
+        if (poolSize > this.executorService.getMaximumPoolSize()) {
+            this.executorService.setMaximumPoolSize(poolSize);
+            this.executorService.setCorePoolSize(poolSize);
+        } else {
+            this.executorService.setCorePoolSize(poolSize);
+            this.executorService.setMaximumPoolSize(poolSize);
+        }
+    }
+
     private void awaitExecutorServiceTermination() {
         try {
             this.executorService.awaitTermination(1, TimeUnit.MINUTES);
@@ -398,15 +423,60 @@ public class H2DbServiceImpl implements H2DbService, MessageStoreProvider, WireR
         this.connectionPool.setMaxConnections(configuration.getConnectionPoolMaxSize());
     }
 
-    private void syncWithExecutor() {
+    /**
+     * Waits for the configuration updates submitted with {@link #updated(Map)} to be applied. Unlike submitting a task
+     * to the executor, this does not wait for checkpoint or defrag tasks queued on the executor, these are guarded by
+     * the write lock instead.
+     */
+    private void awaitPendingUpdates() {
+        if (this.pendingUpdates.get() <= 0) {
+            return;
+        }
+
+        synchronized (this.pendingUpdatesMonitor) {
+            while (this.pendingUpdates.get() > 0) {
+                try {
+                    this.pendingUpdatesMonitor.wait();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+    }
+
+    private Lock acquireReadLock() {
+        final Lock lock = this.rwLock.readLock();
+
+        // unlike tryLock(), the timed variant honors the fairness policy and does not overtake queued writers
+        if (!tryLockNow(lock)) {
+            this.contendedConnectionCheckouts.increment();
+
+            final long start = System.nanoTime();
+            lock.lock();
+            this.connectionCheckoutWaitNanos.add(System.nanoTime() - start);
+        }
+
+        this.connectionCheckouts.increment();
+        this.lastConnectionCheckoutNanos = System.nanoTime();
+        return lock;
+    }
+
+    private static boolean tryLockNow(final Lock lock) {
         try {
-            this.executor.submit(() -> {
-            }).get();
-        } catch (final Exception e) {
-            throw new IllegalStateException(e);
+            return lock.tryLock(0, TimeUnit.NANOSECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
         }
     }
 
+    private void logContentionStatistics() {
+        logger.info("connection checkouts: {}, contended: {}, total wait time: {} ms", this.connectionCheckouts.sum(),
+                this.contendedConnectionCheckouts.sum(),
+                TimeUnit.NANOSECONDS.toMillis(this.connectionCheckoutWaitNanos.sum()));
+    }
+
     private Connection getConnectionInternal() throws SQLException {
         if (this.connectionPool == null) {
             throw new SQLException("Database instance not initialized");
@@ -558,8 +628,27 @@ public class H2DbServiceImpl implements H2DbService, MessageStoreProvider, WireR
         if (delayMinutes <= 0) {
             return;
         }
-        this.checkpointTask = this.executor.scheduleWithFixedDelay(new DefragTask(config), delayMinutes, delayMinutes,
-                TimeUnit.MINUTES);
+
+        if (config.getDefragMode() == DefragMode.ONLINE_COMPACTION && isOnlineCompactionSupported()) {
+            final long checkIntervalMillis = Math.max(1000, config.getCompactionIdleTimeMillis());
+            this.defragTask = this.executor.scheduleWithFixedDelay(new OnlineCompactionTask(config),
+                    checkIntervalMillis, checkIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            if (config.getDefragMode() == DefragMode.ONLINE_COMPACTION) {
+                logger.warn("online compaction is not supported by the H2 version in use, using SHUTDOWN DEFRAG");
+            }
+            this.defragTask = this.executor.scheduleWithFixedDelay(new DefragTask(config), delayMinutes,
+                    delayMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    private static boolean isOnlineCompactionSupported() {
+        try {
+            return H2OnlineCompaction.isSupported();
+        } catch (final LinkageError e) {
+            logger.debug("online compaction is not supported", e);
+            return false;
+        }
     }
 
     private void stopDefragTask() {
@@ -577,12 +666,67 @@ public class H2DbServiceImpl implements H2DbService, MessageStoreProvider, WireR
                 logger.info("performing checkpoint...");
                 executeInternal("CHECKPOINT SYNC");
                 logger.info("performing checkpoint...done");
+                logContentionStatistics();
             } catch (final SQLException e) {
                 logger.error("checkpoint failed", e);
             }
         }
     }
 
+    private void shutdownDefrag() throws SQLException {
+        Connection conn = null;
+        Statement stmt = null;
+        try {
+            conn = this.dataSource.getConnection();
+            stmt = conn.createStatement();
+            stmt.execute("SHUTDOWN DEFRAG");
+        } finally {
+            close(stmt);
+            close(conn);
+        }
+    }
+
+    private void defrag(final H2DbServiceOptions config) {
+        final Lock lock = this.rwLock.writeLock();
+        lock.lock();
+        try {
+            logger.info("shutting down and defragmenting db...");
+            shutdownDefrag();
+            disposeConnectionPool();
+            final String password = decryptPassword(config.getEncryptedPassword());
+            openConnectionPool(config, password);
+            logger.info("shutting down and defragmenting db...done");
+            logContentionStatistics();
+        } catch (final Exception e) {
+            logger.error("failed to shutdown and defrag db", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean compactOnline(final int maxTimeMillis) {
+        final Lock lock = this.rwLock.readLock();
+        lock.lock();
+
+        Connection conn = null;
+        try {
+            conn = getConnectionInternal();
+
+            if (!H2OnlineCompaction.compact(conn, maxTimeMillis)) {
+                logger.debug("database is not backed by a MVStore file, skipping online compaction");
+                return false;
+            }
+
+            return true;
+        } catch (final Exception | LinkageError e) {
+            logger.error("online compaction failed", e);
+            return false;
+        } finally {
+            close(conn);
+            lock.unlock();
+        }
+    }
+
     private class DefragTask implements Runnable {
 
         private final H2DbServiceOptions configuration;
@@ -591,35 +735,51 @@ public class H2DbServiceImpl implements H2DbService, MessageStoreProvider, WireR
             this.configuration = configuration;
         }
 
-        private void shutdownDefrag() throws SQLException {
-            Connection conn = null;
-            Statement stmt = null;
-            try {
-                conn = H2DbServiceImpl.this.dataSource.getConnection();
-                stmt = conn.createStatement();
-                stmt.execute("SHUTDOWN DEFRAG");
-            } finally {
-                close(stmt);
-                close(conn);
-            }
+        @Override
+        public void run() {
+            defrag(this.configuration);
+        }
+    }
+
+    /**
+     * Incrementally compacts the database file while the database is in use. The task is executed periodically to
+     * check if a compaction is due, the compaction is started only if the database has been idle for the configured
+     * idle time, or if it has been postponed for a whole defrag interval. Each run is limited to the configured time
+     * budget, connections can be acquired concurrently.
+     */
+    private class OnlineCompactionTask implements Runnable {
+
+        private final long intervalNanos;
+        private final long idleTimeNanos;
+        private final int maxTimeMillis;
+
+        private long lastCompactionNanos = System.nanoTime();
+
+        public OnlineCompactionTask(final H2DbServiceOptions configuration) {
+            this.intervalNanos = TimeUnit.MINUTES.toNanos(configuration.getDefragIntervalMinutes());
+            this.idleTimeNanos = TimeUnit.MILLISECONDS.toNanos(configuration.getCompactionIdleTimeMillis());
+            this.maxTimeMillis = configuration.getCompactionMaxTimeMillis();
         }
 
         @Override
         public void run() {
-            final Lock lock = H2DbServiceImpl.this.rwLock.writeLock();
-            lock.lock();
-            try {
-                logger.info("shutting down and defragmenting db...");
-                shutdownDefrag();
-                disposeConnectionPool();
-                final String password = decryptPassword(this.configuration.getEncryptedPassword());
-                openConnectionPool(this.configuration, password);
-                logger.info("shutting down and defragmenting db...done");
-            } catch (final Exception e) {
-                logger.error("failed to shutdown and defrag db", e);
-            } finally {
-                lock.unlock();
+            final long now = System.nanoTime();
+            final long sinceLastCompaction = now - this.lastCompactionNanos;
+
+            if (sinceLastCompaction < this.intervalNanos) {
+                return;
             }
+
+            final boolean isIdle = now - H2DbServiceImpl.this.lastConnectionCheckoutNanos >= this.idleTimeNanos;
+
+            if (!isIdle && sinceLastCompaction < 2 * this.intervalNanos) {
+                logger.debug("database is not idle, postponing online compaction");
+                return;
+            }
+
+            this.lastCompactionNanos = now;
+
+            compactOnline(this.maxTimeMillis);
         }
     }
 
@@ -19,6 +19,11 @@ import java.util.regex.Pattern;
 
 class H2DbServiceOptions {
 
+    enum DefragMode {
+        SHUTDOWN_DEFRAG,
+        ONLINE_COMPACTION
+    }
+
     private static final Property<String> CONNECTOR_URL_PROP = new Property<>("db.connector.url", "jdbc:h2:mem:kuradb");
     private static final Property<String> USER_PROP = new Property<>("db.user", "SA");
     private static final Property<String> PASSWORD_PROP = new Property<>("db.password", "");
@@ -27,6 +32,12 @@ class H2DbServiceOptions {
     private static final Property<Integer> DEFRAG_INTERVAL_MINUTES_PROP = new Property<>("db.defrag.interval.minutes",
             20);
     private static final Property<Integer> CONNECTION_POOL_MAX_SIZE = new Property<>("db.connection.pool.max.size", 10);
+    private static final Property<String> DEFRAG_MODE_PROP = new Property<>("db.defrag.mode",
+            DefragMode.SHUTDOWN_DEFRAG.name());
+    private static final Property<Integer> COMPACTION_MAX_TIME_MS_PROP = new Property<>("db.compaction.max.time.ms",
+            1000);
+    private static final Property<Integer> COMPACTION_IDLE_TIME_MS_PROP = new Property<>("db.compaction.idle.time.ms",
+            5000);
 
     private static final Pattern FILE_LOG_LEVEL_PATTERN = generatePatternForProperty("trace_level_file");
     private static final Pattern USER_PATTERN = generatePatternForProperty("user");
@@ -40,6 +51,9 @@ class H2DbServiceOptions {
     private final long checkpointIntervalSeconds;
     private final long defragIntervalMinutes;
     private final int maxConnectionPoolSize;
+    private final DefragMode defragMode;
+    private final int compactionMaxTimeMillis;
+    private final long compactionIdleTimeMillis;
 
     private boolean isInMemory;
     private boolean isFileBased;
@@ -57,6 +71,9 @@ class H2DbServiceOptions {
         this.checkpointIntervalSeconds = CHECKPOINT_INTERVAL_SECONDS_PROP.get(properties);
         this.defragIntervalMinutes = DEFRAG_INTERVAL_MINUTES_PROP.get(properties);
         this.maxConnectionPoolSize = CONNECTION_POOL_MAX_SIZE.get(properties);
+        this.defragMode = parseDefragMode(DEFRAG_MODE_PROP.get(properties));
+        this.compactionMaxTimeMillis = Math.max(0, COMPACTION_MAX_TIME_MS_PROP.get(properties));
+        this.compactionIdleTimeMillis = Math.max(0, COMPACTION_IDLE_TIME_MS_PROP.get(properties));
 
         String dbUrlProp = CONNECTOR_URL_PROP.get(properties);
 
@@ -67,6 +84,14 @@ class H2DbServiceOptions {
         computeUrlParts();
     }
 
+    private static DefragMode parseDefragMode(final String value) {
+        try {
+            return DefragMode.valueOf(value);
+        } catch (final IllegalArgumentException e) {
+            return DefragMode.SHUTDOWN_DEFRAG;
+        }
+    }
+
     private static Pattern generatePatternForProperty(String property) {
         StringBuilder patternStringBuilder = new StringBuilder();
         patternStringBuilder.append(';');
@@ -166,6 +191,18 @@ class H2DbServiceOptions {
         return this.defragIntervalMinutes;
     }
 
+    public DefragMode getDefragMode() {
+        return this.defragMode;
+    }
+
+    public int getCompactionMaxTimeMillis() {
+        return this.compactionMaxTimeMillis;
+    }
+
+    public long getCompactionIdleTimeMillis() {
+        return this.compactionIdleTimeMillis;
+    }
+
     public String getBaseUrl() {
         return this.baseUrl;
     }
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.core.db;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import org.h2.engine.Database;
+import org.h2.engine.Session;
+import org.h2.engine.SessionLocal;
+import org.h2.jdbc.JdbcConnection;
+import org.h2.mvstore.MVStore;
+import org.h2.mvstore.db.Store;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compacts the MVStore file backing an embedded H2 database while the database is in use.
+ * <p>
+ * H2 does not provide a public API for this, the implementation relies on internal classes that may change or not
+ * be available with the H2 version in use. This class must not be used if {@link #isSupported()} returns
+ * {@code false}, callers should also be prepared to get a {@link LinkageError} from any method.
+ */
+final class H2OnlineCompaction {
+
+    private static final Logger logger = LoggerFactory.getLogger(H2OnlineCompaction.class);
+
+    private H2OnlineCompaction() {
+    }
+
+    static boolean isSupported() {
+        try {
+            JdbcConnection.class.getMethod("getSession");
+            SessionLocal.class.getMethod("getDatabase");
+            Database.class.getMethod("getStore");
+            Store.class.getMethod("getMvStore");
+            MVStore.class.getMethod("compactFile", int.class);
+            return true;
+        } catch (final NoSuchMethodException | LinkageError e) {
+            logger.debug("online compaction is not supported", e);
+            return false;
+        }
+    }
+
+    /**
+     * Compacts the database file for at most the given amount of time.
+     *
+     * @param conn
+     *            a connection to the database to be compacted
+     * @param maxTimeMillis
+     *            the maximum time the compaction is allowed to take
+     * @return {@code true} if the compaction has been performed, {@code false} if the database is not backed by a
+     *         MVStore file
+     * @throws SQLException
+     *             if the H2 connection cannot be obtained from the provided connection
+     */
+    static boolean compact(final Connection conn, final int maxTimeMillis) throws SQLException {
+        final MVStore store = getMvStore(conn);
+
+        if (store == null || store.getFileStore() == null) {
+            return false;
+        }
+
+        logger.info("performing online compaction...");
+
+        final long sizeBefore = store.getFileStore().size();
+        final long start = System.nanoTime();
+
+        store.compactFile(maxTimeMillis);
+
+        final long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        final long sizeAfter = store.getFileStore().size();
+
+        logger.info("performing online compaction...done in {} ms, reclaimed {} bytes, file size: {} bytes",
+                durationMillis, sizeBefore - sizeAfter, sizeAfter);
+
+        return true;
+    }
+
+    private static MVStore getMvStore(final Connection conn) throws SQLException {
+        final Session session = conn.unwrap(JdbcConnection.class).getSession();
+
+        if (!(session instanceof SessionLocal)) {
+            return null;
+        }
+
+        final Store store = ((SessionLocal) session).getDatabase().getStore();
+
+        return store != null ? store.getMvStore() : null;
+    }
+}
@@ -0,0 +1,336 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.core.db.keyvalue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.kura.KuraException;
+import org.eclipse.kura.KuraStoreException;
+import org.eclipse.kura.configuration.ConfigurableComponent;
+import org.eclipse.kura.connection.listener.ConnectionListener;
+import org.eclipse.kura.core.db.keyvalue.LogKeyValueDbServiceOptions.SyncPolicy;
+import org.eclipse.kura.core.db.keyvalue.LogKeyValueStore.CompactionResult;
+import org.eclipse.kura.db.keyvalue.KeyValueDbService;
+import org.eclipse.kura.scheduler.SchedulerService;
+import org.eclipse.kura.scheduler.WorkloadClass;
+import org.eclipse.kura.util.store.listener.ConnectionListenerManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link KeyValueDbService} implementation backed by a {@link LogKeyValueStore}.
+ * <p>
+ * Reads are served from the in-memory index and from memory mapped segments without going through SQL, writes are
+ * appended to the active segment and made durable according to the configured {@link SyncPolicy}. Periodic sync and
+ * compaction run on the {@link SchedulerService} if available, on a dedicated thread otherwise.
+ */
+public class LogKeyValueDbServiceImpl implements KeyValueDbService, ConfigurableComponent {
+
+    private static final Set<String> OPEN_PATHS = new HashSet<>();
+
+    private static final Logger logger = LoggerFactory.getLogger(LogKeyValueDbServiceImpl.class);
+
+    private final ConnectionListenerManager listenerManager = new ConnectionListenerManager();
+
+    private volatile Optional<DbState> state = Optional.empty();
+    private Optional<SchedulerService> schedulerService = Optional.empty();
+
+    public void bindSchedulerService(final SchedulerService schedulerService) {
+        this.schedulerService = Optional.of(schedulerService);
+    }
+
+    public void unbindSchedulerService(final SchedulerService schedulerService) {
+        this.schedulerService = Optional.empty();
+    }
+
+    public void activate(final Map<String, Object> properties) {
+        logger.info("activating...");
+
+        updated(properties);
+
+        logger.info("activating...done");
+    }
+
+    public synchronized void updated(final Map<String, Object> properties) {
+        logger.info("updating...");
+
+        final LogKeyValueDbServiceOptions newOptions = new LogKeyValueDbServiceOptions(properties);
+        final Optional<LogKeyValueDbServiceOptions> oldOptions = this.state.map(DbState::getOptions);
+
+        if (!oldOptions.equals(Optional.of(newOptions))) {
+            shutdown();
+            try {
+                this.state = Optional.of(new DbState(newOptions, this.schedulerService));
+                this.listenerManager.dispatchConnected();
+            } catch (final Exception e) {
+                logger.warn("Failed to initialize the database instance", e);
+            }
+        }
+
+        logger.info("updating...done");
+    }
+
+    public synchronized void deactivate() {
+        logger.info("deactivating...");
+
+        shutdown();
+        this.listenerManager.shutdown();
+
+        logger.info("deactivating...done");
+    }
+
+    @Override
+    public void addListener(final ConnectionListener listener) {
+        this.listenerManager.add(listener);
+    }
+
+    @Override
+    public void removeListener(final ConnectionListener listener) {
+        this.listenerManager.remove(listener);
+    }
+
+    @Override
+    public boolean isConnected() {
+        return this.state.isPresent();
+    }
+
+    @Override
+    public void set(final String key, final byte[] value) throws KuraException {
+        requireNonNull(key, "key");
+        requireNonNull(value, "value");
+
+        try {
+            getStore().put(key, value);
+        } catch (final IOException e) {
+            throw new KuraStoreException(e, "failed to set key " + key);
+        }
+    }
+
+    @Override
+    public void set(final String key, final String value) throws KuraException {
+        requireNonNull(value, "value");
+
+        set(key, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public byte[] get(final String key) throws KuraException {
+        requireNonNull(key, "key");
+
+        try {
+            return getStore().get(key);
+        } catch (final IOException e) {
+            throw new KuraStoreException(e, "failed to get key " + key);
+        }
+    }
+
+    @Override
+    public String getAsString(final String key) throws KuraException {
+        final byte[] value = get(key);
+
+        return value != null ? new String(value, StandardCharsets.UTF_8) : null;
+    }
+
+    @Override
+    public void delete(final String key) throws KuraException {
+        requireNonNull(key, "key");
+
+        try {
+            getStore().delete(key);
+        } catch (final IOException e) {
+            throw new KuraStoreException(e, "failed to delete key " + key);
+        }
+    }
+
+    private LogKeyValueStore getStore() throws KuraStoreException {
+        final Optional<DbState> currentState = this.state;
+
+        if (!currentState.isPresent()) {
+            throw new KuraStoreException("Database is not initialized");
+        }
+
+        return currentState.get().store;
+    }
+
+    private static void requireNonNull(final Object value, final String name) throws KuraStoreException {
+        if (value == null) {
+            throw new KuraStoreException(name + " must not be null");
+        }
+    }
+
+    private void shutdown() {
+        if (this.state.isPresent()) {
+            final DbState currentState = this.state.get();
+            this.state = Optional.empty();
+            currentState.shutdown();
+            this.listenerManager.dispatchDisconnected();
+        }
+    }
+
+    private static class DbState {
+
+        private final LogKeyValueDbServiceOptions options;
+        private final LogKeyValueStore store;
+        private final Optional<ScheduledExecutorService> ownExecutor;
+        private final List<ScheduledFuture<?>> tasks = new ArrayList<>();
+        private final Object maintenanceLock = new Object();
+        private boolean closed;
+
+        DbState(final LogKeyValueDbServiceOptions options, final Optional<SchedulerService> schedulerService)
+                throws IOException {
+            this.options = options;
+            tryClaimPath();
+
+            try {
+                logger.info("opening database at {}...", options.getPath());
+
+                this.store = new LogKeyValueStore(Paths.get(options.getPath()), options.getSegmentMaxSize(),
+                        options.isMemoryMappedReadsEnabled(), options.getSyncPolicy() == SyncPolicy.ALWAYS);
+
+                final String name = "LogKeyValueDbService_" + options.getKuraServicePid();
+
+                if (schedulerService.isPresent()) {
+                    this.ownExecutor = Optional.empty();
+                } else {
+                    this.ownExecutor = Optional.of(Executors.newSingleThreadScheduledExecutor(r -> {
+                        final Thread thread = new Thread(r, name);
+                        thread.setDaemon(true);
+                        return thread;
+                    }));
+                }
+
+                if (options.getSyncPolicy() == SyncPolicy.PERIODIC) {
+                    this.tasks.add(scheduleWithFixedDelay(schedulerService, name + "_sync", WorkloadClass.IO,
+                            this::sync, options.getSyncIntervalMillis(), TimeUnit.MILLISECONDS));
+                }
+
+                if (options.isCompactionEnabled()) {
+                    this.tasks.add(scheduleWithFixedDelay(schedulerService, name + "_compaction",
+                            WorkloadClass.BLOCKING, this::compact, options.getCompactionIntervalSeconds(),
+                            TimeUnit.SECONDS));
+                }
+
+                logger.info("opening database at {}...done", options.getPath());
+            } catch (final IOException | RuntimeException e) {
+                releasePath();
+                throw e;
+            }
+        }
+
+        LogKeyValueDbServiceOptions getOptions() {
+            return this.options;
+        }
+
+        private ScheduledFuture<?> scheduleWithFixedDelay(final Optional<SchedulerService> schedulerService,
+                final String name, final WorkloadClass workloadClass, final Runnable task, final long delay,
+                final TimeUnit unit) {
+            if (schedulerService.isPresent()) {
+                return schedulerService.get().scheduleWithFixedDelay(name, workloadClass, task, delay, delay, unit);
+            } else {
+                return this.ownExecutor.get().scheduleWithFixedDelay(task, delay, delay, unit);
+            }
+        }
+
+        private void sync() {
+            try {
+                // the shared scheduler can run sync and compaction concurrently, and after shutdown() started
+                synchronized (this.maintenanceLock) {
+                    if (!this.closed) {
+                        this.store.sync();
+                    }
+                }
+            } catch (final Exception e) {
+                logger.warn("failed to sync database", e);
+            }
+        }
+
+        private void compact() {
+            try {
+                final CompactionResult result;
+
+                synchronized (this.maintenanceLock) {
+                    if (this.closed) {
+                        return;
+                    }
+                    result = this.store.compact(this.options.getCompactionGarbageThresholdPercent());
+                }
+
+                if (result.getCompactedSegments() > 0) {
+                    logger.info("compacted {} segments, reclaimed {} bytes in {} ms", result.getCompactedSegments(),
+                            result.getReclaimedBytes(), result.getDurationMillis());
+                }
+            } catch (final Exception e) {
+                logger.warn("failed to compact database", e);
+            }
+        }
+
+        private void tryClaimPath() {
+            synchronized (OPEN_PATHS) {
+                if (OPEN_PATHS.contains(this.options.getPath())) {
+                    throw new IllegalStateException("Another database instance is managing the same directory");
+                }
+                OPEN_PATHS.add(this.options.getPath());
+            }
+        }
+
+        private void releasePath() {
+            synchronized (OPEN_PATHS) {
+                OPEN_PATHS.remove(this.options.getPath());
+            }
+        }
+
+        void shutdown() {
+            try {
+                for (final ScheduledFuture<?> task : this.tasks) {
+                    // the scheduler threads are shared, do not interrupt them
+                    task.cancel(false);
+                }
+
+                if (this.ownExecutor.isPresent()) {
+                    this.ownExecutor.get().shutdown();
+                    try {
+                        this.ownExecutor.get().awaitTermination(1, TimeUnit.MINUTES);
+                    } catch (final InterruptedException e) {
+                        logger.warn("Interrupted while waiting for executor shutdown");
+                        Thread.currentThread().interrupt();
+                    }
+                }
+
+                synchronized (this.maintenanceLock) {
+                    // waits for a sync or compaction that is still running
+                    this.closed = true;
+
+                    logger.info("closing database at {}...", this.options.getPath());
+                    this.store.close();
+                    logger.info("closing database at {}...done", this.options.getPath());
+                }
+            } catch (final IOException e) {
+                logger.warn("failed to close database", e);
+            } finally {
+                releasePath();
+            }
+        }
+    }
+}
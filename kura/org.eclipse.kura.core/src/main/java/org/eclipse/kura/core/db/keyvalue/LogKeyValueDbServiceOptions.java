@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.core.db.keyvalue;
+
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.kura.configuration.ConfigurationService;
+import org.eclipse.kura.util.configuration.Property;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+class LogKeyValueDbServiceOptions {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogKeyValueDbServiceOptions.class);
+
+    static final int MAX_SEGMENT_SIZE_LIMIT = 1024 * 1024 * 1024;
+
+    public enum SyncPolicy {
+        ALWAYS,
+        PERIODIC,
+        NEVER
+    }
+
+    private static final Property<String> PATH_PROPERTY = new Property<>("db.path", "/opt/mykvdb");
+    private static final Property<Integer> SEGMENT_MAX_SIZE_PROPERTY = new Property<>("db.segment.max.size.bytes",
+            16 * 1024 * 1024);
+    private static final Property<String> SYNC_POLICY_PROPERTY = new Property<>("db.sync.policy",
+            SyncPolicy.PERIODIC.name());
+    private static final Property<Long> SYNC_INTERVAL_MILLIS_PROPERTY = new Property<>("db.sync.interval.ms", 1000L);
+    private static final Property<Boolean> MEMORY_MAPPED_READS_ENABLED_PROPERTY = new Property<>(
+            "db.memory.mapped.reads.enabled", true);
+    private static final Property<Boolean> COMPACTION_ENABLED_PROPERTY = new Property<>("db.compaction.enabled",
+            true);
+    private static final Property<Long> COMPACTION_INTERVAL_SECONDS_PROPERTY = new Property<>(
+            "db.compaction.interval.seconds", 60L);
+    private static final Property<Integer> COMPACTION_GARBAGE_THRESHOLD_PROPERTY = new Property<>(
+            "db.compaction.garbage.threshold.percent", 50);
+    private static final Property<String> KURA_SERVICE_PID_PROPERTY = new Property<>(
+            ConfigurationService.KURA_SERVICE_PID, "kvdb");
+
+    private final String path;
+    private final int segmentMaxSize;
+    private final SyncPolicy syncPolicy;
+    private final long syncIntervalMillis;
+    private final boolean memoryMappedReadsEnabled;
+    private final boolean compactionEnabled;
+    private final long compactionIntervalSeconds;
+    private final int compactionGarbageThresholdPercent;
+    private final String kuraServicePid;
+
+    public LogKeyValueDbServiceOptions(final Map<String, Object> properties) {
+        this.path = PATH_PROPERTY.get(properties);
+        this.segmentMaxSize = Math.max(4096,
+                Math.min(MAX_SEGMENT_SIZE_LIMIT, SEGMENT_MAX_SIZE_PROPERTY.get(properties)));
+        this.syncPolicy = extractSyncPolicy(properties);
+        this.syncIntervalMillis = Math.max(1, SYNC_INTERVAL_MILLIS_PROPERTY.get(properties));
+        this.memoryMappedReadsEnabled = MEMORY_MAPPED_READS_ENABLED_PROPERTY.get(properties);
+        this.compactionEnabled = COMPACTION_ENABLED_PROPERTY.get(properties);
+        this.compactionIntervalSeconds = Math.max(1, COMPACTION_INTERVAL_SECONDS_PROPERTY.get(properties));
+        this.compactionGarbageThresholdPercent = Math.max(1,
+                Math.min(100, COMPACTION_GARBAGE_THRESHOLD_PROPERTY.get(properties)));
+        this.kuraServicePid = KURA_SERVICE_PID_PROPERTY.get(properties);
+    }
+
+    public String getPath() {
+        return this.path;
+    }
+
+    public int getSegmentMaxSize() {
+        return this.segmentMaxSize;
+    }
+
+    public SyncPolicy getSyncPolicy() {
+        return this.syncPolicy;
+    }
+
+    public long getSyncIntervalMillis() {
+        return this.syncIntervalMillis;
+    }
+
+    public boolean isMemoryMappedReadsEnabled() {
+        return this.memoryMappedReadsEnabled;
+    }
+
+    public boolean isCompactionEnabled() {
+        return this.compactionEnabled;
+    }
+
+    public long getCompactionIntervalSeconds() {
+        return this.compactionIntervalSeconds;
+    }
+
+    public int getCompactionGarbageThresholdPercent() {
+        return this.compactionGarbageThresholdPercent;
+    }
+
+    public String getKuraServicePid() {
+        return this.kuraServicePid;
+    }
+
+    private static SyncPolicy extractSyncPolicy(final Map<String, Object> properties) {
+        try {
+            return SyncPolicy.valueOf(SYNC_POLICY_PROPERTY.get(properties));
+        } catch (final Exception e) {
+            logger.warn("failed to parse sync policy, falling back to PERIODIC", e);
+            return SyncPolicy.PERIODIC;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.compactionEnabled, this.compactionGarbageThresholdPercent,
+                this.compactionIntervalSeconds, this.kuraServicePid, this.memoryMappedReadsEnabled, this.path,
+                this.segmentMaxSize, this.syncIntervalMillis, this.syncPolicy);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        LogKeyValueDbServiceOptions other = (LogKeyValueDbServiceOptions) obj;
+        return this.compactionEnabled == other.compactionEnabled
+                && this.compactionGarbageThresholdPercent == other.compactionGarbageThresholdPercent
+                && this.compactionIntervalSeconds == other.compactionIntervalSeconds
+                && Objects.equals(this.kuraServicePid, other.kuraServicePid)
+                && this.memoryMappedReadsEnabled == other.memoryMappedReadsEnabled
+                && Objects.equals(this.path, other.path) && this.segmentMaxSize == other.segmentMaxSize
+                && this.syncIntervalMillis == other.syncIntervalMillis && this.syncPolicy == other.syncPolicy;
+    }
+
+}
@@ -0,0 +1,518 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.core.db.keyvalue;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.eclipse.kura.core.db.keyvalue.Segment.Record;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A log structured key-value store.
+ * <p>
+ * All modifications are appended to the active {@link Segment}, an in-memory hash index maps each key to the location
+ * of its latest value. When the active segment reaches the maximum size it is sealed and a new one is created. Sealed
+ * segments are immutable and are compacted incrementally by copying their live records to the active segment, one
+ * segment at a time, so that readers and writers are only blocked for the time needed to rewrite a single segment.
+ * <p>
+ * A tombstone is only needed while an older segment still holds a value for its key, otherwise that value would be
+ * resurrected when the index is rebuilt. For each deleted key the location of its latest tombstone and the id of the
+ * oldest segment that may still contain one of its values are tracked, compaction drops the tombstones that no longer
+ * shadow any segment and counts the others as live data.
+ * <p>
+ * The index is rebuilt by scanning the segments at startup, a truncated or corrupted record at the end of the last
+ * segment (e.g. because of a power loss during a write) is discarded.
+ */
+class LogKeyValueStore implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogKeyValueStore.class);
+
+    private final Path directory;
+    private final int segmentMaxSize;
+    private final boolean memoryMappedReads;
+    private final boolean syncOnWrite;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, IndexEntry> index = new HashMap<>();
+    private final Map<String, IndexEntry> tombstones = new HashMap<>();
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+
+    private Segment active;
+    private boolean dirty;
+    private boolean closed;
+
+    LogKeyValueStore(final Path directory, final int segmentMaxSize, final boolean memoryMappedReads,
+            final boolean syncOnWrite) throws IOException {
+        this.directory = directory;
+        this.segmentMaxSize = segmentMaxSize;
+        this.memoryMappedReads = memoryMappedReads;
+        this.syncOnWrite = syncOnWrite;
+
+        Files.createDirectories(directory);
+
+        try {
+            load();
+        } catch (final IOException e) {
+            closeSegments();
+            throw e;
+        }
+    }
+
+    byte[] get(final String key) throws IOException {
+        final Lock readLock = this.lock.readLock();
+        readLock.lock();
+        try {
+            ensureOpen();
+
+            final IndexEntry entry = this.index.get(key);
+
+            if (entry == null) {
+                return null;
+            }
+
+            return entry.segment.readValue(entry.offset, entry.keyLength, entry.valueLength);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    void put(final String key, final byte[] value) throws IOException {
+        final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+
+        final Lock writeLock = this.lock.writeLock();
+        writeLock.lock();
+        try {
+            ensureOpen();
+            appendValue(key, keyBytes, value);
+            syncIfRequired();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    void delete(final String key) throws IOException {
+        final Lock writeLock = this.lock.writeLock();
+        writeLock.lock();
+        try {
+            ensureOpen();
+
+            final IndexEntry old = this.index.remove(key);
+
+            if (old == null) {
+                return;
+            }
+
+            old.segment.addLiveBytes(-old.size());
+            appendTombstone(key, key.getBytes(StandardCharsets.UTF_8), old.firstSegmentId);
+
+            syncIfRequired();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    void sync() throws IOException {
+        final Lock writeLock = this.lock.writeLock();
+        writeLock.lock();
+        try {
+            if (this.closed || !this.dirty) {
+                return;
+            }
+            this.active.sync();
+            this.dirty = false;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Compacts the sealed segments whose garbage percentage is greater or equal than the provided threshold. The write
+     * lock is acquired and released for each compacted segment.
+     */
+    CompactionResult compact(final int garbageThresholdPercent) throws IOException {
+        final long start = System.nanoTime();
+
+        final List<Long> candidates = new ArrayList<>();
+
+        final Lock readLock = this.lock.readLock();
+        readLock.lock();
+        try {
+            ensureOpen();
+
+            for (final Segment segment : this.segments.values()) {
+                if (segment != this.active && segment.size() > 0
+                        && segment.getGarbageBytes() * 100 >= garbageThresholdPercent * segment.size()) {
+                    candidates.add(segment.getId());
+                }
+            }
+        } finally {
+            readLock.unlock();
+        }
+
+        int compactedSegments = 0;
+        long reclaimedBytes = 0;
+
+        for (final Long id : candidates) {
+            final Lock writeLock = this.lock.writeLock();
+            writeLock.lock();
+            try {
+                if (this.closed) {
+                    break;
+                }
+
+                final Segment segment = this.segments.get(id);
+
+                if (segment == null || segment == this.active) {
+                    continue;
+                }
+
+                reclaimedBytes += compactSegment(segment);
+                compactedSegments++;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        return new CompactionResult(compactedSegments, reclaimedBytes, (System.nanoTime() - start) / 1000000);
+    }
+
+    int getKeyCount() {
+        final Lock readLock = this.lock.readLock();
+        readLock.lock();
+        try {
+            return this.index.size();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        final Lock writeLock = this.lock.writeLock();
+        writeLock.lock();
+        try {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+
+            try {
+                this.active.sync();
+            } finally {
+                closeSegments();
+                this.index.clear();
+                this.tombstones.clear();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private long compactSegment(final Segment segment) throws IOException {
+        final long sizeBefore = segment.size();
+        long copied = 0;
+        long offset = 0;
+
+        Record record;
+
+        while ((record = segment.readRecord(offset)) != null) {
+            final String key = new String(record.getKey(), StandardCharsets.UTF_8);
+
+            if (record.isTombstone()) {
+                final IndexEntry entry = this.tombstones.get(key);
+
+                if (entry != null && entry.segment == segment && entry.offset == record.getOffset()) {
+                    if (shadowsOlderSegment(entry, segment)) {
+                        copied += appendTombstone(key, record.getKey(), entry.firstSegmentId);
+                    } else {
+                        this.tombstones.remove(key);
+                    }
+                }
+            } else {
+                final IndexEntry entry = this.index.get(key);
+
+                if (entry != null && entry.segment == segment && entry.offset == record.getOffset()) {
+                    copied += appendValue(key, record.getKey(), record.getValue());
+                }
+            }
+
+            offset += record.size();
+        }
+
+        this.active.sync();
+        this.dirty = false;
+
+        this.segments.remove(segment.getId());
+        segment.delete();
+
+        return sizeBefore - copied;
+    }
+
+    /*
+     * A tombstone shadows the values of its key stored in the segments that precede it, no value can be stored in a
+     * segment older than the one recorded in the entry.
+     */
+    private boolean shadowsOlderSegment(final IndexEntry tombstone, final Segment segment) {
+        return tombstone.firstSegmentId < segment.getId()
+                && !this.segments.subMap(tombstone.firstSegmentId, true, segment.getId(), false).isEmpty();
+    }
+
+    private int appendValue(final String key, final byte[] keyBytes, final byte[] value) throws IOException {
+        final int recordSize = Segment.recordSize(keyBytes.length, value.length);
+        rollIfNeeded(recordSize);
+
+        final long offset = this.active.append(keyBytes, value);
+        final IndexEntry old = this.index.get(key);
+        final long firstSegmentId = old != null ? old.firstSegmentId : removeTombstone(key, this.active.getId());
+
+        this.index.put(key, new IndexEntry(this.active, offset, keyBytes.length, value.length, firstSegmentId));
+
+        if (old != null) {
+            old.segment.addLiveBytes(-old.size());
+        }
+        this.active.addLiveBytes(recordSize);
+        this.dirty = true;
+
+        return recordSize;
+    }
+
+    private int appendTombstone(final String key, final byte[] keyBytes, final long firstSegmentId)
+            throws IOException {
+        final int recordSize = Segment.recordSize(keyBytes.length, Segment.TOMBSTONE);
+        rollIfNeeded(recordSize);
+
+        final long offset = this.active.append(keyBytes, null);
+        final IndexEntry old = this.tombstones.put(key,
+                new IndexEntry(this.active, offset, keyBytes.length, Segment.TOMBSTONE, firstSegmentId));
+
+        if (old != null) {
+            old.segment.addLiveBytes(-old.size());
+        }
+        this.active.addLiveBytes(recordSize);
+        this.dirty = true;
+
+        return recordSize;
+    }
+
+    /*
+     * Releases the tombstone of a key that is being set again and returns the id of the oldest segment that may still
+     * contain one of its values, or the provided default if the key has no tombstone.
+     */
+    private long removeTombstone(final String key, final long defaultFirstSegmentId) {
+        final IndexEntry tombstone = this.tombstones.remove(key);
+
+        if (tombstone == null) {
+            return defaultFirstSegmentId;
+        }
+
+        tombstone.segment.addLiveBytes(-tombstone.size());
+        return tombstone.firstSegmentId;
+    }
+
+    private void rollIfNeeded(final int recordSize) throws IOException {
+        if (this.active.size() == 0 || this.active.size() + recordSize <= this.segmentMaxSize) {
+            return;
+        }
+
+        this.active.seal(this.memoryMappedReads);
+        this.dirty = false;
+
+        this.active = Segment.open(this.directory, this.active.getId() + 1);
+        this.segments.put(this.active.getId(), this.active);
+    }
+
+    private void syncIfRequired() throws IOException {
+        if (this.syncOnWrite) {
+            this.active.sync();
+            this.dirty = false;
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (this.closed) {
+            throw new IOException("store is closed");
+        }
+    }
+
+    private void load() throws IOException {
+        final List<Long> ids = new ArrayList<>();
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory, "*" + Segment.FILE_SUFFIX)) {
+            for (final Path path : stream) {
+                try {
+                    ids.add(Segment.parseId(path.getFileName().toString()));
+                } catch (final NumberFormatException e) {
+                    logger.warn("ignoring unexpected file {}", path);
+                }
+            }
+        }
+
+        ids.sort(Long::compare);
+
+        for (final long id : ids) {
+            final Segment segment = Segment.open(this.directory, id);
+            this.segments.put(id, segment);
+            loadSegment(segment, id == ids.get(ids.size() - 1));
+        }
+
+        for (final Segment segment : this.segments.values()) {
+            if (segment != this.segments.lastEntry().getValue()) {
+                segment.seal(this.memoryMappedReads);
+            }
+        }
+
+        if (this.segments.isEmpty()) {
+            this.active = Segment.open(this.directory, 0);
+            this.segments.put(this.active.getId(), this.active);
+        } else {
+            this.active = this.segments.lastEntry().getValue();
+        }
+
+        logger.info("loaded {} keys from {} segments in {}", this.index.size(), this.segments.size(), this.directory);
+    }
+
+    private void loadSegment(final Segment segment, final boolean isLast) throws IOException {
+        long offset = 0;
+
+        Record record;
+
+        while ((record = segment.readRecord(offset)) != null) {
+            final String key = new String(record.getKey(), StandardCharsets.UTF_8);
+
+            if (record.isTombstone()) {
+                loadTombstone(segment, key, record);
+            } else {
+                final IndexEntry old = this.index.get(key);
+                final long firstSegmentId = old != null ? old.firstSegmentId : removeTombstone(key, segment.getId());
+
+                this.index.put(key, new IndexEntry(segment, offset, record.getKey().length, record.getValue().length,
+                        firstSegmentId));
+                segment.addLiveBytes(record.size());
+
+                if (old != null) {
+                    old.segment.addLiveBytes(-old.size());
+                }
+            }
+
+            offset += record.size();
+        }
+
+        if (offset < segment.size()) {
+            if (isLast) {
+                logger.warn("discarding {} bytes of truncated or corrupted data at the end of segment {}",
+                        segment.size() - offset, segment.getId());
+                segment.truncate(offset);
+            } else {
+                logger.warn("ignoring {} bytes of corrupted data in segment {}", segment.size() - offset,
+                        segment.getId());
+            }
+        }
+    }
+
+    private void loadTombstone(final Segment segment, final String key, final Record record) {
+        final IndexEntry old = this.index.remove(key);
+        final IndexEntry previousTombstone = this.tombstones.get(key);
+        final long firstSegmentId;
+
+        if (old != null) {
+            old.segment.addLiveBytes(-old.size());
+            firstSegmentId = old.firstSegmentId;
+        } else if (previousTombstone != null) {
+            firstSegmentId = previousTombstone.firstSegmentId;
+        } else {
+            // no value precedes this tombstone, it is garbage
+            return;
+        }
+
+        if (previousTombstone != null) {
+            previousTombstone.segment.addLiveBytes(-previousTombstone.size());
+        }
+
+        this.tombstones.put(key,
+                new IndexEntry(segment, record.getOffset(), record.getKey().length, Segment.TOMBSTONE, firstSegmentId));
+        segment.addLiveBytes(record.size());
+    }
+
+    private void closeSegments() {
+        for (final Segment segment : this.segments.values()) {
+            try {
+                segment.close();
+            } catch (final IOException e) {
+                logger.warn("failed to close segment {}", segment.getId(), e);
+            }
+        }
+        this.segments.clear();
+    }
+
+    private static class IndexEntry {
+
+        private final Segment segment;
+        private final long offset;
+        private final int keyLength;
+        private final int valueLength;
+        // the oldest segment that may contain a value for the key
+        private final long firstSegmentId;
+
+        IndexEntry(final Segment segment, final long offset, final int keyLength, final int valueLength,
+                final long firstSegmentId) {
+            this.segment = segment;
+            this.offset = offset;
+            this.keyLength = keyLength;
+            this.valueLength = valueLength;
+            this.firstSegmentId = firstSegmentId;
+        }
+
+        int size() {
+            return Segment.recordSize(this.keyLength, this.valueLength);
+        }
+    }
+
+    static class CompactionResult {
+
+        private final int compactedSegments;
+        private final long reclaimedBytes;
+        private final long durationMillis;
+
+        CompactionResult(final int compactedSegments, final long reclaimedBytes, final long durationMillis) {
+            this.compactedSegments = compactedSegments;
+            this.reclaimedBytes = reclaimedBytes;
+            this.durationMillis = durationMillis;
+        }
+
+        int getCompactedSegments() {
+            return this.compactedSegments;
+        }
+
+        long getReclaimedBytes() {
+            return this.reclaimedBytes;
+        }
+
+        long getDurationMillis() {
+            return this.durationMillis;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.core.db.keyvalue;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only data file of a {@link LogKeyValueStore}.
+ * <p>
+ * Each record has the following layout (big endian):
+ *
+ * <pre>
+ * | crc32 (4) | key length (4) | value length (4, -1 for tombstones) | key | value |
+ * </pre>
+ *
+ * The CRC covers everything following the CRC field itself. Segments are written only while they are active, once
+ * sealed they are immutable and can be memory mapped for reads.
+ */
+class Segment implements Closeable {
+
+    static final String FILE_SUFFIX = ".kvlog";
+    static final int HEADER_SIZE = 12;
+    static final int TOMBSTONE = -1;
+
+    private final long id;
+    private final Path path;
+    private final FileChannel channel;
+
+    private volatile MappedByteBuffer mapped;
+    private long size;
+    private long liveBytes;
+
+    private Segment(final long id, final Path path, final FileChannel channel, final long size) {
+        this.id = id;
+        this.path = path;
+        this.channel = channel;
+        this.size = size;
+    }
+
+    static Segment open(final Path directory, final long id) throws IOException {
+        final Path path = directory.resolve(fileName(id));
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+
+        return new Segment(id, path, channel, channel.size());
+    }
+
+    static String fileName(final long id) {
+        return String.format("%016x%s", id, FILE_SUFFIX);
+    }
+
+    static long parseId(final String fileName) {
+        return Long.parseLong(fileName.substring(0, fileName.length() - FILE_SUFFIX.length()), 16);
+    }
+
+    static int recordSize(final int keyLength, final int valueLength) {
+        return HEADER_SIZE + keyLength + Math.max(0, valueLength);
+    }
+
+    long getId() {
+        return this.id;
+    }
+
+    long size() {
+        return this.size;
+    }
+
+    long getLiveBytes() {
+        return this.liveBytes;
+    }
+
+    long getGarbageBytes() {
+        return this.size - this.liveBytes;
+    }
+
+    void addLiveBytes(final long delta) {
+        this.liveBytes += delta;
+    }
+
+    /**
+     * Appends a record and returns the offset at which it has been written.
+     */
+    long append(final byte[] key, final byte[] value) throws IOException {
+        final int valueLength = value == null ? TOMBSTONE : value.length;
+        final ByteBuffer buffer = ByteBuffer.allocate(recordSize(key.length, valueLength));
+
+        buffer.position(4);
+        buffer.putInt(key.length);
+        buffer.putInt(valueLength);
+        buffer.put(key);
+        if (value != null) {
+            buffer.put(value);
+        }
+
+        final CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 4, buffer.capacity() - 4);
+        buffer.putInt(0, (int) crc.getValue());
+        buffer.rewind();
+
+        final long offset = this.size;
+        writeFully(buffer, offset);
+        this.size += buffer.capacity();
+
+        return offset;
+    }
+
+    byte[] readValue(final long recordOffset, final int keyLength, final int valueLength) throws IOException {
+        final byte[] result = new byte[valueLength];
+        final long position = recordOffset + HEADER_SIZE + keyLength;
+
+        final MappedByteBuffer buffer = this.mapped;
+
+        if (buffer != null) {
+            final ByteBuffer view = buffer.duplicate();
+            view.position((int) position);
+            view.get(result);
+        } else {
+            readFully(ByteBuffer.wrap(result), position);
+        }
+
+        return result;
+    }
+
+    /**
+     * Reads the record starting at the given offset, returns {@code null} if the segment ends at the given offset or
+     * if the record is truncated or corrupted.
+     */
+    Record readRecord(final long offset) throws IOException {
+        if (offset + HEADER_SIZE > this.size) {
+            return null;
+        }
+
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+
+        try {
+            readFully(header, offset);
+        } catch (final EOFException e) {
+            return null;
+        }
+
+        final int crc = header.getInt(0);
+        final int keyLength = header.getInt(4);
+        final int valueLength = header.getInt(8);
+
+        if (keyLength < 0 || valueLength < TOMBSTONE
+                || offset + recordSize(keyLength, valueLength) > this.size) {
+            return null;
+        }
+
+        final ByteBuffer body = ByteBuffer.allocate(keyLength + Math.max(0, valueLength));
+
+        try {
+            readFully(body, offset + HEADER_SIZE);
+        } catch (final EOFException e) {
+            return null;
+        }
+
+        final CRC32 actualCrc = new CRC32();
+        actualCrc.update(header.array(), 4, HEADER_SIZE - 4);
+        actualCrc.update(body.array(), 0, body.capacity());
+
+        if ((int) actualCrc.getValue() != crc) {
+            return null;
+        }
+
+        final byte[] key = new byte[keyLength];
+        System.arraycopy(body.array(), 0, key, 0, keyLength);
+
+        final byte[] value;
+
+        if (valueLength == TOMBSTONE) {
+            value = null;
+        } else {
+            value = new byte[valueLength];
+            System.arraycopy(body.array(), keyLength, value, 0, valueLength);
+        }
+
+        return new Record(offset, key, value);
+    }
+
+    void truncate(final long newSize) throws IOException {
+        this.channel.truncate(newSize);
+        this.size = newSize;
+    }
+
+    void sync() throws IOException {
+        this.channel.force(false);
+    }
+
+    /**
+     * Marks the segment as immutable, optionally mapping it in memory for subsequent reads.
+     */
+    void seal(final boolean mapInMemory) throws IOException {
+        this.channel.force(true);
+        if (mapInMemory && this.size > 0) {
+            this.mapped = this.channel.map(MapMode.READ_ONLY, 0, this.size);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.mapped = null;
+        this.channel.close();
+    }
+
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(this.path);
+    }
+
+    private void writeFully(final ByteBuffer buffer, final long position) throws IOException {
+        long current = position;
+        while (buffer.hasRemaining()) {
+            current += this.channel.write(buffer, current);
+        }
+    }
+
+    private void readFully(final ByteBuffer buffer, final long position) throws IOException {
+        long current = position;
+        while (buffer.hasRemaining()) {
+            final int read = this.channel.read(buffer, current);
+            if (read < 0) {
+                throw new EOFException();
+            }
+            current += read;
+        }
+    }
+
+    static class Record {
+
+        private final long offset;
+        private final byte[] key;
+        private final byte[] value;
+
+        Record(final long offset, final byte[] key, final byte[] value) {
+            this.offset = offset;
+            this.key = key;
+            this.value = value;
+        }
+
+        long getOffset() {
+            return this.offset;
+        }
+
+        byte[] getKey() {
+            return this.key;
+        }
+
+        byte[] getValue() {
+            return this.value;
+        }
+
+        boolean isTombstone() {
+            return this.value == null;
+        }
+
+        int size() {
+            return recordSize(this.key.length, this.value == null ? TOMBSTONE : this.value.length);
+        }
+    }
+}
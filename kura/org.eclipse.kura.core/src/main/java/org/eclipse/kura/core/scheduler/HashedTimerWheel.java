@@ -0,0 +1,234 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.core.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A hashed timer wheel driven by a single thread.
+ * <p>
+ * Timeouts are stored in a circular array of buckets, each bucket covers a tick of time. Adding and cancelling a
+ * timeout are O(1) operations, the precision of the timer is one tick. Expired timeouts are not executed by the timer
+ * thread, their action is expected to hand the actual work over to another executor.
+ * <p>
+ * The timer thread does not wake up for empty buckets and parks indefinitely if there are no pending timeouts.
+ */
+final class HashedTimerWheel {
+
+    private static final Logger logger = LoggerFactory.getLogger(HashedTimerWheel.class);
+
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final List<Timeout>[] buckets;
+    private final int mask;
+    private final Thread worker;
+
+    private volatile long requestedTickNanos;
+    private volatile boolean stopped;
+
+    // accessed only by the worker thread
+    private long tickNanos;
+    private long startTime;
+    private long tick;
+    private int active;
+
+    @SuppressWarnings("unchecked")
+    HashedTimerWheel(final String name, final long tickDuration, final TimeUnit unit, final int wheelSize) {
+        final int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+
+        this.buckets = new List[size];
+        for (int i = 0; i < size; i++) {
+            this.buckets[i] = new ArrayList<>();
+        }
+        this.mask = size - 1;
+        this.requestedTickNanos = Math.max(1, unit.toNanos(tickDuration));
+
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    Timeout newTimeout(final long deadlineNanos, final Runnable action) {
+        final Timeout result = new Timeout(deadlineNanos, action);
+
+        this.pending.add(result);
+        LockSupport.unpark(this.worker);
+
+        return result;
+    }
+
+    void setTickDuration(final long tickDuration, final TimeUnit unit) {
+        this.requestedTickNanos = Math.max(1, unit.toNanos(tickDuration));
+        LockSupport.unpark(this.worker);
+    }
+
+    void stop() {
+        this.stopped = true;
+        LockSupport.unpark(this.worker);
+
+        if (Thread.currentThread() == this.worker) {
+            return;
+        }
+
+        try {
+            this.worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        this.tickNanos = this.requestedTickNanos;
+        this.startTime = System.nanoTime();
+
+        while (!this.stopped) {
+
+            if (this.active == 0 && this.pending.isEmpty()) {
+                LockSupport.park(this);
+                // do not process the ticks elapsed while idle
+                this.startTime = System.nanoTime() - this.tick * this.tickNanos;
+                continue;
+            }
+
+            if (this.tickNanos != this.requestedTickNanos) {
+                rehash();
+            }
+
+            transferPending();
+
+            final long currentTick = (System.nanoTime() - this.startTime) / this.tickNanos;
+
+            while (this.tick <= currentTick) {
+                expire(this.buckets[(int) (this.tick & this.mask)]);
+                this.tick++;
+            }
+
+            if (this.active != 0) {
+                final long wakeUp = this.startTime + nextNonEmptyTick() * this.tickNanos;
+                final long parkNanos = wakeUp - System.nanoTime();
+
+                if (parkNanos > 0 && this.pending.isEmpty()) {
+                    LockSupport.parkNanos(this, parkNanos);
+                }
+            }
+        }
+
+        logger.debug("timer wheel stopped");
+    }
+
+    private void transferPending() {
+        Timeout timeout;
+
+        while ((timeout = this.pending.poll()) != null) {
+            if (!timeout.cancelled) {
+                add(timeout);
+            }
+        }
+    }
+
+    private void add(final Timeout timeout) {
+        final long delta = timeout.deadline - this.startTime;
+        final long targetTick = Math.max(this.tick, delta <= 0 ? 0 : (delta + this.tickNanos - 1) / this.tickNanos);
+
+        timeout.remainingRounds = (targetTick - this.tick) / this.buckets.length;
+        this.buckets[(int) (targetTick & this.mask)].add(timeout);
+        this.active++;
+    }
+
+    private void expire(final List<Timeout> bucket) {
+        if (bucket.isEmpty()) {
+            return;
+        }
+
+        int kept = 0;
+
+        for (int i = 0; i < bucket.size(); i++) {
+            final Timeout timeout = bucket.get(i);
+
+            if (timeout.cancelled) {
+                this.active--;
+            } else if (timeout.remainingRounds <= 0) {
+                this.active--;
+                fire(timeout);
+            } else {
+                timeout.remainingRounds--;
+                bucket.set(kept++, timeout);
+            }
+        }
+
+        bucket.subList(kept, bucket.size()).clear();
+    }
+
+    private long nextNonEmptyTick() {
+        for (int i = 0; i < this.buckets.length; i++) {
+            if (!this.buckets[(int) ((this.tick + i) & this.mask)].isEmpty()) {
+                return this.tick + i;
+            }
+        }
+        return this.tick + this.buckets.length;
+    }
+
+    private void rehash() {
+        final List<Timeout> timeouts = new ArrayList<>(this.active);
+
+        for (final List<Timeout> bucket : this.buckets) {
+            timeouts.addAll(bucket);
+            bucket.clear();
+        }
+
+        this.tickNanos = this.requestedTickNanos;
+        this.startTime = System.nanoTime();
+        this.tick = 0;
+        this.active = 0;
+
+        for (final Timeout timeout : timeouts) {
+            if (!timeout.cancelled) {
+                add(timeout);
+            }
+        }
+
+        logger.info("timer tick changed to {} us", this.tickNanos / 1000);
+    }
+
+    private static void fire(final Timeout timeout) {
+        try {
+            timeout.action.run();
+        } catch (final Exception e) {
+            logger.warn("timeout action failed", e);
+        }
+    }
+
+    static final class Timeout {
+
+        private final long deadline;
+        private final Runnable action;
+        private volatile boolean cancelled;
+        private long remainingRounds;
+
+        private Timeout(final long deadline, final Runnable action) {
+            this.deadline = deadline;
+            this.action = action;
+        }
+
+        void cancel() {
+            this.cancelled = true;
+        }
+    }
+}
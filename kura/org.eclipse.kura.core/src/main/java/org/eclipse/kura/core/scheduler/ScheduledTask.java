@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.core.scheduler;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A delayed or periodic task. The task is armed on the {@link HashedTimerWheel}, when the timeout expires it is
+ * dispatched to its worker pool and, if periodic, armed again after each execution.
+ */
+final class ScheduledTask implements ScheduledFuture<Object>, Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScheduledTask.class);
+
+    private final TaskStatisticsImpl statistics;
+    private final Runnable task;
+    private final HashedTimerWheel wheel;
+    private final Executor pool;
+
+    /**
+     * Zero for one shot tasks, positive for fixed rate tasks, negative for fixed delay tasks.
+     */
+    private final long periodNanos;
+
+    private final CompletableFuture<Object> completion = new CompletableFuture<>();
+
+    private volatile long deadline;
+    private volatile HashedTimerWheel.Timeout timeout;
+    private Thread runner;
+
+    ScheduledTask(final TaskStatisticsImpl statistics, final Runnable task, final HashedTimerWheel wheel,
+            final Executor pool, final long deadline, final long periodNanos) {
+        this.statistics = statistics;
+        this.task = task;
+        this.wheel = wheel;
+        this.pool = pool;
+        this.deadline = deadline;
+        this.periodNanos = periodNanos;
+    }
+
+    void arm() {
+        if (this.deadline - System.nanoTime() <= 0) {
+            dispatch();
+        } else {
+            this.timeout = this.wheel.newTimeout(this.deadline, this::dispatch);
+        }
+    }
+
+    private void dispatch() {
+        if (this.completion.isDone()) {
+            return;
+        }
+
+        try {
+            this.pool.execute(this);
+        } catch (final RejectedExecutionException e) {
+            this.completion.completeExceptionally(e);
+        }
+    }
+
+    @Override
+    public void run() {
+        if (this.completion.isDone()) {
+            return;
+        }
+
+        synchronized (this) {
+            this.runner = Thread.currentThread();
+        }
+
+        final Throwable failure;
+
+        try {
+            failure = this.statistics.run(this.task, this.deadline);
+        } finally {
+            synchronized (this) {
+                this.runner = null;
+            }
+            if (this.completion.isCancelled()) {
+                // clear a possible interrupt caused by cancel(true), the thread belongs to a shared pool
+                Thread.interrupted();
+            }
+        }
+
+        if (failure != null) {
+            if (this.periodNanos != 0) {
+                logger.warn("Periodic task {} failed, subsequent executions are suppressed", getName(), failure);
+            }
+            this.completion.completeExceptionally(failure);
+        } else if (this.periodNanos == 0) {
+            this.completion.complete(null);
+        } else if (!this.completion.isDone()) {
+            this.deadline = this.periodNanos > 0 ? this.deadline + this.periodNanos
+                    : System.nanoTime() - this.periodNanos;
+            arm();
+        }
+    }
+
+    void fail(final Throwable cause) {
+        if (!this.completion.completeExceptionally(cause)) {
+            return;
+        }
+
+        final HashedTimerWheel.Timeout currentTimeout = this.timeout;
+
+        if (currentTimeout != null) {
+            currentTimeout.cancel();
+        }
+    }
+
+    void whenDone(final Runnable action) {
+        this.completion.whenComplete((result, failure) -> action.run());
+    }
+
+    String getName() {
+        return this.statistics.getName();
+    }
+
+    @Override
+    public boolean cancel(final boolean mayInterruptIfRunning) {
+        if (!this.completion.cancel(false)) {
+            return false;
+        }
+
+        final HashedTimerWheel.Timeout currentTimeout = this.timeout;
+
+        if (currentTimeout != null) {
+            currentTimeout.cancel();
+        }
+
+        if (mayInterruptIfRunning) {
+            synchronized (this) {
+                if (this.runner != null) {
+                    this.runner.interrupt();
+                }
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return this.completion.isCancelled();
+    }
+
+    @Override
+    public boolean isDone() {
+        return this.completion.isDone();
+    }
+
+    @Override
+    public Object get() throws InterruptedException, ExecutionException {
+        return this.completion.get();
+    }
+
+    @Override
+    public Object get(final long timeout, final TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        return this.completion.get(timeout, unit);
+    }
+
+    @Override
+    public long getDelay(final TimeUnit unit) {
+        return unit.convert(this.deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(final Delayed other) {
+        if (other == this) {
+            return 0;
+        }
+        return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+    }
+}
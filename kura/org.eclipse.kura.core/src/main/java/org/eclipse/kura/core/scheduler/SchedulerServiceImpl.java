@@ -0,0 +1,235 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.core.scheduler;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.kura.configuration.ConfigurableComponent;
+import org.eclipse.kura.scheduler.SchedulerService;
+import org.eclipse.kura.scheduler.TaskStatistics;
+import org.eclipse.kura.scheduler.WorkloadClass;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link SchedulerService} implementation based on a {@link HashedTimerWheel} for timekeeping and on a worker pool for
+ * each {@link WorkloadClass}.
+ * <p>
+ * Worker threads are created on demand and terminated after one minute of inactivity, the timer thread parks when
+ * no task is scheduled. The size of the pools and the tick of the timer can be changed at runtime without affecting
+ * the scheduled tasks.
+ */
+public class SchedulerServiceImpl implements SchedulerService, ConfigurableComponent {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchedulerServiceImpl.class);
+
+    private static final int WHEEL_SIZE = 512;
+    private static final long WORKER_KEEP_ALIVE_SECONDS = 60;
+
+    private final Map<String, TaskStatisticsImpl> statistics = new ConcurrentHashMap<>();
+    private final Map<WorkloadClass, ThreadPoolExecutor> pools = new EnumMap<>(WorkloadClass.class);
+    private final Set<ScheduledTask> tasks = ConcurrentHashMap.newKeySet();
+
+    private HashedTimerWheel wheel;
+    private volatile boolean isDeactivated;
+
+    // ----------------------------------------------------------------
+    //
+    // Activation APIs
+    //
+    // ----------------------------------------------------------------
+
+    public void activate(final Map<String, Object> properties) {
+        logger.info("activating...");
+
+        final SchedulerServiceOptions options = new SchedulerServiceOptions(properties);
+
+        for (final WorkloadClass workloadClass : WorkloadClass.values()) {
+            final int size = options.getPoolSize(workloadClass);
+            final ThreadPoolExecutor pool = new ThreadPoolExecutor(size, size, WORKER_KEEP_ALIVE_SECONDS,
+                    TimeUnit.SECONDS, new LinkedBlockingQueue<>(), newThreadFactory(workloadClass));
+            pool.allowCoreThreadTimeOut(true);
+
+            this.pools.put(workloadClass, pool);
+        }
+
+        this.wheel = new HashedTimerWheel("KuraScheduler-Timer", options.getTickMillis(), TimeUnit.MILLISECONDS,
+                WHEEL_SIZE);
+
+        logger.info("activating...done");
+    }
+
+    public synchronized void updated(final Map<String, Object> properties) {
+        logger.info("updating...");
+
+        final SchedulerServiceOptions options = new SchedulerServiceOptions(properties);
+
+        for (final WorkloadClass workloadClass : WorkloadClass.values()) {
+            resize(this.pools.get(workloadClass), options.getPoolSize(workloadClass));
+        }
+
+        this.wheel.setTickDuration(options.getTickMillis(), TimeUnit.MILLISECONDS);
+
+        logger.info("updating...done");
+    }
+
+    public void deactivate() {
+        logger.info("deactivating...");
+
+        this.isDeactivated = true;
+
+        this.wheel.stop();
+
+        for (final ThreadPoolExecutor pool : this.pools.values()) {
+            pool.shutdownNow();
+        }
+
+        // the tasks that are still pending will never be executed
+        for (final ScheduledTask task : this.tasks) {
+            task.fail(newDeactivatedException());
+        }
+
+        if (logger.isDebugEnabled()) {
+            this.statistics.values().forEach(s -> logger.debug("{}", s.snapshot()));
+        }
+
+        logger.info("deactivating...done");
+    }
+
+    // ----------------------------------------------------------------
+    //
+    // Service APIs
+    //
+    // ----------------------------------------------------------------
+
+    @Override
+    public ScheduledFuture<?> schedule(final String name, final WorkloadClass workloadClass, final Runnable task,
+            final long delay, final TimeUnit unit) {
+        return submit(name, workloadClass, task, delay, 0, unit);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(final String name, final WorkloadClass workloadClass,
+            final Runnable task, final long initialDelay, final long period, final TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        return submit(name, workloadClass, task, initialDelay, unit.toNanos(period), unit);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(final String name, final WorkloadClass workloadClass,
+            final Runnable task, final long initialDelay, final long delay, final TimeUnit unit) {
+        if (delay <= 0) {
+            throw new IllegalArgumentException("delay must be positive");
+        }
+        return submit(name, workloadClass, task, initialDelay, -unit.toNanos(delay), unit);
+    }
+
+    @Override
+    public ExecutorService newSerialExecutor(final String name, final WorkloadClass workloadClass) {
+        if (this.isDeactivated) {
+            throw newDeactivatedException();
+        }
+
+        return new SerialExecutor(getPool(workloadClass), getStatistics(name, workloadClass));
+    }
+
+    @Override
+    public Map<String, TaskStatistics> getTaskStatistics() {
+        final Map<String, TaskStatistics> result = new HashMap<>();
+
+        this.statistics.forEach((name, s) -> result.put(name, s.snapshot()));
+
+        return Collections.unmodifiableMap(result);
+    }
+
+    // ----------------------------------------------------------------
+    //
+    // Private Methods
+    //
+    // ----------------------------------------------------------------
+
+    private ScheduledTask submit(final String name, final WorkloadClass workloadClass, final Runnable task,
+            final long initialDelay, final long periodNanos, final TimeUnit unit) {
+        Objects.requireNonNull(task, "task cannot be null");
+
+        if (this.isDeactivated) {
+            throw newDeactivatedException();
+        }
+
+        final ScheduledTask result = new ScheduledTask(getStatistics(name, workloadClass), task, this.wheel,
+                getPool(workloadClass), System.nanoTime() + unit.toNanos(Math.max(0, initialDelay)), periodNanos);
+
+        this.tasks.add(result);
+        result.whenDone(() -> this.tasks.remove(result));
+
+        result.arm();
+
+        if (this.isDeactivated) {
+            // raced with deactivate()
+            result.fail(newDeactivatedException());
+        }
+
+        return result;
+    }
+
+    private static RejectedExecutionException newDeactivatedException() {
+        return new RejectedExecutionException("the scheduler service has been deactivated");
+    }
+
+    private TaskStatisticsImpl getStatistics(final String name, final WorkloadClass workloadClass) {
+        Objects.requireNonNull(name, "name cannot be null");
+
+        return this.statistics.computeIfAbsent(name, n -> new TaskStatisticsImpl(n, workloadClass));
+    }
+
+    private ThreadPoolExecutor getPool(final WorkloadClass workloadClass) {
+        return this.pools.get(Objects.requireNonNull(workloadClass, "workload class cannot be null"));
+    }
+
+    private static void resize(final ThreadPoolExecutor pool, final int size) {
+        if (size > pool.getMaximumPoolSize()) {
+            pool.setMaximumPoolSize(size);
+            pool.setCorePoolSize(size);
+        } else {
+            pool.setCorePoolSize(size);
+            pool.setMaximumPoolSize(size);
+        }
+    }
+
+    private static ThreadFactory newThreadFactory(final WorkloadClass workloadClass) {
+        final AtomicInteger counter = new AtomicInteger();
+
+        return runnable -> {
+            final Thread result = new Thread(runnable,
+                    "KuraScheduler-" + workloadClass.name() + "-" + counter.incrementAndGet());
+            result.setDaemon(true);
+            return result;
+        };
+    }
+}
@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.core.scheduler;
+
+import java.util.Map;
+
+import org.eclipse.kura.scheduler.WorkloadClass;
+import org.eclipse.kura.util.configuration.Property;
+
+class SchedulerServiceOptions {
+
+    static final int MAX_POOL_SIZE = 256;
+
+    private static final Property<Long> TICK_MILLIS_PROPERTY = new Property<>("timer.tick.ms", 10L);
+    private static final Property<Integer> IO_POOL_SIZE_PROPERTY = new Property<>("io.pool.size", 8);
+    private static final Property<Integer> CPU_POOL_SIZE_PROPERTY = new Property<>("cpu.pool.size", 0);
+    private static final Property<Integer> BLOCKING_POOL_SIZE_PROPERTY = new Property<>("blocking.pool.size", 32);
+
+    private final long tickMillis;
+    private final int ioPoolSize;
+    private final int cpuPoolSize;
+    private final int blockingPoolSize;
+
+    public SchedulerServiceOptions(final Map<String, Object> properties) {
+        this.tickMillis = Math.max(1, TICK_MILLIS_PROPERTY.get(properties));
+        this.ioPoolSize = clampPoolSize(IO_POOL_SIZE_PROPERTY.get(properties));
+
+        final int cpu = CPU_POOL_SIZE_PROPERTY.get(properties);
+        this.cpuPoolSize = cpu > 0 ? clampPoolSize(cpu) : Runtime.getRuntime().availableProcessors();
+
+        this.blockingPoolSize = clampPoolSize(BLOCKING_POOL_SIZE_PROPERTY.get(properties));
+    }
+
+    public long getTickMillis() {
+        return this.tickMillis;
+    }
+
+    public int getPoolSize(final WorkloadClass workloadClass) {
+        switch (workloadClass) {
+        case CPU:
+            return this.cpuPoolSize;
+        case BLOCKING:
+            return this.blockingPoolSize;
+        default:
+            return this.ioPoolSize;
+        }
+    }
+
+    private static int clampPoolSize(final int size) {
+        return Math.max(1, Math.min(MAX_POOL_SIZE, size));
+    }
+}
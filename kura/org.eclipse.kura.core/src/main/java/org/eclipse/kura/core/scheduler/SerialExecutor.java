@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.core.scheduler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An executor that runs the submitted tasks one at a time, in submission order, on a shared pool. At most one drain
+ * job per executor is submitted to the pool at any time, the drain job runs a bounded number of tasks and then
+ * resubmits itself, so that a busy executor does not monopolize a pool thread.
+ */
+final class SerialExecutor extends AbstractExecutorService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SerialExecutor.class);
+
+    private static final int MAX_TASKS_PER_DRAIN = 16;
+
+    private final Executor pool;
+    private final TaskStatisticsImpl statistics;
+
+    private final Object lock = new Object();
+    private final Queue<QueuedTask> queue = new ArrayDeque<>();
+    private boolean running;
+    private boolean shutdown;
+    private Thread runner;
+
+    SerialExecutor(final Executor pool, final TaskStatisticsImpl statistics) {
+        this.pool = pool;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        synchronized (this.lock) {
+            if (this.shutdown) {
+                throw new RejectedExecutionException("executor " + this.statistics.getName() + " has been shut down");
+            }
+
+            this.queue.add(new QueuedTask(command, System.nanoTime()));
+
+            if (this.running) {
+                return;
+            }
+            this.running = true;
+        }
+
+        submitDrain();
+    }
+
+    private void submitDrain() {
+        try {
+            this.pool.execute(this::drain);
+        } catch (final RejectedExecutionException e) {
+            synchronized (this.lock) {
+                this.queue.clear();
+                this.running = false;
+                this.lock.notifyAll();
+            }
+            throw e;
+        }
+    }
+
+    private void drain() {
+        for (int i = 0; i < MAX_TASKS_PER_DRAIN; i++) {
+            final QueuedTask next;
+
+            synchronized (this.lock) {
+                next = this.queue.poll();
+
+                if (next == null) {
+                    this.running = false;
+                    this.lock.notifyAll();
+                    return;
+                }
+
+                this.runner = Thread.currentThread();
+            }
+
+            final Throwable failure = this.statistics.run(next.task, next.submitTime);
+
+            synchronized (this.lock) {
+                this.runner = null;
+
+                if (this.shutdown) {
+                    // clear a possible interrupt caused by shutdownNow(), the thread belongs to a shared pool
+                    Thread.interrupted();
+                }
+            }
+
+            if (failure != null) {
+                logger.warn("Task {} failed", this.statistics.getName(), failure);
+            }
+        }
+
+        try {
+            submitDrain();
+        } catch (final RejectedExecutionException e) {
+            logger.debug("pool has been shut down, discarding tasks of {}", this.statistics.getName());
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        synchronized (this.lock) {
+            this.shutdown = true;
+            this.lock.notifyAll();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        final List<Runnable> result = new ArrayList<>();
+
+        synchronized (this.lock) {
+            this.shutdown = true;
+
+            QueuedTask next;
+
+            while ((next = this.queue.poll()) != null) {
+                result.add(next.task);
+            }
+
+            if (this.runner != null) {
+                this.runner.interrupt();
+            }
+
+            this.lock.notifyAll();
+        }
+
+        return result;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        synchronized (this.lock) {
+            return this.shutdown;
+        }
+    }
+
+    @Override
+    public boolean isTerminated() {
+        synchronized (this.lock) {
+            return this.shutdown && !this.running;
+        }
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+        synchronized (this.lock) {
+            while (!(this.shutdown && !this.running)) {
+                final long remaining = deadline - System.nanoTime();
+
+                if (remaining <= 0) {
+                    return false;
+                }
+
+                TimeUnit.NANOSECONDS.timedWait(this.lock, remaining);
+            }
+            return true;
+        }
+    }
+
+    private static final class QueuedTask {
+
+        private final Runnable task;
+        private final long submitTime;
+
+        QueuedTask(final Runnable task, final long submitTime) {
+            this.task = task;
+            this.submitTime = submitTime;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.core.scheduler;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.kura.scheduler.TaskStatistics;
+import org.eclipse.kura.scheduler.WorkloadClass;
+
+/**
+ * Collects the statistics of the tasks with a given name and runs them, renaming the worker thread for the duration
+ * of each execution so that the task can be identified in thread dumps.
+ */
+final class TaskStatisticsImpl {
+
+    private final String name;
+    private final WorkloadClass workloadClass;
+
+    private final LongAdder executionCount = new LongAdder();
+    private final LongAdder failureCount = new LongAdder();
+    private final LongAdder totalExecutionTime = new LongAdder();
+    private final AtomicLong maxExecutionTime = new AtomicLong();
+    private final AtomicLong maxStartDelay = new AtomicLong();
+
+    TaskStatisticsImpl(final String name, final WorkloadClass workloadClass) {
+        this.name = name;
+        this.workloadClass = workloadClass;
+    }
+
+    String getName() {
+        return this.name;
+    }
+
+    /**
+     * Runs the given task and records its statistics.
+     *
+     * @param task
+     *            the task
+     * @param scheduledTimeNanos
+     *            the {@link System#nanoTime()} at which the task was supposed to start
+     * @return the failure of the task, or null if it completed normally
+     */
+    Throwable run(final Runnable task, final long scheduledTimeNanos) {
+        final Thread thread = Thread.currentThread();
+        final String threadName = thread.getName();
+        final long start = System.nanoTime();
+
+        updateMax(this.maxStartDelay, start - scheduledTimeNanos);
+        thread.setName(threadName + " (" + this.name + ")");
+
+        Throwable failure = null;
+
+        try {
+            task.run();
+        } catch (final Throwable e) {
+            failure = e;
+            this.failureCount.increment();
+        } finally {
+            final long elapsed = System.nanoTime() - start;
+
+            thread.setName(threadName);
+            this.executionCount.increment();
+            this.totalExecutionTime.add(elapsed);
+            updateMax(this.maxExecutionTime, elapsed);
+        }
+
+        return failure;
+    }
+
+    TaskStatistics snapshot() {
+        return new Snapshot(this.name, this.workloadClass, this.executionCount.sum(), this.failureCount.sum(),
+                this.totalExecutionTime.sum(), this.maxExecutionTime.get(), this.maxStartDelay.get());
+    }
+
+    private static void updateMax(final AtomicLong max, final long value) {
+        long current = max.get();
+
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    private static final class Snapshot implements TaskStatistics {
+
+        private final String name;
+        private final WorkloadClass workloadClass;
+        private final long executionCount;
+        private final long failureCount;
+        private final long totalExecutionTimeNanos;
+        private final long maxExecutionTimeNanos;
+        private final long maxStartDelayNanos;
+
+        Snapshot(final String name, final WorkloadClass workloadClass, final long executionCount,
+                final long failureCount, final long totalExecutionTimeNanos, final long maxExecutionTimeNanos,
+                final long maxStartDelayNanos) {
+            this.name = name;
+            this.workloadClass = workloadClass;
+            this.executionCount = executionCount;
+            this.failureCount = failureCount;
+            this.totalExecutionTimeNanos = totalExecutionTimeNanos;
+            this.maxExecutionTimeNanos = maxExecutionTimeNanos;
+            this.maxStartDelayNanos = maxStartDelayNanos;
+        }
+
+        @Override
+        public String getName() {
+            return this.name;
+        }
+
+        @Override
+        public WorkloadClass getWorkloadClass() {
+            return this.workloadClass;
+        }
+
+        @Override
+        public long getExecutionCount() {
+            return this.executionCount;
+        }
+
+        @Override
+        public long getFailureCount() {
+            return this.failureCount;
+        }
+
+        @Override
+        public long getTotalExecutionTimeNanos() {
+            return this.totalExecutionTimeNanos;
+        }
+
+        @Override
+        public long getMaxExecutionTimeNanos() {
+            return this.maxExecutionTimeNanos;
+        }
+
+        @Override
+        public long getMaxStartDelayNanos() {
+            return this.maxStartDelayNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "TaskStatistics [name=" + this.name + ", workloadClass=" + this.workloadClass + ", executionCount="
+                    + this.executionCount + ", failureCount=" + this.failureCount + ", totalExecutionTimeNanos="
+                    + this.totalExecutionTimeNanos + ", maxExecutionTimeNanos=" + this.maxExecutionTimeNanos
+                    + ", maxStartDelayNanos=" + this.maxStartDelayNanos + "]";
+        }
+    }
+}
@@ -37,6 +37,11 @@ public class ConnectionPoolManager {
     private SQLiteDataSource sqliteDataSource;
 
     public ConnectionPoolManager(final SQLiteDataSource sqliteDataSource, final int maxConnectionCount) {
+        this(sqliteDataSource, maxConnectionCount, Optional.empty());
+    }
+
+    public ConnectionPoolManager(final SQLiteDataSource sqliteDataSource, final int maxConnectionCount,
+            final Optional<String> connectionInitSql) {
 
         HikariConfig config = new HikariConfig();
 
@@ -47,6 +52,10 @@ public class ConnectionPoolManager {
         config.setIdleTimeout(0);
         config.setMaxLifetime(0);
 
+        if (connectionInitSql.isPresent()) {
+            config.setConnectionInitSql(connectionInitSql.get());
+        }
+
         this.sqliteDataSource = sqliteDataSource;
         this.hikariDatasource = new HikariDataSource(config);
     }
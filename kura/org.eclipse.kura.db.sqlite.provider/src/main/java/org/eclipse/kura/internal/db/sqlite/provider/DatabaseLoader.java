@@ -185,6 +185,14 @@ public class DatabaseLoader {
                     : SQLiteConfig.JournalMode.WAL);
         }
 
+        config.setSynchronous(SQLiteConfig.SynchronousMode.valueOf(this.newOptions.getSynchronousMode().name()));
+        // negative values are interpreted by SQLite as KiB instead of pages
+        config.setCacheSize(-this.newOptions.getCacheSizeKib());
+
+        if (this.newOptions.getMmapSizeBytes() > 0) {
+            config.setPragma(SQLiteConfig.Pragma.MMAP_SIZE, Long.toString(this.newOptions.getMmapSizeBytes()));
+        }
+
         final SQLiteDataSource dataSource = buildDataSource(config);
         dataSource.setUrl(url);
 
@@ -0,0 +1,384 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.internal.db.sqlite.provider;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.kura.util.jdbc.SQLFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sqlite.SQLiteConnection;
+
+/**
+ * Caches the prepared statements created on each physical SQLite connection of the pool.
+ * <p>
+ * Statements are prepared on the unwrapped {@link SQLiteConnection}, so that they are not closed when the pooled
+ * connection is returned to the pool. The {@link Connection} passed to the tasks is wrapped so that
+ * {@code prepareStatement()} returns a cached statement if available and {@code PreparedStatement.close()} returns the
+ * statement to the cache instead of finalizing it.
+ * <p>
+ * A physical connection is used by a single thread at a time, the per-connection caches do not need to be
+ * synchronized. The physical connections are used as keys of a {@link ConcurrentHashMap}, this relies on
+ * {@link SQLiteConnection} inheriting {@code equals()} and {@code hashCode()} from {@link Object}, so that two distinct
+ * connections are never considered equal.
+ */
+@SuppressWarnings("restriction")
+class PreparedStatementCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PreparedStatementCache.class);
+
+    private final Map<SQLiteConnection, ConnectionCache> caches = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private volatile int maxSize;
+
+    PreparedStatementCache(final int maxSize) {
+        this.maxSize = requireValidSize(maxSize);
+    }
+
+    /**
+     * Sets the maximum number of statements cached for each connection, 0 disables the cache.
+     *
+     * @throws IllegalArgumentException
+     *             if {@code maxSize} is negative
+     */
+    void setMaxSize(final int maxSize) {
+        this.maxSize = requireValidSize(maxSize);
+    }
+
+    <T> T withCachedStatements(final Connection connection, final SQLFunction<Connection, T> task)
+            throws SQLException {
+        if (this.maxSize <= 0) {
+            return task.call(connection);
+        }
+
+        final ConnectionCache cache = getCache(connection.unwrap(SQLiteConnection.class));
+
+        try {
+            return task.call(cache.wrap(connection));
+        } finally {
+            cache.releaseAll();
+        }
+    }
+
+    long getHitCount() {
+        return this.hits.sum();
+    }
+
+    long getMissCount() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Logs the hit ratio of the cache at debug level, this is called on each WAL checkpoint.
+     */
+    void logStatistics(final String dbUrl) {
+        if (!logger.isDebugEnabled()) {
+            return;
+        }
+
+        final long hitCount = getHitCount();
+        final long total = hitCount + getMissCount();
+
+        if (total == 0) {
+            return;
+        }
+
+        logger.debug("prepared statement cache for database with url: {}: {} hits, {} misses, hit ratio {}%", dbUrl,
+                hitCount, total - hitCount, String.format(Locale.ROOT, "%.1f", hitCount * 100.0 / total));
+    }
+
+    /**
+     * Closes all cached statements, must be called when the connection pool is no longer in use.
+     */
+    void clear() {
+        for (final Entry<SQLiteConnection, ConnectionCache> entry : this.caches.entrySet()) {
+            removeAndClose(entry);
+        }
+    }
+
+    private ConnectionCache getCache(final SQLiteConnection physicalConnection) {
+        final ConnectionCache result = this.caches.get(physicalConnection);
+
+        if (result != null) {
+            return result;
+        }
+
+        // a new physical connection has been opened, the pool might have closed some others
+        purgeClosedConnections();
+
+        return this.caches.computeIfAbsent(physicalConnection, ConnectionCache::new);
+    }
+
+    private void purgeClosedConnections() {
+        for (final Entry<SQLiteConnection, ConnectionCache> entry : this.caches.entrySet()) {
+            if (isClosed(entry.getKey())) {
+                removeAndClose(entry);
+            }
+        }
+    }
+
+    private void removeAndClose(final Entry<SQLiteConnection, ConnectionCache> entry) {
+        if (this.caches.remove(entry.getKey(), entry.getValue())) {
+            entry.getValue().close();
+        }
+    }
+
+    private static int requireValidSize(final int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("statement cache size must not be negative: " + maxSize);
+        }
+
+        return maxSize;
+    }
+
+    private static boolean isClosed(final SQLiteConnection connection) {
+        try {
+            return connection.isClosed();
+        } catch (final SQLException e) {
+            return true;
+        }
+    }
+
+    private static String buildKey(final Object[] args) {
+        final StringBuilder key = new StringBuilder((String) args[0]);
+
+        for (int i = 1; i < args.length; i++) {
+            key.append('\u0000');
+
+            if (args[i] instanceof String[]) {
+                key.append(String.join(",", (String[]) args[i]));
+            } else if (args[i] instanceof int[]) {
+                key.append(Arrays.toString((int[]) args[i]));
+            } else {
+                key.append(args[i]);
+            }
+        }
+
+        return key.toString();
+    }
+
+    private static boolean isCacheable(final String sql) {
+        final String trimmed = sql.trim();
+
+        if (trimmed.length() < 6) {
+            return false;
+        }
+
+        final String verb = trimmed.substring(0, 6).toUpperCase(Locale.ROOT);
+
+        return "SELECT".equals(verb) || "INSERT".equals(verb) || "UPDATE".equals(verb) || "DELETE".equals(verb);
+    }
+
+    private static Object invoke(final Object target, final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (final InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private class ConnectionCache {
+
+        private final SQLiteConnection physicalConnection;
+        private final LinkedHashMap<String, CachedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+
+        ConnectionCache(final SQLiteConnection physicalConnection) {
+            this.physicalConnection = physicalConnection;
+        }
+
+        Connection wrap(final Connection pooledConnection) {
+            return (Connection) Proxy.newProxyInstance(PreparedStatementCache.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, new ConnectionHandler(pooledConnection));
+        }
+
+        PreparedStatement prepare(final Connection wrapper, final String key, final Method method,
+                final Object[] args) throws Throwable {
+            CachedStatement cached = this.statements.get(key);
+
+            if (cached != null && !cached.inUse) {
+                PreparedStatementCache.this.hits.increment();
+            } else {
+                PreparedStatementCache.this.misses.increment();
+
+                final PreparedStatement statement = (PreparedStatement) invoke(this.physicalConnection, method, args);
+
+                if (cached != null) {
+                    // the statement is already in use by the current task, do not cache the new one
+                    final CachedStatement uncached = new CachedStatement(null, statement);
+                    uncached.inUse = true;
+
+                    return (PreparedStatement) Proxy.newProxyInstance(PreparedStatementCache.class.getClassLoader(),
+                            new Class<?>[] { PreparedStatement.class }, new StatementHandler(wrapper, uncached));
+                }
+
+                cached = new CachedStatement(key, statement);
+                this.statements.put(key, cached);
+                evictIfNeeded();
+            }
+
+            cached.inUse = true;
+            cached.broken = false;
+
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatementCache.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class }, new StatementHandler(wrapper, cached));
+        }
+
+        void release(final CachedStatement cached) {
+            if (!cached.inUse) {
+                return;
+            }
+
+            cached.inUse = false;
+
+            if (cached.key == null) {
+                closeQuietly(cached.statement);
+                return;
+            }
+
+            try {
+                if (!cached.broken) {
+                    cached.statement.clearParameters();
+                    return;
+                }
+            } catch (final SQLException e) {
+                logger.debug("failed to reset prepared statement", e);
+            }
+
+            this.statements.remove(cached.key);
+            closeQuietly(cached.statement);
+        }
+
+        void releaseAll() {
+            for (final CachedStatement cached : new ArrayList<>(this.statements.values())) {
+                release(cached);
+            }
+        }
+
+        void close() {
+            for (final CachedStatement cached : this.statements.values()) {
+                closeQuietly(cached.statement);
+            }
+            this.statements.clear();
+        }
+
+        private void evictIfNeeded() {
+            final Iterator<CachedStatement> iter = this.statements.values().iterator();
+
+            while (this.statements.size() > PreparedStatementCache.this.maxSize && iter.hasNext()) {
+                final CachedStatement eldest = iter.next();
+
+                if (!eldest.inUse) {
+                    iter.remove();
+                    closeQuietly(eldest.statement);
+                }
+            }
+        }
+
+        private void closeQuietly(final PreparedStatement statement) {
+            try {
+                statement.close();
+            } catch (final Exception e) {
+                logger.debug("failed to close prepared statement", e);
+            }
+        }
+
+        private class ConnectionHandler implements InvocationHandler {
+
+            private final Connection pooledConnection;
+
+            ConnectionHandler(final Connection pooledConnection) {
+                this.pooledConnection = pooledConnection;
+            }
+
+            @Override
+            public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                if ("prepareStatement".equals(method.getName()) && isCacheable((String) args[0])) {
+                    return prepare((Connection) proxy, buildKey(args), method, args);
+                }
+
+                return PreparedStatementCache.invoke(this.pooledConnection, method, args);
+            }
+        }
+
+        private class StatementHandler implements InvocationHandler {
+
+            private final Connection connection;
+            private final CachedStatement cached;
+            private boolean closed;
+
+            StatementHandler(final Connection connection, final CachedStatement cached) {
+                this.connection = connection;
+                this.cached = cached;
+            }
+
+            @Override
+            public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                final String name = method.getName();
+
+                if ("close".equals(name)) {
+                    if (!this.closed) {
+                        this.closed = true;
+                        release(this.cached);
+                    }
+                    return null;
+                } else if ("isClosed".equals(name)) {
+                    return this.closed;
+                } else if ("getConnection".equals(name)) {
+                    return this.connection;
+                }
+
+                if (this.closed) {
+                    throw new SQLException("statement is closed");
+                }
+
+                try {
+                    return PreparedStatementCache.invoke(this.cached.statement, method, args);
+                } catch (final SQLException e) {
+                    this.cached.broken = true;
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static class CachedStatement {
+
+        private final String key;
+        private final PreparedStatement statement;
+        private boolean inUse;
+        private boolean broken;
+
+        CachedStatement(final String key, final PreparedStatement statement) {
+            this.key = key;
+            this.statement = statement;
+        }
+    }
+}
@@ -31,6 +31,7 @@ import org.eclipse.kura.configuration.ConfigurableComponent;
 import org.eclipse.kura.connection.listener.ConnectionListener;
 import org.eclipse.kura.crypto.CryptoService;
 import org.eclipse.kura.db.BaseDbService;
+import org.eclipse.kura.internal.db.sqlite.provider.SqliteDbServiceOptions.JournalMode;
 import org.eclipse.kura.internal.db.sqlite.provider.SqliteDbServiceOptions.Mode;
 import org.eclipse.kura.message.store.provider.MessageStore;
 import org.eclipse.kura.message.store.provider.MessageStoreProvider;
@@ -57,6 +58,7 @@ public class SqliteDbServiceImpl implements BaseDbService, ConfigurableComponent
 
     private Optional<DbState> state = Optional.empty();
     private ConnectionListenerManager listenerManager = new ConnectionListenerManager();
+    private final PreparedStatementCache statementCache = new PreparedStatementCache(0);
 
     public void setDebugShell(final SqliteDebugShell debugShell) {
         this.debugShell = debugShell;
@@ -154,7 +156,17 @@ public class SqliteDbServiceImpl implements BaseDbService, ConfigurableComponent
 
                 int maxConnectionCount = options.getMode() == Mode.PERSISTED ? options.getConnectionPoolMaxSize() : 1;
 
-                this.connectionPool = new ConnectionPoolManager(dataSource, maxConnectionCount);
+                final Optional<String> connectionInitSql;
+
+                if (options.getMode() == Mode.PERSISTED && options.getJournalMode() == JournalMode.WAL) {
+                    connectionInitSql = Optional
+                            .of("PRAGMA wal_autocheckpoint = " + options.getWalAutocheckpointPages() + ";");
+                } else {
+                    connectionInitSql = Optional.empty();
+                }
+
+                this.connectionPool = new ConnectionPoolManager(dataSource, maxConnectionCount, connectionInitSql);
+                SqliteDbServiceImpl.this.statementCache.setMaxSize(options.getStatementCacheSize());
 
                 if (options.isPeriodicDefragEnabled() || options.isPeriodicWalCheckpointEnabled()) {
                     this.executor = Optional.of(Executors.newSingleThreadScheduledExecutor());
@@ -195,6 +207,7 @@ public class SqliteDbServiceImpl implements BaseDbService, ConfigurableComponent
             } catch (Exception e) {
                 logger.warn("failed to close connection", e);
             }
+            SqliteDbServiceImpl.this.statementCache.logStatistics(options.getDbUrl());
         }
 
         private void defrag() {
@@ -238,7 +251,9 @@ public class SqliteDbServiceImpl implements BaseDbService, ConfigurableComponent
                 }
 
                 logger.info("closing database with url: {}...", options.getDbUrl());
+                SqliteDbServiceImpl.this.statementCache.logStatistics(options.getDbUrl());
                 this.connectionPool.shutdown(Optional.of(120 * 1000L));
+                SqliteDbServiceImpl.this.statementCache.clear();
                 logger.info("closing database with url: {}...done", options.getDbUrl());
             } finally {
                 releaseFile();
@@ -325,7 +340,7 @@ public class SqliteDbServiceImpl implements BaseDbService, ConfigurableComponent
     private <T> T withConnection(final SQLFunction<Connection, T> callable) throws SQLException {
 
         try (final Connection conn = this.getConnection()) {
-            return callable.call(conn);
+            return this.statementCache.withCachedStatements(conn, callable);
         }
     }
 
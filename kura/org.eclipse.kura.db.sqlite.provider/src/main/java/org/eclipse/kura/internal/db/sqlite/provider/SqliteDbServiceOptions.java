@@ -44,6 +44,12 @@ class SqliteDbServiceOptions {
         WAL
     }
 
+    public enum SynchronousMode {
+        OFF,
+        NORMAL,
+        FULL
+    }
+
     public enum EncryptionKeyFormat {
 
         ASCII,
@@ -121,6 +127,16 @@ class SqliteDbServiceOptions {
             EncryptionKeyFormat.ASCII.name());
     private static final Property<Boolean> DELETE_DB_FILES_ON_FAILURE = new Property<>("delete.db.files.on.failure",
             true);
+    private static final Property<String> SYNCHRONOUS_MODE_PROPERTY = new Property<>("db.synchronous",
+            SynchronousMode.FULL.name());
+    private static final Property<Long> MMAP_SIZE_BYTES_PROPERTY = new Property<>("db.mmap.size.bytes", 0L);
+    private static final int DEFAULT_CACHE_SIZE_KIB = 2000;
+    private static final Property<Integer> CACHE_SIZE_KIB_PROPERTY = new Property<>("db.cache.size.kib",
+            DEFAULT_CACHE_SIZE_KIB);
+    private static final Property<Integer> WAL_AUTOCHECKPOINT_PAGES_PROPERTY = new Property<>(
+            "db.wal.autocheckpoint.pages", 1000);
+    private static final Property<Integer> STATEMENT_CACHE_SIZE_PROPERTY = new Property<>("db.statement.cache.size",
+            32);
     private static final Property<String> KURA_SERVICE_PID_PROPERTY = new Property<>(
             ConfigurationService.KURA_SERVICE_PID, "sqlitedb");
 
@@ -137,6 +153,11 @@ class SqliteDbServiceOptions {
     private final Optional<String> encryptionKey;
     private final EncryptionKeyFormat encryptionKeyFormat;
     private final boolean deleteDbFilesOnFailure;
+    private final SynchronousMode synchronousMode;
+    private final long mmapSizeBytes;
+    private final int cacheSizeKib;
+    private final int walAutocheckpointPages;
+    private final int statementCacheSize;
 
     public SqliteDbServiceOptions(Map<String, Object> properties) {
         this.mode = extractMode(properties);
@@ -152,6 +173,11 @@ class SqliteDbServiceOptions {
         this.encryptionKey = ENCRYPTION_KEY_PROPERTY.getOptional(properties).filter(s -> !s.trim().isEmpty());
         this.encryptionKeyFormat = extractEncryptionKeyFormat(properties);
         this.deleteDbFilesOnFailure = DELETE_DB_FILES_ON_FAILURE.get(properties);
+        this.synchronousMode = extractSynchronousMode(properties);
+        this.mmapSizeBytes = Math.max(0, MMAP_SIZE_BYTES_PROPERTY.get(properties));
+        this.cacheSizeKib = extractCacheSizeKib(properties);
+        this.walAutocheckpointPages = WAL_AUTOCHECKPOINT_PAGES_PROPERTY.get(properties);
+        this.statementCacheSize = extractStatementCacheSize(properties);
     }
 
     public Mode getMode() {
@@ -194,6 +220,26 @@ class SqliteDbServiceOptions {
         return this.deleteDbFilesOnFailure;
     }
 
+    public SynchronousMode getSynchronousMode() {
+        return this.synchronousMode;
+    }
+
+    public long getMmapSizeBytes() {
+        return this.mmapSizeBytes;
+    }
+
+    public int getCacheSizeKib() {
+        return this.cacheSizeKib;
+    }
+
+    public int getWalAutocheckpointPages() {
+        return this.walAutocheckpointPages;
+    }
+
+    public int getStatementCacheSize() {
+        return this.statementCacheSize;
+    }
+
     public Optional<EncryptionKeySpec> getEncryptionKey(final CryptoService cryptoService) throws KuraException {
         if (this.encryptionKey.isPresent()) {
             String decrypted = new String(cryptoService.decryptAes(this.encryptionKey.get().toCharArray()));
@@ -257,6 +303,37 @@ class SqliteDbServiceOptions {
         }
     }
 
+    private static SynchronousMode extractSynchronousMode(final Map<String, Object> properties) {
+        try {
+            return SynchronousMode.valueOf(SYNCHRONOUS_MODE_PROPERTY.get(properties));
+        } catch (final Exception e) {
+            logger.warn("failed to parse synchronous mode, falling back to FULL", e);
+            return SynchronousMode.FULL;
+        }
+    }
+
+    private static int extractCacheSizeKib(final Map<String, Object> properties) {
+        final int value = CACHE_SIZE_KIB_PROPERTY.get(properties);
+
+        if (value <= 0) {
+            logger.warn("invalid page cache size {} KiB, falling back to {} KiB", value, DEFAULT_CACHE_SIZE_KIB);
+            return DEFAULT_CACHE_SIZE_KIB;
+        }
+
+        return value;
+    }
+
+    private static int extractStatementCacheSize(final Map<String, Object> properties) {
+        final int value = STATEMENT_CACHE_SIZE_PROPERTY.get(properties);
+
+        if (value < 0) {
+            logger.warn("invalid prepared statement cache size {}, disabling the cache", value);
+            return 0;
+        }
+
+        return value;
+    }
+
     public String getDbUrl() {
         if (this.mode == Mode.PERSISTED) {
             return "jdbc:sqlite:file:" + this.path;
@@ -296,7 +373,8 @@ class SqliteDbServiceOptions {
         return Objects.hash(this.defragEnabled, this.defragIntervalSeconds, this.deleteDbFilesOnFailure,
                 this.encryptionKey, this.encryptionKeyFormat, this.isDebugShellAccessEnabled, this.journalMode,
                 this.kuraServicePid, this.maxConnectionPoolSize, this.mode, this.path, this.walCheckpointEnabled,
-                this.walCheckpointIntervalSeconds);
+                this.walCheckpointIntervalSeconds, this.synchronousMode, this.mmapSizeBytes, this.cacheSizeKib,
+                this.walAutocheckpointPages, this.statementCacheSize);
     }
 
     @Override
@@ -316,7 +394,11 @@ class SqliteDbServiceOptions {
                 && this.journalMode == other.journalMode && Objects.equals(this.kuraServicePid, other.kuraServicePid)
                 && this.maxConnectionPoolSize == other.maxConnectionPoolSize && this.mode == other.mode
                 && Objects.equals(this.path, other.path) && this.walCheckpointEnabled == other.walCheckpointEnabled
-                && this.walCheckpointIntervalSeconds == other.walCheckpointIntervalSeconds;
+                && this.walCheckpointIntervalSeconds == other.walCheckpointIntervalSeconds
+                && this.synchronousMode == other.synchronousMode && this.mmapSizeBytes == other.mmapSizeBytes
+                && this.cacheSizeKib == other.cacheSizeKib
+                && this.walAutocheckpointPages == other.walAutocheckpointPages
+                && this.statementCacheSize == other.statementCacheSize;
     }
 
 }
@@ -51,6 +51,8 @@ public class SqliteMessageStoreImpl extends AbstractJdbcMessageStoreImpl {
                         + "createdOn DATETIME, publishedOn DATETIME, publishedMessageId INTEGER, confirmedOn DATETIME, "
                         + "payload BLOB, priority INTEGER, sessionId VARCHAR, droppedOn DATETIME);")
                 .withSqlMessageCount("SELECT COUNT(*) FROM " + super.escapedTableName + ";")
+                .withSqlMessageCountByPriority("SELECT COUNT(*) FROM " + super.escapedTableName
+                        + " WHERE priority >= ? AND priority <= ?;")
                 .withSqlStore("INSERT INTO " + escapedTableName
                         + " (topic, qos, retain, createdOn, publishedOn, publishedMessageId, confirmedOn, payload, priority, "
                         + "sessionId, droppedOn) VALUES(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?);")
@@ -84,6 +86,10 @@ public class SqliteMessageStoreImpl extends AbstractJdbcMessageStoreImpl {
                         DELETE_FROM + super.escapedTableName + " WHERE confirmedOn <= ? AND confirmedOn IS NOT NULL;")
                 .withSqlDeletePublishedMessages(DELETE_FROM + super.escapedTableName
                         + " WHERE qos = 0 AND publishedOn <= ? AND publishedOn IS NOT NULL;")
+                .withSqlDeleteOldestMessagesByPriority(DELETE_FROM + super.escapedTableName
+                        + " WHERE id IN (SELECT id FROM " + super.escapedTableName + " WHERE priority >= ? AND priority <= ? AND (publishedOn IS NULL "
+                        + "OR qos = 0 OR confirmedOn IS NOT NULL OR droppedOn IS NOT NULL) "
+                        + "ORDER BY CASE WHEN publishedOn IS NULL THEN 1 ELSE 0 END, createdOn ASC LIMIT ?);")
                 .withSqlCreateNextMessageIndex(
                         CREATE_INDEX_IF_NOT_EXISTS + super.escapeIdentifier(super.tableName + "_nextMsg") + " ON "
                                 + this.escapedTableName + " (publishedOn ASC, priority ASC, createdOn ASC, qos);")
@@ -96,6 +102,9 @@ public class SqliteMessageStoreImpl extends AbstractJdbcMessageStoreImpl {
                 .withSqlCreateDroppedOnIndex(
                         CREATE_INDEX_IF_NOT_EXISTS + super.escapeIdentifier(super.tableName + "_DROPPEDON") + " ON "
                                 + this.escapedTableName + " (droppedOn DESC);")
+                .withSqlCreatePriorityIndex(
+                        CREATE_INDEX_IF_NOT_EXISTS + super.escapeIdentifier(super.tableName + "_PRIORITY") + " ON "
+                                + this.escapedTableName + " (priority ASC, createdOn ASC);")
                 .build();
     }
 
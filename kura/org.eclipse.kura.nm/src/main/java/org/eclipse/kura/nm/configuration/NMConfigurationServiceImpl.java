@@ -50,6 +50,7 @@ import org.eclipse.kura.nm.configuration.monitor.DhcpServerMonitor;
 import org.eclipse.kura.nm.configuration.monitor.DnsServerMonitor;
 import org.eclipse.kura.nm.configuration.writer.DhcpServerConfigWriter;
 import org.eclipse.kura.nm.configuration.writer.FirewallNatConfigWriter;
+import org.eclipse.kura.scheduler.SchedulerService;
 import org.eclipse.kura.security.keystore.KeystoreService;
 import org.freedesktop.dbus.exceptions.DBusException;
 import org.freedesktop.dbus.exceptions.DBusExecutionException;
@@ -78,6 +79,7 @@ public class NMConfigurationServiceImpl implements SelfConfiguringComponent {
     private EventAdmin eventAdmin;
     private CommandExecutorService commandExecutorService;
     private CryptoService cryptoService;
+    private Optional<SchedulerService> schedulerService = Optional.empty();
 
     private Map<String, KeystoreService> keystoreServices = new HashMap<>();
 
@@ -148,6 +150,14 @@ public class NMConfigurationServiceImpl implements SelfConfiguringComponent {
         this.dnsServer = dnsServer;
     }
 
+    public void setSchedulerService(SchedulerService schedulerService) {
+        this.schedulerService = Optional.of(schedulerService);
+    }
+
+    public void unsetSchedulerService(SchedulerService schedulerService) {
+        this.schedulerService = Optional.empty();
+    }
+
     public NMConfigurationServiceImpl() {
         try {
             this.nmDbusConnector = NMDbusConnector.getInstance();
@@ -169,8 +179,9 @@ public class NMConfigurationServiceImpl implements SelfConfiguringComponent {
         logger.info("Activate NetworkConfigurationService...");
 
         this.linuxNetworkUtil = new LinuxNetworkUtil(this.commandExecutorService);
-        this.dhcpServerMonitor = new DhcpServerMonitor(this.commandExecutorService);
-        this.dnsServerMonitor = new DnsServerMonitor(this.dnsServer, this.commandExecutorService);
+        this.dhcpServerMonitor = new DhcpServerMonitor(this.commandExecutorService, this.schedulerService);
+        this.dnsServerMonitor = new DnsServerMonitor(this.dnsServer, this.commandExecutorService,
+                this.schedulerService);
 
         if (Objects.nonNull(this.nmDbusConnector)) {
             try {
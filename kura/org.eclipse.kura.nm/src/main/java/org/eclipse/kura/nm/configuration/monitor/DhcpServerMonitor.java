@@ -13,6 +13,7 @@
 package org.eclipse.kura.nm.configuration.monitor;
 
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -22,6 +23,8 @@ import java.util.concurrent.TimeUnit;
 import org.eclipse.kura.KuraException;
 import org.eclipse.kura.executor.CommandExecutorService;
 import org.eclipse.kura.linux.net.dhcp.DhcpServerManager;
+import org.eclipse.kura.scheduler.SchedulerService;
+import org.eclipse.kura.scheduler.WorkloadClass;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,11 +34,18 @@ public class DhcpServerMonitor {
 
     private final Map<String, Boolean> dhcpServerInterfaceConfiguration;
     protected DhcpServerManager dhcpServerManager;
+    private final Optional<SchedulerService> schedulerService;
     private ScheduledExecutorService worker;
     private ScheduledFuture<?> handle;
 
     public DhcpServerMonitor(CommandExecutorService commandExecutorService) {
+        this(commandExecutorService, Optional.empty());
+    }
+
+    public DhcpServerMonitor(CommandExecutorService commandExecutorService,
+            Optional<SchedulerService> schedulerService) {
         this.dhcpServerInterfaceConfiguration = new ConcurrentHashMap<>();
+        this.schedulerService = schedulerService;
         setDhcpServerManager(new DhcpServerManager(commandExecutorService));
     }
 
@@ -44,8 +54,13 @@ public class DhcpServerMonitor {
     }
 
     public void start() {
-        this.worker = Executors.newSingleThreadScheduledExecutor();
-        this.handle = this.worker.scheduleAtFixedRate(this::monitor, 0, 30, TimeUnit.SECONDS);
+        if (this.schedulerService.isPresent()) {
+            this.handle = this.schedulerService.get().scheduleAtFixedRate("DhcpServerMonitor", WorkloadClass.BLOCKING,
+                    this::monitor, 0, 30, TimeUnit.SECONDS);
+        } else {
+            this.worker = Executors.newSingleThreadScheduledExecutor();
+            this.handle = this.worker.scheduleAtFixedRate(this::monitor, 0, 30, TimeUnit.SECONDS);
+        }
     }
 
     public void stop() {
@@ -54,6 +69,7 @@ public class DhcpServerMonitor {
         }
         if (this.worker != null) {
             this.worker.shutdown();
+            this.worker = null;
         }
     }
 
@@ -14,6 +14,7 @@ package org.eclipse.kura.nm.configuration.monitor;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -39,6 +40,8 @@ import org.eclipse.kura.net.dhcp.DhcpServerConfig;
 import org.eclipse.kura.net.dns.DnsServerConfig;
 import org.eclipse.kura.net.dns.DnsServerConfigIP4;
 import org.eclipse.kura.nm.NetworkProperties;
+import org.eclipse.kura.scheduler.SchedulerService;
+import org.eclipse.kura.scheduler.WorkloadClass;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,6 +52,7 @@ public class DnsServerMonitor {
     private static final long THREAD_INTERVAL = 60000;
     private static final long THREAD_TERMINATION_TOUT = 60; // in seconds
     private Future<?> monitorTask;
+    private final Object monitorLock = new Object();
     private ScheduledExecutorService executor;
 
     private boolean enabled;
@@ -58,14 +62,21 @@ public class DnsServerMonitor {
 
     private final DnsServerService dnsServerService;
     private final CommandExecutorService executorService;
+    private final Optional<SchedulerService> schedulerService;
     private NetworkProperties networkProperties;
 
     private final LinuxNetworkUtil linuxNetworkUtil;
 
     public DnsServerMonitor(DnsServerService dnsServerService, CommandExecutorService executorService) {
+        this(dnsServerService, executorService, Optional.empty());
+    }
+
+    public DnsServerMonitor(DnsServerService dnsServerService, CommandExecutorService executorService,
+            Optional<SchedulerService> schedulerService) {
 
         this.dnsServerService = dnsServerService;
         this.executorService = executorService;
+        this.schedulerService = schedulerService;
 
         this.linuxNetworkUtil = new LinuxNetworkUtil(this.executorService);
 
@@ -76,13 +87,19 @@ public class DnsServerMonitor {
     }
 
     public void start() {
+        if (this.schedulerService.isPresent()) {
+            this.monitorTask = this.schedulerService.get().scheduleWithFixedDelay("DnsServerMonitor",
+                    WorkloadClass.BLOCKING, this::monitor, 0, THREAD_INTERVAL, TimeUnit.MILLISECONDS);
+            return;
+        }
+
         this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
             final Thread t = Executors.defaultThreadFactory().newThread(r);
             t.setName("DnsMonitorServiceImpl");
             return t;
         });
 
-        this.monitorTask = this.executor.scheduleWithFixedDelay(this::monitorDnsServerStatus, 0, THREAD_INTERVAL,
+        this.monitorTask = this.executor.scheduleWithFixedDelay(this::monitor, 0, THREAD_INTERVAL,
                 TimeUnit.MILLISECONDS);
     }
 
@@ -91,6 +108,10 @@ public class DnsServerMonitor {
             logger.debug("Cancelling DnsServerMonitor task ...");
             this.monitorTask.cancel(false);
             logger.info("DnsServerMonitor task cancelled? = {}", this.monitorTask.isDone());
+        }
+
+        // wait for a running execution, the executions on the shared scheduler are not awaited below
+        synchronized (this.monitorLock) {
             this.monitorTask = null;
         }
 
@@ -112,6 +133,12 @@ public class DnsServerMonitor {
         this.networkProperties = null;
     }
 
+    private void monitor() {
+        synchronized (this.monitorLock) {
+            monitorDnsServerStatus();
+        }
+    }
+
     private void monitorDnsServerStatus() {
 
         logger.debug("DnsMonitor task start");
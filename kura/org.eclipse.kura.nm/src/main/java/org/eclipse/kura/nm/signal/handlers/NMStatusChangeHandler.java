@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.nm.signal.handlers;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.kura.net.status.NetworkInterfaceType;
+import org.eclipse.kura.nm.NMDbusConnector;
+import org.eclipse.kura.nm.status.NMStatusCache;
+import org.freedesktop.dbus.exceptions.DBusException;
+import org.freedesktop.dbus.exceptions.DBusExecutionException;
+import org.freedesktop.dbus.interfaces.DBusSigHandler;
+import org.freedesktop.dbus.interfaces.Properties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Marks the parts of the {@link NMStatusCache} affected by NetworkManager and ModemManager property changes as stale.
+ */
+public class NMStatusChangeHandler implements DBusSigHandler<Properties.PropertiesChanged> {
+
+    private static final Logger logger = LoggerFactory.getLogger(NMStatusChangeHandler.class);
+
+    private static final String NM_BUS_PATH = "/org/freedesktop/NetworkManager";
+    private static final String NM_DEVICES_BUS_PATH = NM_BUS_PATH + "/Devices/";
+    private static final String NM_ACCESS_POINT_BUS_PATH = NM_BUS_PATH + "/AccessPoint/";
+    private static final String NM_SETTINGS_BUS_PATH = NM_BUS_PATH + "/Settings";
+    private static final String NM_AGENT_MANAGER_BUS_PATH = NM_BUS_PATH + "/AgentManager";
+    private static final String MM_BUS_PATH = "/org/freedesktop/ModemManager1";
+
+    private static final String NM_PROPERTY_DEVICES = "Devices";
+    private static final String NM_PROPERTY_ALL_DEVICES = "AllDevices";
+
+    private final NMDbusConnector nm;
+    private final NMStatusCache cache;
+    private final Map<String, String> interfaceIdsByDevicePath = new ConcurrentHashMap<>();
+
+    public NMStatusChangeHandler(NMDbusConnector connector, NMStatusCache cache) {
+        this.nm = Objects.requireNonNull(connector);
+        this.cache = Objects.requireNonNull(cache);
+    }
+
+    @Override
+    public void handle(Properties.PropertiesChanged s) {
+        String path = s.getPath();
+
+        if (Objects.isNull(path)) {
+            return;
+        }
+
+        logger.trace("Properties changed for {}: {}", path, s.getPropertiesChanged().keySet());
+
+        if (path.equals(NM_BUS_PATH)) {
+            handleNetworkManagerChange(s);
+        } else if (path.startsWith(NM_DEVICES_BUS_PATH)) {
+            handleDeviceChange(path);
+        } else if (path.startsWith(NM_ACCESS_POINT_BUS_PATH)) {
+            this.cache.invalidateInterfaces(NetworkInterfaceType.WIFI);
+        } else if (path.startsWith(MM_BUS_PATH)) {
+            this.cache.invalidateInterfaces(NetworkInterfaceType.MODEM);
+        } else if (path.startsWith(NM_SETTINGS_BUS_PATH) || path.startsWith(NM_AGENT_MANAGER_BUS_PATH)) {
+            // connection profiles are not part of the status
+        } else if (path.startsWith(NM_BUS_PATH)) {
+            // IP and DHCP configurations and active connections are not easily mapped to a device, they change
+            // seldom enough to invalidate everything
+            this.cache.invalidateInterfaces();
+        }
+    }
+
+    private void handleNetworkManagerChange(Properties.PropertiesChanged s) {
+        Map<String, ?> changed = s.getPropertiesChanged();
+
+        if (changed.containsKey(NM_PROPERTY_DEVICES) || changed.containsKey(NM_PROPERTY_ALL_DEVICES)) {
+            this.interfaceIdsByDevicePath.clear();
+            this.cache.invalidateAll();
+        }
+    }
+
+    private void handleDeviceChange(String path) {
+        String interfaceId = this.interfaceIdsByDevicePath.get(path);
+
+        if (Objects.isNull(interfaceId)) {
+            try {
+                interfaceId = this.nm.getInterfaceIdByDBusPath(path);
+            } catch (DBusException | DBusExecutionException e) {
+                logger.debug("Cannot resolve interface for {}", path, e);
+            }
+        }
+
+        if (Objects.isNull(interfaceId)) {
+            this.cache.invalidateAll();
+            return;
+        }
+
+        this.interfaceIdsByDevicePath.put(path, interfaceId);
+        this.cache.invalidateInterface(interfaceId);
+    }
+}
@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.nm.status;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.kura.KuraException;
+import org.eclipse.kura.net.status.NetworkInterfaceStatus;
+import org.eclipse.kura.net.status.NetworkInterfaceType;
+import org.freedesktop.dbus.exceptions.DBusException;
+
+/**
+ * In-memory snapshot of the network status. Entries are marked stale by the D-Bus signal handlers and are only
+ * reloaded when they are requested. A maximum age is used as a safety net for changes that are not notified through
+ * signals.
+ * <p>
+ * Each interface has a version that is incremented on invalidation, a value is stored only if no invalidation
+ * happened while it was being loaded.
+ */
+public class NMStatusCache {
+
+    @FunctionalInterface
+    public interface Loader<T> {
+
+        T load() throws DBusException, KuraException;
+    }
+
+    private final long maxAgeNanos;
+
+    private final Map<String, Entry<NetworkInterfaceStatus>> statuses = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final Map<String, NetworkInterfaceType> types = new ConcurrentHashMap<>();
+
+    private final AtomicLong interfaceIdsVersion = new AtomicLong();
+    private Entry<List<String>> interfaceIds;
+
+    public NMStatusCache(long maxAgeMillis) {
+        this.maxAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxAgeMillis);
+    }
+
+    public List<String> getInterfaceIds(Loader<List<String>> loader) throws DBusException, KuraException {
+        final long expectedVersion;
+
+        synchronized (this.interfaceIdsVersion) {
+            if (isValid(this.interfaceIds)) {
+                return new ArrayList<>(this.interfaceIds.value);
+            }
+            expectedVersion = this.interfaceIdsVersion.get();
+        }
+
+        final List<String> result = loader.load();
+
+        synchronized (this.interfaceIdsVersion) {
+            if (this.interfaceIdsVersion.get() == expectedVersion) {
+                this.interfaceIds = new Entry<>(Collections.unmodifiableList(new ArrayList<>(result)));
+            }
+        }
+
+        return result;
+    }
+
+    public Optional<NetworkInterfaceStatus> getStatus(String interfaceId, Loader<NetworkInterfaceStatus> loader)
+            throws DBusException, KuraException {
+        final Entry<NetworkInterfaceStatus> entry = this.statuses.get(interfaceId);
+
+        if (isValid(entry)) {
+            return Optional.of(entry.value);
+        }
+
+        return refreshStatus(interfaceId, loader);
+    }
+
+    /**
+     * Loads the status of the given interface regardless of the content of the cache and stores the result.
+     */
+    public Optional<NetworkInterfaceStatus> refreshStatus(String interfaceId, Loader<NetworkInterfaceStatus> loader)
+            throws DBusException, KuraException {
+        final AtomicLong version = this.versions.computeIfAbsent(interfaceId, id -> new AtomicLong());
+        final long expectedVersion = version.get();
+
+        final NetworkInterfaceStatus status = loader.load();
+
+        synchronized (version) {
+            if (Objects.isNull(status)) {
+                this.statuses.remove(interfaceId);
+            } else if (version.get() == expectedVersion) {
+                this.types.put(interfaceId, status.getType());
+                this.statuses.put(interfaceId, new Entry<>(status));
+            }
+        }
+
+        return Optional.ofNullable(status);
+    }
+
+    public void invalidateInterface(String interfaceId) {
+        final AtomicLong version = this.versions.computeIfAbsent(interfaceId, id -> new AtomicLong());
+
+        synchronized (version) {
+            version.incrementAndGet();
+            this.statuses.remove(interfaceId);
+        }
+    }
+
+    /**
+     * Invalidates the interfaces of the given type, together with the interfaces whose type is not known yet.
+     */
+    public void invalidateInterfaces(NetworkInterfaceType type) {
+        for (String interfaceId : this.versions.keySet()) {
+            final NetworkInterfaceType knownType = this.types.get(interfaceId);
+
+            if (Objects.isNull(knownType) || knownType == type) {
+                invalidateInterface(interfaceId);
+            }
+        }
+    }
+
+    public void invalidateInterfaces() {
+        for (String interfaceId : this.versions.keySet()) {
+            invalidateInterface(interfaceId);
+        }
+    }
+
+    public void invalidateInterfaceIds() {
+        synchronized (this.interfaceIdsVersion) {
+            this.interfaceIdsVersion.incrementAndGet();
+            this.interfaceIds = null;
+        }
+    }
+
+    public void invalidateAll() {
+        invalidateInterfaceIds();
+        invalidateInterfaces();
+    }
+
+    private boolean isValid(Entry<?> entry) {
+        return Objects.nonNull(entry) && System.nanoTime() - entry.timestamp < this.maxAgeNanos;
+    }
+
+    private static final class Entry<T> {
+
+        private final T value;
+        private final long timestamp;
+
+        Entry(T value) {
+            this.value = value;
+            this.timestamp = System.nanoTime();
+        }
+    }
+}
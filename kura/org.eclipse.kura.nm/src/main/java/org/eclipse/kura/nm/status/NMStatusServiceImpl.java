@@ -23,9 +23,12 @@ import org.eclipse.kura.executor.CommandExecutorService;
 import org.eclipse.kura.net.status.NetworkInterfaceStatus;
 import org.eclipse.kura.net.status.NetworkStatusService;
 import org.eclipse.kura.nm.NMDbusConnector;
+import org.eclipse.kura.nm.signal.handlers.NMStatusChangeHandler;
+import org.freedesktop.dbus.connections.impl.DBusConnection;
 import org.freedesktop.dbus.errors.UnknownMethod;
 import org.freedesktop.dbus.exceptions.DBusException;
 import org.freedesktop.dbus.exceptions.DBusExecutionException;
+import org.freedesktop.dbus.interfaces.Properties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -33,10 +36,16 @@ public class NMStatusServiceImpl implements NetworkStatusService {
 
     private static final Logger logger = LoggerFactory.getLogger(NMStatusServiceImpl.class);
 
+    // safety net for changes that are not notified by NetworkManager or ModemManager
+    private static final long STATUS_MAX_AGE_MILLIS = 60000L;
+
     private CommandExecutorService commandExecutorService;
 
     private NMDbusConnector nmDbusConnector;
 
+    private final NMStatusCache statusCache = new NMStatusCache(STATUS_MAX_AGE_MILLIS);
+    private NMStatusChangeHandler statusChangeHandler;
+
     public void setCommandExecutorService(CommandExecutorService executorService) {
         this.commandExecutorService = executorService;
     }
@@ -55,6 +64,7 @@ public class NMStatusServiceImpl implements NetworkStatusService {
 
     public void activate() {
         logger.info("Activate NMStatusService...");
+        enableStatusCache();
         logger.info("Activate NMStatusService... Done.");
     }
 
@@ -65,9 +75,54 @@ public class NMStatusServiceImpl implements NetworkStatusService {
 
     public void deactivate() {
         logger.info("Deactivate NMStatusService...");
+        disableStatusCache();
         logger.info("Deactivate NMStatusService... Done.");
     }
 
+    /*
+     * The status is served from the cache only while the signal handler is registered, otherwise there would be
+     * nothing marking the snapshot as stale.
+     */
+    private synchronized void enableStatusCache() {
+        if (Objects.isNull(this.nmDbusConnector) || Objects.nonNull(this.statusChangeHandler)) {
+            return;
+        }
+
+        DBusConnection dbusConnection = this.nmDbusConnector.getDbusConnection();
+        if (Objects.isNull(dbusConnection)) {
+            return;
+        }
+
+        NMStatusChangeHandler handler = new NMStatusChangeHandler(this.nmDbusConnector, this.statusCache);
+        try {
+            dbusConnection.addSigHandler(Properties.PropertiesChanged.class, handler);
+            this.statusCache.invalidateAll();
+            this.statusChangeHandler = handler;
+        } catch (DBusException | DBusExecutionException e) {
+            logger.warn("Cannot subscribe to network status changes, status will not be cached", e);
+        }
+    }
+
+    private synchronized void disableStatusCache() {
+        if (Objects.isNull(this.statusChangeHandler)) {
+            return;
+        }
+
+        try {
+            this.nmDbusConnector.getDbusConnection().removeSigHandler(Properties.PropertiesChanged.class,
+                    this.statusChangeHandler);
+        } catch (DBusException | DBusExecutionException e) {
+            logger.warn("Cannot unsubscribe from network status changes", e);
+        }
+
+        this.statusChangeHandler = null;
+        this.statusCache.invalidateAll();
+    }
+
+    private synchronized boolean isStatusCacheEnabled() {
+        return Objects.nonNull(this.statusChangeHandler);
+    }
+
     @Override
     public Optional<NetworkInterfaceStatus> getNetworkStatus(String interfaceId) throws KuraException {
 
@@ -78,7 +133,11 @@ public class NMStatusServiceImpl implements NetworkStatusService {
     public List<String> getInterfaceIds() throws KuraException {
         List<String> interfaces = new ArrayList<>();
         try {
-            interfaces = this.nmDbusConnector.getInterfaceIds();
+            if (isStatusCacheEnabled()) {
+                interfaces = this.statusCache.getInterfaceIds(this.nmDbusConnector::getInterfaceIds);
+            } else {
+                interfaces = this.nmDbusConnector.getInterfaceIds();
+            }
         } catch (DBusException e) {
             throw new KuraIOException(e, "Could not retrieve interfaces from NM.");
         }
@@ -92,10 +151,15 @@ public class NMStatusServiceImpl implements NetworkStatusService {
 
         Optional<NetworkInterfaceStatus> networkInterfaceStatus = Optional.empty();
         try {
-            NetworkInterfaceStatus status = this.nmDbusConnector.getInterfaceStatus(interfaceId, recompute,
-                    this.commandExecutorService);
-            if (Objects.nonNull(status)) {
-                networkInterfaceStatus = Optional.of(status);
+            NMStatusCache.Loader<NetworkInterfaceStatus> loader = () -> this.nmDbusConnector
+                    .getInterfaceStatus(interfaceId, recompute, this.commandExecutorService);
+
+            if (!isStatusCacheEnabled()) {
+                networkInterfaceStatus = Optional.ofNullable(loader.load());
+            } else if (recompute) {
+                networkInterfaceStatus = this.statusCache.refreshStatus(interfaceId, loader);
+            } else {
+                networkInterfaceStatus = this.statusCache.getStatus(interfaceId, loader);
             }
         } catch (UnknownMethod e) {
             throw new KuraIOException(e, "Could not retrieve status for " + interfaceId
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017, 2020 Eurotech and/or its affiliates and others
+ * Copyright (c) 2017, 2023 Eurotech and/or its affiliates and others
  *
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -15,34 +15,49 @@ package org.eclipse.kura.internal.rest.asset;
 
 import static org.eclipse.kura.rest.utils.Validable.validate;
 
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.Base64.Encoder;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import javax.annotation.security.RolesAllowed;
 import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.eclipse.kura.KuraException;
 import org.eclipse.kura.asset.Asset;
 import org.eclipse.kura.asset.AssetService;
 import org.eclipse.kura.channel.Channel;
 import org.eclipse.kura.channel.ChannelRecord;
+import org.eclipse.kura.channel.ChannelType;
+import org.eclipse.kura.internal.rest.asset.AssetValueStreams.Subscription;
 import org.eclipse.kura.type.TypedValue;
 import org.osgi.framework.FrameworkUtil;
 import org.osgi.framework.InvalidSyntaxException;
 import org.osgi.framework.ServiceReference;
 import org.osgi.service.useradmin.Role;
 import org.osgi.service.useradmin.UserAdmin;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
@@ -53,6 +68,14 @@ import com.google.gson.JsonSerializer;
 @Path("/assets")
 public class AssetRestService {
 
+    private static final Logger logger = LoggerFactory.getLogger(AssetRestService.class);
+
+    private static final String SERVER_SENT_EVENTS = "text/event-stream";
+    private static final int MAX_STREAMS = 32;
+    private static final long KEEPALIVE_INTERVAL_MS = 15000;
+    private static final long RECONNECT_DELAY_MS = 5000;
+    private static final Pattern SSE_LINE_BREAK = Pattern.compile("\r\n|\r|\n");
+
     private static final String BAD_WRITE_REQUEST_ERROR_MESSAGE = "Bad request, "
             + "expected request format: {\"channels\": [{\"name\": \"channel-1\", \"type\": \"INTEGER\", \"value\": 10 }]}";
     private static final String BAD_READ_REQUEST_ERROR_MESSAGE = "Bad request, "
@@ -61,6 +84,7 @@ public class AssetRestService {
 
     private AssetService assetService;
     private Gson channelSerializer;
+    private volatile AssetValueStreams valueStreams;
 
     private UserAdmin userAdmin;
 
@@ -74,6 +98,14 @@ public class AssetRestService {
 
     public void activate() {
         this.userAdmin.createRole("kura.permission.rest.assets", Role.GROUP);
+        this.valueStreams = new AssetValueStreams(MAX_STREAMS);
+    }
+
+    public void deactivate() {
+        if (this.valueStreams != null) {
+            this.valueStreams.close();
+            this.valueStreams = null;
+        }
     }
 
     @GET
@@ -111,10 +143,131 @@ public class AssetRestService {
     @RolesAllowed("assets")
     @Path("/{pid}/_read")
     @Produces(MediaType.APPLICATION_JSON)
-    public JsonElement read(@PathParam("pid") String assetPid, ReadRequest readRequest) throws KuraException {
+    public JsonElement read(@PathParam("pid") String assetPid, ReadRequest readRequest,
+            @QueryParam("maxAge") @DefaultValue("0") long maxAge) throws KuraException {
         final Asset asset = getAsset(assetPid);
         validate(readRequest, BAD_READ_REQUEST_ERROR_MESSAGE);
-        return getChannelSerializer().toJsonTree(asset.read(readRequest.getChannelNames()));
+
+        final List<ChannelRecord> records;
+
+        if (maxAge > 0) {
+            records = asset.read(readRequest.getChannelNames(), maxAge);
+        } else {
+            records = asset.read(readRequest.getChannelNames());
+        }
+
+        return getChannelSerializer().toJsonTree(records);
+    }
+
+    /**
+     * Streams the values of the asset channels as Server-Sent Events. Every event contains the latest value of the
+     * channels that changed since the previous event, serialized as in the {@code _read} response.
+     * <p>
+     * The channels are read by a single task per asset shared by all the clients, at the rate of the fastest client.
+     * If {@code listen} is {@code true} the values are received through channel listeners instead of being read.
+     *
+     * @param assetPid
+     *            the asset pid
+     * @param channels
+     *            the names of the channels to stream, all the readable channels if empty
+     * @param interval
+     *            the minimum time between two events in milliseconds
+     * @param listen
+     *            whether to listen to the channels instead of reading them
+     */
+    @GET
+    @RolesAllowed("assets")
+    @Path("/{pid}/_stream")
+    @Produces(SERVER_SENT_EVENTS)
+    public StreamingOutput stream(@PathParam("pid") String assetPid, @QueryParam("channel") List<String> channels,
+            @QueryParam("interval") @DefaultValue("1000") long interval, @QueryParam("listen") boolean listen) {
+        final Asset asset = getAsset(assetPid);
+        final Set<String> channelNames = getStreamChannelNames(asset, channels);
+        final AssetValueStreams streams = this.valueStreams;
+
+        if (streams == null || !streams.hasCapacity()) {
+            throw new WebApplicationException(Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                    .type(MediaType.TEXT_PLAIN).entity("Too many active asset value streams").build());
+        }
+
+        return output -> {
+            final Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+            final Subscription subscription;
+
+            try {
+                subscription = streams.subscribe(assetPid, asset, channelNames, interval, listen);
+            } catch (KuraException | RuntimeException e) {
+                writeEvent(writer, "error", String.valueOf(e.getMessage()));
+                writer.flush();
+                return;
+            }
+
+            try {
+                writeEvents(subscription, writer);
+            } finally {
+                subscription.close();
+            }
+        };
+    }
+
+    private void writeEvents(final Subscription subscription, final Writer writer) throws IOException {
+        try {
+            writer.write("retry: " + RECONNECT_DELAY_MS + "\n\n");
+            writer.flush();
+
+            List<ChannelRecord> records;
+
+            while ((records = subscription.next(KEEPALIVE_INTERVAL_MS)) != null) {
+                if (records.isEmpty()) {
+                    // also detects the clients that went away
+                    writer.write(": keepalive\n\n");
+                } else {
+                    writeEvent(writer, null, getChannelSerializer().toJson(records));
+                }
+                writer.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            logger.debug("Asset value stream client disconnected", e);
+        }
+    }
+
+    static void writeEvent(final Writer writer, final String event, final String data) throws IOException {
+        if (event != null) {
+            writer.write("event: " + event + "\n");
+        }
+
+        // a line break terminates the field, every line of the data is sent in its own data field
+        for (final String line : SSE_LINE_BREAK.split(data, -1)) {
+            writer.write("data: ");
+            writer.write(line);
+            writer.write("\n");
+        }
+
+        writer.write("\n");
+    }
+
+    private Set<String> getStreamChannelNames(final Asset asset, final List<String> requested) {
+        final Map<String, Channel> assetChannels = asset.getAssetConfiguration().getAssetChannels();
+
+        if (requested == null || requested.isEmpty()) {
+            return assetChannels.values().stream().filter(Channel::isEnabled)
+                    .filter(c -> c.getType() == ChannelType.READ || c.getType() == ChannelType.READ_WRITE)
+                    .map(Channel::getName).collect(Collectors.toSet());
+        }
+
+        final Set<String> result = new HashSet<>();
+
+        for (final String channelName : requested) {
+            if (!assetChannels.containsKey(channelName)) {
+                throw new WebApplicationException(Response.status(Response.Status.BAD_REQUEST)
+                        .type(MediaType.TEXT_PLAIN).entity("Channel not found: " + channelName).build());
+            }
+            result.add(channelName);
+        }
+
+        return result;
     }
 
     @POST
@@ -139,7 +292,7 @@ public class AssetRestService {
         return asset;
     }
 
-    private Gson getChannelSerializer() {
+    private synchronized Gson getChannelSerializer() {
         if (this.channelSerializer == null) {
             this.channelSerializer = new GsonBuilder().registerTypeAdapter(TypedValue.class,
                     (JsonSerializer<TypedValue<?>>) (typedValue, type, context) -> {
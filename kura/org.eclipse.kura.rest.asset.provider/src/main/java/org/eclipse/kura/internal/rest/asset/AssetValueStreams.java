@@ -0,0 +1,520 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+
+package org.eclipse.kura.internal.rest.asset;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.kura.KuraErrorCode;
+import org.eclipse.kura.KuraException;
+import org.eclipse.kura.asset.Asset;
+import org.eclipse.kura.channel.ChannelRecord;
+import org.eclipse.kura.channel.listener.ChannelListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shares the channel values of the assets among the clients streaming them.
+ * <p>
+ * For each asset a single read task polls the union of the channels requested by its subscribers at the fastest
+ * requested rate, and a single {@link ChannelListener} is registered for every channel that is listened to. The values
+ * are then delivered to the interested subscribers, which apply their own rate limit: values received between two
+ * deliveries are coalesced and only the latest value of each channel is delivered.
+ * <p>
+ * The reads are performed on a bounded pool, with at most one read in progress for each asset, so that a slow asset
+ * only delays its own values. A read that takes longer than the read timeout is interrupted.
+ */
+public class AssetValueStreams {
+
+    private static final Logger logger = LoggerFactory.getLogger(AssetValueStreams.class);
+
+    public static final long MIN_INTERVAL_MS = 100;
+
+    private static final int READ_THREADS = 4;
+    private static final long READ_TIMEOUT_MS = 30000;
+
+    private final int maxSubscriptions;
+    private final long readTimeoutMs;
+    private final ScheduledThreadPoolExecutor executor;
+    private final ThreadPoolExecutor readExecutor;
+    private final Map<String, AssetStream> streams = new HashMap<>();
+
+    private int subscriptionCount;
+    private boolean closed;
+
+    public AssetValueStreams(final int maxSubscriptions) {
+        this(maxSubscriptions, READ_THREADS, READ_TIMEOUT_MS);
+    }
+
+    AssetValueStreams(final int maxSubscriptions, final int readThreads, final long readTimeoutMs) {
+        this.maxSubscriptions = maxSubscriptions;
+        this.readTimeoutMs = readTimeoutMs;
+        this.executor = new ScheduledThreadPoolExecutor(1, r -> {
+            final Thread thread = new Thread(r, "AssetValueStreams");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.setRemoveOnCancelPolicy(true);
+
+        final AtomicInteger readThreadCount = new AtomicInteger();
+
+        this.readExecutor = new ThreadPoolExecutor(readThreads, readThreads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    final Thread thread = new Thread(r, "AssetValueStreams-Read-" + readThreadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.readExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Returns whether a new subscription can be created.
+     */
+    public synchronized boolean hasCapacity() {
+        return !this.closed && this.subscriptionCount < this.maxSubscriptions;
+    }
+
+    /**
+     * Creates a new subscription to the values of the given channels.
+     *
+     * @param assetPid
+     *            the kura.service.pid of the asset
+     * @param asset
+     *            the asset
+     * @param channelNames
+     *            the names of the channels, must be readable channels of the asset
+     * @param intervalMs
+     *            the minimum time between two deliveries to the subscriber, values lower than
+     *            {@link #MIN_INTERVAL_MS} are rounded up
+     * @param listen
+     *            if {@code true} the values are received through channel listeners, otherwise the channels are polled
+     *            every {@code intervalMs}
+     * @return the subscription
+     * @throws KuraException
+     *             if the maximum number of subscriptions has been reached or if the channel listeners cannot be
+     *             registered
+     */
+    public synchronized Subscription subscribe(final String assetPid, final Asset asset,
+            final Set<String> channelNames, final long intervalMs, final boolean listen) throws KuraException {
+        requireNonNull(assetPid, "Asset pid cannot be null");
+        requireNonNull(asset, "Asset cannot be null");
+        requireNonNull(channelNames, "Channel names cannot be null");
+
+        if (this.closed) {
+            throw new KuraException(KuraErrorCode.SERVICE_UNAVAILABLE, "Asset value streaming is stopped");
+        }
+
+        if (this.subscriptionCount >= this.maxSubscriptions) {
+            throw new KuraException(KuraErrorCode.SERVICE_UNAVAILABLE, "Too many active asset value streams");
+        }
+
+        AssetStream stream = this.streams.get(assetPid);
+
+        if (stream != null && stream.asset != asset) {
+            // the asset has been replaced, its subscriptions will be closed
+            this.subscriptionCount -= stream.close();
+            stream = null;
+        }
+
+        if (stream == null) {
+            stream = new AssetStream(assetPid, asset);
+            this.streams.put(assetPid, stream);
+        }
+
+        final Subscription subscription = new Subscription(this, stream, channelNames,
+                Math.max(intervalMs, MIN_INTERVAL_MS), listen);
+
+        try {
+            stream.add(subscription);
+        } finally {
+            if (stream.subscriptions.isEmpty()) {
+                this.streams.remove(assetPid);
+            }
+        }
+
+        this.subscriptionCount++;
+
+        logger.debug("Asset value stream for {} opened, active streams: {}", assetPid, this.subscriptionCount);
+
+        return subscription;
+    }
+
+    /**
+     * Closes all the subscriptions and stops polling the assets.
+     */
+    public synchronized void close() {
+        this.closed = true;
+
+        for (final AssetStream stream : this.streams.values()) {
+            stream.close();
+        }
+
+        this.streams.clear();
+        this.subscriptionCount = 0;
+        this.executor.shutdownNow();
+        this.readExecutor.shutdownNow();
+    }
+
+    private synchronized void unsubscribe(final Subscription subscription) {
+        final AssetStream stream = subscription.stream;
+
+        if (!stream.remove(subscription)) {
+            return;
+        }
+
+        this.subscriptionCount--;
+
+        if (stream.subscriptions.isEmpty()) {
+            stream.close();
+            this.streams.remove(stream.assetPid, stream);
+        }
+
+        logger.debug("Asset value stream for {} closed, active streams: {}", stream.assetPid, this.subscriptionCount);
+    }
+
+    private final class AssetStream {
+
+        private final String assetPid;
+        private final Asset asset;
+        private final Set<Subscription> subscriptions = new CopyOnWriteArraySet<>();
+        private final Map<String, ChannelListener> listeners = new HashMap<>();
+
+        private volatile Set<String> polledChannels = Collections.emptySet();
+        private ScheduledFuture<?> pollTask;
+        private long pollIntervalMs;
+
+        // cleared by the read thread when the read terminates
+        private volatile boolean isReading;
+        private final Object readLock = new Object();
+        private Thread readThread;
+
+        // accessed only by the scheduler thread
+        private long readStart;
+        private boolean isTimeoutReported;
+
+        AssetStream(final String assetPid, final Asset asset) {
+            this.assetPid = assetPid;
+            this.asset = asset;
+        }
+
+        void add(final Subscription subscription) throws KuraException {
+            this.subscriptions.add(subscription);
+
+            try {
+                update();
+            } catch (KuraException | RuntimeException e) {
+                this.subscriptions.remove(subscription);
+                updateQuietly();
+                throw e;
+            }
+        }
+
+        boolean remove(final Subscription subscription) {
+            if (!this.subscriptions.remove(subscription)) {
+                return false;
+            }
+
+            updateQuietly();
+            return true;
+        }
+
+        int close() {
+            cancelPolling();
+
+            for (final ChannelListener listener : this.listeners.values()) {
+                unregister(listener);
+            }
+            this.listeners.clear();
+
+            for (final Subscription subscription : this.subscriptions) {
+                subscription.markClosed();
+            }
+
+            final int count = this.subscriptions.size();
+            this.subscriptions.clear();
+            return count;
+        }
+
+        private void update() throws KuraException {
+            final Set<String> listenedChannels = new HashSet<>();
+            final Set<String> newPolledChannels = new HashSet<>();
+            long interval = Long.MAX_VALUE;
+
+            for (final Subscription subscription : this.subscriptions) {
+                if (subscription.listen) {
+                    listenedChannels.addAll(subscription.channelNames);
+                } else {
+                    newPolledChannels.addAll(subscription.channelNames);
+                    interval = Math.min(interval, subscription.intervalMs);
+                }
+            }
+
+            final Iterator<Entry<String, ChannelListener>> iter = this.listeners.entrySet().iterator();
+
+            while (iter.hasNext()) {
+                final Entry<String, ChannelListener> entry = iter.next();
+
+                if (!listenedChannels.contains(entry.getKey())) {
+                    unregister(entry.getValue());
+                    iter.remove();
+                }
+            }
+
+            for (final String channelName : listenedChannels) {
+                if (!this.listeners.containsKey(channelName)) {
+                    final ChannelListener listener = event -> dispatch(
+                            Collections.singletonList(event.getChannelRecord()));
+
+                    this.asset.registerChannelListener(channelName, listener);
+                    this.listeners.put(channelName, listener);
+                }
+            }
+
+            this.polledChannels = newPolledChannels;
+
+            if (newPolledChannels.isEmpty()) {
+                cancelPolling();
+            } else if (this.pollTask == null || interval != this.pollIntervalMs) {
+                cancelPolling();
+                this.pollIntervalMs = interval;
+                this.pollTask = AssetValueStreams.this.executor.scheduleWithFixedDelay(this::poll, 0, interval,
+                        TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private void updateQuietly() {
+            try {
+                update();
+            } catch (KuraException | RuntimeException e) {
+                logger.warn("Failed to update the channel listeners of asset {}", this.assetPid, e);
+            }
+        }
+
+        private void cancelPolling() {
+            if (this.pollTask != null) {
+                this.pollTask.cancel(false);
+                this.pollTask = null;
+            }
+        }
+
+        private void unregister(final ChannelListener listener) {
+            try {
+                this.asset.unregisterChannelListener(listener);
+            } catch (KuraException | RuntimeException e) {
+                logger.warn("Failed to unregister channel listener from asset {}", this.assetPid, e);
+            }
+        }
+
+        private void poll() {
+            if (this.isReading) {
+                checkReadTimeout();
+                return;
+            }
+
+            final Set<String> channels = this.polledChannels;
+
+            if (channels.isEmpty()) {
+                return;
+            }
+
+            this.isReading = true;
+            this.readStart = System.nanoTime();
+            this.isTimeoutReported = false;
+
+            try {
+                AssetValueStreams.this.readExecutor.execute(() -> read(channels));
+            } catch (RejectedExecutionException e) {
+                this.isReading = false;
+                logger.debug("Failed to submit the read of asset {}", this.assetPid, e);
+            }
+        }
+
+        private void checkReadTimeout() {
+            final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.readStart);
+
+            if (elapsedMs < AssetValueStreams.this.readTimeoutMs || this.isTimeoutReported) {
+                return;
+            }
+
+            // the next read is submitted only when the interrupted one actually terminates
+            logger.warn("Read of asset {} did not complete in {} ms, interrupting it", this.assetPid, elapsedMs);
+            this.isTimeoutReported = true;
+
+            synchronized (this.readLock) {
+                if (this.readThread != null) {
+                    this.readThread.interrupt();
+                }
+            }
+        }
+
+        private void read(final Set<String> channels) {
+            synchronized (this.readLock) {
+                this.readThread = Thread.currentThread();
+            }
+
+            try {
+                dispatch(this.asset.read(channels));
+            } catch (Exception e) {
+                logger.debug("Failed to read the channels of asset {}", this.assetPid, e);
+            } finally {
+                synchronized (this.readLock) {
+                    this.readThread = null;
+                    // clear a possible interrupt caused by the read timeout, the thread belongs to the pool
+                    Thread.interrupted();
+                }
+                this.isReading = false;
+            }
+        }
+
+        private void dispatch(final List<ChannelRecord> records) {
+            for (final Subscription subscription : this.subscriptions) {
+                subscription.offer(records);
+            }
+        }
+    }
+
+    /**
+     * A subscription to the values of a set of channels of an asset.
+     */
+    public static final class Subscription {
+
+        private final AssetValueStreams streams;
+        private final AssetStream stream;
+        private final Set<String> channelNames;
+        private final long intervalMs;
+        private final boolean listen;
+
+        private final Map<String, ChannelRecord> pending = new LinkedHashMap<>();
+        private long lastDelivery;
+        private boolean delivered;
+        private long coalescedCount;
+        private boolean closed;
+
+        private Subscription(final AssetValueStreams streams, final AssetStream stream,
+                final Set<String> channelNames, final long intervalMs, final boolean listen) {
+            this.streams = streams;
+            this.stream = stream;
+            this.channelNames = new HashSet<>(channelNames);
+            this.intervalMs = intervalMs;
+            this.listen = listen;
+        }
+
+        public Set<String> getChannelNames() {
+            return Collections.unmodifiableSet(this.channelNames);
+        }
+
+        public long getIntervalMs() {
+            return this.intervalMs;
+        }
+
+        /**
+         * Returns the number of channel values that have been replaced by a newer value before being delivered.
+         */
+        public synchronized long getCoalescedCount() {
+            return this.coalescedCount;
+        }
+
+        /**
+         * Waits for new channel values, respecting the minimum interval between two deliveries.
+         *
+         * @param timeoutMs
+         *            the maximum time to wait
+         * @return the latest value of each channel received since the previous delivery, an empty list if the
+         *         timeout expired or {@code null} if the subscription has been closed
+         * @throws InterruptedException
+         *             if the calling thread is interrupted
+         */
+        public synchronized List<ChannelRecord> next(final long timeoutMs) throws InterruptedException {
+            final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+            final long intervalNanos = TimeUnit.MILLISECONDS.toNanos(this.intervalMs);
+
+            while (!this.closed) {
+                final long now = System.nanoTime();
+                long waitNanos = deadline - now;
+
+                if (!this.pending.isEmpty()) {
+                    final long readyAt = this.lastDelivery + intervalNanos;
+
+                    if (!this.delivered || now - readyAt >= 0) {
+                        final List<ChannelRecord> result = new ArrayList<>(this.pending.values());
+                        this.pending.clear();
+                        this.lastDelivery = now;
+                        this.delivered = true;
+                        return result;
+                    }
+
+                    waitNanos = Math.min(waitNanos, readyAt - now);
+                }
+
+                if (deadline - now <= 0) {
+                    return Collections.emptyList();
+                }
+
+                TimeUnit.NANOSECONDS.timedWait(this, waitNanos);
+            }
+
+            return null;
+        }
+
+        /**
+         * Closes the subscription, the threads waiting in {@link #next(long)} return {@code null}.
+         */
+        public void close() {
+            this.streams.unsubscribe(this);
+            markClosed();
+        }
+
+        private synchronized void offer(final List<ChannelRecord> records) {
+            boolean added = false;
+
+            for (final ChannelRecord channelRecord : records) {
+                final String channelName = channelRecord.getChannelName();
+
+                if (this.channelNames.contains(channelName)) {
+                    if (this.pending.put(channelName, channelRecord) != null) {
+                        this.coalescedCount++;
+                    }
+                    added = true;
+                }
+            }
+
+            if (added) {
+                notifyAll();
+            }
+        }
+
+        private synchronized void markClosed() {
+            this.closed = true;
+            notifyAll();
+        }
+    }
+}
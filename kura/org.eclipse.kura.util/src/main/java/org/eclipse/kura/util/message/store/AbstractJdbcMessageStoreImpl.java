@@ -28,14 +28,14 @@ import java.util.Optional;
 import java.util.TimeZone;
 import java.util.concurrent.TimeUnit;
 
+import org.eclipse.kura.KuraStoreCapacityReachedException;
 import org.eclipse.kura.KuraStoreException;
 import org.eclipse.kura.data.DataTransportToken;
 import org.eclipse.kura.message.store.StoredMessage;
-import org.eclipse.kura.message.store.provider.MessageStore;
 import org.eclipse.kura.util.jdbc.ConnectionProvider;
 import org.eclipse.kura.util.jdbc.SQLFunction;
 
-public abstract class AbstractJdbcMessageStoreImpl implements MessageStore {
+public abstract class AbstractJdbcMessageStoreImpl implements QuotaAwareMessageStore {
 
     private static final String TOPIC_ELEMENT = "topic";
 
@@ -72,6 +72,7 @@ public abstract class AbstractJdbcMessageStoreImpl implements MessageStore {
         execute(this.queries.getSqlCreatePublishedOnIndex());
         execute(this.queries.getSqlCreateConfirmedOnIndex());
         execute(this.queries.getSqlCreateDroppedOnIndex());
+        execute(this.queries.getSqlCreatePriorityIndex());
     }
 
     @Override
@@ -80,6 +81,64 @@ public abstract class AbstractJdbcMessageStoreImpl implements MessageStore {
         return (int) getMessageCountInternal();
     }
 
+    @Override
+    public synchronized int getMessageCount(int minPriority, int maxPriority) throws KuraStoreException {
+
+        return (int) getMessageCountInternal(minPriority, maxPriority);
+    }
+
+    @Override
+    public synchronized int deleteOldestMessages(int minPriority, int maxPriority, int count)
+            throws KuraStoreException {
+
+        if (count <= 0) {
+            return 0;
+        }
+
+        return this.connectionProvider.withPreparedStatement(this.queries.getSqlDeleteOldestMessagesByPriority(),
+                (c, stmt) -> {
+                    stmt.setInt(1, minPriority);
+                    stmt.setInt(2, maxPriority);
+                    stmt.setInt(3, count);
+
+                    final int result = stmt.executeUpdate();
+
+                    if (isExplicitCommitEnabled()) {
+                        c.commit();
+                    }
+                    return result;
+
+                }, "Cannot delete oldest messages");
+    }
+
+    @Override
+    public synchronized void enforceQuota(int minPriority, int maxPriority, int capacity, EvictionPolicy policy)
+            throws KuraStoreException {
+
+        final long count = getMessageCountInternal(minPriority, maxPriority);
+
+        if (count < capacity) {
+            return;
+        }
+
+        final int excess = (int) (count - capacity + 1);
+
+        if (policy != EvictionPolicy.DROP_OLDEST || deleteOldestMessages(minPriority, maxPriority, excess) < excess) {
+            throw new KuraStoreCapacityReachedException(
+                    "Store capacity exceeded for priorities " + minPriority + " to " + maxPriority);
+        }
+    }
+
+    protected long getMessageCountInternal(int minPriority, int maxPriority) throws KuraStoreException {
+
+        return this.connectionProvider.withPreparedStatement(this.queries.getSqlMessageCountByPriority(), (c, stmt) -> {
+            stmt.setInt(1, minPriority);
+            stmt.setInt(2, maxPriority);
+
+            return getFirstColumnValue(stmt::executeQuery, ResultSet::getLong);
+        }, "Cannot get message count");
+    }
+
     protected long getMessageCountInternal() throws KuraStoreException {
 
         return this.connectionProvider.withPreparedStatement(this.queries.getSqlMessageCount(),
@@ -18,6 +18,7 @@ public final class JdbcMessageStoreQueries {
 
     private final String sqlCreateTable;
     private final String sqlMessageCount;
+    private final String sqlMessageCountByPriority;
     private final String sqlStore;
     private final String sqlGetMessage;
     private final String sqlGetNextMessage;
@@ -32,14 +33,17 @@ public final class JdbcMessageStoreQueries {
     private final String sqlDeleteDroppedMessages;
     private final String sqlDeleteConfirmedMessages;
     private final String sqlDeletePublishedMessages;
+    private final String sqlDeleteOldestMessagesByPriority;
     private final String sqlCreateNextMessageIndex;
     private final String sqlCreatePublishedOnIndex;
     private final String sqlCreateConfirmedOnIndex;
     private final String sqlCreateDroppedOnIndex;
+    private final String sqlCreatePriorityIndex;
 
     private JdbcMessageStoreQueries(Builder builder) {
         this.sqlCreateTable = requireNonNull(builder.sqlCreateTable);
         this.sqlMessageCount = requireNonNull(builder.sqlMessageCount);
+        this.sqlMessageCountByPriority = requireNonNull(builder.sqlMessageCountByPriority);
         this.sqlStore = requireNonNull(builder.sqlStore);
         this.sqlGetMessage = requireNonNull(builder.sqlGetMessage);
         this.sqlGetNextMessage = requireNonNull(builder.sqlGetNextMessage);
@@ -54,10 +58,12 @@ public final class JdbcMessageStoreQueries {
         this.sqlDeleteDroppedMessages = requireNonNull(builder.sqlDeleteDroppedMessages);
         this.sqlDeleteConfirmedMessages = requireNonNull(builder.sqlDeleteConfirmedMessages);
         this.sqlDeletePublishedMessages = requireNonNull(builder.sqlDeletePublishedMessages);
+        this.sqlDeleteOldestMessagesByPriority = requireNonNull(builder.sqlDeleteOldestMessagesByPriority);
         this.sqlCreateNextMessageIndex = requireNonNull(builder.sqlCreateNextMessageIndex);
         this.sqlCreatePublishedOnIndex = requireNonNull(builder.sqlCreatePublishedOnIndex);
         this.sqlCreateConfirmedOnIndex = requireNonNull(builder.sqlCreateConfirmedOnIndex);
         this.sqlCreateDroppedOnIndex = requireNonNull(builder.sqlCreateDroppedOnIndex);
+        this.sqlCreatePriorityIndex = requireNonNull(builder.sqlCreatePriorityIndex);
     }
 
     public String getSqlCreateTable() {
@@ -68,6 +74,10 @@ public final class JdbcMessageStoreQueries {
         return sqlMessageCount;
     }
 
+    public String getSqlMessageCountByPriority() {
+        return sqlMessageCountByPriority;
+    }
+
     public String getSqlStore() {
         return sqlStore;
     }
@@ -124,6 +134,10 @@ public final class JdbcMessageStoreQueries {
         return sqlDeletePublishedMessages;
     }
 
+    public String getSqlDeleteOldestMessagesByPriority() {
+        return sqlDeleteOldestMessagesByPriority;
+    }
+
     public String getSqlCreateNextMessageIndex() {
         return sqlCreateNextMessageIndex;
     }
@@ -140,6 +154,10 @@ public final class JdbcMessageStoreQueries {
         return sqlCreateDroppedOnIndex;
     }
 
+    public String getSqlCreatePriorityIndex() {
+        return sqlCreatePriorityIndex;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -148,6 +166,7 @@ public final class JdbcMessageStoreQueries {
 
         private String sqlCreateTable;
         private String sqlMessageCount;
+        private String sqlMessageCountByPriority;
         private String sqlStore;
         private String sqlGetMessage;
         private String sqlGetNextMessage;
@@ -162,10 +181,12 @@ public final class JdbcMessageStoreQueries {
         private String sqlDeleteDroppedMessages;
         private String sqlDeleteConfirmedMessages;
         private String sqlDeletePublishedMessages;
+        private String sqlDeleteOldestMessagesByPriority;
         private String sqlCreateNextMessageIndex;
         private String sqlCreatePublishedOnIndex;
         private String sqlCreateConfirmedOnIndex;
         private String sqlCreateDroppedOnIndex;
+        private String sqlCreatePriorityIndex;
 
         public Builder withSqlCreateTable(String sqlCreateTable) {
             this.sqlCreateTable = sqlCreateTable;
@@ -177,6 +198,11 @@ public final class JdbcMessageStoreQueries {
             return this;
         }
 
+        public Builder withSqlMessageCountByPriority(String sqlMessageCountByPriority) {
+            this.sqlMessageCountByPriority = sqlMessageCountByPriority;
+            return this;
+        }
+
         public Builder withSqlStore(String sqlStore) {
             this.sqlStore = sqlStore;
             return this;
@@ -247,6 +273,11 @@ public final class JdbcMessageStoreQueries {
             return this;
         }
 
+        public Builder withSqlDeleteOldestMessagesByPriority(String sqlDeleteOldestMessagesByPriority) {
+            this.sqlDeleteOldestMessagesByPriority = sqlDeleteOldestMessagesByPriority;
+            return this;
+        }
+
         public Builder withSqlCreateNextMessageIndex(String sqlCreateNextMessageIndex) {
             this.sqlCreateNextMessageIndex = sqlCreateNextMessageIndex;
             return this;
@@ -267,6 +298,11 @@ public final class JdbcMessageStoreQueries {
             return this;
         }
 
+        public Builder withSqlCreatePriorityIndex(String sqlCreatePriorityIndex) {
+            this.sqlCreatePriorityIndex = sqlCreatePriorityIndex;
+            return this;
+        }
+
         public JdbcMessageStoreQueries build() {
             return new JdbcMessageStoreQueries(this);
         }
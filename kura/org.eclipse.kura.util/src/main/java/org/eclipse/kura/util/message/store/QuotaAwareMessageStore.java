@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Eurotech and/or its affiliates and others
+ * 
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.util.message.store;
+
+import org.eclipse.kura.KuraStoreCapacityReachedException;
+import org.eclipse.kura.KuraStoreException;
+import org.eclipse.kura.message.store.provider.MessageStore;
+
+/**
+ * A {@link MessageStore} that allows to limit the number of messages stored for a range of priorities.
+ */
+public interface QuotaAwareMessageStore extends MessageStore {
+
+    /**
+     * The action performed when a new message does not fit in its quota.
+     */
+    public enum EvictionPolicy {
+        /**
+         * The new message is rejected.
+         */
+        REJECT,
+        /**
+         * The oldest messages in the same priority range are deleted to make room for the new message.
+         */
+        DROP_OLDEST
+    }
+
+    /**
+     * Returns the number of messages whose priority is between {@code minPriority} and {@code maxPriority}, inclusive.
+     *
+     * @param minPriority
+     *            the lowest priority value, inclusive.
+     * @param maxPriority
+     *            the highest priority value, inclusive.
+     * @return the message count.
+     * @throws KuraStoreException
+     */
+    public int getMessageCount(int minPriority, int maxPriority) throws KuraStoreException;
+
+    /**
+     * Deletes up to {@code count} messages whose priority is between {@code minPriority} and {@code maxPriority},
+     * inclusive. Messages that are already completed are deleted first, then unpublished messages starting from the
+     * oldest. In-flight messages are never deleted.
+     *
+     * @param minPriority
+     *            the lowest priority value, inclusive.
+     * @param maxPriority
+     *            the highest priority value, inclusive.
+     * @param count
+     *            the maximum number of messages to delete.
+     * @return the number of deleted messages.
+     * @throws KuraStoreException
+     */
+    public int deleteOldestMessages(int minPriority, int maxPriority, int count) throws KuraStoreException;
+
+    /**
+     * Makes sure that one more message with priority between {@code minPriority} and {@code maxPriority} can be
+     * stored without exceeding {@code capacity}, applying the given {@link EvictionPolicy} otherwise.
+     *
+     * @param minPriority
+     *            the lowest priority value, inclusive.
+     * @param maxPriority
+     *            the highest priority value, inclusive.
+     * @param capacity
+     *            the maximum number of messages in the priority range.
+     * @param policy
+     *            the policy applied if the quota is full.
+     * @throws KuraStoreCapacityReachedException
+     *             if the quota is full and no room can be made according to the policy.
+     * @throws KuraStoreException
+     */
+    public void enforceQuota(int minPriority, int maxPriority, int capacity, EvictionPolicy policy)
+            throws KuraStoreException;
+}
@@ -15,10 +15,10 @@ package org.eclipse.kura.util.wire.store;
 import static java.util.Objects.isNull;
 import static java.util.Objects.requireNonNull;
 
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -52,8 +52,8 @@ public abstract class AbstractJdbcQueryableWireRecordStoreImpl {
 
         try {
             return provider.withConnection(c -> {
-                try (final Statement stmt = c.createStatement();
-                        final ResultSet rset = stmt.executeQuery(query)) {
+                try (final PreparedStatement stmt = c.prepareStatement(query);
+                        final ResultSet rset = stmt.executeQuery()) {
                     final List<WireRecord> dataRecords = new ArrayList<>();
 
                     while (rset.next()) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2020 Eurotech and/or its affiliates and others
+ * Copyright (c) 2016, 2024 Eurotech and/or its affiliates and others
  *
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -36,7 +36,7 @@ public final class EventService {
 
     private final GwtEventServiceAsync gwtEventService = GWT.create(GwtEventService.class);
     private final HashMap<String, LinkedList<Handler>> subscribedHandlers = new HashMap<>();
-    private long lastEventTimestamp = 0;
+    private long lastEventSequence = 0;
     private Timer resendTimer;
 
     private class TimeoutRequestBuilder extends RpcRequestBuilder {
@@ -51,12 +51,12 @@ public final class EventService {
 
     private EventService() {
         ((ServiceDefTarget) this.gwtEventService).setRpcRequestBuilder(new TimeoutRequestBuilder());
-        this.gwtEventService.getLastEventTimestamp(new AsyncCallback<String>() {
+        this.gwtEventService.getLastEventSequence(new AsyncCallback<String>() {
 
             @Override
             public void onSuccess(String result) {
-                EventService.this.lastEventTimestamp = Long.parseLong(result);
-                EventService.this.gwtEventService.getNextEvents(Long.toString(EventService.this.lastEventTimestamp),
+                EventService.this.lastEventSequence = Long.parseLong(result);
+                EventService.this.gwtEventService.getNextEvents(Long.toString(EventService.this.lastEventSequence),
                         EventService.this.eventCallback);
             }
 
@@ -78,7 +78,7 @@ public final class EventService {
 
             stopResendTimer();
 
-            EventService.this.gwtEventService.getNextEvents(Long.toString(EventService.this.lastEventTimestamp),
+            EventService.this.gwtEventService.getNextEvents(Long.toString(EventService.this.lastEventSequence),
                     EventService.this.eventCallback);
         }
 
@@ -100,7 +100,7 @@ public final class EventService {
                 return;
             }
 
-            EventService.this.lastEventTimestamp = Long.parseLong(event.getTimestamp());
+            EventService.this.lastEventSequence = Long.parseLong(event.getSequence());
 
             LinkedList<Handler> topicHandlers = EventService.this.subscribedHandlers.get(event.getTopic());
 
@@ -118,7 +118,7 @@ public final class EventService {
 
                 @Override
                 public void run() {
-                    EventService.this.gwtEventService.getNextEvents(Long.toString(EventService.this.lastEventTimestamp),
+                    EventService.this.gwtEventService.getNextEvents(Long.toString(EventService.this.lastEventSequence),
                             EventService.this.eventCallback);
                 }
             };
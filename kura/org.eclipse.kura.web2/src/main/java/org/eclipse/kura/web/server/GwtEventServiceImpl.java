@@ -13,13 +13,16 @@
 package org.eclipse.kura.web.server;
 
 import java.util.ArrayList;
-import java.util.Deque;
 import java.util.Dictionary;
 import java.util.Hashtable;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
 
 import org.eclipse.kura.core.configuration.ConfigurationChangeEvent;
@@ -42,12 +45,22 @@ public class GwtEventServiceImpl extends OsgiRemoteServiceServlet implements Gwt
 
     private static final long serialVersionUID = 4948177265652519828L;
 
-    private static final int MAX_EVENT_COUNT = 50;
+    // must be a power of two
+    private static final int MAX_EVENT_COUNT = 64;
+    private static final int INDEX_MASK = MAX_EVENT_COUNT - 1;
 
     private final ArrayList<String> topics = new ArrayList<>();
-    private final Deque<GwtEventInfo> events = new LinkedList<>();
+
+    /*
+     * Events are stored in a ring buffer indexed by sequence number. handleEvent() only performs an atomic increment
+     * and a compare-and-set and never blocks the EventAdmin thread, long polling clients wait on the phaser that is
+     * advanced after each event is published. A slot is only replaced by a newer event, so that a thread delayed
+     * between the increment and the store cannot overwrite an event that wrapped around the buffer after it.
+     */
+    private final AtomicReferenceArray<Slot> slots = new AtomicReferenceArray<>(MAX_EVENT_COUNT);
+    private final AtomicLong lastSequence = new AtomicLong();
+    private final Phaser published = new Phaser(1);
     private ServiceRegistration<EventHandler> registration;
-    private boolean shutdown = false;
 
     @Override
     public void destroy() {
@@ -63,44 +76,81 @@ public class GwtEventServiceImpl extends OsgiRemoteServiceServlet implements Gwt
     }
 
     @Override
-    public synchronized void handleEvent(Event event) {
+    public void handleEvent(Event event) {
 
         GwtEventInfo eventInfo = serialize(event);
 
-        if (this.events.size() >= MAX_EVENT_COUNT) {
-            this.events.removeLast();
-        }
+        long sequence = this.lastSequence.incrementAndGet();
+        eventInfo.set(GwtEventInfo.SEQUENCE, Long.toString(sequence));
 
-        this.events.push(eventInfo);
+        publish(sequence, eventInfo);
 
-        notifyAll();
+        this.published.arrive();
     }
 
-    private List<GwtEventInfo> getEvents(long fromTimestamp) {
-        LinkedList<GwtEventInfo> result = new LinkedList<>();
+    private void publish(long sequence, GwtEventInfo eventInfo) {
+        Slot slot = new Slot(sequence, eventInfo);
+        int index = index(sequence);
 
-        Iterator<GwtEventInfo> i = this.events.iterator();
+        while (true) {
+            Slot current = this.slots.get(index);
 
-        while (i.hasNext()) {
-            GwtEventInfo next = i.next();
+            if (current != null && current.sequence > sequence) {
+                // a newer event has already been stored, this one is lost as if it had been overwritten
+                return;
+            }
 
-            final HttpSession session = getThreadLocalRequest().getSession(false);
+            if (this.slots.compareAndSet(index, current, slot)) {
+                return;
+            }
+        }
+    }
+
+    /*
+     * Returns the events following the given sequence number in O(new events). The scan stops at the first slot that
+     * has not been published yet, slots that have already been overwritten by newer events are skipped.
+     */
+    private List<GwtEventInfo> getEvents(long fromSequence) {
+        List<GwtEventInfo> result = new ArrayList<>();
 
-            // ignore concurrency events raised by myself
-            if (next.getTopic().equals(ConfigurationChangeEvent.CONF_CHANGE_EVENT_TOPIC)
-                    && session != null) {
+        long last = this.lastSequence.get();
 
-                String currentSession = GwtServerUtil.getSessionIdHash(session);
-                String eventSession = (String) next.get(ConfigurationChangeEvent.CONF_CHANGE_EVENT_SESSION_PROP);
+        // the client might be ahead if the service has been restarted
+        long from = fromSequence > last ? 0 : fromSequence;
+        long first = Math.max(from + 1, last - MAX_EVENT_COUNT + 1);
 
-                if (currentSession.equals(eventSession)) {
-                    break;
-                }
+        if (first > last) {
+            return result;
+        }
+
+        String currentSession = null;
+        final HttpServletRequest request = getThreadLocalRequest();
+        final HttpSession session = request != null ? request.getSession(false) : null;
+        if (session != null) {
+            currentSession = GwtServerUtil.getSessionIdHash(session);
+        }
+
+        for (long sequence = first; sequence <= last; sequence++) {
+            Slot slot = this.slots.get(index(sequence));
+
+            if (slot == null || slot.sequence < sequence) {
+                break;
             }
 
-            if (Long.parseLong(next.getTimestamp()) > fromTimestamp) {
-                result.push(next);
+            if (slot.sequence > sequence) {
+                continue;
             }
+
+            GwtEventInfo next = slot.eventInfo;
+
+            // ignore concurrency events raised by myself, together with the events that preceded them
+            if (currentSession != null && next.getTopic().equals(ConfigurationChangeEvent.CONF_CHANGE_EVENT_TOPIC)
+                    && currentSession.equals(next.get(ConfigurationChangeEvent.CONF_CHANGE_EVENT_SESSION_PROP))) {
+                result.clear();
+                continue;
+            }
+
+            result.add(next);
         }
 
         return result;
@@ -122,40 +172,46 @@ public class GwtEventServiceImpl extends OsgiRemoteServiceServlet implements Gwt
             this.registration = null;
         }
 
-        synchronized (this) {
-            shutdown = true;
-            notifyAll();
-        }
+        // wakes up and releases all the pending long polling requests
+        this.published.forceTermination();
         logger.info("stopping GwtEventService...done");
     }
 
     @Override
-    public synchronized List<GwtEventInfo> getNextEvents(String fromTimestamp) {
-        long timestamp = Long.parseLong(fromTimestamp);
+    public List<GwtEventInfo> getNextEvents(String fromSequence) {
+        long sequence = Long.parseLong(fromSequence);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(POLL_TIMEOUT_SECONDS);
 
-        List<GwtEventInfo> result = getEvents(timestamp);
+        while (true) {
+            // read the phase before the events so that an event published in between is not missed
+            int phase = this.published.getPhase();
 
-        if (!result.isEmpty()) {
-            return result;
-        }
+            List<GwtEventInfo> result = getEvents(sequence);
+
+            long remaining = deadline - System.nanoTime();
+
+            if (!result.isEmpty() || phase < 0 || remaining <= 0) {
+                return result;
+            }
 
-        if (!this.shutdown) {
             try {
-                this.wait(POLL_TIMEOUT_SECONDS * 1000L);
+                this.published.awaitAdvanceInterruptibly(phase, remaining, TimeUnit.NANOSECONDS);
             } catch (InterruptedException e) {
-                return new LinkedList<>();
+                Thread.currentThread().interrupt();
+                return new ArrayList<>();
+            } catch (TimeoutException e) {
+                return getEvents(sequence);
             }
         }
-
-        return getEvents(timestamp);
     }
 
     @Override
-    public synchronized String getLastEventTimestamp() {
-        if (this.events.isEmpty()) {
-            return "0";
-        }
-        return this.events.getFirst().getTimestamp();
+    public String getLastEventSequence() {
+        return Long.toString(this.lastSequence.get());
+    }
+
+    private static int index(long sequence) {
+        return (int) (sequence & INDEX_MASK);
     }
 
     public GwtEventInfo serialize(Event event) {
@@ -173,4 +229,14 @@ public class GwtEventServiceImpl extends OsgiRemoteServiceServlet implements Gwt
         return result;
     }
 
+    private static final class Slot {
+
+        private final long sequence;
+        private final GwtEventInfo eventInfo;
+
+        Slot(long sequence, GwtEventInfo eventInfo) {
+            this.sequence = sequence;
+            this.eventInfo = eventInfo;
+        }
+    }
 }
@@ -15,10 +15,12 @@ package org.eclipse.kura.web.server.servlet;
 import static java.util.Objects.isNull;
 
 import java.io.BufferedInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -31,7 +33,6 @@ import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
 import javax.servlet.ServletException;
-import javax.servlet.ServletOutputStream;
 import javax.servlet.http.Cookie;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -54,8 +55,9 @@ public class LogServlet extends AuditServlet {
     private static final long serialVersionUID = 3969980124054250070L;
 
     private static Logger logger = LoggerFactory.getLogger(LogServlet.class);
-    private static final String KURA_JOURNAL_LOG_FILE = "/tmp/kura_journal.log";
-    private static final String SYSTEM_JOURNAL_LOG_FILE = "/tmp/system_journal.log";
+    private static final String KURA_JOURNAL_LOG_ENTRY = "kura_journal.log";
+    private static final String SYSTEM_JOURNAL_LOG_ENTRY = "system_journal.log";
+    private static final int BUFFER_SIZE = 8192;
     private static final String JOURNALCTL_CMD = "journalctl";
 
     public LogServlet() {
@@ -115,55 +117,34 @@ public class LogServlet extends AuditServlet {
         String outputFields = ss.getProperties().getProperty("kura.log.download.journal.fields",
                 "SYSLOG_IDENTIFIER,PRIORITY,MESSAGE,STACKTRACE");
 
-        if (writeJournalLog(pes, outputFields, KURA_JOURNAL_LOG_FILE, "kura")) {
-            fileList.add(new File(KURA_JOURNAL_LOG_FILE));
-        } else {
-            logger.warn("Error producing: {}", KURA_JOURNAL_LOG_FILE);
-        }
-
-        if (writeJournalLog(pes, outputFields, SYSTEM_JOURNAL_LOG_FILE)) {
-            fileList.add(new File(SYSTEM_JOURNAL_LOG_FILE));
-        } else {
-            logger.warn("Error producing: {}", SYSTEM_JOURNAL_LOG_FILE);
-        }
-
         String nonce = httpServletRequest.getParameter("nonce");
-        createReply(httpServletResponse, fileList, nonce);
-        removeTmpFiles();
+        createReply(httpServletResponse, fileList, pes, outputFields, nonce);
     }
 
-    private void createReply(HttpServletResponse httpServletResponse, List<File> fileList, String nonce) {
-        try {
-            byte[] zip = zipFiles(fileList);
-            ServletOutputStream sos = httpServletResponse.getOutputStream();
-
-            Cookie downloadedCookie = new Cookie("LogsDownload-" + nonce, "finished");
-            downloadedCookie.setPath("/");
-            httpServletResponse.addCookie(downloadedCookie);
-            httpServletResponse.setContentType("application/zip");
-            httpServletResponse.setHeader("Content-Disposition", "attachment; filename=\"Kura_Logs.zip\"");
+    private void createReply(HttpServletResponse httpServletResponse, List<File> fileList,
+            PrivilegedExecutorService pes, String outputFields, String nonce) {
 
-            sos.write(zip);
-            sos.flush();
-        } catch (IOException e) {
-            logger.warn("Unable to create zip file containing log resources");
-        }
-    }
+        Cookie downloadedCookie = new Cookie("LogsDownload-" + nonce, "finished");
+        downloadedCookie.setPath("/");
+        httpServletResponse.addCookie(downloadedCookie);
+        httpServletResponse.setContentType("application/zip");
+        httpServletResponse.setHeader("Content-Disposition", "attachment; filename=\"Kura_Logs.zip\"");
 
-    private byte[] zipFiles(List<File> files) throws IOException {
-        byte[] bytes = new byte[2048];
+        // The archive is written while it is produced, no Content-Length is set so that the container can use
+        // chunked transfer encoding. Memory usage only depends on the size of the copy and stream buffers.
+        try (ZipOutputStream zos = new ZipOutputStream(
+                new BufferedOutputStream(httpServletResponse.getOutputStream(), BUFFER_SIZE))) {
+            byte[] bytes = new byte[BUFFER_SIZE];
 
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                ZipOutputStream zos = new ZipOutputStream(baos);) {
-            for (File file : files) {
+            for (File file : fileList) {
                 zipFile(bytes, zos, file);
             }
-            zos.flush();
-            zos.close();
-            baos.flush();
-            return baos.toByteArray();
-        }
 
+            zipJournalLog(pes, zos, outputFields, KURA_JOURNAL_LOG_ENTRY, "kura");
+            zipJournalLog(pes, zos, outputFields, SYSTEM_JOURNAL_LOG_ENTRY, null);
+        } catch (IOException e) {
+            logger.warn("Unable to send zip file containing log resources", e);
+        }
     }
 
     private void zipFile(byte[] bytes, ZipOutputStream zos, File file) throws IOException {
@@ -177,15 +158,14 @@ public class LogServlet extends AuditServlet {
                 zos.write(bytes, 0, bytesRead);
             }
             zos.closeEntry();
+        } catch (FileNotFoundException e) {
+            // log files can be rotated while the archive is being produced
+            logger.warn("Unable to read log file {}", file);
         }
     }
 
-    private boolean writeJournalLog(PrivilegedExecutorService pes, String outputFields, String outputFile) {
-        return writeJournalLog(pes, outputFields, outputFile, null);
-    }
-
-    private boolean writeJournalLog(PrivilegedExecutorService pes, String outputFields, String outputFile,
-            String unit) {
+    private void zipJournalLog(PrivilegedExecutorService pes, ZipOutputStream zos, String outputFields,
+            String entryName, String unit) throws IOException {
 
         List<String> commandSequence = new ArrayList<>();
 
@@ -200,25 +180,73 @@ public class LogServlet extends AuditServlet {
         commandSequence.add("-o");
         commandSequence.add("verbose");
         commandSequence.add("--output-fields=" + outputFields);
-        commandSequence.add(">");
-        commandSequence.add(outputFile);
 
         Command command = new Command(commandSequence.toArray(new String[commandSequence.size()]));
         if (logger.isDebugEnabled()) {
             logger.debug("Executing command: {}", String.join(" ", command.getCommandLine()));
         }
-        command.setExecuteInAShell(true);
+
+        zos.putNextEntry(new ZipEntry(entryName));
+
+        EntryOutputStream entryStream = new EntryOutputStream(zos);
+        command.setOutputStream(entryStream);
         CommandStatus status = pes.execute(command);
 
-        return status.getExitStatus().isSuccessful();
+        entryStream.rethrowFailure();
+        zos.closeEntry();
+
+        if (!status.getExitStatus().isSuccessful()) {
+            logger.warn("Error producing: {}", entryName);
+        }
     }
 
-    private void removeTmpFiles() {
-        try {
-            Files.deleteIfExists(new File(KURA_JOURNAL_LOG_FILE).toPath());
-            Files.deleteIfExists(new File(SYSTEM_JOURNAL_LOG_FILE).toPath());
-        } catch (IOException e) {
-            logger.warn("Unable to delete temporary log files", e);
+    /**
+     * Forwards the output of a command to the current zip entry. Flushes requested by the stream pumper are not
+     * propagated, so that data reaches the client in full buffers. If writing fails, for example because the client
+     * disconnected, the remaining output is discarded to let the command terminate and the failure is reported
+     * afterwards by {@link #rethrowFailure()}.
+     */
+    private static final class EntryOutputStream extends OutputStream {
+
+        private final OutputStream out;
+        private IOException failure;
+
+        EntryOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            if (this.failure != null) {
+                return;
+            }
+
+            try {
+                this.out.write(b, off, len);
+            } catch (IOException e) {
+                this.failure = e;
+            }
+        }
+
+        @Override
+        public void flush() {
+            // the zip stream is flushed when the entry is closed
+        }
+
+        @Override
+        public void close() {
+            // the zip stream is owned by the servlet
+        }
+
+        synchronized void rethrowFailure() throws IOException {
+            if (this.failure != null) {
+                throw this.failure;
+            }
         }
     }
 }
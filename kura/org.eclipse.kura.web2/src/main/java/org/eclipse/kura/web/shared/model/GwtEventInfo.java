@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2020 Eurotech and/or its affiliates and others
+ * Copyright (c) 2016, 2024 Eurotech and/or its affiliates and others
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,8 @@ public class GwtEventInfo extends GwtBaseModel implements Serializable {
 
     private static final long serialVersionUID = 5806274412665387619L;
 
+    public static final String SEQUENCE = "sequence";
+
     public GwtEventInfo() {
     }
 
@@ -31,6 +33,10 @@ public class GwtEventInfo extends GwtBaseModel implements Serializable {
         return get("timestamp");
     }
 
+    public String getSequence() {
+        return get(SEQUENCE);
+    }
+
     public String getTopic() {
         return get("topic");
     }
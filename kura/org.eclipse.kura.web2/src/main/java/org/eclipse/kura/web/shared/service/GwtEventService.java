@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2020 Eurotech and/or its affiliates and others
+ * Copyright (c) 2016, 2024 Eurotech and/or its affiliates and others
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -24,8 +24,12 @@ public interface GwtEventService extends RemoteService {
 
     public static final int POLL_TIMEOUT_SECONDS = 30;
 
-    public List<GwtEventInfo> getNextEvents(String fromTimestamp);
+    /**
+     * Returns the events published after the one with the given sequence number, waiting up to
+     * {@link #POLL_TIMEOUT_SECONDS} for new events if none are available.
+     */
+    public List<GwtEventInfo> getNextEvents(String fromSequence);
 
-    public String getLastEventTimestamp();
+    public String getLastEventSequence();
 
 }
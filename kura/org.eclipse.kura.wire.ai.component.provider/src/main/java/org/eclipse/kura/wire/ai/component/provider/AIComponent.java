@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Eurotech and/or its affiliates and others
+ * Copyright (c) 2022, 2023 Eurotech and/or its affiliates and others
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -14,7 +14,6 @@ package org.eclipse.kura.wire.ai.component.provider;
 
 import static java.util.Objects.requireNonNull;
 
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -25,6 +24,7 @@ import org.eclipse.kura.ai.inference.InferenceEngineService;
 import org.eclipse.kura.ai.inference.ModelInfo;
 import org.eclipse.kura.ai.inference.Tensor;
 import org.eclipse.kura.configuration.ConfigurableComponent;
+import org.eclipse.kura.scheduler.SchedulerService;
 import org.eclipse.kura.wire.WireComponent;
 import org.eclipse.kura.wire.WireEmitter;
 import org.eclipse.kura.wire.WireEnvelope;
@@ -47,12 +47,16 @@ public class AIComponent implements WireEmitter, WireReceiver, ConfigurableCompo
     private WireSupport wireSupport;
 
     private AIComponentOptions options;
-    private InferenceEngineService inferenceEngineService;
+    private volatile InferenceEngineService inferenceEngineService;
 
+    private final Object modelLock = new Object();
     private Optional<ModelInfo> infoPre;
     private Optional<ModelInfo> infoInfer;
     private Optional<ModelInfo> infoPost;
 
+    private volatile BatchingInferenceProcessor batchingProcessor;
+    private Optional<SchedulerService> schedulerService = Optional.empty();
+
     public void bindWireHelperService(final WireHelperService wireHelperService) {
         if (this.wireHelperService == null) {
             this.wireHelperService = wireHelperService;
@@ -75,6 +79,14 @@ public class AIComponent implements WireEmitter, WireReceiver, ConfigurableCompo
         }
     }
 
+    public void bindSchedulerService(final SchedulerService schedulerService) {
+        this.schedulerService = Optional.of(schedulerService);
+    }
+
+    public void unbindSchedulerService(final SchedulerService schedulerService) {
+        this.schedulerService = Optional.empty();
+    }
+
     public void activate(final ComponentContext componentContext, final Map<String, Object> properties)
             throws ComponentException {
         logger.info("Activating AIComponent...");
@@ -87,31 +99,52 @@ public class AIComponent implements WireEmitter, WireReceiver, ConfigurableCompo
         logger.info("Activating AIComponent... Done");
     }
 
-    public void deactivate() {
+    public synchronized void deactivate() {
         logger.info("Deactivating AIComponent...");
+        closeBatchingProcessor();
         logger.info("Deactivating AIComponent... Done.");
     }
 
     public synchronized void updated(final Map<String, Object> properties) {
         logger.info("Updating AIComponent...");
 
+        closeBatchingProcessor();
+
         this.options = new AIComponentOptions(properties);
-        this.infoPre = Optional.empty();
-        this.infoInfer = Optional.empty();
-        this.infoPost = Optional.empty();
 
-        try {
-            loadModelInfos();
-            logger.info("Updating AIComponent... Done");
-        } catch (KuraException e) {
-            logger.error("Inference Engine error.", e);
+        synchronized (this.modelLock) {
+            this.infoPre = Optional.empty();
+            this.infoInfer = Optional.empty();
+            this.infoPost = Optional.empty();
+
+            try {
+                loadModelInfos();
+                logger.info("Updating AIComponent... Done");
+            } catch (KuraException e) {
+                logger.error("Inference Engine error.", e);
+            }
+        }
+
+        if (this.options.isBatchingEnabled()) {
+            this.batchingProcessor = new BatchingInferenceProcessor(this.options, this::getInferenceModels,
+                    records -> this.wireSupport.emit(records), this.schedulerService);
         }
     }
 
     @Override
-    public synchronized void onWireReceive(WireEnvelope wireEnvelope) {
+    public void onWireReceive(WireEnvelope wireEnvelope) {
         requireNonNull(wireEnvelope, "Wire Envelope cannot be null");
 
+        final BatchingInferenceProcessor processor = this.batchingProcessor;
+
+        if (processor != null) {
+            processor.submit(wireEnvelope.getRecords());
+        } else {
+            processSequentially(wireEnvelope);
+        }
+    }
+
+    private synchronized void processSequentially(WireEnvelope wireEnvelope) {
         for (WireRecord wireRecord : wireEnvelope.getRecords()) {
             try {
 
@@ -147,6 +180,30 @@ public class AIComponent implements WireEmitter, WireReceiver, ConfigurableCompo
         this.wireSupport.producersConnected(wires);
     }
 
+    private void closeBatchingProcessor() {
+        final BatchingInferenceProcessor processor = this.batchingProcessor;
+
+        if (processor != null) {
+            this.batchingProcessor = null;
+            processor.close();
+        }
+    }
+
+    private Optional<InferenceModels> getInferenceModels() throws KuraException {
+        final InferenceEngineService engine = this.inferenceEngineService;
+
+        if (engine == null || !engine.isEngineReady()) {
+            logger.info("Selected InferenceEngineService not ready yet.");
+            return Optional.empty();
+        }
+
+        synchronized (this.modelLock) {
+            loadModelInfos();
+
+            return Optional.of(new InferenceModels(engine, this.infoPre, this.infoInfer.get(), this.infoPost));
+        }
+    }
+
     private void loadModelInfos() throws KuraException {
         if (this.inferenceEngineService != null && this.inferenceEngineService.isEngineReady()) {
             Optional<String> namePre = this.options.getPreprocessorModelName();
@@ -181,36 +238,17 @@ public class AIComponent implements WireEmitter, WireReceiver, ConfigurableCompo
     }
 
     private Optional<List<WireRecord>> inferenceProcess(WireRecord wireRecord) throws KuraException {
-        if (this.inferenceEngineService != null && this.inferenceEngineService.isEngineReady()) {
-
-            loadModelInfos();
-
-            List<Tensor> tensors;
-            List<WireRecord> result = new LinkedList<>();
-
-            if (this.infoPre.isPresent()) {
-                tensors = TensorListAdapter.givenDescriptors(this.infoPre.get().getInputs()).fromWireRecord(wireRecord);
-                tensors = this.inferenceEngineService.infer(this.infoPre.get(), tensors);
-            } else {
-                tensors = TensorListAdapter.givenDescriptors(this.infoInfer.get().getInputs())
-                        .fromWireRecord(wireRecord);
-            }
-
-            tensors = this.inferenceEngineService.infer(this.infoInfer.get(), tensors);
+        Optional<InferenceModels> models = getInferenceModels();
 
-            if (this.infoPost.isPresent()) {
-                tensors = this.inferenceEngineService.infer(this.infoPost.get(), tensors);
-                result.addAll(
-                        TensorListAdapter.givenDescriptors(this.infoPost.get().getOutputs()).fromTensorList(tensors));
-            } else {
-                result.addAll(
-                        TensorListAdapter.givenDescriptors(this.infoInfer.get().getOutputs()).fromTensorList(tensors));
-            }
-
-            return Optional.of(result);
-        } else {
-            logger.info("Selected InferenceEngineService not ready yet.");
+        if (!models.isPresent()) {
             return Optional.empty();
         }
+
+        List<Tensor> tensors = models.get().toInputTensors(wireRecord);
+        tensors = models.get().preprocess(tensors);
+        tensors = models.get().infer(tensors);
+        tensors = models.get().postprocess(tensors);
+
+        return Optional.of(models.get().toWireRecords(tensors));
     }
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Eurotech and/or its affiliates and others
+ * Copyright (c) 2022, 2023 Eurotech and/or its affiliates and others
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -22,6 +22,14 @@ public class AIComponentOptions {
     private static final String PREPROCESSOR_MODEL_NAME = "preprocessor.model.name";
     private static final String INFERENCE_MODEL_NAME = "inference.model.name";
     private static final String POSTPROCESSOR_MODEL_NAME = "postprocessor.model.name";
+    private static final String BATCHING_ENABLED = "batching.enabled";
+    private static final String BATCHING_MAX_SIZE = "batching.max.size";
+    private static final String BATCHING_MAX_QUEUE_DELAY = "batching.max.queue.delay.ms";
+    private static final String BATCHING_MAX_IN_FLIGHT = "batching.max.in.flight";
+
+    private static final int DEFAULT_BATCHING_MAX_SIZE = 8;
+    private static final long DEFAULT_BATCHING_MAX_QUEUE_DELAY = 10;
+    private static final int DEFAULT_BATCHING_MAX_IN_FLIGHT = 2;
 
     private final Map<String, Object> properties;
 
@@ -45,4 +53,25 @@ public class AIComponentOptions {
         return (value != null && !value.trim().isEmpty()) ? Optional.of(value.trim()) : Optional.empty();
     }
 
+    public boolean isBatchingEnabled() {
+        Object value = this.properties.get(BATCHING_ENABLED);
+        return value instanceof Boolean && (Boolean) value;
+    }
+
+    public int getBatchingMaxSize() {
+        Object value = this.properties.get(BATCHING_MAX_SIZE);
+        return value instanceof Integer && (Integer) value > 0 ? (Integer) value : DEFAULT_BATCHING_MAX_SIZE;
+    }
+
+    public long getBatchingMaxQueueDelayMs() {
+        Object value = this.properties.get(BATCHING_MAX_QUEUE_DELAY);
+        return value instanceof Number && ((Number) value).longValue() >= 0 ? ((Number) value).longValue()
+                : DEFAULT_BATCHING_MAX_QUEUE_DELAY;
+    }
+
+    public int getBatchingMaxInFlight() {
+        Object value = this.properties.get(BATCHING_MAX_IN_FLIGHT);
+        return value instanceof Integer && (Integer) value > 0 ? (Integer) value : DEFAULT_BATCHING_MAX_IN_FLIGHT;
+    }
+
 }
@@ -0,0 +1,587 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ ******************************************************************************/
+package org.eclipse.kura.wire.ai.component.provider;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.eclipse.kura.KuraException;
+import org.eclipse.kura.KuraIOException;
+import org.eclipse.kura.ai.inference.Tensor;
+import org.eclipse.kura.ai.inference.TensorDescriptor;
+import org.eclipse.kura.scheduler.SchedulerService;
+import org.eclipse.kura.scheduler.WorkloadClass;
+import org.eclipse.kura.wire.WireRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Groups the received {@link WireRecord}s into batches and processes them in a pipeline.
+ * <p>
+ * A batch is dispatched when it reaches the configured maximum size or when the oldest record has been waiting for the
+ * configured maximum queue delay. The tensors of the records in a batch are stacked along the first dimension, that is
+ * assumed to be the batch dimension of the models, and each model is invoked once per batch. The results are split
+ * back and emitted as one envelope per received record, as in the non batching mode.
+ * <p>
+ * Pre-processing, inference and post-processing run in separate serial stages, so that different batches can be
+ * processed concurrently while preserving the emission order. The stages and the flush timer run on the
+ * {@link SchedulerService} worker pools if available, on dedicated threads otherwise.
+ * <p>
+ * The number of batches in the pipeline is bounded, the batches that cannot enter the pipeline are queued and
+ * dispatched as soon as a batch completes. If the queue is full the thread submitting new records is blocked until
+ * there is room, without holding the lock of the processor, so the flush timer and {@link #close()} are never blocked
+ * by a slow pipeline.
+ */
+final class BatchingInferenceProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchingInferenceProcessor.class);
+
+    private static final long STATISTICS_LOG_INTERVAL_SECONDS = 60;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    interface ModelsProvider {
+
+        Optional<InferenceModels> getInferenceModels() throws KuraException;
+    }
+
+    private final int maxBatchSize;
+    private final long maxQueueDelayMs;
+    private final int maxInFlight;
+    private final ModelsProvider modelsProvider;
+    private final Consumer<List<WireRecord>> emitter;
+
+    private final Optional<SchedulerService> schedulerService;
+    private final Optional<ScheduledExecutorService> ownTimer;
+    private final ExecutorService preStage;
+    private final ExecutorService inferStage;
+    private final ExecutorService postStage;
+    private final ScheduledFuture<?> statisticsTask;
+
+    private final StageStatistics queueStatistics = new StageStatistics("queue");
+    private final StageStatistics preStatistics = new StageStatistics("pre-processing");
+    private final StageStatistics inferStatistics = new StageStatistics("inference");
+    private final StageStatistics postStatistics = new StageStatistics("post-processing");
+
+    private List<WireRecord> pending = new ArrayList<>();
+    private long pendingSinceNanos;
+    private final Deque<Batch> ready = new ArrayDeque<>();
+    private int inFlight;
+    private ScheduledFuture<?> flushTask;
+    private boolean closed;
+
+    BatchingInferenceProcessor(final AIComponentOptions options, final ModelsProvider modelsProvider,
+            final Consumer<List<WireRecord>> emitter, final Optional<SchedulerService> schedulerService) {
+        this.maxBatchSize = options.getBatchingMaxSize();
+        this.maxQueueDelayMs = options.getBatchingMaxQueueDelayMs();
+        this.maxInFlight = options.getBatchingMaxInFlight();
+        this.modelsProvider = modelsProvider;
+        this.emitter = emitter;
+        this.schedulerService = schedulerService;
+
+        if (schedulerService.isPresent()) {
+            final SchedulerService scheduler = schedulerService.get();
+
+            this.ownTimer = Optional.empty();
+            this.preStage = scheduler.newSerialExecutor("AIComponent-pre", WorkloadClass.CPU);
+            this.inferStage = scheduler.newSerialExecutor("AIComponent-infer", WorkloadClass.BLOCKING);
+            this.postStage = scheduler.newSerialExecutor("AIComponent-post", WorkloadClass.CPU);
+            this.statisticsTask = scheduler.scheduleWithFixedDelay("AIComponent-statistics", WorkloadClass.CPU,
+                    this::logStatistics, STATISTICS_LOG_INTERVAL_SECONDS, STATISTICS_LOG_INTERVAL_SECONDS,
+                    TimeUnit.SECONDS);
+        } else {
+            final ScheduledExecutorService timer = Executors
+                    .newSingleThreadScheduledExecutor(namedThreadFactory("AIComponent-batching"));
+
+            this.ownTimer = Optional.of(timer);
+            this.preStage = Executors.newSingleThreadExecutor(namedThreadFactory("AIComponent-pre"));
+            this.inferStage = Executors.newSingleThreadExecutor(namedThreadFactory("AIComponent-infer"));
+            this.postStage = Executors.newSingleThreadExecutor(namedThreadFactory("AIComponent-post"));
+            this.statisticsTask = timer.scheduleWithFixedDelay(this::logStatistics, STATISTICS_LOG_INTERVAL_SECONDS,
+                    STATISTICS_LOG_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    synchronized void submit(final List<WireRecord> wireRecords) {
+        if (this.closed) {
+            logger.warn("Batching processor closed, dropping {} records", wireRecords.size());
+            return;
+        }
+
+        for (final WireRecord wireRecord : wireRecords) {
+            if (this.pending.isEmpty()) {
+                this.pendingSinceNanos = System.nanoTime();
+            }
+
+            this.pending.add(wireRecord);
+
+            if (this.pending.size() >= this.maxBatchSize) {
+                enqueuePending();
+            }
+        }
+
+        if (!this.pending.isEmpty() && this.flushTask == null) {
+            if (this.maxQueueDelayMs == 0) {
+                enqueuePending();
+            } else {
+                this.flushTask = scheduleFlush();
+            }
+        }
+
+        dispatchReady();
+
+        // wait() releases the lock, the timer, the completed batches and close() can make progress meanwhile
+
+        while (!this.closed && this.ready.size() >= this.maxInFlight) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    void close() {
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+
+            if (!this.pending.isEmpty()) {
+                enqueuePending();
+            }
+
+            this.closed = true;
+
+            dispatchReady();
+            notifyAll();
+            awaitReadyBatchesDispatched();
+        }
+
+        this.statisticsTask.cancel(false);
+
+        if (this.ownTimer.isPresent()) {
+            this.ownTimer.get().shutdownNow();
+        }
+
+        // each stage submits work to the next one, they must be terminated in order
+
+        shutdownAndAwait(this.preStage);
+        shutdownAndAwait(this.inferStage);
+        shutdownAndAwait(this.postStage);
+
+        logStatistics();
+    }
+
+    private synchronized void onFlushTimeout() {
+        this.flushTask = null;
+
+        if (!this.closed && !this.pending.isEmpty()) {
+            enqueuePending();
+            dispatchReady();
+        }
+    }
+
+    private ScheduledFuture<?> scheduleFlush() {
+        if (this.schedulerService.isPresent()) {
+            return this.schedulerService.get().schedule("AIComponent-batching", WorkloadClass.CPU,
+                    this::onFlushTimeout, this.maxQueueDelayMs, TimeUnit.MILLISECONDS);
+        } else {
+            return this.ownTimer.get().schedule(this::onFlushTimeout, this.maxQueueDelayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void enqueuePending() {
+        if (this.flushTask != null) {
+            this.flushTask.cancel(false);
+            this.flushTask = null;
+        }
+
+        this.ready.add(new Batch(this.pending, this.pendingSinceNanos));
+        this.pending = new ArrayList<>();
+    }
+
+    private void dispatchReady() {
+        boolean dispatched = false;
+
+        while (this.inFlight < this.maxInFlight && !this.ready.isEmpty()) {
+            final Batch batch = this.ready.poll();
+
+            this.inFlight++;
+
+            try {
+                startPipeline(batch);
+            } catch (RejectedExecutionException e) {
+                this.inFlight--;
+                logger.warn("Inference pipeline stopped, dropping {} records", batch.wireRecords.size());
+            }
+
+            dispatched = true;
+        }
+
+        if (dispatched) {
+            notifyAll();
+        }
+    }
+
+    private void awaitReadyBatchesDispatched() {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SHUTDOWN_TIMEOUT_SECONDS);
+
+        try {
+            while (!this.ready.isEmpty()) {
+                final long remaining = deadline - System.nanoTime();
+
+                if (remaining <= 0) {
+                    break;
+                }
+
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (!this.ready.isEmpty()) {
+            logger.warn("Inference pipeline did not accept the queued batches in time, dropping {} batches",
+                    this.ready.size());
+            this.ready.clear();
+        }
+    }
+
+    private synchronized void onBatchDone() {
+        this.inFlight--;
+        dispatchReady();
+    }
+
+    private void startPipeline(final Batch batch) {
+        CompletableFuture.supplyAsync(() -> runStage(this.preStatistics, batch, this::preprocess), this.preStage)
+                .thenApplyAsync(b -> runStage(this.inferStatistics, b, this::infer), this.inferStage)
+                .thenApplyAsync(b -> runStage(this.postStatistics, b, this::postprocess), this.postStage)
+                .whenComplete((b, e) -> {
+                    onBatchDone();
+
+                    if (e != null) {
+                        logger.error("Error processing batch of {} WireRecords.", batch.wireRecords.size(),
+                                e instanceof CompletionException ? e.getCause() : e);
+                    } else {
+                        emit(b);
+                    }
+                });
+    }
+
+    private Batch preprocess(final Batch batch) throws KuraException {
+        this.queueStatistics.record(System.nanoTime() - batch.enqueueNanos);
+
+        final Optional<InferenceModels> models = this.modelsProvider.getInferenceModels();
+
+        if (!models.isPresent()) {
+            batch.wireRecords = Collections.emptyList();
+            return batch;
+        }
+
+        batch.models = models.get();
+
+        final List<List<Tensor>> inputs = new ArrayList<>(batch.wireRecords.size());
+
+        for (final WireRecord wireRecord : batch.wireRecords) {
+            inputs.add(batch.models.toInputTensors(wireRecord));
+        }
+
+        batch.tensors = batch.models.preprocess(stack(inputs));
+        return batch;
+    }
+
+    private Batch infer(final Batch batch) throws KuraException {
+        if (batch.models != null) {
+            batch.tensors = batch.models.infer(batch.tensors);
+        }
+        return batch;
+    }
+
+    private Batch postprocess(final Batch batch) throws KuraException {
+        if (batch.models == null) {
+            return batch;
+        }
+
+        final List<List<Tensor>> outputs = split(batch.models.postprocess(batch.tensors), batch.wireRecords.size());
+
+        batch.results = new ArrayList<>(outputs.size());
+
+        for (final List<Tensor> output : outputs) {
+            batch.results.add(batch.models.toWireRecords(output));
+        }
+
+        return batch;
+    }
+
+    private void emit(final Batch batch) {
+        if (batch.results == null) {
+            return;
+        }
+
+        for (final List<WireRecord> result : batch.results) {
+            this.emitter.accept(result);
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Processed batch of {} WireRecords, stage latencies: {}", batch.wireRecords.size(),
+                    batch.latencies);
+        }
+    }
+
+    private Batch runStage(final StageStatistics statistics, final Batch batch, final Stage stage) {
+        final long start = System.nanoTime();
+
+        try {
+            return stage.apply(batch);
+        } catch (KuraException e) {
+            throw new CompletionException(e);
+        } finally {
+            final long elapsed = System.nanoTime() - start;
+
+            statistics.record(elapsed);
+            batch.latencies.append(statistics.name).append(": ").append(TimeUnit.NANOSECONDS.toMicros(elapsed))
+                    .append(" us ");
+        }
+    }
+
+    private void logStatistics() {
+        if (this.inferStatistics.count.sum() == 0) {
+            return;
+        }
+
+        logger.info("Batching statistics, average/max stage latency: {}, {}, {}, {}", this.queueStatistics,
+                this.preStatistics, this.inferStatistics, this.postStatistics);
+    }
+
+    /**
+     * Concatenates the tensors of the given records, the i-th tensor of the result contains the data of the i-th
+     * tensor of each record, in record order.
+     */
+    static List<Tensor> stack(final List<List<Tensor>> records) throws KuraIOException {
+        final int batchSize = records.size();
+        final List<Tensor> first = records.get(0);
+        final List<Tensor> result = new ArrayList<>(first.size());
+
+        for (int i = 0; i < first.size(); i++) {
+            final List<Tensor> parts = new ArrayList<>(batchSize);
+
+            for (final List<Tensor> record : records) {
+                parts.add(record.get(i));
+            }
+
+            result.add(concat(first.get(i).getType(), parts));
+        }
+
+        return result;
+    }
+
+    /**
+     * Splits each of the given tensors into {@code batchSize} tensors of equal length along the first dimension.
+     */
+    static List<List<Tensor>> split(final List<Tensor> tensors, final int batchSize) throws KuraIOException {
+        final List<List<Tensor>> result = new ArrayList<>(batchSize);
+
+        for (int i = 0; i < batchSize; i++) {
+            result.add(new ArrayList<>(tensors.size()));
+        }
+
+        for (final Tensor tensor : tensors) {
+            final List<Tensor> slices = slice(tensor.getType(), tensor, batchSize);
+
+            for (int i = 0; i < batchSize; i++) {
+                result.get(i).add(slices.get(i));
+            }
+        }
+
+        return result;
+    }
+
+    private static <T> Tensor concat(final Class<T> type, final List<Tensor> parts) throws KuraIOException {
+        final TensorDescriptor descriptor = parts.get(0).getDescriptor();
+
+        if (parts.stream().allMatch(part -> part.getType() == type && part.getBuffer().isPresent())) {
+            return concatBuffers(type, descriptor, parts);
+        }
+
+        final List<T> data = new ArrayList<>();
+
+        for (final Tensor part : parts) {
+            final Optional<List<T>> partData = part.getData(type);
+
+            if (!partData.isPresent()) {
+                throw new KuraIOException("The tensor " + descriptor.getName() + " has inconsistent types in batch.");
+            }
+
+            data.addAll(partData.get());
+        }
+
+        return new Tensor(type, withBatchDimension(descriptor, parts.size()), data);
+    }
+
+    private static <T> Tensor concatBuffers(final Class<T> type, final TensorDescriptor descriptor,
+            final List<Tensor> parts) {
+        int size = 0;
+
+        for (final Tensor part : parts) {
+            size += part.getBuffer().get().remaining();
+        }
+
+        final ByteBuffer data = ByteBuffer.allocate(size);
+
+        for (final Tensor part : parts) {
+            data.put(part.getBuffer().get());
+        }
+
+        data.flip();
+
+        return new Tensor(type, withBatchDimension(descriptor, parts.size()), data);
+    }
+
+    private static <T> List<Tensor> slice(final Class<T> type, final Tensor tensor, final int batchSize)
+            throws KuraIOException {
+        final TensorDescriptor descriptor = tensor.getDescriptor();
+        final List<T> data = tensor.getData(type).orElseThrow(
+                () -> new KuraIOException("Unable to retrieve data of tensor " + descriptor.getName()));
+
+        if (data.size() % batchSize != 0) {
+            throw new KuraIOException("The tensor " + descriptor.getName() + " contains " + data.size()
+                    + " elements, that cannot be split in a batch of " + batchSize);
+        }
+
+        final int sliceLength = data.size() / batchSize;
+        final TensorDescriptor sliceDescriptor = withBatchDimension(descriptor, 1);
+        final List<Tensor> result = new ArrayList<>(batchSize);
+        final Optional<ByteBuffer> buffer = tensor.getBuffer();
+
+        if (buffer.isPresent()) {
+            final int sliceBytes = buffer.get().remaining() / batchSize;
+
+            for (int i = 0; i < batchSize; i++) {
+                final ByteBuffer sliceBuffer = buffer.get().duplicate();
+                sliceBuffer.position(i * sliceBytes);
+                sliceBuffer.limit((i + 1) * sliceBytes);
+                result.add(new Tensor(type, sliceDescriptor, sliceBuffer));
+            }
+
+            return result;
+        }
+
+        for (int i = 0; i < batchSize; i++) {
+            result.add(new Tensor(type, sliceDescriptor,
+                    new ArrayList<>(data.subList(i * sliceLength, (i + 1) * sliceLength))));
+        }
+
+        return result;
+    }
+
+    private static TensorDescriptor withBatchDimension(final TensorDescriptor descriptor, final long batchSize) {
+        final List<Long> shape = new ArrayList<>(descriptor.getShape());
+
+        if (shape.isEmpty()) {
+            shape.add(batchSize);
+        } else {
+            shape.set(0, batchSize);
+        }
+
+        return new TensorDescriptor(descriptor.getName(), descriptor.getType(), descriptor.getFormat(), shape,
+                descriptor.getParameters());
+    }
+
+    private static void shutdownAndAwait(final ExecutorService executor) {
+        executor.shutdown();
+
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Inference pipeline stage did not terminate in time");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    private static ThreadFactory namedThreadFactory(final String name) {
+        return r -> {
+            final Thread thread = new Thread(r, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private interface Stage {
+
+        Batch apply(Batch batch) throws KuraException;
+    }
+
+    private static final class Batch {
+
+        private final long enqueueNanos;
+        private final StringBuilder latencies = new StringBuilder();
+
+        private List<WireRecord> wireRecords;
+        private InferenceModels models;
+        private List<Tensor> tensors;
+        private List<List<WireRecord>> results;
+
+        Batch(final List<WireRecord> wireRecords, final long enqueueNanos) {
+            this.wireRecords = wireRecords;
+            this.enqueueNanos = enqueueNanos;
+        }
+    }
+
+    private static final class StageStatistics {
+
+        private final String name;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        StageStatistics(final String name) {
+            this.name = name;
+        }
+
+        void record(final long nanos) {
+            this.count.increment();
+            this.totalNanos.add(nanos);
+            this.maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        @Override
+        public String toString() {
+            final long samples = this.count.sum();
+            final long average = samples == 0 ? 0 : this.totalNanos.sum() / samples;
+
+            return this.name + " " + TimeUnit.NANOSECONDS.toMicros(average) + "/"
+                    + TimeUnit.NANOSECONDS.toMicros(this.maxNanos.get()) + " us";
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ ******************************************************************************/
+package org.eclipse.kura.wire.ai.component.provider;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.eclipse.kura.KuraException;
+import org.eclipse.kura.ai.inference.InferenceEngineService;
+import org.eclipse.kura.ai.inference.ModelInfo;
+import org.eclipse.kura.ai.inference.Tensor;
+import org.eclipse.kura.wire.WireRecord;
+
+/**
+ * An immutable snapshot of the {@link InferenceEngineService} and of the models used by the {@link AIComponent}. It
+ * provides the individual steps of the processing so that they can be executed either in sequence or in separate
+ * pipeline stages.
+ */
+final class InferenceModels {
+
+    private final InferenceEngineService engine;
+    private final Optional<ModelInfo> infoPre;
+    private final ModelInfo infoInfer;
+    private final Optional<ModelInfo> infoPost;
+
+    InferenceModels(InferenceEngineService engine, Optional<ModelInfo> infoPre, ModelInfo infoInfer,
+            Optional<ModelInfo> infoPost) {
+        this.engine = engine;
+        this.infoPre = infoPre;
+        this.infoInfer = infoInfer;
+        this.infoPost = infoPost;
+    }
+
+    List<Tensor> toInputTensors(WireRecord wireRecord) throws KuraException {
+        final ModelInfo firstModel = this.infoPre.isPresent() ? this.infoPre.get() : this.infoInfer;
+
+        return TensorListAdapter.givenDescriptors(firstModel.getInputs()).fromWireRecord(wireRecord);
+    }
+
+    List<Tensor> preprocess(List<Tensor> tensors) throws KuraException {
+        if (this.infoPre.isPresent()) {
+            return this.engine.infer(this.infoPre.get(), tensors);
+        }
+        return tensors;
+    }
+
+    List<Tensor> infer(List<Tensor> tensors) throws KuraException {
+        return this.engine.infer(this.infoInfer, tensors);
+    }
+
+    List<Tensor> postprocess(List<Tensor> tensors) throws KuraException {
+        if (this.infoPost.isPresent()) {
+            return this.engine.infer(this.infoPost.get(), tensors);
+        }
+        return tensors;
+    }
+
+    List<WireRecord> toWireRecords(List<Tensor> tensors) throws KuraException {
+        final ModelInfo lastModel = this.infoPost.isPresent() ? this.infoPost.get() : this.infoInfer;
+
+        return TensorListAdapter.givenDescriptors(lastModel.getOutputs()).fromTensorList(tensors);
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Eurotech and/or its affiliates and others
+ * Copyright (c) 2022, 2023 Eurotech and/or its affiliates and others
  *
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -12,9 +12,9 @@
  ******************************************************************************/
 package org.eclipse.kura.wire.ai.component.provider;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -31,14 +31,10 @@ import org.eclipse.kura.wire.WireRecord;
 
 public class TensorListAdapter {
 
-    private static TensorListAdapter instance;
-    private List<TensorDescriptor> descriptors;
+    private final List<TensorDescriptor> descriptors;
 
-    private TensorListAdapter() {
-    }
-
-    private void setDescriptors(List<TensorDescriptor> descriptors) {
-        instance.descriptors = descriptors;
+    private TensorListAdapter(List<TensorDescriptor> descriptors) {
+        this.descriptors = descriptors;
     }
 
     /**
@@ -48,11 +44,7 @@ public class TensorListAdapter {
      * @return the {@link TensorListAdapter} with the descriptors set
      */
     public static TensorListAdapter givenDescriptors(List<TensorDescriptor> descriptors) {
-        if (instance == null) {
-            instance = new TensorListAdapter();
-        }
-        instance.setDescriptors(descriptors);
-        return instance;
+        return new TensorListAdapter(descriptors);
     }
 
     /**
@@ -61,15 +53,15 @@ public class TensorListAdapter {
      * @return a list of {@link Tensor}, one for each property in the {@code wireRecord}.
      *         <p>
      *         Each created {@link Tensor} will contain a data list of length 1 if the type is BOOLEAN, DOUBLE, FLOAT,
-     *         INTEGER, LONG, STRING. In case of BYTE_ARRAY the list is equal to the length of the array.
+     *         INTEGER, LONG, STRING. In case of BYTE_ARRAY the tensor is backed by a buffer wrapping the array.
      * @throws KuraException
      *             if no descriptor matches the record name or the type is not a {@link org.eclipse.kura.type.DataType}
      */
     public List<Tensor> fromWireRecord(WireRecord wireRecord) throws KuraException {
-        List<Tensor> output = new LinkedList<>();
+        List<Tensor> output = new ArrayList<>(this.descriptors.size());
 
         // each descriptor name must have an entry in the record
-        for (TensorDescriptor descriptor : instance.descriptors) {
+        for (TensorDescriptor descriptor : this.descriptors) {
             TypedValue<?> value = getTypedValueByNameFromMap(descriptor.getName(), wireRecord.getProperties());
             output.add(createTensorFromTypedValue(value, descriptor));
         }
@@ -103,7 +95,11 @@ public class TensorListAdapter {
                 List<?> tensorDataList = (List<?>) tensorData.get();
                 Object data;
 
-                if (tensorType.isAssignableFrom(Byte.class)) {
+                Optional<ByteBuffer> tensorBuffer = tensor.getBuffer();
+
+                if (tensorType == Byte.class && tensorBuffer.isPresent()) {
+                    data = toByteArray(tensorBuffer.get());
+                } else if (tensorType.isAssignableFrom(Byte.class)) {
                     data = toByteArray(tensorDataList);
                 } else {
                     if (tensorDataList.size() != 1) {
@@ -143,14 +139,7 @@ public class TensorListAdapter {
 
             return new Tensor(Boolean.class, descriptor, boolData);
         case BYTE_ARRAY:
-            byte[] byteArrayValue = (byte[]) value;
-
-            List<Byte> byteArrayData = new ArrayList<>();
-            for (byte b : byteArrayValue) {
-                byteArrayData.add(b);
-            }
-
-            return new Tensor(Byte.class, descriptor, byteArrayData);
+            return new Tensor(Byte.class, descriptor, ByteBuffer.wrap((byte[]) value));
         case DOUBLE:
             List<Double> doubleData = new ArrayList<>();
             doubleData.add((Double) value);
@@ -181,6 +170,12 @@ public class TensorListAdapter {
         }
     }
 
+    private byte[] toByteArray(ByteBuffer buffer) {
+        byte[] result = new byte[buffer.remaining()];
+        buffer.get(result);
+        return result;
+    }
+
     private byte[] toByteArray(List<?> bytes) {
         byte[] result = new byte[bytes.size()];
 
@@ -29,7 +29,11 @@ import org.eclipse.kura.wire.WireEmitter;
 import org.eclipse.kura.wire.WireEnvelope;
 import org.eclipse.kura.wire.WireHelperService;
 import org.eclipse.kura.wire.WireRecord;
+import org.eclipse.kura.wire.graph.CachingAggregatorFactory;
 import org.eclipse.kura.wire.graph.MultiportWireSupport;
+import org.eclipse.kura.wire.graph.PortAggregator;
+import org.eclipse.kura.wire.graph.ReceiverPort;
+import org.eclipse.kura.wire.graph.TimedBarrierAggregatorFactory;
 import org.eclipse.kura.wire.multiport.MultiportWireReceiver;
 import org.osgi.framework.ServiceReference;
 import org.osgi.service.component.ComponentContext;
@@ -42,9 +46,10 @@ public final class JoinComponent implements MultiportWireReceiver, WireEmitter,
     private static final Logger logger = LoggerFactory.getLogger(JoinComponent.class);
 
     private volatile WireHelperService wireHelperService;
+    private TimedBarrierAggregatorFactory barrierAggregatorFactory;
+    private CachingAggregatorFactory cachingAggregatorFactory;
 
     private MultiportWireSupport wireSupport;
-    private ComponentContext context;
     private JoinComponentOptions joinComponentOptions;
 
     public void bindWireHelperService(final WireHelperService wireHelperService) {
@@ -59,9 +64,28 @@ public final class JoinComponent implements MultiportWireReceiver, WireEmitter,
         }
     }
 
+    public void bindTimedBarrierAggregatorFactory(final TimedBarrierAggregatorFactory barrierAggregatorFactory) {
+        this.barrierAggregatorFactory = barrierAggregatorFactory;
+    }
+
+    public void unbindTimedBarrierAggregatorFactory(final TimedBarrierAggregatorFactory barrierAggregatorFactory) {
+        if (this.barrierAggregatorFactory == barrierAggregatorFactory) {
+            this.barrierAggregatorFactory = null;
+        }
+    }
+
+    public void bindCachingAggregatorFactory(final CachingAggregatorFactory cachingAggregatorFactory) {
+        this.cachingAggregatorFactory = cachingAggregatorFactory;
+    }
+
+    public void unbindCachingAggregatorFactory(final CachingAggregatorFactory cachingAggregatorFactory) {
+        if (this.cachingAggregatorFactory == cachingAggregatorFactory) {
+            this.cachingAggregatorFactory = null;
+        }
+    }
+
     protected void activate(final ComponentContext componentContext, final Map<String, Object> properties) {
         logger.debug("Activating Join Wire Component...");
-        this.context = componentContext;
         this.wireSupport = (MultiportWireSupport) this.wireHelperService.newWireSupport(this,
                 (ServiceReference<WireComponent>) componentContext.getServiceReference());
 
@@ -72,20 +96,27 @@ public final class JoinComponent implements MultiportWireReceiver, WireEmitter,
 
     public void updated(final Map<String, Object> properties) {
         logger.debug("Updating Join Wire Component...");
-        this.joinComponentOptions = new JoinComponentOptions(properties, context.getBundleContext());
+        this.joinComponentOptions = new JoinComponentOptions(properties);
 
-        this.joinComponentOptions.getPortAggregatorFactory().build(wireSupport.getReceiverPorts())
-                .onWireReceive(this::onWireReceive);
+        buildPortAggregator(this.wireSupport.getReceiverPorts()).onWireReceive(this::onWireReceive);
 
         logger.debug("Updating Join Wire Component... Done");
     }
 
+    private PortAggregator buildPortAggregator(final List<ReceiverPort> ports) {
+        if (this.joinComponentOptions.isBarrierModality()) {
+            return this.barrierAggregatorFactory.build(ports, this.joinComponentOptions.getBarrierWindowMillis());
+        }
+
+        return this.cachingAggregatorFactory.build(ports);
+    }
+
     private void onWireReceive(List<WireEnvelope> envelopes) {
         final WireEnvelope firstEnvelope = envelopes.get(0);
         final WireEnvelope secondEnvelope = envelopes.get(1);
         final List<WireRecord> firstRecords = firstEnvelope != null ? firstEnvelope.getRecords()
                 : Collections.emptyList();
-        final List<WireRecord> secondRecords = firstEnvelope != null ? secondEnvelope.getRecords()
+        final List<WireRecord> secondRecords = secondEnvelope != null ? secondEnvelope.getRecords()
                 : Collections.emptyList();
         final List<WireRecord> result = new ArrayList<>();
         forEachPair(firstRecords.iterator(), secondRecords.iterator(), (first, second) -> {
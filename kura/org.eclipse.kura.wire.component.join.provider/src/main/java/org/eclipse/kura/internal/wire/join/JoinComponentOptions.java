@@ -16,34 +16,31 @@ import static java.util.Objects.requireNonNull;
 
 import java.util.Map;
 
-import org.eclipse.kura.wire.graph.BarrierAggregatorFactory;
-import org.eclipse.kura.wire.graph.CachingAggregatorFactory;
-import org.eclipse.kura.wire.graph.PortAggregatorFactory;
-import org.osgi.framework.BundleContext;
-
 public class JoinComponentOptions {
 
     private static final String BARRIER_MODALITY_PROPERTY_KEY = "barrier";
 
     private static final boolean BARRIER_MODALITY_PROPERTY_DEFAULT = true;
 
+    private static final String BARRIER_WINDOW_PROPERTY_KEY = "barrier.window.ms";
+
+    private static final long BARRIER_WINDOW_PROPERTY_DEFAULT = 0L;
+
     private final Map<String, Object> properties;
-    private final BundleContext context;
 
-    JoinComponentOptions(final Map<String, Object> properties, BundleContext context) {
+    JoinComponentOptions(final Map<String, Object> properties) {
         requireNonNull(properties, "Properties must be not null");
         this.properties = properties;
-        this.context = context;
     }
 
-    PortAggregatorFactory getPortAggregatorFactory() { // TODO fix service reference count
-        final boolean useBarrier = (Boolean) properties.getOrDefault(BARRIER_MODALITY_PROPERTY_KEY,
-                BARRIER_MODALITY_PROPERTY_DEFAULT);
-        if (useBarrier) {
-            return context.getService(context.getServiceReference(BarrierAggregatorFactory.class));
-        } else {
-            return context.getService(context.getServiceReference(CachingAggregatorFactory.class));
-        }
+    boolean isBarrierModality() {
+        return (Boolean) properties.getOrDefault(BARRIER_MODALITY_PROPERTY_KEY, BARRIER_MODALITY_PROPERTY_DEFAULT);
+    }
+
+    long getBarrierWindowMillis() {
+        final Object window = properties.getOrDefault(BARRIER_WINDOW_PROPERTY_KEY, BARRIER_WINDOW_PROPERTY_DEFAULT);
+
+        return window instanceof Number ? Math.max(0, ((Number) window).longValue()) : 0;
     }
 
 }
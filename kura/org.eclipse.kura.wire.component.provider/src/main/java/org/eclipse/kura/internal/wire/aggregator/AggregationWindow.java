@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ * 
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.internal.wire.aggregator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+
+import org.eclipse.kura.type.TypedValue;
+import org.eclipse.kura.wire.WireRecord;
+
+/**
+ * Keeps the accumulators of the current window, for every group and property.
+ * <p>
+ * A sliding window is split in panes as long as the slide interval. Every pane has its own accumulators, closing the
+ * window merges all the panes and then recycles the oldest one. Tumbling and count windows have a single pane.
+ * Accumulators are only allocated the first time a group or a property is seen.
+ * <p>
+ * This class is not thread safe.
+ */
+final class AggregationWindow {
+
+    private final int paneCount;
+    private final int windowRecords;
+    private final int downsamplingFactor;
+    private final Set<String> propertyNames;
+    private final List<Statistic> statistics;
+    private final Optional<String> groupBy;
+
+    private final Map<TypedValue<?>, Map<String, StatisticsAccumulator[]>> groups = new LinkedHashMap<>();
+    private final StatisticsAccumulator scratch = new StatisticsAccumulator();
+
+    private int currentPane;
+    private long receivedRecords;
+    private int windowRecordCount;
+
+    AggregationWindow(final AggregatorOptions options) {
+        final WindowType windowType = options.getWindowType();
+
+        if (windowType == WindowType.SLIDING) {
+            final int slide = Math.max(1, options.getWindowSlide());
+            this.paneCount = Math.max(1, (options.getWindowLength() + slide - 1) / slide);
+        } else {
+            this.paneCount = 1;
+        }
+
+        this.windowRecords = windowType == WindowType.COUNT ? Math.max(1, options.getWindowRecords())
+                : Integer.MAX_VALUE;
+        this.downsamplingFactor = options.getDownsamplingFactor();
+        this.propertyNames = options.getPropertyNames();
+        this.statistics = options.getStatistics();
+        this.groupBy = options.getGroupBy();
+    }
+
+    /**
+     * Adds the numeric properties of the given record to the current pane.
+     *
+     * @param wireRecord
+     *            the received record
+     * @return true if a count window has been filled and must be closed
+     */
+    boolean add(final WireRecord wireRecord) {
+        if (this.receivedRecords++ % this.downsamplingFactor != 0) {
+            return false;
+        }
+
+        final Map<String, TypedValue<?>> properties = wireRecord.getProperties();
+        final TypedValue<?> groupValue = this.groupBy.isPresent() ? properties.get(this.groupBy.get()) : null;
+
+        Map<String, StatisticsAccumulator[]> group = this.groups.get(groupValue);
+
+        if (group == null) {
+            group = new HashMap<>();
+            this.groups.put(groupValue, group);
+        }
+
+        for (final Entry<String, TypedValue<?>> entry : properties.entrySet()) {
+            final String name = entry.getKey();
+            final Object value = entry.getValue().getValue();
+
+            if (!(value instanceof Number) || !isAggregated(name)) {
+                continue;
+            }
+
+            StatisticsAccumulator[] panes = group.get(name);
+
+            if (panes == null) {
+                panes = newPanes();
+                group.put(name, panes);
+            }
+
+            panes[this.currentPane].add(((Number) value).doubleValue());
+        }
+
+        return ++this.windowRecordCount >= this.windowRecords;
+    }
+
+    /**
+     * Computes one summary record for every group that received samples during the window and moves to the next
+     * pane.
+     *
+     * @return the summary records
+     */
+    List<WireRecord> close() {
+        final List<WireRecord> result = new ArrayList<>();
+
+        for (final Entry<TypedValue<?>, Map<String, StatisticsAccumulator[]>> group : this.groups.entrySet()) {
+            final Map<String, TypedValue<?>> properties = new HashMap<>();
+
+            for (final Entry<String, StatisticsAccumulator[]> property : group.getValue().entrySet()) {
+                this.scratch.reset();
+
+                for (final StatisticsAccumulator pane : property.getValue()) {
+                    this.scratch.merge(pane);
+                }
+
+                if (this.scratch.getCount() == 0) {
+                    continue;
+                }
+
+                for (final Statistic statistic : this.statistics) {
+                    properties.put(property.getKey() + "_" + statistic.getSuffix(), statistic.getValue(this.scratch));
+                }
+            }
+
+            if (properties.isEmpty()) {
+                continue;
+            }
+
+            if (group.getKey() != null) {
+                properties.put(this.groupBy.get(), group.getKey());
+            }
+
+            result.add(new WireRecord(properties));
+        }
+
+        advance();
+
+        return result;
+    }
+
+    private void advance() {
+        this.currentPane = (this.currentPane + 1) % this.paneCount;
+        this.windowRecordCount = 0;
+
+        final Iterator<Map<String, StatisticsAccumulator[]>> groupIterator = this.groups.values().iterator();
+
+        while (groupIterator.hasNext()) {
+            final Map<String, StatisticsAccumulator[]> group = groupIterator.next();
+            final Iterator<StatisticsAccumulator[]> propertyIterator = group.values().iterator();
+
+            while (propertyIterator.hasNext()) {
+                final StatisticsAccumulator[] panes = propertyIterator.next();
+
+                // drop the accumulators that did not receive samples for a whole window
+                if (isEmpty(panes)) {
+                    propertyIterator.remove();
+                } else {
+                    panes[this.currentPane].reset();
+                }
+            }
+
+            if (group.isEmpty()) {
+                groupIterator.remove();
+            }
+        }
+    }
+
+    private boolean isAggregated(final String name) {
+        if (this.groupBy.isPresent() && this.groupBy.get().equals(name)) {
+            return false;
+        }
+
+        return this.propertyNames.isEmpty() || this.propertyNames.contains(name);
+    }
+
+    private StatisticsAccumulator[] newPanes() {
+        final StatisticsAccumulator[] panes = new StatisticsAccumulator[this.paneCount];
+
+        for (int i = 0; i < panes.length; i++) {
+            panes[i] = new StatisticsAccumulator();
+        }
+
+        return panes;
+    }
+
+    private static boolean isEmpty(final StatisticsAccumulator[] panes) {
+        for (final StatisticsAccumulator pane : panes) {
+            if (pane.getCount() != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ * 
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.internal.wire.aggregator;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.kura.configuration.ConfigurableComponent;
+import org.eclipse.kura.scheduler.SchedulerService;
+import org.eclipse.kura.scheduler.WorkloadClass;
+import org.eclipse.kura.wire.WireComponent;
+import org.eclipse.kura.wire.WireEmitter;
+import org.eclipse.kura.wire.WireEnvelope;
+import org.eclipse.kura.wire.WireHelperService;
+import org.eclipse.kura.wire.WireReceiver;
+import org.eclipse.kura.wire.WireRecord;
+import org.eclipse.kura.wire.WireSupport;
+import org.osgi.framework.ServiceReference;
+import org.osgi.service.component.ComponentContext;
+import org.osgi.service.wireadmin.Wire;
+
+/**
+ * A {@link WireComponent} that computes statistics over the numeric properties of the received
+ * {@link WireRecord}s and emits one summary record per window, and per group if a group-by property is configured.
+ * Time windows are closed by a task scheduled on the {@link SchedulerService}, or by a dedicated thread if the
+ * scheduler is not available, count windows are closed by the thread that delivers the record that fills them.
+ */
+public class Aggregator implements WireEmitter, WireReceiver, ConfigurableComponent {
+
+    private static final Logger logger = LogManager.getLogger(Aggregator.class);
+
+    private volatile WireHelperService wireHelperService;
+    private WireSupport wireSupport;
+
+    private Optional<SchedulerService> schedulerService = Optional.empty();
+
+    private AggregationWindow window;
+    private Optional<ScheduledExecutorService> ownExecutor = Optional.empty();
+    private ScheduledFuture<?> windowTask;
+
+    public void bindWireHelperService(final WireHelperService wireHelperService) {
+        if (isNull(this.wireHelperService)) {
+            this.wireHelperService = wireHelperService;
+        }
+    }
+
+    public void unbindWireHelperService(final WireHelperService wireHelperService) {
+        if (this.wireHelperService == wireHelperService) {
+            this.wireHelperService = null;
+        }
+    }
+
+    public void bindSchedulerService(final SchedulerService schedulerService) {
+        this.schedulerService = Optional.of(schedulerService);
+    }
+
+    public void unbindSchedulerService(final SchedulerService schedulerService) {
+        this.schedulerService = Optional.empty();
+    }
+
+    public void activate(final Map<String, Object> properties, ComponentContext componentContext) {
+        logger.info("Activating Aggregator...");
+        this.wireSupport = this.wireHelperService.newWireSupport(this,
+                (ServiceReference<WireComponent>) componentContext.getServiceReference());
+        updated(properties);
+        logger.info("Activating Aggregator... Done");
+    }
+
+    public void deactivate() {
+        logger.info("Deactivating Aggregator...");
+        stopWindowTask();
+        logger.info("Deactivating Aggregator... Done");
+    }
+
+    public void updated(final Map<String, Object> properties) {
+        logger.info("Updating Aggregator...");
+
+        final AggregatorOptions options = new AggregatorOptions(properties);
+
+        synchronized (this) {
+            stopWindowTask();
+
+            this.window = new AggregationWindow(options);
+
+            final WindowType windowType = options.getWindowType();
+
+            if (windowType != WindowType.COUNT) {
+                final long period = windowType == WindowType.SLIDING ? options.getWindowSlide()
+                        : options.getWindowLength();
+
+                startWindowTask(options.getKuraServicePid() + "-WindowThread", period);
+            }
+
+            logger.debug("Window type: {}, length: {}, slide: {}, records: {}", windowType,
+                    options.getWindowLength(), options.getWindowSlide(), options.getWindowRecords());
+        }
+
+        logger.info("Updating Aggregator... Done");
+    }
+
+    private void startWindowTask(final String name, final long period) {
+        if (this.schedulerService.isPresent()) {
+            this.windowTask = this.schedulerService.get().scheduleAtFixedRate(name, WorkloadClass.IO,
+                    this::closeWindow, period, period, TimeUnit.SECONDS);
+        } else {
+            final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+                final Thread thread = new Thread(r, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            this.ownExecutor = Optional.of(executor);
+            this.windowTask = executor.scheduleAtFixedRate(this::closeWindow, period, period, TimeUnit.SECONDS);
+        }
+    }
+
+    private synchronized void stopWindowTask() {
+        if (this.ownExecutor.isPresent()) {
+            this.ownExecutor.get().shutdownNow();
+            this.ownExecutor = Optional.empty();
+        } else if (this.windowTask != null) {
+            // the scheduler threads are shared, do not interrupt them
+            this.windowTask.cancel(false);
+        }
+        this.windowTask = null;
+    }
+
+    private void closeWindow() {
+        final List<WireRecord> records;
+
+        synchronized (this) {
+            records = this.window.close();
+        }
+
+        emit(records);
+    }
+
+    private void emit(final List<WireRecord> records) {
+        if (!records.isEmpty()) {
+            this.wireSupport.emit(records);
+        }
+    }
+
+    @Override
+    public void onWireReceive(final WireEnvelope wireEnvelope) {
+        requireNonNull(wireEnvelope, "Wire Envelope cannot be null");
+
+        final List<WireRecord> records = new ArrayList<>();
+
+        synchronized (this) {
+            if (this.window == null) {
+                return;
+            }
+
+            for (final WireRecord wireRecord : wireEnvelope.getRecords()) {
+                if (this.window.add(wireRecord)) {
+                    records.addAll(this.window.close());
+                }
+            }
+        }
+
+        emit(records);
+    }
+
+    @Override
+    public Object polled(Wire wire) {
+        return this.wireSupport.polled(wire);
+    }
+
+    @Override
+    public void consumersConnected(Wire[] wires) {
+        this.wireSupport.consumersConnected(wires);
+    }
+
+    @Override
+    public void updated(Wire wire, Object value) {
+        this.wireSupport.updated(wire, value);
+    }
+
+    @Override
+    public void producersConnected(Wire[] wires) {
+        this.wireSupport.producersConnected(wires);
+    }
+}
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ * 
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.internal.wire.aggregator;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.eclipse.kura.configuration.ConfigurationService;
+
+/**
+ * The Class AggregatorOptions is responsible to contain all the Aggregator related
+ * configurable options
+ */
+final class AggregatorOptions {
+
+    private static final String PROP_WINDOW_TYPE = "window.type";
+    private static final String PROP_WINDOW_LENGTH = "window.length";
+    private static final String PROP_WINDOW_SLIDE = "window.slide";
+    private static final String PROP_WINDOW_RECORDS = "window.records";
+    private static final String PROP_PROPERTY_NAMES = "property.names";
+    private static final String PROP_STATISTICS = "statistics";
+    private static final String PROP_GROUP_BY = "group.by";
+    private static final String PROP_DOWNSAMPLING_FACTOR = "downsampling.factor";
+
+    private static final String DEFAULT_WINDOW_TYPE = WindowType.TUMBLING.name();
+    private static final int DEFAULT_WINDOW_LENGTH = 60;
+    private static final int DEFAULT_WINDOW_SLIDE = 10;
+    private static final int DEFAULT_WINDOW_RECORDS = 100;
+    private static final String DEFAULT_STATISTICS = "min,max,avg";
+    private static final int DEFAULT_DOWNSAMPLING_FACTOR = 1;
+
+    private final Map<String, Object> properties;
+
+    /**
+     * Instantiates new Aggregator options.
+     *
+     * @param properties
+     *            the provided properties
+     */
+    AggregatorOptions(final Map<String, Object> properties) {
+        requireNonNull(properties, "Properties cannot be null");
+        this.properties = properties;
+    }
+
+    String getKuraServicePid() {
+        return (String) this.properties.getOrDefault(ConfigurationService.KURA_SERVICE_PID, "Aggregator");
+    }
+
+    WindowType getWindowType() {
+        return WindowType.valueOf((String) this.properties.getOrDefault(PROP_WINDOW_TYPE, DEFAULT_WINDOW_TYPE));
+    }
+
+    /**
+     * Returns the length of time windows in seconds.
+     *
+     * @return the window length
+     */
+    int getWindowLength() {
+        return (Integer) this.properties.getOrDefault(PROP_WINDOW_LENGTH, DEFAULT_WINDOW_LENGTH);
+    }
+
+    /**
+     * Returns the interval in seconds between the emissions of a sliding window.
+     *
+     * @return the slide interval
+     */
+    int getWindowSlide() {
+        return (Integer) this.properties.getOrDefault(PROP_WINDOW_SLIDE, DEFAULT_WINDOW_SLIDE);
+    }
+
+    /**
+     * Returns the number of received records that close a count window.
+     *
+     * @return the window size in records
+     */
+    int getWindowRecords() {
+        return (Integer) this.properties.getOrDefault(PROP_WINDOW_RECORDS, DEFAULT_WINDOW_RECORDS);
+    }
+
+    /**
+     * Returns the names of the properties to aggregate.
+     *
+     * @return the property names, an empty set if all numeric properties must be aggregated
+     */
+    Set<String> getPropertyNames() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(split(PROP_PROPERTY_NAMES, "")));
+    }
+
+    List<Statistic> getStatistics() {
+        final List<Statistic> result = new ArrayList<>();
+
+        for (final String suffix : split(PROP_STATISTICS, DEFAULT_STATISTICS)) {
+            final Statistic statistic = Statistic.fromSuffix(suffix);
+
+            if (!result.contains(statistic)) {
+                result.add(statistic);
+            }
+        }
+
+        return Collections.unmodifiableList(result);
+    }
+
+    Optional<String> getGroupBy() {
+        final String groupBy = (String) this.properties.get(PROP_GROUP_BY);
+
+        if (groupBy == null || groupBy.trim().isEmpty()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(groupBy.trim());
+    }
+
+    /**
+     * Returns the downsampling factor, only one received record out of this number is aggregated.
+     *
+     * @return the downsampling factor
+     */
+    int getDownsamplingFactor() {
+        return Math.max(1, (Integer) this.properties.getOrDefault(PROP_DOWNSAMPLING_FACTOR,
+                DEFAULT_DOWNSAMPLING_FACTOR));
+    }
+
+    private List<String> split(final String key, final String defaultValue) {
+        final String value = (String) this.properties.getOrDefault(key, defaultValue);
+        final List<String> result = new ArrayList<>();
+
+        if (value == null) {
+            return result;
+        }
+
+        for (final String item : value.split(",")) {
+            final String trimmed = item.trim();
+
+            if (!trimmed.isEmpty()) {
+                result.add(trimmed);
+            }
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ * 
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.internal.wire.aggregator;
+
+import org.eclipse.kura.type.TypedValue;
+import org.eclipse.kura.type.TypedValues;
+
+enum Statistic {
+
+    MIN("min"),
+    MAX("max"),
+    AVG("avg"),
+    COUNT("count"),
+    STDDEV("stddev");
+
+    private final String suffix;
+
+    private Statistic(final String suffix) {
+        this.suffix = suffix;
+    }
+
+    String getSuffix() {
+        return this.suffix;
+    }
+
+    TypedValue<?> getValue(final StatisticsAccumulator accumulator) {
+        switch (this) {
+        case MIN:
+            return TypedValues.newDoubleValue(accumulator.getMin());
+        case MAX:
+            return TypedValues.newDoubleValue(accumulator.getMax());
+        case AVG:
+            return TypedValues.newDoubleValue(accumulator.getAverage());
+        case COUNT:
+            return TypedValues.newLongValue(accumulator.getCount());
+        default:
+            return TypedValues.newDoubleValue(accumulator.getStandardDeviation());
+        }
+    }
+
+    static Statistic fromSuffix(final String suffix) {
+        for (final Statistic statistic : values()) {
+            if (statistic.suffix.equalsIgnoreCase(suffix)) {
+                return statistic;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported statistic: " + suffix);
+    }
+}
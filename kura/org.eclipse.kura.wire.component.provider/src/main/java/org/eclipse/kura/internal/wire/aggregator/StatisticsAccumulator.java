@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ * 
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.internal.wire.aggregator;
+
+/**
+ * Streaming statistics over a sequence of samples. The mean and the variance are computed with the Welford
+ * algorithm, two accumulators can be merged without looking at the samples again. Adding a sample does not allocate
+ * any object.
+ */
+final class StatisticsAccumulator {
+
+    private long count;
+    private double min;
+    private double max;
+    private double mean;
+    private double m2;
+
+    StatisticsAccumulator() {
+        reset();
+    }
+
+    void add(final double value) {
+        this.count++;
+
+        if (value < this.min) {
+            this.min = value;
+        }
+        if (value > this.max) {
+            this.max = value;
+        }
+
+        final double delta = value - this.mean;
+        this.mean += delta / this.count;
+        this.m2 += delta * (value - this.mean);
+    }
+
+    void merge(final StatisticsAccumulator other) {
+        if (other.count == 0) {
+            return;
+        }
+
+        if (this.count == 0) {
+            set(other);
+            return;
+        }
+
+        final long totalCount = this.count + other.count;
+        final double delta = other.mean - this.mean;
+
+        this.mean += delta * other.count / totalCount;
+        this.m2 += other.m2 + delta * delta * this.count * other.count / totalCount;
+        this.min = Math.min(this.min, other.min);
+        this.max = Math.max(this.max, other.max);
+        this.count = totalCount;
+    }
+
+    void set(final StatisticsAccumulator other) {
+        this.count = other.count;
+        this.min = other.min;
+        this.max = other.max;
+        this.mean = other.mean;
+        this.m2 = other.m2;
+    }
+
+    void reset() {
+        this.count = 0;
+        this.min = Double.POSITIVE_INFINITY;
+        this.max = Double.NEGATIVE_INFINITY;
+        this.mean = 0;
+        this.m2 = 0;
+    }
+
+    long getCount() {
+        return this.count;
+    }
+
+    double getMin() {
+        return this.count == 0 ? Double.NaN : this.min;
+    }
+
+    double getMax() {
+        return this.count == 0 ? Double.NaN : this.max;
+    }
+
+    double getAverage() {
+        return this.count == 0 ? Double.NaN : this.mean;
+    }
+
+    /**
+     * Returns the population standard deviation of the samples.
+     *
+     * @return the standard deviation, {@link Double#NaN} if no samples have been added
+     */
+    double getStandardDeviation() {
+        return this.count == 0 ? Double.NaN : Math.sqrt(this.m2 / this.count);
+    }
+}
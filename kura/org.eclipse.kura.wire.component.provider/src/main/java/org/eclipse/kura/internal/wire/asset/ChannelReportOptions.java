@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.internal.wire.asset;
+
+import java.util.Map;
+
+import org.eclipse.kura.channel.Channel;
+
+/**
+ * The report by exception settings of a single channel, see {@link WireAssetChannelDescriptor}.
+ */
+class ChannelReportOptions {
+
+    static final ChannelReportOptions DEFAULT = new ChannelReportOptions(0, 0, 0, 0, 0);
+
+    private final double absoluteDeadband;
+    private final double percentDeadband;
+    private final double integralDeadband;
+    private final long minReportIntervalMillis;
+    private final long maxReportIntervalMillis;
+
+    private ChannelReportOptions(final double absoluteDeadband, final double percentDeadband,
+            final double integralDeadband, final long minReportIntervalMillis, final long maxReportIntervalMillis) {
+        this.absoluteDeadband = absoluteDeadband;
+        this.percentDeadband = percentDeadband;
+        this.integralDeadband = integralDeadband;
+        this.minReportIntervalMillis = minReportIntervalMillis;
+        this.maxReportIntervalMillis = maxReportIntervalMillis;
+    }
+
+    static ChannelReportOptions fromChannel(final Channel channel) {
+        if (channel == null) {
+            return DEFAULT;
+        }
+
+        final Map<String, Object> properties = channel.getConfiguration();
+
+        final double absoluteDeadband = getDouble(properties, WireAssetConstants.DEADBAND_ABSOLUTE_PROP_NAME);
+        final double percentDeadband = getDouble(properties, WireAssetConstants.DEADBAND_PERCENT_PROP_NAME);
+        final double integralDeadband = getDouble(properties, WireAssetConstants.DEADBAND_INTEGRAL_PROP_NAME);
+        final long minReportIntervalMillis = (long) getDouble(properties,
+                WireAssetConstants.REPORT_MIN_INTERVAL_PROP_NAME);
+        final long maxReportIntervalMillis = (long) getDouble(properties,
+                WireAssetConstants.REPORT_MAX_INTERVAL_PROP_NAME);
+
+        if (absoluteDeadband == 0 && percentDeadband == 0 && integralDeadband == 0 && minReportIntervalMillis == 0
+                && maxReportIntervalMillis == 0) {
+            return DEFAULT;
+        }
+
+        return new ChannelReportOptions(absoluteDeadband, percentDeadband, integralDeadband, minReportIntervalMillis,
+                maxReportIntervalMillis);
+    }
+
+    double getAbsoluteDeadband() {
+        return this.absoluteDeadband;
+    }
+
+    double getPercentDeadband() {
+        return this.percentDeadband;
+    }
+
+    double getIntegralDeadband() {
+        return this.integralDeadband;
+    }
+
+    long getMinReportIntervalMillis() {
+        return this.minReportIntervalMillis;
+    }
+
+    long getMaxReportIntervalMillis() {
+        return this.maxReportIntervalMillis;
+    }
+
+    boolean hasDeadband() {
+        return this.absoluteDeadband > 0 || this.percentDeadband > 0 || this.integralDeadband > 0;
+    }
+
+    private static double getDouble(final Map<String, Object> properties, final WireAssetConstants property) {
+        final Object value = properties.get(property.value());
+
+        try {
+            final double result;
+
+            if (value instanceof Number) {
+                result = ((Number) value).doubleValue();
+            } else if (value instanceof String && !((String) value).trim().isEmpty()) {
+                result = Double.parseDouble((String) value);
+            } else {
+                return 0;
+            }
+
+            return result > 0 && !Double.isNaN(result) ? result : 0;
+        } catch (final NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -1,32 +1,50 @@
 /*******************************************************************************
- * Copyright (c) 2022 Eurotech and/or its affiliates and others
- * 
+ * Copyright (c) 2022, 2023 Eurotech and/or its affiliates and others
+ *
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
  * which is available at https://www.eclipse.org/legal/epl-2.0/
- * 
+ *
  * SPDX-License-Identifier: EPL-2.0
- * 
+ *
  * Contributors:
  *  Eurotech
  *******************************************************************************/
 package org.eclipse.kura.internal.wire.asset;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
+import org.eclipse.kura.channel.Channel;
 import org.eclipse.kura.channel.ChannelFlag;
 import org.eclipse.kura.channel.ChannelRecord;
+import org.eclipse.kura.type.DataType;
 import org.eclipse.kura.type.TypedValue;
 
+/**
+ * Decides which channel records should be emitted, according to the emit on change setting of the asset and to the
+ * report by exception settings of each channel ({@link ChannelReportOptions}).
+ * <p>
+ * The state of each channel is kept in a mutable object that is reused across invocations, numeric values are
+ * compared as primitives.
+ */
 public class ValueChangeCache {
 
-    private final Map<String, TypedValue<?>> cache = new HashMap<>();
+    private final Map<String, ChannelState> cache = new HashMap<>();
+    private final boolean emitOnChange;
 
-    private boolean update(final ChannelRecord channelRecord) {
+    public ValueChangeCache() {
+        this(true);
+    }
+
+    public ValueChangeCache(final boolean emitOnChange) {
+        this.emitOnChange = emitOnChange;
+    }
+
+    private boolean update(final ChannelRecord channelRecord, final Map<String, Channel> channels) {
 
         final String key = channelRecord.getChannelName();
 
@@ -37,21 +55,133 @@ public class ValueChangeCache {
             return true;
         }
 
+        final Channel channel = channels.get(key);
+        ChannelState state = cache.get(key);
+
+        if (state == null || state.channel != channel) {
+            state = new ChannelState(channel);
+            cache.put(key, state);
+        }
+
         final TypedValue<?> value = channelRecord.getValue();
+        final long timestamp = channelRecord.getTimestamp() > 0 ? channelRecord.getTimestamp()
+                : System.currentTimeMillis();
+
+        return state.update(value, timestamp, this.emitOnChange);
+    }
 
-        if (Objects.equals(cache.get(key), value)) {
-            return false;
+    /**
+     * Returns the records that should be emitted. If no record is filtered out, the provided list is returned.
+     */
+    public synchronized List<ChannelRecord> filterRecords(final List<ChannelRecord> channelRecords,
+            final Map<String, Channel> channels) {
+
+        List<ChannelRecord> result = null;
+
+        for (int i = 0; i < channelRecords.size(); i++) {
+            final ChannelRecord channelRecord = channelRecords.get(i);
+            final boolean emit = update(channelRecord, channels);
+
+            if (result == null && !emit) {
+                result = new ArrayList<>(channelRecords.subList(0, i));
+            } else if (result != null && emit) {
+                result.add(channelRecord);
+            }
         }
 
-        cache.put(key, value);
+        return result != null ? result : channelRecords;
+    }
 
-        return true;
+    private static boolean isNumeric(final TypedValue<?> value) {
+        final DataType type = value.getType();
 
+        return type == DataType.DOUBLE || type == DataType.FLOAT || type == DataType.INTEGER
+                || type == DataType.LONG;
     }
 
-    public synchronized List<ChannelRecord> filterRecords(final List<ChannelRecord> channelRecords) {
+    private static final class ChannelState {
+
+        private final Channel channel;
+        private final ChannelReportOptions options;
+
+        private TypedValue<?> lastReported;
+        private double lastReportedNumber;
+        private long lastReportTimestamp;
+
+        private double lastSampleNumber;
+        private long lastSampleTimestamp;
+        private double integral;
+
+        ChannelState(final Channel channel) {
+            this.channel = channel;
+            this.options = ChannelReportOptions.fromChannel(channel);
+        }
+
+        boolean update(final TypedValue<?> value, final long timestamp, final boolean emitOnChange) {
+            final boolean isNumeric = isNumeric(value);
+            final double sample = isNumeric ? ((Number) value.getValue()).doubleValue() : 0;
+
+            final boolean shouldReport = shouldReport(value, isNumeric, sample, timestamp, emitOnChange);
+
+            if (shouldReport) {
+                this.lastReported = value;
+                this.lastReportedNumber = sample;
+                this.lastReportTimestamp = timestamp;
+                this.integral = 0;
+            }
+
+            this.lastSampleNumber = sample;
+            this.lastSampleTimestamp = timestamp;
+
+            return shouldReport;
+        }
+
+        private boolean shouldReport(final TypedValue<?> value, final boolean isNumeric, final double sample,
+                final long timestamp, final boolean emitOnChange) {
+            if (this.lastReported == null) {
+                return true;
+            }
+
+            if (isNumeric && this.options.getIntegralDeadband() > 0) {
+                // the deviation of the previous sample is held until the current one
+                this.integral += Math.abs(this.lastSampleNumber - this.lastReportedNumber)
+                        * Math.max(0, timestamp - this.lastSampleTimestamp) / 1000.0;
+            }
+
+            final long sinceLastReport = timestamp - this.lastReportTimestamp;
+            final long minInterval = this.options.getMinReportIntervalMillis();
+            final long maxInterval = this.options.getMaxReportIntervalMillis();
 
-        return channelRecords.stream().filter(this::update).collect(Collectors.toList());
+            if (minInterval > 0 && sinceLastReport < minInterval) {
+                return false;
+            }
+
+            if (maxInterval > 0 && sinceLastReport >= maxInterval) {
+                return true;
+            }
+
+            if (isNumeric && this.options.hasDeadband()) {
+                return isOutsideDeadband(sample);
+            }
+
+            return !emitOnChange || !Objects.equals(this.lastReported, value);
+        }
+
+        private boolean isOutsideDeadband(final double sample) {
+            final double delta = Math.abs(sample - this.lastReportedNumber);
+
+            if (Double.isNaN(delta)) {
+                return Double.compare(sample, this.lastReportedNumber) != 0;
+            }
+
+            final double absolute = this.options.getAbsoluteDeadband();
+            final double percent = this.options.getPercentDeadband();
+            final double integralLimit = this.options.getIntegralDeadband();
+
+            return absolute > 0 && delta > absolute
+                    || percent > 0 && delta > Math.abs(this.lastReportedNumber) * percent / 100
+                    || integralLimit > 0 && this.integral >= integralLimit;
+        }
     }
 
 }
@@ -22,7 +22,6 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Optional;
 import java.util.Set;
 
 import org.apache.logging.log4j.LogManager;
@@ -106,7 +105,7 @@ public final class WireAsset extends BaseAsset implements WireEmitter, WireRecei
 
     private WireSupport wireSupport;
 
-    private Optional<ValueChangeCache> valueChangeCache = Optional.empty();
+    private ValueChangeCache valueChangeCache = new ValueChangeCache(false);
 
     private WireAssetOptions options = new WireAssetOptions();
 
@@ -164,11 +163,7 @@ public final class WireAsset extends BaseAsset implements WireEmitter, WireRecei
         logger.debug("Updating Wire Asset...");
         this.options = new WireAssetOptions(properties);
 
-        if (this.options.emitOnChange()) {
-            this.valueChangeCache = Optional.of(new ValueChangeCache());
-        } else {
-            this.valueChangeCache = Optional.empty();
-        }
+        this.valueChangeCache = new ValueChangeCache(this.options.emitOnChange());
 
         super.updated(properties);
         logger.debug("Updating Wire Asset...Done");
@@ -308,8 +303,8 @@ public final class WireAsset extends BaseAsset implements WireEmitter, WireRecei
             throw new IllegalArgumentException("Channel Records cannot be empty");
         }
 
-        final List<ChannelRecord> toBeEmitted = this.valueChangeCache.map(c -> c.filterRecords(channelRecords))
-                .orElse(channelRecords);
+        final List<ChannelRecord> toBeEmitted = this.valueChangeCache.filterRecords(channelRecords,
+                getAssetConfiguration().getAssetChannels());
 
         final Map<String, TypedValue<?>> wireRecordProperties;
 
@@ -13,7 +13,12 @@
 
 package org.eclipse.kura.internal.wire.asset;
 
+import static org.eclipse.kura.internal.wire.asset.WireAssetConstants.DEADBAND_ABSOLUTE_PROP_NAME;
+import static org.eclipse.kura.internal.wire.asset.WireAssetConstants.DEADBAND_INTEGRAL_PROP_NAME;
+import static org.eclipse.kura.internal.wire.asset.WireAssetConstants.DEADBAND_PERCENT_PROP_NAME;
 import static org.eclipse.kura.internal.wire.asset.WireAssetConstants.LISTEN_PROP_NAME;
+import static org.eclipse.kura.internal.wire.asset.WireAssetConstants.REPORT_MAX_INTERVAL_PROP_NAME;
+import static org.eclipse.kura.internal.wire.asset.WireAssetConstants.REPORT_MIN_INTERVAL_PROP_NAME;
 
 import org.eclipse.kura.asset.provider.BaseChannelDescriptor;
 import org.eclipse.kura.core.configuration.metatype.Tad;
@@ -36,6 +41,32 @@ public class WireAssetChannelDescriptor extends BaseChannelDescriptor {
 
         this.defaultElements.add(listen);
 
+        this.defaultElements.add(optionalAd(DEADBAND_ABSOLUTE_PROP_NAME, Tscalar.DOUBLE,
+                "Numeric channels only, the value is emitted only if it differs from the last emitted value"
+                        + " by more than this amount. Set to 0 to disable."));
+        this.defaultElements.add(optionalAd(DEADBAND_PERCENT_PROP_NAME, Tscalar.DOUBLE,
+                "Numeric channels only, the value is emitted only if it differs from the last emitted value"
+                        + " by more than this percentage of the last emitted value. Set to 0 to disable."));
+        this.defaultElements.add(optionalAd(DEADBAND_INTEGRAL_PROP_NAME, Tscalar.DOUBLE,
+                "Numeric channels only, the value is emitted when the deviation from the last emitted value,"
+                        + " integrated over time in seconds, exceeds this amount. Set to 0 to disable."));
+        this.defaultElements.add(optionalAd(REPORT_MIN_INTERVAL_PROP_NAME, Tscalar.LONG,
+                "Minimum time in milliseconds between two emitted values. Set to 0 to disable."));
+        this.defaultElements.add(optionalAd(REPORT_MAX_INTERVAL_PROP_NAME, Tscalar.LONG,
+                "If the last emitted value is older than this time in milliseconds, the next read value is emitted"
+                        + " even if it did not change. Set to 0 to disable."));
+    }
+
+    private static Tad optionalAd(final WireAssetConstants property, final Tscalar type, final String description) {
+        final Tad result = new Tad();
+        result.setName(property.value().substring(1));
+        result.setId(property.value());
+        result.setDescription(description);
+        result.setType(type);
+        result.setRequired(false);
+        result.setDefault("0");
+
+        return result;
     }
 
     public static WireAssetChannelDescriptor get() {
@@ -18,6 +18,12 @@ public enum WireAssetConstants {
 
     LISTEN_PROP_NAME(AssetConstants.CHANNEL_DEFAULT_PROPERTY_PREFIX.value() + "listen"),
 
+    DEADBAND_ABSOLUTE_PROP_NAME(AssetConstants.CHANNEL_DEFAULT_PROPERTY_PREFIX.value() + "deadband.absolute"),
+    DEADBAND_PERCENT_PROP_NAME(AssetConstants.CHANNEL_DEFAULT_PROPERTY_PREFIX.value() + "deadband.percent"),
+    DEADBAND_INTEGRAL_PROP_NAME(AssetConstants.CHANNEL_DEFAULT_PROPERTY_PREFIX.value() + "deadband.integral"),
+    REPORT_MIN_INTERVAL_PROP_NAME(AssetConstants.CHANNEL_DEFAULT_PROPERTY_PREFIX.value() + "report.min.interval.ms"),
+    REPORT_MAX_INTERVAL_PROP_NAME(AssetConstants.CHANNEL_DEFAULT_PROPERTY_PREFIX.value() + "report.max.interval.ms"),
+
     PROPERTY_SEPARATOR("_"),
 
     PROP_SINGLE_TIMESTAMP_NAME("assetTimestamp"),
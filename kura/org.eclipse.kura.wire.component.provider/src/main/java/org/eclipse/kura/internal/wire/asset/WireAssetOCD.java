@@ -44,7 +44,9 @@ public class WireAssetOCD extends BaseAssetOCD {
     private static final String EMIT_ON_CHANGE_DESCRIPTION = "If set to true, this component will include"
             + " a channel value in the output emitted in Kura Wires"
             + " only if it is different than the one from the previous read operation or event."
-            + " Channel errors will always be emitted if emit.errors is set to true.";
+            + " Channel errors will always be emitted if emit.errors is set to true."
+            + " Numeric channels can further restrict the emitted values using the deadband and report interval"
+            + " channel properties, these are applied also if this property is set to false.";
 
     private static final String EMIT_EMPTY_ENVELOPES_DESCRIPTION = "If set to false, this component will not emit empty envelopes."
             + " This property can be useful if combined with emit.on.change.";
@@ -0,0 +1,296 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ * 
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.internal.wire.timer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A clock shared by all the ALIGNED timers of this bundle, that generates ticks on the boundaries of the requested
+ * intervals, counted from the epoch.
+ * <p>
+ * Deadlines are computed from the nominal tick times, so that errors do not accumulate, and the clock thread sleeps
+ * until shortly before a deadline and then spins, to achieve sub-millisecond precision. The spinning time adapts to
+ * the wake up latency observed on the system. Ticks of subscriptions with
+ * commensurable intervals happen at the same instants and are fired in the same iteration, in subscription order.
+ * <p>
+ * The clock follows the adjustments of the system clock: the offset between {@link System#nanoTime()} and the wall
+ * clock time is periodically measured again and the deadlines are recomputed if it changed by more than one
+ * millisecond.
+ */
+final class AlignedClock {
+
+    private static final Logger logger = LogManager.getLogger(AlignedClock.class);
+
+    private static final long MIN_SPIN_THRESHOLD_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long MAX_SPIN_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final long RESYNC_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final long MAX_SKEW_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final AlignedClock INSTANCE = new AlignedClock();
+
+    private final Lock lock = new ReentrantLock();
+    private final Condition changed = this.lock.newCondition();
+    private final PriorityQueue<Subscription> subscriptions = new PriorityQueue<>(
+            Comparator.comparingLong((Subscription s) -> s.deadline).thenComparingLong(s -> s.sequence));
+
+    private Thread thread;
+    private long sequence;
+    private long epochOffsetNanos;
+    private long lastResync;
+    private long averageOvershootNanos = MIN_SPIN_THRESHOLD_NANOS;
+
+    static AlignedClock getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * A listener that is notified on each tick. Listeners are called by the clock thread and must return quickly.
+     */
+    interface TickListener {
+
+        /**
+         * @param nominalTimeNanos
+         *            the nominal time of the tick, in nanoseconds since the epoch
+         * @param deadline
+         *            the {@link System#nanoTime()} at which the tick was supposed to fire
+         * @param missedTicks
+         *            the number of ticks that were skipped before this one because the clock thread was late
+         */
+        void onTick(long nominalTimeNanos, long deadline, long missedTicks);
+    }
+
+    Subscription subscribe(final long periodNanos, final long phaseNanos, final TickListener listener) {
+        if (periodNanos <= 0) {
+            throw new IllegalArgumentException("Tick interval must be positive");
+        }
+
+        this.lock.lock();
+        try {
+            if (this.subscriptions.isEmpty()) {
+                resync(System.nanoTime(), true);
+            }
+
+            final Subscription result = new Subscription(periodNanos, Math.floorMod(phaseNanos, periodNanos),
+                    listener, this.sequence++);
+            result.reset(System.nanoTime() + this.epochOffsetNanos, this.epochOffsetNanos);
+            this.subscriptions.add(result);
+
+            if (this.thread == null) {
+                this.thread = new Thread(this::run, "WiresAlignedClock");
+                this.thread.setDaemon(true);
+                this.thread.start();
+            }
+
+            this.changed.signalAll();
+            return result;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void run() {
+        final List<Subscription> due = new ArrayList<>();
+
+        while (true) {
+            this.lock.lock();
+            try {
+                if (!waitForNextDeadline()) {
+                    this.thread = null;
+                    return;
+                }
+
+                final long now = System.nanoTime();
+
+                while (!this.subscriptions.isEmpty() && this.subscriptions.peek().deadline - now <= 0) {
+                    due.add(this.subscriptions.poll());
+                }
+
+                for (final Subscription subscription : due) {
+                    subscription.prepareFire(now, this.epochOffsetNanos);
+                    this.subscriptions.add(subscription);
+                }
+            } finally {
+                this.lock.unlock();
+            }
+
+            for (final Subscription subscription : due) {
+                subscription.fire();
+            }
+            due.clear();
+        }
+    }
+
+    /**
+     * Waits until the earliest deadline is reached, returns false if there are no more subscriptions. Must be called
+     * while holding the lock, the lock is released while spinning.
+     */
+    private boolean waitForNextDeadline() {
+        while (true) {
+            if (this.subscriptions.isEmpty()) {
+                return false;
+            }
+
+            final long now = System.nanoTime();
+
+            if (now - this.lastResync >= RESYNC_INTERVAL_NANOS) {
+                resync(now, false);
+            }
+
+            final long deadline = this.subscriptions.peek().deadline;
+            final long remaining = deadline - now;
+
+            if (remaining <= 0) {
+                return true;
+            }
+
+            final long spinThreshold = getSpinThreshold();
+
+            if (remaining > spinThreshold) {
+                try {
+                    final long overshoot = -this.changed.awaitNanos(remaining - spinThreshold);
+
+                    if (overshoot >= 0) {
+                        this.averageOvershootNanos += (overshoot - this.averageOvershootNanos) / 8;
+                    }
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+                continue;
+            }
+
+            this.lock.unlock();
+            try {
+                while (deadline - System.nanoTime() > 0) {
+                    // spin until the deadline
+                }
+            } finally {
+                this.lock.lock();
+            }
+        }
+    }
+
+    /**
+     * The clock thread starts spinning when the next deadline is closer than the typical wake up latency of the system,
+     * measured as the moving average of the overshoot of the timed waits.
+     */
+    private long getSpinThreshold() {
+        return Math.max(MIN_SPIN_THRESHOLD_NANOS, Math.min(MAX_SPIN_THRESHOLD_NANOS, 2 * this.averageOvershootNanos));
+    }
+
+    private void resync(final long now, final boolean force) {
+        final long offset = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis()) - now;
+
+        this.lastResync = now;
+
+        if (!force && Math.abs(offset - this.epochOffsetNanos) <= MAX_SKEW_NANOS) {
+            return;
+        }
+
+        logger.debug("Aligned clock offset changed by {} ns", offset - this.epochOffsetNanos);
+
+        this.epochOffsetNanos = offset;
+
+        if (!this.subscriptions.isEmpty()) {
+            final List<Subscription> all = new ArrayList<>(this.subscriptions);
+            this.subscriptions.clear();
+
+            for (final Subscription subscription : all) {
+                subscription.reset(now + offset, offset);
+                this.subscriptions.add(subscription);
+            }
+        }
+    }
+
+    final class Subscription {
+
+        private final long periodNanos;
+        private final long phaseNanos;
+        private final TickListener listener;
+        private final long sequence;
+
+        private long nominalTime;
+        private long deadline;
+
+        private long firedNominalTime;
+        private long firedDeadline;
+        private long firedMissedTicks;
+
+        private Subscription(final long periodNanos, final long phaseNanos, final TickListener listener,
+                final long sequence) {
+            this.periodNanos = periodNanos;
+            this.phaseNanos = phaseNanos;
+            this.listener = listener;
+            this.sequence = sequence;
+        }
+
+        /**
+         * Moves the next tick to the first boundary after the given wall clock time.
+         */
+        private void reset(final long nowEpochNanos, final long epochOffset) {
+            this.nominalTime = nextBoundary(nowEpochNanos);
+            this.deadline = this.nominalTime - epochOffset;
+        }
+
+        private long nextBoundary(final long epochNanos) {
+            return (Math.floorDiv(epochNanos - this.phaseNanos, this.periodNanos) + 1) * this.periodNanos
+                    + this.phaseNanos;
+        }
+
+        private void prepareFire(final long now, final long epochOffset) {
+            this.firedNominalTime = this.nominalTime;
+            this.firedDeadline = this.deadline;
+
+            long next = this.nominalTime + this.periodNanos;
+
+            if (next - epochOffset - now <= 0) {
+                // the clock is late by more than one interval, skip the missed ticks and keep the alignment
+                next = nextBoundary(now + epochOffset);
+                this.firedMissedTicks = (next - this.nominalTime) / this.periodNanos - 1;
+            } else {
+                this.firedMissedTicks = 0;
+            }
+
+            this.nominalTime = next;
+            this.deadline = next - epochOffset;
+        }
+
+        private void fire() {
+            try {
+                this.listener.onTick(this.firedNominalTime, this.firedDeadline, this.firedMissedTicks);
+            } catch (final Exception e) {
+                logger.warn("Tick listener failed", e);
+            }
+        }
+
+        void cancel() {
+            AlignedClock.this.lock.lock();
+            try {
+                AlignedClock.this.subscriptions.remove(this);
+                AlignedClock.this.changed.signalAll();
+            } finally {
+                AlignedClock.this.lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ * 
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.internal.wire.timer;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.kura.scheduler.SchedulerService;
+import org.eclipse.kura.scheduler.WorkloadClass;
+import org.eclipse.kura.wire.WireSupport;
+
+/**
+ * A {@link TimerExecutor} that ticks on the boundaries of the configured interval, using the {@link AlignedClock}
+ * shared by all the ALIGNED timers. The TIMER property of the emitted records contains the nominal time of the tick,
+ * so that the records produced by different timers in the same tick can be matched.
+ * <p>
+ * Ticks are emitted by a dedicated serial executor, if the previous emission is still in progress when a tick occurs
+ * the tick is dropped and counted as an overrun, the following ticks keep their alignment.
+ */
+public class AlignedTimerExecutor implements TimerExecutor {
+
+    private static final Logger logger = LogManager.getLogger(AlignedTimerExecutor.class);
+
+    private static final long STATISTICS_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final String pid;
+    private final WireSupport wireSupport;
+    private final ExecutorService executor;
+    private final boolean isExecutorShared;
+    private final AlignedClock.Subscription subscription;
+
+    private final AtomicBoolean emitting = new AtomicBoolean();
+    private final TickStatistics statistics = new TickStatistics();
+    private volatile boolean shutdown;
+    private long lastStatisticsLog = System.nanoTime();
+
+    public AlignedTimerExecutor(final TimerOptions options, final WireSupport wireSupport,
+            final Optional<SchedulerService> schedulerService) {
+        this.pid = options.getOwnPid();
+        this.wireSupport = wireSupport;
+
+        if (schedulerService.isPresent()) {
+            this.executor = schedulerService.get().newSerialExecutor("WiresTimer_" + this.pid, WorkloadClass.IO);
+            this.isExecutorShared = true;
+        } else {
+            this.executor = Executors.newSingleThreadExecutor(getThreadFactory(this.pid));
+            this.isExecutorShared = false;
+        }
+
+        this.subscription = AlignedClock.getInstance().subscribe(options.getSimpleIntervalNanos(),
+                options.getAlignedPhaseOffsetNanos(), this::onTick);
+    }
+
+    private void onTick(final long nominalTimeNanos, final long deadline, final long missedTicks) {
+        if (this.shutdown) {
+            return;
+        }
+
+        if (!this.emitting.compareAndSet(false, true)) {
+            this.statistics.recordOverrun(missedTicks);
+            return;
+        }
+
+        try {
+            this.executor.execute(() -> emit(nominalTimeNanos, deadline, missedTicks));
+        } catch (final RejectedExecutionException e) {
+            this.emitting.set(false);
+        }
+    }
+
+    private void emit(final long nominalTimeNanos, final long deadline, final long missedTicks) {
+        try {
+            this.statistics.recordTick(System.nanoTime() - deadline, missedTicks);
+
+            Timer.emit(this.wireSupport, TimeUnit.NANOSECONDS.toMillis(nominalTimeNanos));
+        } finally {
+            this.emitting.set(false);
+        }
+
+        if (System.nanoTime() - this.lastStatisticsLog >= STATISTICS_LOG_INTERVAL_NANOS) {
+            logStatistics();
+        }
+    }
+
+    private void logStatistics() {
+        this.lastStatisticsLog = System.nanoTime();
+        logger.info("Timer {} statistics: {}", this.pid, this.statistics.getAndReset());
+    }
+
+    private static ThreadFactory getThreadFactory(final String pid) {
+        final ThreadFactory defaultFactory = Executors.defaultThreadFactory();
+
+        return runnable -> {
+            final Thread result = defaultFactory.newThread(runnable);
+            result.setName("WiresTimer_" + pid + "_" + System.identityHashCode(result));
+            return result;
+        };
+    }
+
+    @Override
+    public void shutdown() {
+        this.shutdown = true;
+        this.subscription.cancel();
+
+        if (this.isExecutorShared) {
+            this.executor.shutdown();
+        } else {
+            this.executor.shutdownNow();
+        }
+
+        logger.debug("Timer {} statistics: {}", this.pid, this.statistics.getAndReset());
+    }
+
+    private static final class TickStatistics {
+
+        private long ticks;
+        private long overruns;
+        private long missed;
+        private long totalLatenessNanos;
+        private long maxLatenessNanos;
+
+        synchronized void recordTick(final long latenessNanos, final long missedTicks) {
+            this.ticks++;
+            this.missed += missedTicks;
+            this.totalLatenessNanos += latenessNanos;
+            this.maxLatenessNanos = Math.max(this.maxLatenessNanos, latenessNanos);
+        }
+
+        synchronized void recordOverrun(final long missedTicks) {
+            this.overruns++;
+            this.missed += missedTicks;
+        }
+
+        synchronized String getAndReset() {
+            final String result = String.format("ticks: %d, overruns: %d, missed: %d, jitter avg/max: %d/%d us",
+                    this.ticks, this.overruns, this.missed,
+                    this.ticks > 0 ? TimeUnit.NANOSECONDS.toMicros(this.totalLatenessNanos / this.ticks) : 0,
+                    TimeUnit.NANOSECONDS.toMicros(this.maxLatenessNanos));
+
+            this.ticks = 0;
+            this.overruns = 0;
+            this.missed = 0;
+            this.totalLatenessNanos = 0;
+            this.maxLatenessNanos = 0;
+
+            return result;
+        }
+    }
+}
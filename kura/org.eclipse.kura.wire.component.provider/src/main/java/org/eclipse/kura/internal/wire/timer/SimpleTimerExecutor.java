@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020 Eurotech and/or its affiliates and others
+ * Copyright (c) 2020, 2023 Eurotech and/or its affiliates and others
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -12,27 +12,44 @@
  *******************************************************************************/
 package org.eclipse.kura.internal.wire.timer;
 
+import java.util.Optional;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
+import org.eclipse.kura.scheduler.SchedulerService;
+import org.eclipse.kura.scheduler.WorkloadClass;
 import org.eclipse.kura.wire.WireSupport;
 
 public class SimpleTimerExecutor implements TimerExecutor {
 
-    private final ScheduledExecutorService executor;
+    private final Optional<ScheduledExecutorService> executor;
+    private final ScheduledFuture<?> future;
 
     public SimpleTimerExecutor(final TimerOptions options, final WireSupport wireSupport) {
-        this.executor = Executors.newSingleThreadScheduledExecutor(getThreadFactory(options.getOwnPid()));
+        this(options, wireSupport, Optional.empty());
+    }
 
-        long firstTickInterval = options.getSimpleInterval() * options.getSimpleTimeUnitMultiplier();
-        if (!options.isDefaultFirstTickBehavior()) {
-            firstTickInterval = options.firstTickInterval() * options.getSimpleTimeUnitMultiplier();
-        }
+    public SimpleTimerExecutor(final TimerOptions options, final WireSupport wireSupport,
+            final Optional<SchedulerService> schedulerService) {
+
+        final long firstTickInterval = options.getFirstTickIntervalNanos();
+        final long period = options.getSimpleIntervalNanos();
+        final Runnable task = () -> Timer.emit(wireSupport);
 
-        this.executor.scheduleAtFixedRate(() -> Timer.emit(wireSupport), firstTickInterval,
-                options.getSimpleInterval() * options.getSimpleTimeUnitMultiplier(), TimeUnit.MILLISECONDS);
+        if (schedulerService.isPresent()) {
+            this.executor = Optional.empty();
+            this.future = schedulerService.get().scheduleAtFixedRate("WiresTimer_" + options.getOwnPid(),
+                    WorkloadClass.IO, task, firstTickInterval, period, TimeUnit.NANOSECONDS);
+        } else {
+            final ScheduledExecutorService ownExecutor = Executors
+                    .newSingleThreadScheduledExecutor(getThreadFactory(options.getOwnPid()));
+
+            this.executor = Optional.of(ownExecutor);
+            this.future = ownExecutor.scheduleAtFixedRate(task, firstTickInterval, period, TimeUnit.NANOSECONDS);
+        }
     }
 
     private static ThreadFactory getThreadFactory(final String pid) {
@@ -47,6 +64,11 @@ public class SimpleTimerExecutor implements TimerExecutor {
 
     @Override
     public void shutdown() {
-        this.executor.shutdownNow();
+        if (this.executor.isPresent()) {
+            this.executor.get().shutdownNow();
+        } else {
+            // the scheduler threads are shared, do not interrupt them
+            this.future.cancel(false);
+        }
     }
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2020 Eurotech and/or its affiliates and others
+ * Copyright (c) 2016, 2023 Eurotech and/or its affiliates and others
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -20,6 +20,7 @@ import java.util.Optional;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.eclipse.kura.configuration.ConfigurableComponent;
+import org.eclipse.kura.scheduler.SchedulerService;
 import org.eclipse.kura.type.TypedValue;
 import org.eclipse.kura.type.TypedValues;
 import org.eclipse.kura.wire.WireComponent;
@@ -42,11 +43,20 @@ public class Timer implements WireEmitter, ConfigurableComponent {
     private WireHelperService wireHelperService;
     private WireSupport wireSupport;
     private Optional<TimerExecutor> timerExecutor = Optional.empty();
+    private Optional<SchedulerService> schedulerService = Optional.empty();
 
     public void bindWireHelperService(final WireHelperService wireHelperService) {
         this.wireHelperService = wireHelperService;
     }
 
+    public void bindSchedulerService(final SchedulerService schedulerService) {
+        this.schedulerService = Optional.of(schedulerService);
+    }
+
+    public void unbindSchedulerService(final SchedulerService schedulerService) {
+        this.schedulerService = Optional.empty();
+    }
+
     @SuppressWarnings("unchecked")
     protected void activate(final ComponentContext ctx, final Map<String, Object> properties) {
         logger.debug("Activating Timer...");
@@ -80,8 +90,12 @@ public class Timer implements WireEmitter, ConfigurableComponent {
         shutdownExecutor();
 
         try {
-            if ("SIMPLE".equalsIgnoreCase(options.getType())) {
-                this.timerExecutor = Optional.of(new SimpleTimerExecutor(options, this.wireSupport));
+            if ("ALIGNED".equalsIgnoreCase(options.getType())) {
+                this.timerExecutor = Optional
+                        .of(new AlignedTimerExecutor(options, this.wireSupport, this.schedulerService));
+            } else if ("SIMPLE".equalsIgnoreCase(options.getType())) {
+                this.timerExecutor = Optional.of(new SimpleTimerExecutor(options, this.wireSupport,
+                        this.schedulerService));
             } else {
                 this.timerExecutor = Optional.of(new CronTimerExecutor(options, this.wireSupport));
             }
@@ -108,8 +122,12 @@ public class Timer implements WireEmitter, ConfigurableComponent {
     }
 
     static void emit(final WireSupport wireSupport) {
+        emit(wireSupport, System.currentTimeMillis());
+    }
+
+    static void emit(final WireSupport wireSupport, final long timestampMillis) {
 
-        final TypedValue<Long> timestamp = TypedValues.newLongValue(System.currentTimeMillis());
+        final TypedValue<Long> timestamp = TypedValues.newLongValue(timestampMillis);
 
         final WireRecord timerWireRecord = new WireRecord(Collections.singletonMap("TIMER", timestamp));
 
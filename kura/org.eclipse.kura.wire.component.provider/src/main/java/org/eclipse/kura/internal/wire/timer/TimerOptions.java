@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2020 Eurotech and/or its affiliates and others
+ * Copyright (c) 2016, 2023 Eurotech and/or its affiliates and others
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -40,6 +40,8 @@ final class TimerOptions {
 
     private static final String PROP_SIMPLE_TICK_CUSTOM_INTERVAL = "simple.custom.first.tick.interval";
 
+    private static final String PROP_ALIGNED_PHASE_OFFSET = "aligned.phase.offset";
+
     private static final String PROP_INTERVAL_TYPE = "type";
 
     private final Map<String, Object> properties;
@@ -124,11 +126,13 @@ final class TimerOptions {
         return (String) this.properties.get(ConfigurationService.KURA_SERVICE_PID);
     }
 
-    long getSimpleTimeUnitMultiplier() {
+    TimeUnit getSimpleTimeUnit() {
         String timeUnitString = (String) this.properties.getOrDefault(PROP_SIMPLE_TIME_UNIT, "SECONDS");
         TimeUnit timeUnit;
 
-        if (TimeUnit.MILLISECONDS.name().equals(timeUnitString)) {
+        if (TimeUnit.MICROSECONDS.name().equals(timeUnitString)) {
+            timeUnit = TimeUnit.MICROSECONDS;
+        } else if (TimeUnit.MILLISECONDS.name().equals(timeUnitString)) {
             timeUnit = TimeUnit.MILLISECONDS;
         } else if (TimeUnit.SECONDS.name().equals(timeUnitString)) {
             timeUnit = TimeUnit.SECONDS;
@@ -142,6 +146,41 @@ final class TimerOptions {
             throw new IllegalArgumentException("Invalid time unit");
         }
 
-        return timeUnit.toMillis(1);
+        return timeUnit;
+    }
+
+    /**
+     * Returns the interval between two ticks, in nanoseconds.
+     *
+     * @return the tick interval
+     */
+    long getSimpleIntervalNanos() {
+        return getSimpleTimeUnit().toNanos(getSimpleInterval());
+    }
+
+    /**
+     * Returns the delay of the first tick, in nanoseconds, according to the first tick policy.
+     *
+     * @return the first tick delay
+     */
+    long getFirstTickIntervalNanos() {
+        if (isDefaultFirstTickBehavior()) {
+            return getSimpleIntervalNanos();
+        }
+        return getSimpleTimeUnit().toNanos(firstTickInterval());
+    }
+
+    /**
+     * Returns the offset of the ticks of an ALIGNED timer from the boundaries of the tick interval, in nanoseconds.
+     *
+     * @return the phase offset
+     */
+    long getAlignedPhaseOffsetNanos() {
+        long offset = 0;
+        final Object phaseOffset = this.properties.get(PROP_ALIGNED_PHASE_OFFSET);
+        if (nonNull(phaseOffset) && phaseOffset instanceof Integer) {
+            offset = (Integer) phaseOffset;
+        }
+        return getSimpleTimeUnit().toNanos(offset);
     }
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2018, 2020 Eurotech and/or its affiliates and others
+ * Copyright (c) 2018, 2023 Eurotech and/or its affiliates and others
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -15,49 +15,137 @@ package org.eclipse.kura.internal.wire.helper;
 
 import static java.util.Objects.requireNonNull;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
 import org.eclipse.kura.wire.WireEnvelope;
 import org.eclipse.kura.wire.graph.PortAggregator;
 import org.eclipse.kura.wire.graph.ReceiverPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+/**
+ * A barrier {@link PortAggregator}, optionally with a time window.
+ * <p>
+ * The slots are kept in an immutable {@link Slots} instance that is replaced with a compare and set operation for
+ * each received envelope, the completed tuple is provided to the consumer without holding any lock, so that a slow
+ * consumer does not block the threads delivering envelopes to the other ports.
+ * <p>
+ * The timeouts are tracked per generation, a thread completing a tuple only cancels the timeout of the generation it
+ * completed and never the one started in the meantime by another thread.
+ */
 public class BarrierAggregator implements PortAggregator {
 
-    private int fullSlots = 0;
-    private final List<WireEnvelope> envelopes;
-    private Consumer<List<WireEnvelope>> consumer = envelopes -> {
+    private static final Logger logger = LoggerFactory.getLogger(BarrierAggregator.class);
+
+    private final int size;
+    private final long windowMillis;
+    private final ScheduledExecutorService scheduler;
+
+    private final AtomicReference<Slots> slots;
+    private final Map<Long, Future<?>> pendingTimeouts = new ConcurrentHashMap<>();
+
+    private volatile Consumer<List<WireEnvelope>> consumer = envelopes -> {
         // do nothing
     };
 
     public BarrierAggregator(List<ReceiverPort> ports) {
+        this(ports, 0, null);
+    }
+
+    BarrierAggregator(final List<ReceiverPort> ports, final long windowMillis,
+            final ScheduledExecutorService scheduler) {
         requireNonNull(ports);
-        envelopes = new ArrayList<>(ports.size());
+
+        if (windowMillis > 0) {
+            requireNonNull(scheduler);
+        }
+
+        this.size = ports.size();
+        this.windowMillis = windowMillis;
+        this.scheduler = scheduler;
+        this.slots = new AtomicReference<>(new Slots(new WireEnvelope[this.size], 0, 0));
 
         for (int i = 0; i < ports.size(); i++) {
-            envelopes.add(null);
-            final Integer port = i;
-
-            ports.get(i).onWireReceive(envelope -> {
-                synchronized (envelopes) {
-                    if (envelopes.get(port) == null) {
-                        fullSlots++;
-                    }
-                    envelopes.set(port, envelope);
-                    if (fullSlots == envelopes.size()) {
-                        consumer.accept(envelopes);
-                        clearSlots();
-                    }
+            final int port = i;
+
+            ports.get(i).onWireReceive(envelope -> onEnvelope(port, envelope));
+        }
+    }
+
+    private void onEnvelope(final int port, final WireEnvelope envelope) {
+        while (true) {
+            final Slots current = this.slots.get();
+            final Slots filled = current.with(port, envelope);
+            final boolean isComplete = filled.filledCount == this.size;
+            final Slots next = isComplete ? current.cleared() : filled;
+
+            if (this.slots.compareAndSet(current, next)) {
+                if (isComplete) {
+                    cancelTimeout(current.generation);
+                    handOff(filled);
+                } else if (current.filledCount == 0 && this.windowMillis > 0) {
+                    scheduleTimeout(current.generation);
                 }
-            });
+                return;
+            }
         }
     }
 
-    private void clearSlots() {
-        fullSlots = 0;
-        for (int i = 0; i < envelopes.size(); i++) {
-            envelopes.set(i, null);
+    private void onTimeout(final long generation) {
+        this.pendingTimeouts.remove(generation);
+
+        while (true) {
+            final Slots current = this.slots.get();
+
+            if (current.generation != generation || current.filledCount == 0) {
+                return;
+            }
+
+            if (this.slots.compareAndSet(current, current.cleared())) {
+                handOff(current);
+                return;
+            }
+        }
+    }
+
+    private void scheduleTimeout(final long generation) {
+        try {
+            final Future<?> timeout = this.scheduler.schedule(() -> onTimeout(generation), this.windowMillis,
+                    TimeUnit.MILLISECONDS);
+
+            this.pendingTimeouts.put(generation, timeout);
+
+            if (this.slots.get().generation != generation) {
+                // the generation has been completed before the timeout was registered
+                cancelTimeout(generation);
+            }
+        } catch (final Exception e) {
+            logger.warn("failed to schedule barrier timeout", e);
+        }
+    }
+
+    private void cancelTimeout(final long generation) {
+        final Future<?> timeout = this.pendingTimeouts.remove(generation);
+
+        if (timeout != null) {
+            timeout.cancel(false);
+        }
+    }
+
+    private void handOff(final Slots tuple) {
+        try {
+            this.consumer.accept(Collections.unmodifiableList(Arrays.asList(tuple.envelopes)));
+        } catch (final Exception e) {
+            logger.warn("unexpected exception while processing envelopes", e);
         }
     }
 
@@ -67,4 +155,30 @@ public class BarrierAggregator implements PortAggregator {
         this.consumer = consumer;
     }
 
+    private static final class Slots {
+
+        private final WireEnvelope[] envelopes;
+        private final int filledCount;
+        private final long generation;
+
+        Slots(final WireEnvelope[] envelopes, final int filledCount, final long generation) {
+            this.envelopes = envelopes;
+            this.filledCount = filledCount;
+            this.generation = generation;
+        }
+
+        Slots with(final int port, final WireEnvelope envelope) {
+            final WireEnvelope[] newEnvelopes = this.envelopes.clone();
+            newEnvelopes[port] = envelope;
+
+            final int newFilledCount = this.envelopes[port] == null ? this.filledCount + 1 : this.filledCount;
+
+            return new Slots(newEnvelopes, newFilledCount, this.generation);
+        }
+
+        Slots cleared() {
+            return new Slots(new WireEnvelope[this.envelopes.length], 0, this.generation + 1);
+        }
+    }
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2018, 2020 Eurotech and/or its affiliates and others
+ * Copyright (c) 2018, 2023 Eurotech and/or its affiliates and others
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -16,36 +16,49 @@ package org.eclipse.kura.internal.wire.helper;
 import static java.util.Objects.requireNonNull;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Consumer;
 
 import org.eclipse.kura.wire.WireEnvelope;
 import org.eclipse.kura.wire.graph.PortAggregator;
 import org.eclipse.kura.wire.graph.ReceiverPort;
 
+/**
+ * A caching {@link PortAggregator}. The slots are stored in an {@link AtomicReferenceArray}, the consumer receives a
+ * snapshot of the slots and is invoked without holding any lock.
+ */
 public class CachingAggregator implements PortAggregator {
 
-    private List<WireEnvelope> envelopes;
-    private Consumer<List<WireEnvelope>> consumer = envelopes -> {
+    private final AtomicReferenceArray<WireEnvelope> envelopes;
+    private volatile Consumer<List<WireEnvelope>> consumer = envelopes -> {
         // do nothing
     };
 
     public CachingAggregator(List<ReceiverPort> ports) {
         requireNonNull(ports);
-        this.envelopes = new ArrayList<>(ports.size());
+        this.envelopes = new AtomicReferenceArray<>(ports.size());
 
         for (int i = 0; i < ports.size(); i++) {
-            this.envelopes.add(null);
-            final Integer port = i;
+            final int port = i;
             ports.get(i).onWireReceive(envelope -> {
-                synchronized (envelopes) {
-                    envelopes.set(port, envelope);
-                    consumer.accept(envelopes);
-                }
+                this.envelopes.set(port, envelope);
+                this.consumer.accept(snapshot());
             });
         }
     }
 
+    private List<WireEnvelope> snapshot() {
+        final List<WireEnvelope> result = new ArrayList<>(this.envelopes.length());
+
+        for (int i = 0; i < this.envelopes.length(); i++) {
+            result.add(this.envelopes.get(i));
+        }
+
+        return Collections.unmodifiableList(result);
+    }
+
     @Override
     public void onWireReceive(Consumer<List<WireEnvelope>> consumer) {
         requireNonNull(consumer);
@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+
+package org.eclipse.kura.internal.wire.helper;
+
+import java.util.List;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import org.eclipse.kura.wire.graph.PortAggregator;
+import org.eclipse.kura.wire.graph.ReceiverPort;
+import org.eclipse.kura.wire.graph.TimedBarrierAggregatorFactory;
+
+public class TimedBarrierAggregatorFactoryImpl implements TimedBarrierAggregatorFactory {
+
+    private ScheduledThreadPoolExecutor scheduler;
+
+    public void activate() {
+        this.scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+            final Thread thread = new Thread(r, "TimedBarrierAggregator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    public void deactivate() {
+        this.scheduler.shutdownNow();
+    }
+
+    @Override
+    public PortAggregator build(List<ReceiverPort> ports) {
+
+        return new BarrierAggregator(ports);
+    }
+
+    @Override
+    public PortAggregator build(List<ReceiverPort> ports, long windowMillis) {
+
+        return new BarrierAggregator(ports, windowMillis, this.scheduler);
+    }
+
+}
@@ -35,6 +35,8 @@ import org.osgi.framework.ServiceReference;
  */
 public final class WireHelperServiceImpl implements WireHelperService {
 
+    private final WireSupportRegistry wireSupportRegistry = new WireSupportRegistry();
+
     /** {@inheritDoc} */
     @Override
     public String getPid(final WireComponent wireComponent) {
@@ -156,6 +158,11 @@ public final class WireHelperServiceImpl implements WireHelperService {
         int emitterPortCount = getIntOrDefault(wireComponentRef.getProperty(EMITTER_PORT_COUNT_PROP_NAME.value()),
                 wireComponent instanceof WireEmitter ? 1 : 0);
 
-        return new WireSupportImpl(wireComponent, servicePid, kuraServicePid, receiverPortCount, emitterPortCount);
+        final WireSupportImpl result = new WireSupportImpl(wireComponent, servicePid, kuraServicePid,
+                receiverPortCount, emitterPortCount, this.wireSupportRegistry);
+
+        this.wireSupportRegistry.register(servicePid, result);
+
+        return result;
     }
 }
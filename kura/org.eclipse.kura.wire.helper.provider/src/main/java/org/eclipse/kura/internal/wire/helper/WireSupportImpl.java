@@ -19,9 +19,9 @@ import static org.eclipse.kura.wire.graph.Constants.WIRE_RECEIVER_PORT_PROP_NAME
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 
@@ -35,11 +35,16 @@ import org.eclipse.kura.wire.graph.MultiportWireSupport;
 import org.eclipse.kura.wire.graph.Port;
 import org.eclipse.kura.wire.graph.ReceiverPort;
 import org.osgi.service.wireadmin.Wire;
+import org.osgi.service.wireadmin.WireConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * The Class WireSupportImpl implements {@link WireSupport}
+ * <p>
+ * Wires are created and tracked by WireAdmin, but envelopes are delivered directly to the {@link WireSupportImpl} of
+ * the receiver if it can be resolved using the {@link WireSupportRegistry}, bypassing {@link Wire#update(Object)}.
+ * WireAdmin dispatch is used as a fallback if the receiver is not known or if it is not yet aware of the wire.
  */
 final class WireSupportImpl implements WireSupport, MultiportWireSupport {
 
@@ -57,8 +62,12 @@ final class WireSupportImpl implements WireSupport, MultiportWireSupport {
 
     private final Map<Wire, ReceiverPortImpl> receiverPortByWire;
 
+    private final WireSupportRegistry registry;
+
+    private volatile boolean superseded;
+
     WireSupportImpl(final WireComponent wireComponent, final String servicePid, final String kuraServicePid,
-            int inputPortCount, int outputPortCount) {
+            int inputPortCount, int outputPortCount, final WireSupportRegistry registry) {
         requireNonNull(wireComponent, "Wire component cannot be null");
         requireNonNull(servicePid, "service pid cannot be null");
         requireNonNull(kuraServicePid, "kura service pid cannot be null");
@@ -66,6 +75,7 @@ final class WireSupportImpl implements WireSupport, MultiportWireSupport {
         this.servicePid = servicePid;
         this.kuraServicePid = kuraServicePid;
         this.wireComponent = wireComponent;
+        this.registry = registry;
 
         if (inputPortCount < 0) {
             throw new IllegalArgumentException("Input port count must be greater or equal than zero");
@@ -76,7 +86,7 @@ final class WireSupportImpl implements WireSupport, MultiportWireSupport {
 
         this.receiverPorts = new ArrayList<>(inputPortCount);
         this.emitterPorts = new ArrayList<>(outputPortCount);
-        this.receiverPortByWire = new HashMap<>();
+        this.receiverPortByWire = new ConcurrentHashMap<>();
 
         for (int i = 0; i < inputPortCount; i++) {
             receiverPorts.add(new ReceiverPortImpl());
@@ -97,6 +107,7 @@ final class WireSupportImpl implements WireSupport, MultiportWireSupport {
     private void clearEmitterPorts() {
         for (final EmitterPort port : this.emitterPorts) {
             ((PortImpl) port).connectedWires.clear();
+            ((EmitterPortImpl) port).routes.clear();
         }
     }
 
@@ -110,7 +121,9 @@ final class WireSupportImpl implements WireSupport, MultiportWireSupport {
         for (Wire w : wires) {
             try {
                 final int outputPort = (Integer) w.getProperties().get(WIRE_EMITTER_PORT_PROP_NAME.value());
-                ((PortImpl) this.emitterPorts.get(outputPort)).connectedWires.add(w);
+                final EmitterPortImpl emitterPort = (EmitterPortImpl) this.emitterPorts.get(outputPort);
+                emitterPort.connectedWires.add(w);
+                emitterPort.routes.add(new Route(w));
             } catch (Exception e) {
                 logger.warn("Failed to assign outgoing wire to port", e);
             }
@@ -160,10 +173,34 @@ final class WireSupportImpl implements WireSupport, MultiportWireSupport {
             return;
         }
         final WireEnvelope envelope = (WireEnvelope) value;
+        dispatch(this.receiverPortByWire.get(wire), envelope);
+    }
+
+    void supersede() {
+        this.superseded = true;
+    }
+
+    /**
+     * Delivers an envelope received on the provided wire without going through WireAdmin.
+     *
+     * @return {@code false} if this instance is not aware of the wire, or if it has been replaced by a newer instance
+     *         for the same component
+     */
+    boolean deliver(final Wire wire, final WireEnvelope envelope) {
+        final ReceiverPortImpl receiverPort = this.receiverPortByWire.get(wire);
+
+        if (receiverPort == null || this.superseded) {
+            return false;
+        }
+
+        dispatch(receiverPort, envelope);
+        return true;
+    }
+
+    private void dispatch(final ReceiverPortImpl receiverPort, final WireEnvelope envelope) {
         if (wireComponent instanceof WireReceiver) {
             ((WireReceiver) this.wireComponent).onWireReceive(envelope);
         } else {
-            final ReceiverPortImpl receiverPort = this.receiverPortByWire.get(wire);
             receiverPort.consumer.accept(envelope);
         }
     }
@@ -190,11 +227,55 @@ final class WireSupportImpl implements WireSupport, MultiportWireSupport {
 
     private class EmitterPortImpl extends PortImpl implements EmitterPort {
 
+        List<Route> routes = new CopyOnWriteArrayList<>();
+
         @Override
         public void emit(WireEnvelope envelope) {
-            for (final Wire wire : this.connectedWires) {
-                wire.update(envelope);
+            for (final Route route : this.routes) {
+                // direct delivery runs the receiver on the emitter thread, do not let a failing receiver prevent
+                // the delivery to the other ones
+                try {
+                    route.dispatch(envelope);
+                } catch (final Exception e) {
+                    logger.warn("Failed to deliver envelope from {} to {}", WireSupportImpl.this.kuraServicePid,
+                            route.receiverServicePid, e);
+                }
+            }
+        }
+    }
+
+    private class Route {
+
+        private final Wire wire;
+        private final String receiverServicePid;
+        private volatile WireSupportImpl receiver;
+
+        Route(final Wire wire) {
+            this.wire = wire;
+            this.receiverServicePid = (String) wire.getProperties().get(WireConstants.WIREADMIN_CONSUMER_PID);
+            this.receiver = WireSupportImpl.this.registry.get(this.receiverServicePid);
+        }
+
+        void dispatch(final WireEnvelope envelope) {
+            if (this.wire.isConnected()) {
+                final WireSupportImpl currentReceiver = this.receiver;
+
+                if (currentReceiver != null && currentReceiver.deliver(this.wire, envelope)) {
+                    return;
+                }
+
+                final WireSupportImpl resolved = WireSupportImpl.this.registry.get(this.receiverServicePid);
+
+                if (resolved != null && resolved != currentReceiver) {
+                    this.receiver = resolved;
+
+                    if (resolved.deliver(this.wire, envelope)) {
+                        return;
+                    }
+                }
             }
+
+            this.wire.update(envelope);
         }
     }
 
@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.internal.wire.helper;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of the {@link WireSupportImpl} instances created by this bundle, indexed by the service pid of the
+ * related wire component. It is used to resolve the receiver side of a wire, so that envelopes can be delivered to it
+ * directly instead of going through WireAdmin.
+ * <p>
+ * Instances are weakly referenced, a {@link WireSupportImpl} is kept alive by its wire component.
+ */
+final class WireSupportRegistry {
+
+    private final Map<String, WeakReference<WireSupportImpl>> wireSupports = new ConcurrentHashMap<>();
+
+    void register(final String servicePid, final WireSupportImpl wireSupport) {
+        final WeakReference<WireSupportImpl> previous = this.wireSupports.put(servicePid,
+                new WeakReference<>(wireSupport));
+
+        if (previous != null) {
+            final WireSupportImpl previousWireSupport = previous.get();
+
+            if (previousWireSupport != null && previousWireSupport != wireSupport) {
+                previousWireSupport.supersede();
+            }
+        }
+    }
+
+    WireSupportImpl get(final String servicePid) {
+        if (servicePid == null) {
+            return null;
+        }
+
+        final WeakReference<WireSupportImpl> ref = this.wireSupports.get(servicePid);
+
+        if (ref == null) {
+            return null;
+        }
+
+        final WireSupportImpl result = ref.get();
+
+        if (result == null) {
+            this.wireSupports.remove(servicePid, ref);
+        }
+
+        return result;
+    }
+}
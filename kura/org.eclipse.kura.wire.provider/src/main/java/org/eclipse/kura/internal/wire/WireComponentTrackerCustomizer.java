@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2020 Eurotech and/or its affiliates and others
+ * Copyright (c) 2016, 2023 Eurotech and/or its affiliates and others
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 package org.eclipse.kura.internal.wire;
 
 import static java.util.Objects.requireNonNull;
+import static org.eclipse.kura.configuration.ConfigurationService.KURA_SERVICE_PID;
 
 import org.eclipse.kura.wire.WireComponent;
 import org.osgi.framework.BundleContext;
@@ -59,7 +60,9 @@ final class WireComponentTrackerCustomizer implements ServiceTrackerCustomizer<W
         final WireComponent service = this.context.getService(reference);
         logger.debug("Adding Wire Components....");
 
-        this.wireGraphService.createWires();
+        // only the wires connected to the new component can be created now
+        final Object kuraServicePid = reference.getProperty(KURA_SERVICE_PID);
+        this.wireGraphService.createWires(kuraServicePid instanceof String ? (String) kuraServicePid : null);
 
         logger.debug("Adding Wire Components....Done");
         return service;
@@ -24,6 +24,7 @@ import static org.osgi.service.wireadmin.WireConstants.WIREADMIN_CONSUMER_PID;
 import static org.osgi.service.wireadmin.WireConstants.WIREADMIN_PRODUCER_PID;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Dictionary;
@@ -32,8 +33,11 @@ import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -42,6 +46,7 @@ import org.eclipse.kura.KuraException;
 import org.eclipse.kura.configuration.ComponentConfiguration;
 import org.eclipse.kura.configuration.ConfigurableComponent;
 import org.eclipse.kura.configuration.ConfigurationService;
+import org.eclipse.kura.configuration.Password;
 import org.eclipse.kura.core.configuration.ComponentConfigurationImpl;
 import org.eclipse.kura.core.configuration.metatype.Tocd;
 import org.eclipse.kura.marshalling.Marshaller;
@@ -148,25 +153,41 @@ public class WireGraphServiceImpl implements ConfigurableComponent, WireGraphSer
                     fillRenderingPropertyDefaults(config.getWireComponentConfigurations()),
                     config.getWireConfigurations());
 
-            if (this.wireComponentServiceTracker == null) {
-                logger.info("Opening Wire Component Service tracker...");
-                WireComponentTrackerCustomizer wireComponentTrackerCustomizer = new WireComponentTrackerCustomizer(
-                        this.bundleContext, this);
-                this.wireComponentServiceTracker = new ServiceTracker<>(this.bundleContext, WireComponent.class,
-                        wireComponentTrackerCustomizer);
-                this.wireComponentServiceTracker.open();
-                logger.info("Opening Wire Component Service tracker...done");
-            }
+            final long start = System.nanoTime();
+
+            openWireComponentTracker();
 
             createWires();
 
-            logger.info("Updating Wire Service Component...Done");
+            logger.info("Updating Wire Service Component...Done, wires created in {} ms",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
         } catch (Exception e) {
             logger.warn("Failed to update WireGraphServiceImpl", e);
         }
 
     }
 
+    private void openWireComponentTracker() {
+        if (this.wireComponentServiceTracker == null) {
+            logger.info("Opening Wire Component Service tracker...");
+            WireComponentTrackerCustomizer wireComponentTrackerCustomizer = new WireComponentTrackerCustomizer(
+                    this.bundleContext, this);
+            this.wireComponentServiceTracker = new ServiceTracker<>(this.bundleContext, WireComponent.class,
+                    wireComponentTrackerCustomizer);
+            this.wireComponentServiceTracker.open();
+            logger.info("Opening Wire Component Service tracker...done");
+        }
+    }
+
+    private void closeWireComponentTracker() {
+        logger.info("Closing Wire Component Service tracker...");
+        if (this.wireComponentServiceTracker != null) {
+            this.wireComponentServiceTracker.close();
+            this.wireComponentServiceTracker = null;
+        }
+        logger.info("Closing Wire Component Service tracker...done");
+    }
+
     protected void deactivate(final ComponentContext componentContext) {
         logger.info("Deactivating Wire Service Component...");
         this.bundleContext = null;
@@ -179,58 +200,51 @@ public class WireGraphServiceImpl implements ConfigurableComponent, WireGraphSer
         logger.info("Deactivating Wire Service Component...Done");
     }
 
-    private boolean checkWireExistence(final String emitterServicePid, final String receiverServicePid,
-            final int emitterPort, final int receiverPort) throws InvalidSyntaxException {
-        requireNonNull(emitterServicePid, "Emitter Service PID cannot be null");
-        requireNonNull(receiverServicePid, "Receiver Service PID cannot be null");
+    private static String wireKey(final Object emitterServicePid, final Object receiverServicePid,
+            final Object emitterPort, final Object receiverPort) {
+        return emitterServicePid + "/" + emitterPort + "->" + receiverServicePid + "/" + receiverPort;
+    }
 
+    private Set<String> getExistingWireKeys() throws InvalidSyntaxException {
+        final Set<String> result = new HashSet<>();
         final Wire[] wires = this.wireAdmin.getWires(null);
+
         if (nonNull(wires)) {
             for (final Wire w : wires) {
                 final Dictionary<?, ?> props = w.getProperties();
-                if (emitterServicePid.equals(props.get(WIREADMIN_PRODUCER_PID))
-                        && receiverServicePid.equals(props.get(WIREADMIN_CONSUMER_PID))
-                        && emitterPort == (Integer) props.get(Constants.WIRE_EMITTER_PORT_PROP_NAME.value())
-                        && receiverPort == (Integer) props.get(Constants.WIRE_RECEIVER_PORT_PROP_NAME.value())) {
-                    return true;
-                }
+                result.add(wireKey(props.get(WIREADMIN_PRODUCER_PID), props.get(WIREADMIN_CONSUMER_PID),
+                        props.get(Constants.WIRE_EMITTER_PORT_PROP_NAME.value()),
+                        props.get(Constants.WIRE_RECEIVER_PORT_PROP_NAME.value())));
             }
         }
-        return false;
-
+        return result;
     }
 
-    private void createConfiguration(Collection<ServiceReference<WireComponent>> wireComponentServiceReferences,
+    private void createConfiguration(final Map<String, String> servicePids, final Set<String> existingWires,
             final MultiportWireConfiguration conf) {
         requireNonNull(conf, "Wire Configuration cannot be null");
 
         String emitterPid = conf.getEmitterPid();
         String receiverPid = conf.getReceiverPid();
-        try {
-            final String emitterServicePid = getServicePidByKuraServicePid(wireComponentServiceReferences, emitterPid);
-            final String receiverServicePid = getServicePidByKuraServicePid(wireComponentServiceReferences,
-                    receiverPid);
-            final int emitterPort = conf.getEmitterPort();
-            final int receiverPort = conf.getReceiverPort();
-            if (nonNull(emitterServicePid) && nonNull(receiverServicePid)) {
-                final boolean found = checkWireExistence(emitterServicePid, receiverServicePid, emitterPort,
+        final String emitterServicePid = servicePids.get(emitterPid);
+        final String receiverServicePid = servicePids.get(receiverPid);
+        final int emitterPort = conf.getEmitterPort();
+        final int receiverPort = conf.getReceiverPort();
+        if (nonNull(emitterServicePid) && nonNull(receiverServicePid)) {
+            final String key = wireKey(emitterServicePid, receiverServicePid, emitterPort, receiverPort);
+            if (!existingWires.contains(key)) {
+                logger.info("Creating wire between {}/{} and {}/{}...", emitterPid, emitterPort, receiverPid,
                         receiverPort);
-                if (!found) {
-                    logger.info("Creating wire between {}/{} and {}/{}...", emitterPid, emitterPort, receiverPid,
-                            receiverPort);
-                    final Dictionary<String, Object> properties = new Hashtable<>();
-                    properties.put(Constants.WIRE_EMITTER_PORT_PROP_NAME.value(), emitterPort);
-                    properties.put(Constants.WIRE_RECEIVER_PORT_PROP_NAME.value(), receiverPort);
-                    properties.put(Constants.EMITTER_KURA_SERVICE_PID_PROP_NAME.value(), emitterPid);
-                    properties.put(Constants.RECEIVER_KURA_SERVICE_PID_PROP_NAME.value(), receiverPid);
-                    final Wire wire = this.wireAdmin.createWire(emitterServicePid, receiverServicePid, properties);
-                    conf.setWire(wire);
-                    logger.info("Creating wire.....Done");
-                }
+                final Dictionary<String, Object> properties = new Hashtable<>();
+                properties.put(Constants.WIRE_EMITTER_PORT_PROP_NAME.value(), emitterPort);
+                properties.put(Constants.WIRE_RECEIVER_PORT_PROP_NAME.value(), receiverPort);
+                properties.put(Constants.EMITTER_KURA_SERVICE_PID_PROP_NAME.value(), emitterPid);
+                properties.put(Constants.RECEIVER_KURA_SERVICE_PID_PROP_NAME.value(), receiverPid);
+                final Wire wire = this.wireAdmin.createWire(emitterServicePid, receiverServicePid, properties);
+                conf.setWire(wire);
+                existingWires.add(key);
+                logger.info("Creating wire.....Done");
             }
-
-        } catch (final InvalidSyntaxException e) {
-            logger.error("Error while creating wires configuration...", e);
         }
     }
 
@@ -238,11 +252,38 @@ public class WireGraphServiceImpl implements ConfigurableComponent, WireGraphSer
      * Create the wires based on the provided wire configurations
      */
     synchronized void createWires() {
+        createWires(null);
+    }
+
+    /**
+     * Creates the missing wires connected to the given component, or all the missing wires if the component is
+     * {@code null}. The existing wires and the registered wire components are retrieved once per call.
+     *
+     * @param kuraServicePid
+     *            the kura.service.pid of the component, can be null
+     */
+    synchronized void createWires(final String kuraServicePid) {
+        if (this.currentConfiguration == null) {
+            return;
+        }
+
+        final List<MultiportWireConfiguration> candidates = this.currentConfiguration.getWireConfigurations()
+                .stream()
+                .filter(w -> kuraServicePid == null || kuraServicePid.equals(w.getEmitterPid())
+                        || kuraServicePid.equals(w.getReceiverPid()))
+                .collect(Collectors.toList());
+
+        if (candidates.isEmpty()) {
+            return;
+        }
+
         try {
-            Collection<ServiceReference<WireComponent>> wireComponentServiceReferences = this.bundleContext
-                    .getServiceReferences(WireComponent.class, null);
-            for (final MultiportWireConfiguration wireConfig : this.currentConfiguration.getWireConfigurations()) {
-                createConfiguration(wireComponentServiceReferences, wireConfig);
+            final Map<String, String> servicePids = getServicePidsByKuraServicePid(
+                    this.bundleContext.getServiceReferences(WireComponent.class, null));
+            final Set<String> existingWires = getExistingWireKeys();
+
+            for (final MultiportWireConfiguration wireConfig : candidates) {
+                createConfiguration(servicePids, existingWires, wireConfig);
             }
         } catch (InvalidSyntaxException e) {
             logger.error("Error while creating wires...", e);
@@ -314,6 +355,8 @@ public class WireGraphServiceImpl implements ConfigurableComponent, WireGraphSer
     @Override
     public synchronized void update(WireGraphConfiguration newConfiguration) throws KuraException {
 
+        final UpdateTimer timer = new UpdateTimer();
+
         final WireGraphConfiguration currentGraphConfiguration = get();
         final List<WireComponentConfiguration> currentWireComponents = currentGraphConfiguration
                 .getWireComponentConfigurations();
@@ -338,63 +381,165 @@ public class WireGraphServiceImpl implements ConfigurableComponent, WireGraphSer
 
         validateComponentsToCreate(componentsToCreate);
 
-        logger.info("Closing Wire Component Service tracker...");
-        if (this.wireComponentServiceTracker != null) {
-            this.wireComponentServiceTracker.close();
-            this.wireComponentServiceTracker = null;
-        }
-        logger.info("Closing Wire Component Service tracker...done");
+        // Evaluate updatable components, the ones whose configuration did not change are skipped
+        List<WireComponentConfiguration> componentsToUpdate = getComponentsToUpdate(newWireComponentConfigurations,
+                componentsToCreate, currentWireComponents);
 
-        for (final String pid : componentsToDeletePids) {
-            this.configurationService.deleteFactoryConfiguration(pid, false);
-        }
+        timer.endPhase("diff", newWireComponentConfigurations.size());
 
-        deleteNoLongerExistingWires(newWires, componentsToDeletePids);
-        // create new components
+        closeWireComponentTracker();
 
-        List<String> createdPids = new ArrayList<>();
-        for (WireComponentConfiguration componentToCreate : componentsToCreate) {
+        final List<WireComponentConfiguration> deletedComponents = new ArrayList<>();
+        final List<String> createdPids = new ArrayList<>();
 
-            final ComponentConfiguration configToCreate = componentToCreate.getConfiguration();
+        final Map<String, WireComponentConfiguration> currentWireComponentsByPid = currentWireComponents.stream()
+                .collect(Collectors.toMap(c -> c.getConfiguration().getPid(), c -> c, (a, b) -> a));
+
+        // previous configuration of the components that are about to be updated, restored if the update fails
+        final List<ComponentConfiguration> previousConfigurations = getPreviousConfigurations(componentsToUpdate,
+                currentWireComponentsByPid);
+        boolean updateStarted = false;
+
+        try {
+            for (final String pid : componentsToDeletePids) {
+                this.configurationService.deleteFactoryConfiguration(pid, false);
+
+                final WireComponentConfiguration deleted = currentWireComponentsByPid.get(pid);
+                if (deleted != null) {
+                    deletedComponents.add(deleted);
+                }
+            }
+            timer.endPhase("delete", componentsToDeletePids.size());
+
+            deleteNoLongerExistingWires(newWires, componentsToDeletePids);
+            timer.endPhase("unwire", 0);
+
+            // create new components
+            for (WireComponentConfiguration componentToCreate : componentsToCreate) {
+                createComponent(componentToCreate);
+                createdPids.add(componentToCreate.getConfiguration().getPid());
+            }
+            timer.endPhase("create", createdPids.size());
+
+            for (WireComponentConfiguration componentToUpdate : componentsToUpdate) {
+                componentConfigurations.add(componentToUpdate.getConfiguration());
+            }
+
+            final WireGraphConfiguration resultConfig = new WireGraphConfiguration(newWireComponentConfigurations,
+                    newConfiguration.getWireConfigurations());
+
+            String jsonConfig = marshal(resultConfig);
+            ComponentConfiguration wireGraphServiceComponentConfig = this.configurationService
+                    .getComponentConfiguration(CONF_PID);
+            previousConfigurations.add(copyOf(wireGraphServiceComponentConfig));
+            wireGraphServiceComponentConfig.getConfigurationProperties().put(NEW_WIRE_GRAPH_PROPERTY, jsonConfig);
+
+            componentConfigurations.add(wireGraphServiceComponentConfig);
+
+            // single snapshot for the whole update
+            updateStarted = true;
+            this.configurationService.updateConfigurations(componentConfigurations, true);
+            this.currentConfiguration = resultConfig;
+            timer.endPhase("update", componentsToUpdate.size());
+        } catch (KuraException | RuntimeException e) {
+            logger.warn("Wire graph update failed, restoring the previous components");
+            restoreComponents(createdPids, deletedComponents);
+            if (updateStarted) {
+                restoreConfigurations(previousConfigurations);
+            }
             try {
-                final Map<String, Object> wireComponentProps = componentToCreate.getProperties();
-                final Map<String, Object> configurationProps = configToCreate.getConfigurationProperties();
+                openWireComponentTracker();
+                createWires();
+            } catch (RuntimeException re) {
+                logger.warn("Failed to restore the wires", re);
+            }
+            throw e;
+        }
+
+        logger.info("Wire graph updated: {}", timer);
+    }
+
+    private void createComponent(final WireComponentConfiguration componentToCreate) throws KuraException {
+        final ComponentConfiguration configToCreate = componentToCreate.getConfiguration();
+        final Map<String, Object> wireComponentProps = componentToCreate.getProperties();
+        final Map<String, Object> configurationProps = configToCreate.getConfigurationProperties();
+
+        String factoryPid = (String) configurationProps.get(SERVICE_FACTORYPID);
+
+        configurationProps.put(Constants.RECEIVER_PORT_COUNT_PROP_NAME.value(),
+                wireComponentProps.get(INPUT_PORT_COUNT));
+        configurationProps.put(Constants.EMITTER_PORT_COUNT_PROP_NAME.value(),
+                wireComponentProps.get(OUTPUT_PORT_COUNT));
+
+        this.configurationService.createFactoryConfiguration(factoryPid, configToCreate.getPid(), configurationProps,
+                false);
+    }
+
+    /**
+     * Undoes the changes performed by a failed update: deletes the components created by it and recreates the
+     * components it deleted with their previous configuration.
+     */
+    private void restoreComponents(final List<String> createdPids,
+            final List<WireComponentConfiguration> deletedComponents) {
+        deleteConfigurations(createdPids);
+
+        for (final WireComponentConfiguration deleted : deletedComponents) {
+            final ComponentConfiguration config = deleted.getConfiguration();
+            final Optional<String> factoryPid = getFactoryPid(deleted);
 
-                String factoryPid = (String) configurationProps.get(SERVICE_FACTORYPID);
+            if (!factoryPid.isPresent()) {
+                continue;
+            }
 
-                configurationProps.put(Constants.RECEIVER_PORT_COUNT_PROP_NAME.value(),
-                        wireComponentProps.get(INPUT_PORT_COUNT));
-                configurationProps.put(Constants.EMITTER_PORT_COUNT_PROP_NAME.value(),
-                        wireComponentProps.get(OUTPUT_PORT_COUNT));
+            final Map<String, Object> properties = new HashMap<>(config.getConfigurationProperties());
+            properties.remove(SERVICE_PID);
 
-                this.configurationService.createFactoryConfiguration(factoryPid, configToCreate.getPid(),
-                        configurationProps, false);
+            try {
+                this.configurationService.createFactoryConfiguration(factoryPid.get(), config.getPid(), properties,
+                        false);
             } catch (Exception e) {
-                deleteConfigurations(createdPids);
-                throw e;
+                logger.warn("Failed to restore component {}", config.getPid(), e);
             }
-            createdPids.add(configToCreate.getPid());
         }
+    }
 
-        // Evaluate updatable components
-        List<WireComponentConfiguration> componentsToUpdate = getComponentsToUpdate(newWireComponentConfigurations,
-                componentsToCreate);
-        for (WireComponentConfiguration componentToUpdate : componentsToUpdate) {
-            componentConfigurations.add(componentToUpdate.getConfiguration());
-        }
+    private static List<ComponentConfiguration> getPreviousConfigurations(
+            final List<WireComponentConfiguration> componentsToUpdate,
+            final Map<String, WireComponentConfiguration> currentWireComponentsByPid) {
+        final List<ComponentConfiguration> result = new ArrayList<>();
 
-        final WireGraphConfiguration resultConfig = new WireGraphConfiguration(newWireComponentConfigurations,
-                newConfiguration.getWireConfigurations());
+        for (final WireComponentConfiguration componentToUpdate : componentsToUpdate) {
+            final WireComponentConfiguration current = currentWireComponentsByPid
+                    .get(componentToUpdate.getConfiguration().getPid());
 
-        String jsonConfig = marshal(resultConfig);
-        ComponentConfiguration wireGraphServiceComponentConfig = this.configurationService
-                .getComponentConfiguration(CONF_PID);
-        wireGraphServiceComponentConfig.getConfigurationProperties().put(NEW_WIRE_GRAPH_PROPERTY, jsonConfig);
+            if (current != null && current.getConfiguration().getConfigurationProperties() != null) {
+                result.add(copyOf(current.getConfiguration()));
+            }
+        }
 
-        componentConfigurations.add(wireGraphServiceComponentConfig);
+        return result;
+    }
 
-        this.currentConfiguration = resultConfig;
-        this.configurationService.updateConfigurations(componentConfigurations, true);
+    /*
+     * ConfigurationService encrypts the properties of the configurations passed to updateConfigurations() in place,
+     * the previous configurations are copied so that they are not affected by the update.
+     */
+    private static ComponentConfiguration copyOf(final ComponentConfiguration config) {
+        return new ComponentConfigurationImpl(config.getPid(), null,
+                new HashMap<>(config.getConfigurationProperties()));
+    }
+
+    /**
+     * Pushes back the previous configuration of the components touched by a failed
+     * {@link ConfigurationService#updateConfigurations(List, boolean)} call, that might have been partially applied
+     * and persisted.
+     */
+    private void restoreConfigurations(final List<ComponentConfiguration> previousConfigurations) {
+        try {
+            this.configurationService.updateConfigurations(previousConfigurations, true);
+        } catch (Exception e) {
+            logger.warn("Failed to restore the previous component configurations", e);
+        }
     }
 
     private void validateComponentsToCreate(final List<WireComponentConfiguration> componentsToCreate)
@@ -467,11 +612,22 @@ public class WireGraphServiceImpl implements ConfigurableComponent, WireGraphSer
 
     private List<WireComponentConfiguration> getComponentsToUpdate(
             List<WireComponentConfiguration> newWireComponentConfigurations,
-            List<WireComponentConfiguration> newComponents) {
+            List<WireComponentConfiguration> newComponents,
+            List<WireComponentConfiguration> oldWireComponentConfigurations) {
         List<WireComponentConfiguration> componentsToUpdate = new ArrayList<>();
 
+        final Map<String, Map<String, Object>> oldProperties = new HashMap<>();
+        for (WireComponentConfiguration oldWireComponentConfiguration : oldWireComponentConfigurations) {
+            final ComponentConfiguration config = oldWireComponentConfiguration.getConfiguration();
+            if (config.getConfigurationProperties() != null) {
+                oldProperties.put(config.getPid(), config.getConfigurationProperties());
+            }
+        }
+
         for (WireComponentConfiguration newWireComponentConfiguration : newWireComponentConfigurations) {
-            if (newWireComponentConfiguration.getConfiguration().getConfigurationProperties() != null) {
+            final ComponentConfiguration config = newWireComponentConfiguration.getConfiguration();
+            if (config.getConfigurationProperties() != null
+                    && isChanged(oldProperties.get(config.getPid()), config.getConfigurationProperties())) {
                 componentsToUpdate.add(newWireComponentConfiguration);
             }
         }
@@ -480,6 +636,28 @@ public class WireGraphServiceImpl implements ConfigurableComponent, WireGraphSer
         return componentsToUpdate;
     }
 
+    private static boolean isChanged(final Map<String, Object> oldProperties,
+            final Map<String, Object> newProperties) {
+        if (oldProperties == null || !oldProperties.keySet().equals(newProperties.keySet())) {
+            return true;
+        }
+
+        for (final Map.Entry<String, Object> e : newProperties.entrySet()) {
+            final Object oldValue = oldProperties.get(e.getKey());
+            final Object newValue = e.getValue();
+
+            if (oldValue instanceof Password && newValue instanceof Password) {
+                if (!Arrays.equals(((Password) oldValue).getPassword(), ((Password) newValue).getPassword())) {
+                    return true;
+                }
+            } else if (!Objects.deepEquals(oldValue, newValue)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
     private List<WireComponentConfiguration> getComponentsToCreate(
             List<WireComponentConfiguration> oldWireComponentConfigurations,
             List<WireComponentConfiguration> newWireComponentConfigurations) {
@@ -637,6 +815,26 @@ public class WireGraphServiceImpl implements ConfigurableComponent, WireGraphSer
         return result;
     }
 
+    private static Map<String, String> getServicePidsByKuraServicePid(
+            Collection<ServiceReference<WireComponent>> wireComponentServiceReferences) {
+        final Map<String, String> result = new HashMap<>();
+
+        if (wireComponentServiceReferences == null) {
+            return result;
+        }
+
+        for (final ServiceReference<WireComponent> ref : wireComponentServiceReferences) {
+            final Object kuraServicePid = ref.getProperty(KURA_SERVICE_PID);
+            final Object servicePid = ref.getProperty(SERVICE_PID);
+
+            if (kuraServicePid instanceof String && servicePid instanceof String) {
+                result.putIfAbsent((String) kuraServicePid, (String) servicePid);
+            }
+        }
+
+        return result;
+    }
+
     private String getServicePidByKuraServicePid(
             Collection<ServiceReference<WireComponent>> wireComponentServiceReferences, String kuraServicePid) {
         return wireComponentServiceReferences.stream()
@@ -723,4 +921,23 @@ public class WireGraphServiceImpl implements ConfigurableComponent, WireGraphSer
         }
     }
 
+    private static final class UpdateTimer {
+
+        private final long start = System.nanoTime();
+        private final StringJoiner phases = new StringJoiner(", ");
+        private long phaseStart = this.start;
+
+        void endPhase(final String name, final int count) {
+            final long now = System.nanoTime();
+            this.phases.add(name + " " + count + " in " + TimeUnit.NANOSECONDS.toMillis(now - this.phaseStart) + " ms");
+            this.phaseStart = now;
+        }
+
+        @Override
+        public String toString() {
+            return "total " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.start) + " ms (" + this.phases
+                    + ")";
+        }
+    }
+
 }
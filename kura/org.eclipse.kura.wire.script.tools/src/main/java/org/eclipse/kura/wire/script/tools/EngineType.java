@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.wire.script.tools;
+
+/**
+ * The engines that can be used by the script tools components to run the configured source.
+ */
+public enum EngineType {
+
+    /**
+     * The source is JavaScript code, executed by the GraalJS engine.
+     */
+    JAVASCRIPT,
+    /**
+     * The source is compiled by the {@link org.eclipse.kura.wire.script.tools.expression} package and evaluated
+     * directly against the received records, without starting a script engine.
+     */
+    EXPRESSION;
+
+    /**
+     * Returns the engine type with the given name.
+     *
+     * @param value
+     *            the configured value
+     * @return the engine type, {@link #JAVASCRIPT} if the value is not set or not valid
+     */
+    public static EngineType fromValue(final Object value) {
+        if (value instanceof String) {
+            for (final EngineType engineType : values()) {
+                if (engineType.name().equalsIgnoreCase(((String) value).trim())) {
+                    return engineType;
+                }
+            }
+        }
+
+        return JAVASCRIPT;
+    }
+}
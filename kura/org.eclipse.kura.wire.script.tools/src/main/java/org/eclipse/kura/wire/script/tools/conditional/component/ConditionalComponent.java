@@ -14,6 +14,7 @@ package org.eclipse.kura.wire.script.tools.conditional.component;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -25,9 +26,13 @@ import org.eclipse.kura.wire.WireEmitter;
 import org.eclipse.kura.wire.WireEnvelope;
 import org.eclipse.kura.wire.WireHelperService;
 import org.eclipse.kura.wire.WireReceiver;
+import org.eclipse.kura.wire.WireRecord;
 import org.eclipse.kura.wire.graph.EmitterPort;
 import org.eclipse.kura.wire.graph.MultiportWireSupport;
 import org.eclipse.kura.wire.script.tools.EngineProvider;
+import org.eclipse.kura.wire.script.tools.EngineType;
+import org.eclipse.kura.wire.script.tools.expression.Expression;
+import org.eclipse.kura.wire.script.tools.expression.ExpressionException;
 import org.osgi.framework.ServiceReference;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.wireadmin.Wire;
@@ -36,7 +41,9 @@ import org.slf4j.LoggerFactory;
 
 /**
  * The Class Conditional is a specific Wire Component to apply a condition
- * on the received {@link WireEnvelope}
+ * on the received {@link WireEnvelope}. The condition is either a JavaScript
+ * expression or, if the {@link EngineType#EXPRESSION} engine is selected, an
+ * {@link Expression} evaluated against the properties of the first record.
  */
 public final class ConditionalComponent extends EngineProvider
         implements WireReceiver, WireEmitter, ConfigurableComponent {
@@ -44,6 +51,7 @@ public final class ConditionalComponent extends EngineProvider
     private static final Logger logger = LoggerFactory.getLogger(ConditionalComponent.class);
 
     private Optional<String> booleanExpression = Optional.empty();
+    private Optional<Expression> compiledExpression = Optional.empty();
 
     private WireHelperService wireHelperService;
 
@@ -85,10 +93,16 @@ public final class ConditionalComponent extends EngineProvider
 
         this.conditionalOptions = new ConditionalComponentOptions(properties);
 
-        initEngine();
-
         this.booleanExpression = this.conditionalOptions.getBooleanExpression();
 
+        if (this.conditionalOptions.getEngineType() == EngineType.EXPRESSION) {
+            closeEngine();
+            this.compiledExpression = compileExpression(this.booleanExpression);
+        } else {
+            this.compiledExpression = Optional.empty();
+            initEngine();
+        }
+
         logger.info("Updating Conditional Component... Done");
     }
 
@@ -114,11 +128,17 @@ public final class ConditionalComponent extends EngineProvider
             return;
         }
 
-        addBinding("input", wireEnvelope);
+        final Optional<Boolean> result;
 
-        evaluate(this.booleanExpression.get());
+        if (this.conditionalOptions.getEngineType() == EngineType.EXPRESSION) {
+            result = evaluateExpression(wireEnvelope);
+        } else {
+            addBinding("input", wireEnvelope);
 
-        Optional<TypedValue<Boolean>> result = getResultAsBoolean();
+            evaluate(this.booleanExpression.get());
+
+            result = getResultAsBoolean().map(TypedValue::getValue);
+        }
 
         if (!result.isPresent()) {
             logger.error(
@@ -128,13 +148,43 @@ public final class ConditionalComponent extends EngineProvider
 
         final WireEnvelope outputEnvelope = this.wireSupport.createWireEnvelope(wireEnvelope.getRecords());
 
-        if ((boolean) result.get().getValue()) {
+        if (result.get()) {
             this.thenPort.emit(outputEnvelope);
         } else {
             this.elsePort.emit(outputEnvelope);
         }
     }
 
+    private Optional<Boolean> evaluateExpression(final WireEnvelope wireEnvelope) {
+        if (!this.compiledExpression.isPresent()) {
+            return Optional.empty();
+        }
+
+        final List<WireRecord> records = wireEnvelope.getRecords();
+        final Map<String, TypedValue<?>> properties = records.isEmpty() ? Collections.emptyMap()
+                : records.get(0).getProperties();
+
+        try {
+            return Optional.of(this.compiledExpression.get().test(properties));
+        } catch (final ExpressionException e) {
+            logger.warn("Failed to evaluate condition: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<Expression> compileExpression(final Optional<String> source) {
+        if (!source.isPresent()) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(Expression.compile(source.get()));
+        } catch (final ExpressionException e) {
+            logger.error("Failed to compile condition: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public void producersConnected(final Wire[] wires) {
@@ -15,16 +15,22 @@ package org.eclipse.kura.wire.script.tools.conditional.component;
 import java.util.Map;
 import java.util.Optional;
 
+import org.eclipse.kura.wire.script.tools.EngineType;
+
 public class ConditionalComponentOptions {
 
     public static final String FILTER_LANGUAGE_ID = "js";
     public static final String CONDITION_PROPERTY_KEY = "condition";
+    public static final String ENGINE_PROPERTY_KEY = "engine";
 
     private String booleanExpression;
+    private EngineType engineType;
 
     ConditionalComponentOptions(final Map<String, Object> properties) {
         this.booleanExpression = (String) properties.get(CONDITION_PROPERTY_KEY);
         this.booleanExpression = this.booleanExpression == null ? "" : this.booleanExpression.trim();
+
+        this.engineType = EngineType.fromValue(properties.get(ENGINE_PROPERTY_KEY));
     }
 
     Optional<String> getBooleanExpression() {
@@ -35,4 +41,8 @@ public class ConditionalComponentOptions {
         return Optional.of(this.booleanExpression);
     }
 
+    EngineType getEngineType() {
+        return this.engineType;
+    }
+
 }
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.wire.script.tools.expression;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Map;
+
+import org.eclipse.kura.type.TypedValue;
+
+/**
+ * A compiled expression of the typed expression language supported by the script tools components.
+ * <p>
+ * The expression is compiled once into a tree of closures that reads the values of the {@link TypedValue}s of a
+ * record directly: no script engine is involved and no wrapper object is allocated during the evaluation.
+ * Identifiers refer to the properties of the record, a missing property evaluates to {@code null}. The language
+ * supports boolean, numeric and string literals, the {@code null} literal, arithmetic, comparison and logical
+ * operators, the conditional operator and the {@code abs}, {@code ceil}, {@code exists}, {@code floor}, {@code max},
+ * {@code min}, {@code pow}, {@code property}, {@code round} and {@code sqrt} functions. Numeric operands are promoted
+ * following the Java rules, so dividing two integers produces an integer.
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ */
+public final class Expression {
+
+    private final String source;
+    private final Node root;
+
+    private Expression(final String source, final Node root) {
+        this.source = source;
+        this.root = root;
+    }
+
+    /**
+     * Compiles the given source.
+     *
+     * @param source
+     *            the expression source
+     * @return the compiled expression
+     * @throws ExpressionException
+     *             if the source contains a syntax error
+     */
+    public static Expression compile(final String source) {
+        requireNonNull(source, "Source cannot be null");
+
+        return new Expression(source, new ExpressionParser(source, false).parseExpression());
+    }
+
+    /**
+     * Evaluates this expression against the given record properties.
+     *
+     * @param properties
+     *            the record properties
+     * @return the result, one of {@link Boolean}, {@link Integer}, {@link Long}, {@link Float}, {@link Double},
+     *         {@link String}, byte[] or null
+     * @throws ExpressionException
+     *             if the expression cannot be evaluated
+     */
+    public Object evaluate(final Map<String, TypedValue<?>> properties) {
+        return this.root.evaluate(properties);
+    }
+
+    /**
+     * Evaluates this expression as a condition against the given record properties.
+     *
+     * @param properties
+     *            the record properties
+     * @return the result of the evaluation
+     * @throws ExpressionException
+     *             if the expression cannot be evaluated or if the result is not a boolean
+     */
+    public boolean test(final Map<String, TypedValue<?>> properties) {
+        final Object result = this.root.evaluate(properties);
+
+        if (!(result instanceof Boolean)) {
+            throw new ExpressionException("Expression '" + this.source + "' produced " + Operators.describe(result)
+                    + " instead of a boolean");
+        }
+
+        return (Boolean) result;
+    }
+
+    @Override
+    public String toString() {
+        return this.source;
+    }
+}
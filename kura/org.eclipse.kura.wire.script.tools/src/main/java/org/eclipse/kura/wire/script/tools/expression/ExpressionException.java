@@ -0,0 +1,30 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.wire.script.tools.expression;
+
+/**
+ * Reports a syntax error found while compiling an expression or an error raised while evaluating it, for example
+ * an operator applied to values of incompatible types.
+ */
+public class ExpressionException extends RuntimeException {
+
+    private static final long serialVersionUID = -4052226924364375610L;
+
+    public ExpressionException(final String message) {
+        super(message);
+    }
+
+    public ExpressionException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,632 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.wire.script.tools.expression;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.kura.type.TypedValue;
+import org.eclipse.kura.wire.script.tools.expression.Operators.Arithmetic;
+import org.eclipse.kura.wire.script.tools.expression.Operators.Comparison;
+
+/**
+ * Recursive descent parser that turns the source of an expression into a tree of {@link Node}s. Sub-expressions
+ * that only contain literals are evaluated once at compile time.
+ *
+ * <pre>
+ * script         := statement ((';' | newline) statement)*
+ * statement      := IDENTIFIER '=' expression | expression
+ * expression     := or ('?' expression ':' expression)?
+ * or             := and ('||' and)*
+ * and            := equality ('&amp;&amp;' equality)*
+ * equality       := comparison (('==' | '!=') comparison)*
+ * comparison     := additive (('&lt;' | '&lt;=' | '&gt;' | '&gt;=') additive)*
+ * additive       := multiplicative (('+' | '-') multiplicative)*
+ * multiplicative := unary (('*' | '/' | '%') unary)*
+ * unary          := ('!' | '-') unary | primary
+ * primary        := NUMBER | STRING | 'true' | 'false' | 'null' | IDENTIFIER | IDENTIFIER '(' arguments ')'
+ *                   | '(' expression ')'
+ * </pre>
+ */
+final class ExpressionParser {
+
+    private enum TokenType {
+        NUMBER,
+        STRING,
+        IDENTIFIER,
+        OPERATOR,
+        SEPARATOR,
+        END
+    }
+
+    private static final class Token {
+
+        private final TokenType type;
+        private final String text;
+        private final Object value;
+        private final int position;
+
+        private Token(final TokenType type, final String text, final Object value, final int position) {
+            this.type = type;
+            this.text = text;
+            this.value = value;
+            this.position = position;
+        }
+
+        private boolean is(final TokenType type, final String text) {
+            return this.type == type && this.text.equals(text);
+        }
+    }
+
+    private static final class Constant implements Node {
+
+        private final Object value;
+
+        private Constant(final Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public Object evaluate(final Map<String, TypedValue<?>> properties) {
+            return this.value;
+        }
+    }
+
+    private final String source;
+    private final List<Token> tokens;
+    private int index;
+
+    ExpressionParser(final String source, final boolean newlineIsSeparator) {
+        this.source = source;
+        this.tokens = tokenize(source, newlineIsSeparator);
+    }
+
+    Node parseExpression() {
+        final Node result = expression();
+        expect(TokenType.END, "end of expression");
+        return result;
+    }
+
+    List<ExpressionScript.Statement> parseScript() {
+        final List<ExpressionScript.Statement> result = new ArrayList<>();
+
+        while (peek().type != TokenType.END) {
+            if (peek().type == TokenType.SEPARATOR) {
+                this.index++;
+                continue;
+            }
+
+            if (peek().type == TokenType.IDENTIFIER && peek(1).is(TokenType.OPERATOR, "=")) {
+                final String target = next().text;
+                this.index++;
+                result.add(new ExpressionScript.Statement(target, expression()));
+            } else {
+                result.add(new ExpressionScript.Statement(null, expression()));
+            }
+
+            if (peek().type != TokenType.END) {
+                expect(TokenType.SEPARATOR, "';' or new line");
+            }
+        }
+
+        return result;
+    }
+
+    private Node expression() {
+        final Node condition = or();
+
+        if (!accept("?")) {
+            return condition;
+        }
+
+        final Node whenTrue = expression();
+        expect(":");
+        final Node whenFalse = expression();
+
+        if (condition instanceof Constant) {
+            return Operators.requireBoolean(((Constant) condition).value, "?") ? whenTrue : whenFalse;
+        }
+
+        return properties -> Operators.requireBoolean(condition.evaluate(properties), "?")
+                ? whenTrue.evaluate(properties)
+                : whenFalse.evaluate(properties);
+    }
+
+    private Node or() {
+        Node result = and();
+
+        while (accept("||")) {
+            final Node left = result;
+            final Node right = and();
+
+            result = fold(properties -> Operators.requireBoolean(left.evaluate(properties), "||")
+                    || Operators.requireBoolean(right.evaluate(properties), "||"), left, right);
+        }
+
+        return result;
+    }
+
+    private Node and() {
+        Node result = equality();
+
+        while (accept("&&")) {
+            final Node left = result;
+            final Node right = equality();
+
+            result = fold(properties -> Operators.requireBoolean(left.evaluate(properties), "&&")
+                    && Operators.requireBoolean(right.evaluate(properties), "&&"), left, right);
+        }
+
+        return result;
+    }
+
+    private Node equality() {
+        Node result = comparison();
+
+        while (true) {
+            final Node left = result;
+
+            if (accept("==")) {
+                final Node right = comparison();
+                result = fold(properties -> Operators.areEqual(left.evaluate(properties), right.evaluate(properties)),
+                        left, right);
+            } else if (accept("!=")) {
+                final Node right = comparison();
+                result = fold(properties -> !Operators.areEqual(left.evaluate(properties), right.evaluate(properties)),
+                        left, right);
+            } else {
+                return result;
+            }
+        }
+    }
+
+    private Node comparison() {
+        Node result = additive();
+
+        while (true) {
+            final Comparison operator;
+
+            if (accept("<")) {
+                operator = Comparison.LESS;
+            } else if (accept("<=")) {
+                operator = Comparison.LESS_OR_EQUAL;
+            } else if (accept(">")) {
+                operator = Comparison.GREATER;
+            } else if (accept(">=")) {
+                operator = Comparison.GREATER_OR_EQUAL;
+            } else {
+                return result;
+            }
+
+            final Node left = result;
+            final Node right = additive();
+
+            result = fold(properties -> operator.evaluate(left.evaluate(properties), right.evaluate(properties)), left,
+                    right);
+        }
+    }
+
+    private Node additive() {
+        Node result = multiplicative();
+
+        while (true) {
+            final Arithmetic operator;
+
+            if (accept("+")) {
+                operator = Arithmetic.ADD;
+            } else if (accept("-")) {
+                operator = Arithmetic.SUBTRACT;
+            } else {
+                return result;
+            }
+
+            result = arithmetic(operator, result, multiplicative());
+        }
+    }
+
+    private Node multiplicative() {
+        Node result = unary();
+
+        while (true) {
+            final Arithmetic operator;
+
+            if (accept("*")) {
+                operator = Arithmetic.MULTIPLY;
+            } else if (accept("/")) {
+                operator = Arithmetic.DIVIDE;
+            } else if (accept("%")) {
+                operator = Arithmetic.REMAINDER;
+            } else {
+                return result;
+            }
+
+            result = arithmetic(operator, result, unary());
+        }
+    }
+
+    private Node unary() {
+        if (accept("!")) {
+            final Node operand = unary();
+            return fold(properties -> !Operators.requireBoolean(operand.evaluate(properties), "!"), operand);
+        }
+
+        if (accept("-")) {
+            final Node operand = unary();
+            return fold(properties -> Operators.negate(operand.evaluate(properties)), operand);
+        }
+
+        return primary();
+    }
+
+    private Node primary() {
+        final Token token = next();
+
+        switch (token.type) {
+        case NUMBER:
+        case STRING:
+            return new Constant(token.value);
+        case IDENTIFIER:
+            return identifier(token);
+        case OPERATOR:
+            if ("(".equals(token.text)) {
+                final Node result = expression();
+                expect(")");
+                return result;
+            }
+            break;
+        default:
+            break;
+        }
+
+        throw unexpected(token, "an operand");
+    }
+
+    private Node identifier(final Token token) {
+        switch (token.text) {
+        case "true":
+            return new Constant(Boolean.TRUE);
+        case "false":
+            return new Constant(Boolean.FALSE);
+        case "null":
+            return new Constant(null);
+        default:
+            break;
+        }
+
+        if (!accept("(")) {
+            return property(token.text);
+        }
+
+        final List<Node> arguments = new ArrayList<>();
+
+        if (!accept(")")) {
+            do {
+                arguments.add(expression());
+            } while (accept(","));
+
+            expect(")");
+        }
+
+        return function(token, arguments);
+    }
+
+    private Node function(final Token token, final List<Node> arguments) {
+        switch (token.text) {
+        case "property":
+            return property(stringArgument(token, arguments));
+        case "exists":
+            final String name = stringArgument(token, arguments);
+            return properties -> properties.get(name) != null;
+        case "abs":
+            final Node absArgument = argument(token, arguments, 0, 1);
+            return fold(properties -> abs(absArgument.evaluate(properties)), absArgument);
+        case "floor":
+            final Node floorArgument = argument(token, arguments, 0, 1);
+            return fold(properties -> Math.floor(Operators.requireNumber(floorArgument.evaluate(properties), "floor")
+                    .doubleValue()), floorArgument);
+        case "ceil":
+            final Node ceilArgument = argument(token, arguments, 0, 1);
+            return fold(properties -> Math.ceil(Operators.requireNumber(ceilArgument.evaluate(properties), "ceil")
+                    .doubleValue()), ceilArgument);
+        case "round":
+            final Node roundArgument = argument(token, arguments, 0, 1);
+            return fold(properties -> Math.round(Operators.requireNumber(roundArgument.evaluate(properties), "round")
+                    .doubleValue()), roundArgument);
+        case "sqrt":
+            final Node sqrtArgument = argument(token, arguments, 0, 1);
+            return fold(properties -> Math.sqrt(Operators.requireNumber(sqrtArgument.evaluate(properties), "sqrt")
+                    .doubleValue()), sqrtArgument);
+        case "pow":
+            final Node base = argument(token, arguments, 0, 2);
+            final Node exponent = argument(token, arguments, 1, 2);
+            return fold(properties -> Math.pow(Operators.requireNumber(base.evaluate(properties), "pow").doubleValue(),
+                    Operators.requireNumber(exponent.evaluate(properties), "pow").doubleValue()), base, exponent);
+        case "min":
+            final Node minLeft = argument(token, arguments, 0, 2);
+            final Node minRight = argument(token, arguments, 1, 2);
+            return fold(properties -> {
+                final Object left = minLeft.evaluate(properties);
+                final Object right = minRight.evaluate(properties);
+                return Comparison.LESS_OR_EQUAL.evaluate(left, right) ? left : right;
+            }, minLeft, minRight);
+        case "max":
+            final Node maxLeft = argument(token, arguments, 0, 2);
+            final Node maxRight = argument(token, arguments, 1, 2);
+            return fold(properties -> {
+                final Object left = maxLeft.evaluate(properties);
+                final Object right = maxRight.evaluate(properties);
+                return Comparison.GREATER_OR_EQUAL.evaluate(left, right) ? left : right;
+            }, maxLeft, maxRight);
+        default:
+            throw new ExpressionException(
+                    "Unknown function '" + token.text + "' at position " + token.position + " in: " + this.source);
+        }
+    }
+
+    private static Object abs(final Object value) {
+        final Number number = Operators.requireNumber(value, "abs");
+
+        return Comparison.LESS.evaluate(number, 0) ? Operators.negate(number) : number;
+    }
+
+    private static Node property(final String name) {
+        return properties -> {
+            final TypedValue<?> value = properties.get(name);
+            return value == null ? null : value.getValue();
+        };
+    }
+
+    private Node arithmetic(final Arithmetic operator, final Node left, final Node right) {
+        return fold(properties -> operator.evaluate(left.evaluate(properties), right.evaluate(properties)), left,
+                right);
+    }
+
+    /**
+     * Evaluates the given node immediately if all its operands are constants.
+     */
+    private Node fold(final Node node, final Node... operands) {
+        for (final Node operand : operands) {
+            if (!(operand instanceof Constant)) {
+                return node;
+            }
+        }
+
+        try {
+            return new Constant(node.evaluate(null));
+        } catch (final ExpressionException e) {
+            throw new ExpressionException(e.getMessage() + " in: " + this.source, e);
+        }
+    }
+
+    private Node argument(final Token function, final List<Node> arguments, final int index, final int count) {
+        if (arguments.size() != count) {
+            throw new ExpressionException("Function '" + function.text + "' at position " + function.position
+                    + " expects " + count + " argument(s), got " + arguments.size() + " in: " + this.source);
+        }
+
+        return arguments.get(index);
+    }
+
+    private String stringArgument(final Token function, final List<Node> arguments) {
+        final Node argument = argument(function, arguments, 0, 1);
+
+        if (!(argument instanceof Constant) || !(((Constant) argument).value instanceof String)) {
+            throw new ExpressionException("Function '" + function.text + "' at position " + function.position
+                    + " expects a string literal in: " + this.source);
+        }
+
+        return (String) ((Constant) argument).value;
+    }
+
+    private Token peek() {
+        return peek(0);
+    }
+
+    private Token peek(final int offset) {
+        return this.tokens.get(Math.min(this.index + offset, this.tokens.size() - 1));
+    }
+
+    private Token next() {
+        final Token result = peek();
+
+        if (result.type != TokenType.END) {
+            this.index++;
+        }
+
+        return result;
+    }
+
+    private boolean accept(final String operator) {
+        if (peek().is(TokenType.OPERATOR, operator)) {
+            this.index++;
+            return true;
+        }
+
+        return false;
+    }
+
+    private void expect(final String operator) {
+        if (!accept(operator)) {
+            throw unexpected(peek(), "'" + operator + "'");
+        }
+    }
+
+    private void expect(final TokenType type, final String description) {
+        final Token token = next();
+
+        if (token.type != type) {
+            throw unexpected(token, description);
+        }
+    }
+
+    private ExpressionException unexpected(final Token token, final String expected) {
+        final String found;
+
+        if (token.type == TokenType.END) {
+            found = "end of input";
+        } else if ("\n".equals(token.text)) {
+            found = "new line";
+        } else {
+            found = "'" + token.text + "'";
+        }
+
+        return new ExpressionException("Expected " + expected + " but found " + found + " at position "
+                + token.position + " in: " + this.source);
+    }
+
+    private static List<Token> tokenize(final String source, final boolean newlineIsSeparator) {
+        final List<Token> result = new ArrayList<>();
+        int position = 0;
+
+        while (position < source.length()) {
+            final char c = source.charAt(position);
+
+            if (c == '\n' && newlineIsSeparator || c == ';') {
+                result.add(new Token(TokenType.SEPARATOR, String.valueOf(c), null, position));
+                position++;
+            } else if (Character.isWhitespace(c)) {
+                position++;
+            } else if (source.startsWith("//", position)) {
+                final int end = source.indexOf('\n', position);
+                position = end == -1 ? source.length() : end;
+            } else if (Character.isDigit(c) || c == '.' && position + 1 < source.length()
+                    && Character.isDigit(source.charAt(position + 1))) {
+                position = number(source, position, result);
+            } else if (c == '\'' || c == '"') {
+                position = string(source, position, result);
+            } else if (Character.isLetter(c) || c == '_') {
+                final int start = position;
+
+                while (position < source.length() && isIdentifierPart(source.charAt(position))) {
+                    position++;
+                }
+
+                result.add(new Token(TokenType.IDENTIFIER, source.substring(start, position), null, start));
+            } else {
+                position = operator(source, position, result);
+            }
+        }
+
+        result.add(new Token(TokenType.END, "", null, source.length()));
+
+        return result;
+    }
+
+    private static boolean isIdentifierPart(final char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '.';
+    }
+
+    private static int number(final String source, final int start, final List<Token> result) {
+        int position = start;
+        boolean isDecimal = false;
+
+        while (position < source.length()) {
+            final char c = source.charAt(position);
+
+            if (Character.isDigit(c)) {
+                position++;
+            } else if (c == '.' || c == 'e' || c == 'E') {
+                isDecimal = true;
+                position++;
+
+                if (c != '.' && position < source.length()
+                        && (source.charAt(position) == '+' || source.charAt(position) == '-')) {
+                    position++;
+                }
+            } else {
+                break;
+            }
+        }
+
+        final String text = source.substring(start, position);
+
+        try {
+            final Object value;
+
+            if (isDecimal) {
+                value = Double.parseDouble(text);
+            } else {
+                final long longValue = Long.parseLong(text);
+                value = longValue <= Integer.MAX_VALUE ? (Object) (int) longValue : (Object) longValue;
+            }
+
+            result.add(new Token(TokenType.NUMBER, text, value, start));
+        } catch (final NumberFormatException e) {
+            throw new ExpressionException("Invalid number '" + text + "' at position " + start + " in: " + source, e);
+        }
+
+        return position;
+    }
+
+    private static int string(final String source, final int start, final List<Token> result) {
+        final char quote = source.charAt(start);
+        final StringBuilder value = new StringBuilder();
+        int position = start + 1;
+
+        while (position < source.length()) {
+            final char c = source.charAt(position++);
+
+            if (c == quote) {
+                result.add(new Token(TokenType.STRING, source.substring(start, position), value.toString(), start));
+                return position;
+            }
+
+            if (c == '\\' && position < source.length()) {
+                final char escaped = source.charAt(position++);
+
+                switch (escaped) {
+                case 'n':
+                    value.append('\n');
+                    break;
+                case 't':
+                    value.append('\t');
+                    break;
+                default:
+                    value.append(escaped);
+                    break;
+                }
+            } else {
+                value.append(c);
+            }
+        }
+
+        throw new ExpressionException("Unterminated string at position " + start + " in: " + source);
+    }
+
+    private static int operator(final String source, final int start, final List<Token> result) {
+        final String twoChars = source.length() > start + 1 ? source.substring(start, start + 2) : "";
+
+        switch (twoChars) {
+        case "==":
+        case "!=":
+        case "<=":
+        case ">=":
+        case "&&":
+        case "||":
+            result.add(new Token(TokenType.OPERATOR, twoChars, null, start));
+            return start + 2;
+        default:
+            break;
+        }
+
+        final char c = source.charAt(start);
+
+        if ("+-*/%<>!?:(),=".indexOf(c) == -1) {
+            throw new ExpressionException("Unexpected character '" + c + "' at position " + start + " in: " + source);
+        }
+
+        result.add(new Token(TokenType.OPERATOR, String.valueOf(c), null, start));
+        return start + 1;
+    }
+}
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.wire.script.tools.expression;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.eclipse.kura.type.TypedValue;
+import org.eclipse.kura.type.TypedValues;
+import org.eclipse.kura.wire.WireRecord;
+
+/**
+ * A sequence of statements, separated by semicolons or new lines, applied to every record received by a component.
+ * <p>
+ * A statement in the form {@code name = expression} sets the {@code name} property of the record to the result of
+ * the {@link Expression}, or removes it if the result is {@code null}. Any other statement is a condition: if it
+ * evaluates to false the record is discarded. Statements are evaluated in order and can refer to the properties set
+ * by the previous ones. A record that is not modified by any statement is forwarded as is.
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ */
+public final class ExpressionScript {
+
+    static final class Statement {
+
+        private final String target;
+        private final Node expression;
+
+        Statement(final String target, final Node expression) {
+            this.target = target;
+            this.expression = expression;
+        }
+    }
+
+    private final List<Statement> statements;
+    private final boolean hasAssignments;
+
+    private ExpressionScript(final List<Statement> statements) {
+        this.statements = Collections.unmodifiableList(statements);
+        this.hasAssignments = statements.stream().anyMatch(s -> s.target != null);
+    }
+
+    /**
+     * Compiles the given source.
+     *
+     * @param source
+     *            the script source
+     * @return the compiled script
+     * @throws ExpressionException
+     *             if the source contains a syntax error
+     */
+    public static ExpressionScript compile(final String source) {
+        requireNonNull(source, "Source cannot be null");
+
+        return new ExpressionScript(new ExpressionParser(source, true).parseScript());
+    }
+
+    /**
+     * Applies this script to the given record.
+     *
+     * @param wireRecord
+     *            the input record
+     * @return the resulting record or an empty optional if the record has been discarded by a condition
+     * @throws ExpressionException
+     *             if a statement cannot be evaluated
+     */
+    public Optional<WireRecord> apply(final WireRecord wireRecord) {
+        final Map<String, TypedValue<?>> properties = this.hasAssignments ? new HashMap<>(wireRecord.getProperties())
+                : wireRecord.getProperties();
+
+        for (final Statement statement : this.statements) {
+            final Object result = statement.expression.evaluate(properties);
+
+            if (statement.target == null) {
+                if (!(result instanceof Boolean)) {
+                    throw new ExpressionException(
+                            "Condition produced " + Operators.describe(result) + " instead of a boolean");
+                }
+
+                if (!(Boolean) result) {
+                    return Optional.empty();
+                }
+            } else if (result == null) {
+                properties.remove(statement.target);
+            } else {
+                properties.put(statement.target, TypedValues.newTypedValue(result));
+            }
+        }
+
+        return Optional.of(this.hasAssignments ? new WireRecord(properties) : wireRecord);
+    }
+}
@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.wire.script.tools.expression;
+
+import java.util.Map;
+
+import org.eclipse.kura.type.TypedValue;
+
+/**
+ * A node of a compiled expression tree.
+ */
+@FunctionalInterface
+interface Node {
+
+    /**
+     * Evaluates this node against the properties of a record.
+     *
+     * @param properties
+     *            the properties of the record
+     * @return the result, one of {@link Boolean}, {@link Integer}, {@link Long}, {@link Float}, {@link Double},
+     *         {@link String}, byte[] or null
+     * @throws ExpressionException
+     *             if the node cannot be evaluated
+     */
+    Object evaluate(Map<String, TypedValue<?>> properties);
+}
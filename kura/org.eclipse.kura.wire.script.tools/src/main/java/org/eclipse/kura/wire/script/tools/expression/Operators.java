@@ -0,0 +1,309 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.wire.script.tools.expression;
+
+import java.util.Arrays;
+
+/**
+ * Implements the operators of the expression language. Numeric operands are promoted following the Java rules:
+ * int, long, float and double, in this order.
+ */
+final class Operators {
+
+    private static final int INTEGER_RANK = 0;
+    private static final int LONG_RANK = 1;
+    private static final int FLOAT_RANK = 2;
+    private static final int DOUBLE_RANK = 3;
+
+    enum Arithmetic {
+
+        ADD("+") {
+
+            @Override
+            int apply(final int left, final int right) {
+                return left + right;
+            }
+
+            @Override
+            long apply(final long left, final long right) {
+                return left + right;
+            }
+
+            @Override
+            float apply(final float left, final float right) {
+                return left + right;
+            }
+
+            @Override
+            double apply(final double left, final double right) {
+                return left + right;
+            }
+        },
+        SUBTRACT("-") {
+
+            @Override
+            int apply(final int left, final int right) {
+                return left - right;
+            }
+
+            @Override
+            long apply(final long left, final long right) {
+                return left - right;
+            }
+
+            @Override
+            float apply(final float left, final float right) {
+                return left - right;
+            }
+
+            @Override
+            double apply(final double left, final double right) {
+                return left - right;
+            }
+        },
+        MULTIPLY("*") {
+
+            @Override
+            int apply(final int left, final int right) {
+                return left * right;
+            }
+
+            @Override
+            long apply(final long left, final long right) {
+                return left * right;
+            }
+
+            @Override
+            float apply(final float left, final float right) {
+                return left * right;
+            }
+
+            @Override
+            double apply(final double left, final double right) {
+                return left * right;
+            }
+        },
+        DIVIDE("/") {
+
+            @Override
+            int apply(final int left, final int right) {
+                return left / right;
+            }
+
+            @Override
+            long apply(final long left, final long right) {
+                return left / right;
+            }
+
+            @Override
+            float apply(final float left, final float right) {
+                return left / right;
+            }
+
+            @Override
+            double apply(final double left, final double right) {
+                return left / right;
+            }
+        },
+        REMAINDER("%") {
+
+            @Override
+            int apply(final int left, final int right) {
+                return left % right;
+            }
+
+            @Override
+            long apply(final long left, final long right) {
+                return left % right;
+            }
+
+            @Override
+            float apply(final float left, final float right) {
+                return left % right;
+            }
+
+            @Override
+            double apply(final double left, final double right) {
+                return left % right;
+            }
+        };
+
+        private final String symbol;
+
+        private Arithmetic(final String symbol) {
+            this.symbol = symbol;
+        }
+
+        abstract int apply(int left, int right);
+
+        abstract long apply(long left, long right);
+
+        abstract float apply(float left, float right);
+
+        abstract double apply(double left, double right);
+
+        Object evaluate(final Object left, final Object right) {
+            if (this == ADD && (left instanceof String || right instanceof String)) {
+                return String.valueOf(left) + right;
+            }
+
+            final Number leftNumber = requireNumber(left, this.symbol);
+            final Number rightNumber = requireNumber(right, this.symbol);
+
+            try {
+                switch (Math.max(rank(leftNumber), rank(rightNumber))) {
+                case INTEGER_RANK:
+                    return apply(leftNumber.intValue(), rightNumber.intValue());
+                case LONG_RANK:
+                    return apply(leftNumber.longValue(), rightNumber.longValue());
+                case FLOAT_RANK:
+                    return apply(leftNumber.floatValue(), rightNumber.floatValue());
+                default:
+                    return apply(leftNumber.doubleValue(), rightNumber.doubleValue());
+                }
+            } catch (final ArithmeticException e) {
+                throw new ExpressionException("Failed to evaluate operator '" + this.symbol + "'", e);
+            }
+        }
+    }
+
+    enum Comparison {
+
+        LESS("<"),
+        LESS_OR_EQUAL("<="),
+        GREATER(">"),
+        GREATER_OR_EQUAL(">=");
+
+        private final String symbol;
+
+        private Comparison(final String symbol) {
+            this.symbol = symbol;
+        }
+
+        boolean evaluate(final Object left, final Object right) {
+            final int result = compare(left, right, this.symbol);
+
+            switch (this) {
+            case LESS:
+                return result < 0;
+            case LESS_OR_EQUAL:
+                return result <= 0;
+            case GREATER:
+                return result > 0;
+            default:
+                return result >= 0;
+            }
+        }
+    }
+
+    private Operators() {
+    }
+
+    static boolean areEqual(final Object left, final Object right) {
+        if (left == null || right == null) {
+            return left == right;
+        }
+
+        if (left instanceof Number && right instanceof Number) {
+            final Number leftNumber = (Number) left;
+            final Number rightNumber = (Number) right;
+
+            if (isIntegral(leftNumber) && isIntegral(rightNumber)) {
+                return leftNumber.longValue() == rightNumber.longValue();
+            }
+
+            return leftNumber.doubleValue() == rightNumber.doubleValue();
+        }
+
+        if (left instanceof byte[] && right instanceof byte[]) {
+            return Arrays.equals((byte[]) left, (byte[]) right);
+        }
+
+        return left.equals(right);
+    }
+
+    static Object negate(final Object value) {
+        final Number number = requireNumber(value, "-");
+
+        switch (rank(number)) {
+        case INTEGER_RANK:
+            return -number.intValue();
+        case LONG_RANK:
+            return -number.longValue();
+        case FLOAT_RANK:
+            return -number.floatValue();
+        default:
+            return -number.doubleValue();
+        }
+    }
+
+    static boolean requireBoolean(final Object value, final String operator) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+
+        throw new ExpressionException("Operator '" + operator + "' expects a boolean, got " + describe(value));
+    }
+
+    static Number requireNumber(final Object value, final String operator) {
+        if (value instanceof Number) {
+            return (Number) value;
+        }
+
+        throw new ExpressionException("Operator '" + operator + "' expects a number, got " + describe(value));
+    }
+
+    static String describe(final Object value) {
+        if (value == null) {
+            return "null";
+        }
+
+        return value.getClass().getSimpleName();
+    }
+
+    private static int compare(final Object left, final Object right, final String operator) {
+        if (left instanceof Number && right instanceof Number) {
+            final Number leftNumber = (Number) left;
+            final Number rightNumber = (Number) right;
+
+            if (isIntegral(leftNumber) && isIntegral(rightNumber)) {
+                return Long.compare(leftNumber.longValue(), rightNumber.longValue());
+            }
+
+            return Double.compare(leftNumber.doubleValue(), rightNumber.doubleValue());
+        }
+
+        if (left instanceof String && right instanceof String) {
+            return ((String) left).compareTo((String) right);
+        }
+
+        throw new ExpressionException("Operator '" + operator + "' cannot compare " + describe(left) + " and "
+                + describe(right));
+    }
+
+    private static boolean isIntegral(final Number number) {
+        return rank(number) <= LONG_RANK;
+    }
+
+    private static int rank(final Number number) {
+        if (number instanceof Double) {
+            return DOUBLE_RANK;
+        } else if (number instanceof Float) {
+            return FLOAT_RANK;
+        } else if (number instanceof Long) {
+            return LONG_RANK;
+        }
+
+        return INTEGER_RANK;
+    }
+}
@@ -12,6 +12,7 @@
  *******************************************************************************/
 package org.eclipse.kura.wire.script.tools.filter.component;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -25,6 +26,9 @@ import org.eclipse.kura.wire.WireReceiver;
 import org.eclipse.kura.wire.WireRecord;
 import org.eclipse.kura.wire.WireSupport;
 import org.eclipse.kura.wire.script.tools.EngineProvider;
+import org.eclipse.kura.wire.script.tools.EngineType;
+import org.eclipse.kura.wire.script.tools.expression.ExpressionException;
+import org.eclipse.kura.wire.script.tools.expression.ExpressionScript;
 import org.osgi.framework.ServiceReference;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.ComponentException;
@@ -37,6 +41,8 @@ public class FilterComponent extends EngineProvider implements WireEmitter, Wire
     private static final Logger logger = LoggerFactory.getLogger(FilterComponent.class);
 
     private Optional<String> sourceScript = Optional.empty();
+    private Optional<ExpressionScript> expressionScript = Optional.empty();
+    private EngineType engineType = EngineType.JAVASCRIPT;
 
     private WireHelperService wireHelperService;
     private WireSupport wireSupport;
@@ -76,9 +82,17 @@ public class FilterComponent extends EngineProvider implements WireEmitter, Wire
         FilterComponentOptions options = new FilterComponentOptions(properties);
 
         this.sourceScript = options.getScriptSource();
+        this.engineType = options.getEngineType();
 
-        if (options.isScriptContextDrop() || !isEngineInit()) {
-            initEngine();
+        if (this.engineType == EngineType.EXPRESSION) {
+            closeEngine();
+            this.expressionScript = compileExpressionScript(this.sourceScript);
+        } else {
+            this.expressionScript = Optional.empty();
+
+            if (options.isScriptContextDrop() || !isEngineInit()) {
+                initEngine();
+            }
         }
 
         logger.info("Updating Filter Component... Done");
@@ -91,6 +105,11 @@ public class FilterComponent extends EngineProvider implements WireEmitter, Wire
             return;
         }
 
+        if (this.engineType == EngineType.EXPRESSION) {
+            applyExpressionScript(wireEnvelope);
+            return;
+        }
+
         addBinding("input", wireEnvelope);
         evaluate(this.sourceScript.get());
         Optional<List<WireRecord>> recordsToEmit = getBindingAsWireRecordList("output");
@@ -100,6 +119,41 @@ public class FilterComponent extends EngineProvider implements WireEmitter, Wire
         }
     }
 
+    private void applyExpressionScript(final WireEnvelope wireEnvelope) {
+        if (!this.expressionScript.isPresent()) {
+            logger.warn("Script is not compiled! Ignoring received WireEnvelope.");
+            return;
+        }
+
+        final List<WireRecord> inputRecords = wireEnvelope.getRecords();
+        final List<WireRecord> recordsToEmit = new ArrayList<>(inputRecords.size());
+
+        for (final WireRecord wireRecord : inputRecords) {
+            try {
+                this.expressionScript.get().apply(wireRecord).ifPresent(recordsToEmit::add);
+            } catch (final ExpressionException e) {
+                logger.warn("Failed to apply script to record, dropping it: {}", e.getMessage());
+            }
+        }
+
+        if (!recordsToEmit.isEmpty()) {
+            this.wireSupport.emit(recordsToEmit);
+        }
+    }
+
+    private static Optional<ExpressionScript> compileExpressionScript(final Optional<String> source) {
+        if (!source.isPresent()) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(ExpressionScript.compile(source.get()));
+        } catch (final ExpressionException e) {
+            logger.error("Failed to compile script: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
     @Override
     public Object polled(Wire wire) {
         return this.wireSupport.polled(wire);
@@ -15,14 +15,18 @@ package org.eclipse.kura.wire.script.tools.filter.component;
 import java.util.Map;
 import java.util.Optional;
 
+import org.eclipse.kura.wire.script.tools.EngineType;
+
 public class FilterComponentOptions {
 
     public static final String SCRIPT_KEY = "script";
     public static final String SCRIPT_CONTEXT_DROP_KEY = "script.context.drop";
     public static final boolean SCRIPT_CONTEXT_DROP_DEFAULT_VALUE = false;
+    public static final String ENGINE_KEY = "engine";
 
     private String scriptSource;
     private boolean scriptContextDrop;
+    private EngineType engineType;
 
     public FilterComponentOptions(final Map<String, Object> properties) {
         this.scriptSource = (String) properties.get(SCRIPT_KEY);
@@ -30,6 +34,8 @@ public class FilterComponentOptions {
 
         this.scriptContextDrop = (boolean) properties.getOrDefault(SCRIPT_CONTEXT_DROP_KEY,
                 SCRIPT_CONTEXT_DROP_DEFAULT_VALUE);
+
+        this.engineType = EngineType.fromValue(properties.get(ENGINE_KEY));
     }
 
     public Optional<String> getScriptSource() {
@@ -44,4 +50,8 @@ public class FilterComponentOptions {
         return this.scriptContextDrop;
     }
 
+    public EngineType getEngineType() {
+        return this.engineType;
+    }
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Eurotech and/or its affiliates and others
+ * Copyright (c) 2022, 2023 Eurotech and/or its affiliates and others
  *
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,9 @@
 package org.eclipse.kura.ai.triton.server;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
 
 import org.junit.Test;
 
@@ -28,4 +31,33 @@ public class TritonServerServiceInferTest extends TritonServerServiceStepDefinit
         thenTensorsAreReturned();
     }
 
+    @Test
+    public void shouldSendRawContentsIfAnInputIsBufferBacked() throws IOException {
+        givenTritonServerServiceImpl(defaultProperties());
+
+        whenInferData(exampleModel(), exampleBufferInputData());
+
+        thenTensorsAreReturned();
+        thenRawInputContentsAreSent(2);
+        thenRawInputContentsAre(0, littleEndian(12).putFloat(1.5f).putFloat(2.5f).putFloat(3.5f));
+        thenRawInputContentsAre(1, littleEndian(6).putShort((short) 1).putShort((short) 2).putShort((short) 3));
+    }
+
+    @Test
+    public void shouldReturnBufferBackedTensors() throws IOException {
+        givenTritonServerServiceImpl(defaultProperties());
+
+        whenInferData(exampleModel(), exampleInputData());
+
+        thenReturnedTensorsAreBufferBacked();
+        thenReturnedTensorDataIs("name1", Double.class, Arrays.asList(34.76d));
+        thenReturnedTensorDataIs("name2", Boolean.class, Arrays.asList(true));
+        thenReturnedTensorDataIs("name4", Float.class, Arrays.asList(134.76f));
+        thenReturnedTensorDataIs("name6", Integer.class, Arrays.asList(45465));
+    }
+
+    private static ByteBuffer littleEndian(int size) {
+        return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
 }
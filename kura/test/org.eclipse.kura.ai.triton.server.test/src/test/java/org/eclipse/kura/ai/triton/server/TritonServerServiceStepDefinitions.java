@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Eurotech and/or its affiliates and others
+ * Copyright (c) 2022, 2023 Eurotech and/or its affiliates and others
  *
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,7 @@
 
 package org.eclipse.kura.ai.triton.server;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.AdditionalAnswers.delegatesTo;
@@ -24,6 +25,7 @@ import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -99,6 +101,7 @@ public abstract class TritonServerServiceStepDefinitions {
 
     protected List<String> modelsFound = new ArrayList<>();
     private List<Tensor> tensorList = new ArrayList<>();
+    private ModelInferRequest inferRequest;
     private boolean isEngineReady;
     private CommandExecutorService ces;
     private CryptoService cry;
@@ -236,6 +239,36 @@ public abstract class TritonServerServiceStepDefinitions {
         assertFalse(this.tensorList.isEmpty());
     }
 
+    protected void thenRawInputContentsAreSent(int expectedCount) {
+        assertFalse(this.exceptionCaught);
+        assertEquals(expectedCount, this.inferRequest.getRawInputContentsCount());
+        for (ModelInferRequest.InferInputTensor input : this.inferRequest.getInputsList()) {
+            assertFalse(input.hasContents());
+        }
+    }
+
+    protected void thenRawInputContentsAre(int index, ByteBuffer expected) {
+        expected.flip();
+        assertEquals(expected, this.inferRequest.getRawInputContents(index).asReadOnlyByteBuffer());
+    }
+
+    protected void thenReturnedTensorsAreBufferBacked() {
+        assertFalse(this.tensorList.isEmpty());
+        for (Tensor tensor : this.tensorList) {
+            assertTrue(tensor.getBuffer().isPresent());
+        }
+    }
+
+    protected <T> void thenReturnedTensorDataIs(String name, Class<T> type, List<T> expected) {
+        for (Tensor tensor : this.tensorList) {
+            if (tensor.getDescriptor().getName().equals(name)) {
+                assertEquals(expected, tensor.getData(type).get());
+                return;
+            }
+        }
+        throw new AssertionError("Tensor " + name + " not found");
+    }
+
     protected void thenAfterWaiting(long millisecondsToWait) throws InterruptedException {
         Thread.sleep(millisecondsToWait);
     }
@@ -338,6 +371,25 @@ public abstract class TritonServerServiceStepDefinitions {
         return tensors;
     }
 
+    protected List<Tensor> exampleBufferInputData() {
+        List<Tensor> tensors = new ArrayList<>();
+
+        List<Long> shape = new ArrayList<>();
+        shape.add(3l);
+
+        ByteBuffer floats = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
+        floats.putFloat(1.5f).putFloat(2.5f).putFloat(3.5f);
+        floats.flip();
+
+        tensors.add(new Tensor(Float.class,
+                new TensorDescriptor("floats", "FP32", Optional.empty(), shape, new HashMap<>()), floats));
+        tensors.add(new Tensor(Integer.class,
+                new TensorDescriptor("ints", "INT16", Optional.empty(), shape, new HashMap<>()),
+                Arrays.asList(1, 2, 3)));
+
+        return tensors;
+    }
+
     private TritonServerServiceAbs createTritonServerServiceImpl(Map<String, Object> properties,
             List<String> tritonModelRepoStub, boolean activate) throws IOException {
 
@@ -528,6 +580,7 @@ public abstract class TritonServerServiceStepDefinitions {
                             StreamObserver<ModelInferResponse> responseObserver) {
 
                         TritonServerServiceStepDefinitions.this.methodCalled = true;
+                        TritonServerServiceStepDefinitions.this.inferRequest = request;
 
                         List<InferOutputTensor> outputTensor = new ArrayList<>();
                         outputTensor.add(InferOutputTensor.newBuilder().setDatatype("FP64").setName("name1")
@@ -602,14 +655,14 @@ public abstract class TritonServerServiceStepDefinitions {
 
     private byte[] convertDoubleToByteArray(Double value) {
 
-        ByteBuffer byteBuffer = ByteBuffer.allocate(Double.BYTES);
+        ByteBuffer byteBuffer = ByteBuffer.allocate(Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
         byteBuffer.putDouble(value);
         return byteBuffer.array();
     }
 
     private byte[] convertFloatToByteArray(Float value) {
 
-        ByteBuffer byteBuffer = ByteBuffer.allocate(Float.BYTES);
+        ByteBuffer byteBuffer = ByteBuffer.allocate(Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
         byteBuffer.putFloat(value);
         return byteBuffer.array();
     }
@@ -630,13 +683,13 @@ public abstract class TritonServerServiceStepDefinitions {
     }
 
     private byte[] convertLongToByteArray(Long value) {
-        ByteBuffer byteBuffer = ByteBuffer.allocate(Long.BYTES);
+        ByteBuffer byteBuffer = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
         byteBuffer.putLong(value);
         return byteBuffer.array();
     }
 
     private byte[] convertIntegerToByteArray(Integer value) {
-        ByteBuffer byteBuffer = ByteBuffer.allocate(Integer.BYTES);
+        ByteBuffer byteBuffer = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
         byteBuffer.putInt(value);
         return byteBuffer.array();
     }
@@ -412,6 +412,31 @@ public final class AssetTest {
         assertEquals(1, records.get(0).getValue().getValue());
     }
 
+    /**
+     * Test reading operation allowing cached values.
+     */
+    @TestTarget(targetPlatforms = { TestTarget.PLATFORM_ALL })
+    @Test
+    public void testReadMaxAge() throws KuraException {
+        final BaseAsset baseAsset = (BaseAsset) asset;
+        final long hits = baseAsset.getCacheHitCount();
+        final long misses = baseAsset.getCacheMissCount();
+
+        List<ChannelRecord> records = asset.read(new HashSet<>(Arrays.asList("1.CH")), 60000);
+
+        assertEquals(1, records.size());
+        assertEquals(1, records.get(0).getValue().getValue());
+        assertEquals(misses + 1, baseAsset.getCacheMissCount());
+
+        records = asset.read(new HashSet<>(Arrays.asList("1.CH")), 60000);
+
+        assertEquals(1, records.size());
+        assertEquals(1, records.get(0).getValue().getValue());
+        assertEquals(ChannelFlag.SUCCESS, records.get(0).getChannelStatus().getChannelFlag());
+        assertEquals(hits + 1, baseAsset.getCacheHitCount());
+        assertEquals(misses + 1, baseAsset.getCacheMissCount());
+    }
+
     /**
      * Tests the condition in case the channel type is not readable
      */
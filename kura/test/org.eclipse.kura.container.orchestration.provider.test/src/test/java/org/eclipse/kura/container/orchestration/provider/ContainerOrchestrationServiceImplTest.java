@@ -183,6 +183,17 @@ public class ContainerOrchestrationServiceImplTest {
         thenNotStoppedMicroservice();
     }
 
+    @Test
+    public void testStateCacheStatisticsAreAvailableWhenDisabled() {
+        givenFullProperties(DEFAULT_IS_ENABLED);
+        givenDockerServiceImpl();
+        givenDockerClient();
+
+        whenActivateInstance();
+
+        thenStateCacheIsNotLive();
+    }
+
     @Test
     public void testServiceDeactivateDefaultPropertiesEnabled() {
         givenFullProperties(true);
@@ -687,6 +698,11 @@ public class ContainerOrchestrationServiceImplTest {
         verify(this.localDockerClient, times(0)).startContainerCmd(any(String.class));
     }
 
+    private void thenStateCacheIsNotLive() {
+        assertFalse(this.dockerService.getStateCacheStatistics().isLive());
+        assertEquals(-1, this.dockerService.getStateCacheStatistics().getMillisSinceLastSync());
+    }
+
     private void thenContainerListEqualsExpectedStringArray() {
         assertEquals(this.dockerService.listContainersIds(), Arrays.asList(this.runningContainers));
     }
@@ -0,0 +1,296 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.container.orchestration.provider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import org.eclipse.kura.container.orchestration.provider.impl.ContainerStateCache;
+import org.junit.After;
+import org.junit.Test;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.command.EventsCmd;
+import com.github.dockerjava.api.command.ListContainersCmd;
+import com.github.dockerjava.api.command.ListImagesCmd;
+import com.github.dockerjava.api.model.Container;
+import com.github.dockerjava.api.model.Event;
+import com.github.dockerjava.api.model.EventType;
+import com.github.dockerjava.api.model.Image;
+
+public class ContainerStateCacheTest {
+
+    private final DockerClient dockerClient = mock(DockerClient.class);
+    private final ListContainersCmd listContainersCmd = mock(ListContainersCmd.class);
+    private final ListImagesCmd listImagesCmd = mock(ListImagesCmd.class);
+    private final EventsCmd eventsCmd = mock(EventsCmd.class);
+
+    private final Map<String, Container> daemonContainers = new ConcurrentHashMap<>();
+    private final Map<String, Image> daemonImages = new ConcurrentHashMap<>();
+
+    private final ContainerStateCache cache = new ContainerStateCache();
+
+    private volatile Collection<String> idFilter;
+    private volatile Runnable onContainersListed;
+    private ResultCallback<Event> eventCallback;
+
+    public ContainerStateCacheTest() {
+        when(this.dockerClient.listContainersCmd()).thenReturn(this.listContainersCmd);
+        when(this.listContainersCmd.withShowAll(true)).thenReturn(this.listContainersCmd);
+        when(this.listContainersCmd.withIdFilter(any())).thenAnswer(invocation -> {
+            this.idFilter = invocation.getArgument(0);
+            return this.listContainersCmd;
+        });
+        when(this.listContainersCmd.exec()).thenAnswer(invocation -> {
+            final List<Container> result = this.daemonContainers.values().stream()
+                    .filter(c -> this.idFilter == null || this.idFilter.contains(c.getId()))
+                    .collect(Collectors.toList());
+            this.idFilter = null;
+
+            final Runnable hook = this.onContainersListed;
+            this.onContainersListed = null;
+            if (hook != null) {
+                hook.run();
+            }
+            return result;
+        });
+
+        when(this.dockerClient.listImagesCmd()).thenReturn(this.listImagesCmd);
+        when(this.listImagesCmd.withShowAll(true)).thenReturn(this.listImagesCmd);
+        when(this.listImagesCmd.exec()).thenAnswer(invocation -> new ArrayList<>(this.daemonImages.values()));
+
+        when(this.dockerClient.eventsCmd()).thenReturn(this.eventsCmd);
+        when(this.eventsCmd.withEventTypeFilter("container", "image")).thenReturn(this.eventsCmd);
+        when(this.eventsCmd.exec(any())).thenAnswer(invocation -> {
+            this.eventCallback = invocation.getArgument(0);
+            return this.eventCallback;
+        });
+    }
+
+    @After
+    public void tearDown() {
+        this.cache.stop();
+    }
+
+    @Test
+    public void shouldNotServeQueriesBeforeStart() {
+        assertFalse(this.cache.isLive());
+        assertFalse(this.cache.getContainers().isPresent());
+        assertFalse(this.cache.getImages().isPresent());
+        assertEquals(2, this.cache.getStatistics().getCacheMisses());
+    }
+
+    @Test
+    public void shouldServeQueriesFromMemory() {
+        givenDaemonContainer("c1", "running");
+        givenDaemonImage("i1", "nginx:latest");
+
+        whenCacheIsStarted();
+
+        thenContainerIdsAre("c1");
+        thenContainerIdsAre("c1");
+        thenImageIdsAre("i1");
+        verify(this.listContainersCmd, times(1)).exec();
+        verify(this.listImagesCmd, times(1)).exec();
+        assertEquals(3, this.cache.getStatistics().getCacheHits());
+    }
+
+    @Test
+    public void shouldUpdateContainerOnEvent() {
+        givenDaemonContainer("c1", "running");
+        whenCacheIsStarted();
+
+        givenDaemonContainer("c2", "running");
+        whenEventIsReceived(EventType.CONTAINER, "start", "c2");
+
+        eventually(() -> containerIds().contains("c2"));
+        thenContainerIdsAre("c1", "c2");
+        assertEquals(1, this.cache.getStatistics().getEventCount());
+    }
+
+    @Test
+    public void shouldApplyEventsReceivedDuringInitialSync() {
+        givenDaemonContainer("c1", "running");
+        givenContainerStartedDuringInitialSync("c2");
+
+        whenCacheIsStarted();
+
+        eventually(() -> containerIds().contains("c2"));
+        thenContainerIdsAre("c1", "c2");
+    }
+
+    @Test
+    public void shouldRemoveContainerOnDestroyEvent() {
+        givenDaemonContainer("c1", "running");
+        givenDaemonContainer("c2", "exited");
+        whenCacheIsStarted();
+
+        this.daemonContainers.remove("c2");
+        whenEventIsReceived(EventType.CONTAINER, "destroy", "c2");
+
+        eventually(() -> !containerIds().contains("c2"));
+        thenContainerIdsAre("c1");
+    }
+
+    @Test
+    public void shouldIgnoreExecEvents() {
+        givenDaemonContainer("c1", "running");
+        whenCacheIsStarted();
+
+        whenEventIsReceived(EventType.CONTAINER, "exec_start: sh", "c1");
+        whenEventIsReceived(EventType.CONTAINER, "stop", "c1");
+
+        verify(this.listContainersCmd, timeout(5000).times(1)).withIdFilter(any());
+        verify(this.listContainersCmd, after(200).times(1)).withIdFilter(any());
+    }
+
+    @Test
+    public void shouldRefreshImagesOnImageEvent() {
+        givenDaemonImage("i1", "nginx:latest");
+        whenCacheIsStarted();
+
+        givenDaemonImage("i2", "alpine:latest");
+        whenEventIsReceived(EventType.IMAGE, "pull", "alpine:latest");
+
+        eventually(() -> imageIds().contains("i2"));
+    }
+
+    @Test
+    public void shouldFallBackToDaemonWhenEventStreamFails() {
+        givenDaemonContainer("c1", "running");
+        whenCacheIsStarted();
+
+        this.eventCallback.onError(new IOException("connection reset"));
+
+        assertFalse(this.cache.isLive());
+        assertFalse(this.cache.getContainers().isPresent());
+        assertFalse(this.cache.getStatistics().isLive());
+    }
+
+    @Test
+    public void shouldNotServeQueriesAfterStop() {
+        givenDaemonContainer("c1", "running");
+        whenCacheIsStarted();
+
+        this.cache.stop();
+
+        assertFalse(this.cache.getContainers().isPresent());
+    }
+
+    private void givenDaemonContainer(final String id, final String state) {
+        this.daemonContainers.put(id, mockContainer(id, state));
+    }
+
+    private void givenDaemonImage(final String id, final String tag) {
+        final Image image = mock(Image.class);
+        when(image.getId()).thenReturn(id);
+        when(image.getRepoTags()).thenReturn(new String[] { tag });
+        this.daemonImages.put(id, image);
+    }
+
+    private void givenContainerStartedDuringInitialSync(final String id) {
+        final Container container = mockContainer(id, "running");
+        final Event event = mockEvent(EventType.CONTAINER, "start", id);
+
+        this.onContainersListed = () -> {
+            this.daemonContainers.put(id, container);
+            this.eventCallback.onNext(event);
+        };
+    }
+
+    private void whenCacheIsStarted() {
+        this.cache.start(this.dockerClient);
+        assertTrue(this.cache.isLive());
+    }
+
+    private void whenEventIsReceived(final EventType type, final String action, final String id) {
+        this.eventCallback.onNext(mockEvent(type, action, id));
+    }
+
+    private void thenContainerIdsAre(final String... ids) {
+        final List<String> actual = containerIds();
+        assertEquals(ids.length, actual.size());
+        for (final String id : ids) {
+            assertTrue(actual.contains(id));
+        }
+    }
+
+    private void thenImageIdsAre(final String... ids) {
+        final List<String> actual = imageIds();
+        assertEquals(ids.length, actual.size());
+        for (final String id : ids) {
+            assertTrue(actual.contains(id));
+        }
+    }
+
+    private List<String> containerIds() {
+        return this.cache.getContainers().orElseThrow(IllegalStateException::new).stream().map(Container::getId)
+                .collect(Collectors.toList());
+    }
+
+    private List<String> imageIds() {
+        return this.cache.getImages().orElseThrow(IllegalStateException::new).stream().map(Image::getId)
+                .collect(Collectors.toList());
+    }
+
+    private static Container mockContainer(final String id, final String state) {
+        final Container container = mock(Container.class);
+        when(container.getId()).thenReturn(id);
+        when(container.getState()).thenReturn(state);
+        when(container.getNames()).thenReturn(new String[] { "/" + id });
+        return container;
+    }
+
+    private static Event mockEvent(final EventType type, final String action, final String id) {
+        final Event event = mock(Event.class);
+        when(event.getType()).thenReturn(type);
+        when(event.getAction()).thenReturn(action);
+        when(event.getId()).thenReturn(id);
+        return event;
+    }
+
+    private static void eventually(final BooleanSupplier condition) {
+        final long deadline = System.currentTimeMillis() + 5000;
+
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("condition not met");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("interrupted");
+            }
+        }
+    }
+}
@@ -23,11 +23,22 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BooleanSupplier;
 
 import org.eclipse.kura.KuraException;
+import org.eclipse.kura.core.db.H2DbServiceOptions.DefragMode;
 import org.eclipse.kura.core.testutil.TestUtil;
 import org.eclipse.kura.crypto.CryptoService;
 import org.junit.Test;
@@ -257,4 +268,225 @@ public class H2DbServiceImplTest {
         }
     }
 
+    @Test
+    public void testUncontendedCheckoutsAreCounted() throws Throwable {
+        H2DbServiceImpl svc = new H2DbServiceImpl();
+
+        Lock first = (Lock) TestUtil.invokePrivate(svc, "acquireReadLock");
+        Lock second = (Lock) TestUtil.invokePrivate(svc, "acquireReadLock");
+        first.unlock();
+        second.unlock();
+
+        assertEquals(2, ((LongAdder) TestUtil.getFieldValue(svc, "connectionCheckouts")).sum());
+        assertEquals(0, ((LongAdder) TestUtil.getFieldValue(svc, "contendedConnectionCheckouts")).sum());
+    }
+
+    @Test
+    public void testWaitingWriterIsNotOvertakenByReaders() throws Throwable {
+        H2DbServiceImpl svc = new H2DbServiceImpl();
+        ReentrantReadWriteLock rwLock = (ReentrantReadWriteLock) TestUtil.getFieldValue(svc, "rwLock");
+        List<String> acquisitions = Collections.synchronizedList(new ArrayList<>());
+
+        Lock firstReader = (Lock) TestUtil.invokePrivate(svc, "acquireReadLock");
+
+        Thread writer = new Thread(() -> {
+            rwLock.writeLock().lock();
+            acquisitions.add("writer");
+            rwLock.writeLock().unlock();
+        });
+        writer.start();
+        waitUntil(() -> rwLock.hasQueuedThread(writer));
+
+        Thread secondReader = new Thread(() -> {
+            try {
+                Lock lock = (Lock) TestUtil.invokePrivate(svc, "acquireReadLock");
+                acquisitions.add("reader");
+                lock.unlock();
+            } catch (Throwable e) {
+                acquisitions.add("failure");
+            }
+        });
+        secondReader.start();
+        waitUntil(() -> rwLock.hasQueuedThread(secondReader));
+
+        assertTrue(acquisitions.isEmpty());
+        assertEquals(1, ((LongAdder) TestUtil.getFieldValue(svc, "contendedConnectionCheckouts")).sum());
+
+        firstReader.unlock();
+        writer.join(5000);
+        secondReader.join(5000);
+
+        assertEquals(Arrays.asList("writer", "reader"), acquisitions);
+        assertEquals(2, ((LongAdder) TestUtil.getFieldValue(svc, "connectionCheckouts")).sum());
+        assertTrue(((LongAdder) TestUtil.getFieldValue(svc, "connectionCheckoutWaitNanos")).sum() > 0);
+    }
+
+    @Test
+    public void testWithConnectionCallsRunConcurrently() throws Throwable {
+        H2DbServiceImpl svc = new H2DbServiceImpl();
+        svc.activate(Collections.emptyMap());
+
+        Map<String, Object> props = new HashMap<>();
+        props.put("db.connector.url", "jdbc:h2:mem:concurrentdb");
+        props.put("db.connection.pool.max.size", 2);
+        svc.updated(props);
+
+        CountDownLatch bothInside = new CountDownLatch(2);
+        List<Boolean> results = Collections.synchronizedList(new ArrayList<>());
+
+        Runnable task = () -> {
+            try {
+                results.add(svc.withConnection(c -> {
+                    bothInside.countDown();
+                    try {
+                        return bothInside.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return false;
+                    }
+                }));
+            } catch (Exception e) {
+                results.add(false);
+            }
+        };
+
+        Thread first = new Thread(task);
+        Thread second = new Thread(task);
+        first.start();
+        second.start();
+        first.join(10000);
+        second.join(10000);
+
+        assertEquals(Arrays.asList(true, true), results);
+
+        svc.deactivate();
+    }
+
+    @Test
+    public void testDefragModeDefaultsToShutdownDefrag() {
+        Map<String, Object> props = new HashMap<>();
+
+        assertEquals(DefragMode.SHUTDOWN_DEFRAG, new H2DbServiceOptions(props).getDefragMode());
+
+        props.put("db.defrag.mode", "UNKNOWN");
+
+        assertEquals(DefragMode.SHUTDOWN_DEFRAG, new H2DbServiceOptions(props).getDefragMode());
+
+        props.put("db.defrag.mode", "ONLINE_COMPACTION");
+
+        assertEquals(DefragMode.ONLINE_COMPACTION, new H2DbServiceOptions(props).getDefragMode());
+    }
+
+    @Test
+    public void testShutdownDefragKeepsData() throws Throwable {
+        File f = new File("/tmp/kurah2/defragdb");
+        H2DbServiceImpl svc = createFileDbService(f, "SHUTDOWN_DEFRAG");
+
+        try {
+            insertTestRow(svc);
+
+            H2DbServiceOptions cfg = (H2DbServiceOptions) TestUtil.getFieldValue(svc, "configuration");
+            TestUtil.invokePrivate(svc, "defrag", new Class<?>[] { H2DbServiceOptions.class }, cfg);
+
+            assertEquals("value", readTestRow(svc));
+        } finally {
+            deleteFileDbService(svc);
+        }
+    }
+
+    @Test
+    public void testOnlineCompactionIsSupported() {
+        assertTrue(H2OnlineCompaction.isSupported());
+    }
+
+    @Test
+    public void testOnlineCompactionKeepsData() throws Throwable {
+        File f = new File("/tmp/kurah2/compactiondb");
+        H2DbServiceImpl svc = createFileDbService(f, "ONLINE_COMPACTION");
+
+        try {
+            insertTestRow(svc);
+
+            Connection conn = svc.getConnection();
+
+            boolean compacted = (boolean) TestUtil.invokePrivate(svc, "compactOnline", new Class<?>[] { int.class },
+                    1000);
+
+            assertTrue(compacted);
+            assertFalse(conn.isClosed());
+            conn.close();
+
+            assertEquals("value", readTestRow(svc));
+        } finally {
+            deleteFileDbService(svc);
+        }
+    }
+
+    @Test
+    public void testOnlineCompactionIsSkippedForInMemoryDb() throws Throwable {
+        H2DbServiceImpl svc = new H2DbServiceImpl();
+        svc.activate(Collections.emptyMap());
+
+        Map<String, Object> props = new HashMap<>();
+        props.put("db.connector.url", "jdbc:h2:mem:compactiondb");
+        props.put("db.defrag.mode", "ONLINE_COMPACTION");
+        svc.updated(props);
+
+        boolean compacted = (boolean) TestUtil.invokePrivate(svc, "compactOnline", new Class<?>[] { int.class }, 1000);
+
+        assertFalse(compacted);
+
+        svc.deactivate();
+    }
+
+    private static H2DbServiceImpl createFileDbService(File f, String defragMode) throws KuraException {
+        H2DbServiceImpl svc = new H2DbServiceImpl();
+        svc.activate(Collections.emptyMap());
+
+        CryptoService csMock = mock(CryptoService.class);
+        svc.setCryptoService(csMock);
+
+        when(csMock.decryptAes("enc".toCharArray())).thenReturn("pass".toCharArray());
+
+        Map<String, Object> props = new HashMap<>();
+        props.put("db.user", "USR");
+        props.put("db.password", "enc");
+        props.put("db.defrag.mode", defragMode);
+        props.put("db.connector.url", "jdbc:h2:file:" + f.getAbsolutePath());
+        svc.updated(props);
+
+        return svc;
+    }
+
+    private static void deleteFileDbService(H2DbServiceImpl svc) throws Throwable {
+        svc.deactivate();
+
+        H2DbServiceOptions cfg = (H2DbServiceOptions) TestUtil.getFieldValue(svc, "configuration");
+        TestUtil.invokePrivate(svc, "deleteDbFiles", cfg);
+    }
+
+    private static void insertTestRow(H2DbServiceImpl svc) throws SQLException {
+        try (Connection conn = svc.getConnection(); Statement statement = conn.createStatement()) {
+            statement.execute("CREATE TABLE TEST (ID INT PRIMARY KEY, VAL VARCHAR(255))");
+            statement.execute("INSERT INTO TEST VALUES (1, 'value')");
+        }
+    }
+
+    private static String readTestRow(H2DbServiceImpl svc) throws SQLException {
+        try (Connection conn = svc.getConnection();
+                Statement statement = conn.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT VAL FROM TEST WHERE ID = 1")) {
+            assertTrue(rs.next());
+            return rs.getString(1);
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+
+        while (!condition.getAsBoolean()) {
+            assertTrue("condition not met in time", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
 }
@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ ******************************************************************************/
+package org.eclipse.kura.core.db.keyvalue;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import org.eclipse.kura.core.db.keyvalue.LogKeyValueStore.CompactionResult;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LogKeyValueStoreTest {
+
+    private Path directory;
+    private LogKeyValueStore store;
+
+    @Before
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("kvstore");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (this.store != null) {
+            this.store.close();
+        }
+        try (Stream<Path> files = Files.list(this.directory)) {
+            files.forEach(f -> f.toFile().delete());
+        }
+        Files.deleteIfExists(this.directory);
+    }
+
+    @Test
+    public void shouldGetLastSetValue() throws IOException {
+        this.store = open(4096);
+
+        this.store.put("foo", bytes("bar"));
+        this.store.put("foo", bytes("baz"));
+
+        assertArrayEquals(bytes("baz"), this.store.get("foo"));
+        assertNull(this.store.get("other"));
+    }
+
+    @Test
+    public void shouldDeleteKey() throws IOException {
+        this.store = open(4096);
+
+        this.store.put("foo", bytes("bar"));
+        this.store.delete("foo");
+
+        assertNull(this.store.get("foo"));
+        assertEquals(0, this.store.getKeyCount());
+    }
+
+    @Test
+    public void shouldRebuildIndexOnReopen() throws IOException {
+        this.store = open(64);
+
+        for (int i = 0; i < 100; i++) {
+            this.store.put("key" + i, bytes("value" + i));
+        }
+        this.store.delete("key3");
+        this.store.put("key4", bytes("updated"));
+
+        this.store.close();
+        this.store = open(64);
+
+        assertEquals(99, this.store.getKeyCount());
+        assertNull(this.store.get("key3"));
+        assertArrayEquals(bytes("updated"), this.store.get("key4"));
+        assertArrayEquals(bytes("value99"), this.store.get("key99"));
+    }
+
+    @Test
+    public void shouldDiscardTruncatedRecord() throws IOException {
+        this.store = open(4096);
+
+        this.store.put("foo", bytes("bar"));
+        this.store.put("baz", bytes("qux"));
+        this.store.close();
+
+        final Path segment = this.directory.resolve(Segment.fileName(0));
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+
+        this.store = open(4096);
+
+        assertArrayEquals(bytes("bar"), this.store.get("foo"));
+        assertNull(this.store.get("baz"));
+
+        this.store.put("baz", bytes("qux"));
+        assertArrayEquals(bytes("qux"), this.store.get("baz"));
+    }
+
+    @Test
+    public void shouldReclaimSpaceWithCompaction() throws IOException {
+        this.store = open(64);
+
+        for (int i = 0; i < 100; i++) {
+            this.store.put("key", bytes("value" + i));
+        }
+        this.store.put("other", bytes("other"));
+        this.store.delete("other");
+
+        final CompactionResult result = this.store.compact(50);
+
+        assertTrue(result.getCompactedSegments() > 0);
+        assertTrue(result.getReclaimedBytes() > 0);
+        assertArrayEquals(bytes("value99"), this.store.get("key"));
+        assertNull(this.store.get("other"));
+
+        this.store.close();
+        this.store = open(64);
+
+        assertEquals(1, this.store.getKeyCount());
+        assertArrayEquals(bytes("value99"), this.store.get("key"));
+        assertNull(this.store.get("other"));
+    }
+
+    @Test
+    public void shouldNotRecompactTombstonesShadowingOlderSegments() throws IOException {
+        this.store = open(64);
+
+        // the first segment stays mostly live and keeps the tombstone of "other" needed
+        this.store.put("keep", bytes(repeat('k', 30)));
+        this.store.put("other", bytes("x"));
+        this.store.delete("other");
+        this.store.put("big", bytes(repeat('b', 40)));
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, this.store.compact(50).getCompactedSegments());
+            this.store.put("big" + i, bytes(repeat('b', 38)));
+        }
+
+        this.store.close();
+        this.store = open(64);
+
+        assertNull(this.store.get("other"));
+        assertEquals(5, this.store.getKeyCount());
+    }
+
+    @Test
+    public void shouldNotResurrectDeletedKeyAfterCompaction() throws IOException {
+        this.store = open(64);
+
+        this.store.put("keep", bytes(repeat('k', 30)));
+        this.store.put("other", bytes("x"));
+        for (int i = 0; i < 20; i++) {
+            this.store.put("key" + i, bytes("v"));
+        }
+        this.store.delete("other");
+        for (int i = 0; i < 20; i++) {
+            this.store.put("key" + i, bytes("w"));
+        }
+
+        assertTrue(this.store.compact(75).getCompactedSegments() > 0);
+
+        this.store.close();
+        this.store = open(64);
+
+        assertNull(this.store.get("other"));
+        assertEquals(21, this.store.getKeyCount());
+
+        this.store.compact(0);
+        this.store.close();
+        this.store = open(64);
+
+        assertNull(this.store.get("other"));
+        assertEquals(21, this.store.getKeyCount());
+    }
+
+    private LogKeyValueStore open(final int segmentMaxSize) throws IOException {
+        return new LogKeyValueStore(this.directory, segmentMaxSize, true, false);
+    }
+
+    private static byte[] bytes(final String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String repeat(final char c, final int count) {
+        final char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+}
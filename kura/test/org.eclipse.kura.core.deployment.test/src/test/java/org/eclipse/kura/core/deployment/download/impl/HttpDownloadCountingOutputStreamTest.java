@@ -0,0 +1,379 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ ******************************************************************************/
+package org.eclipse.kura.core.deployment.download.impl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.kura.KuraException;
+import org.eclipse.kura.core.deployment.download.DeploymentPackageDownloadOptions;
+import org.eclipse.kura.core.deployment.download.DownloadFileUtilities;
+import org.eclipse.kura.core.deployment.download.DownloadOptions;
+import org.eclipse.kura.core.deployment.util.HashUtil;
+import org.junit.After;
+import org.junit.Test;
+
+public class HttpDownloadCountingOutputStreamTest {
+
+    private final TestServer server = new TestServer();
+    private final DeploymentPackageDownloadOptions requestOptions = new DeploymentPackageDownloadOptions("", "test",
+            "1.0.0");
+
+    private File outFile;
+    private HttpDownloadCountingOutputStream download;
+    private Exception downloadException;
+
+    public HttpDownloadCountingOutputStreamTest() {
+        this.requestOptions.setJobId(1234L);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        this.server.close();
+        if (this.outFile != null) {
+            DownloadFileUtilities.getDownloadStateFile(this.outFile).delete();
+            this.outFile.delete();
+        }
+    }
+
+    @Test
+    public void shouldDownloadInParallelSegments() throws Exception {
+        givenContent(3 * 1024 * 1024 + 17);
+        givenSegments(3);
+
+        whenDownloadIsPerformed();
+
+        thenDownloadSucceeds();
+        thenFileContainsServerContent();
+        thenRequestedRangesAre("bytes=0-", "bytes=1048581-2097161", "bytes=2097162-3145744");
+    }
+
+    @Test
+    public void shouldResumeAfterConnectionLoss() throws Exception {
+        givenContent(512 * 1024);
+        givenServerDropsConnections(1, 100000);
+        givenHash("MD5");
+
+        whenDownloadIsPerformed();
+
+        thenDownloadSucceeds();
+        thenFileContainsServerContent();
+        thenRequestedRangesAre("bytes=0-", "bytes=100000-524287");
+        thenHashIsComputedDuringDownload("MD5");
+    }
+
+    @Test
+    public void shouldFailAfterMaxRetries() throws Exception {
+        givenContent(512 * 1024);
+        givenServerDropsConnections(3, 0);
+        givenMaxRetries(2);
+
+        whenDownloadIsPerformed();
+
+        thenDownloadFails();
+        thenRequestCountIs(3);
+    }
+
+    @Test
+    public void shouldContinuePartialDownloadOfPreviousRequest() throws Exception {
+        givenContent(512 * 1024);
+        givenResumeEnabled();
+        givenHash("SHA-256");
+        givenMaxRetries(0);
+        givenServerDropsConnections(1, 200000);
+        givenFailedDownload();
+
+        whenDownloadIsPerformed();
+
+        thenDownloadSucceeds();
+        thenFileContainsServerContent();
+        thenRequestedRangesAre("bytes=0-", "bytes=200000-524287");
+        thenHashIsComputedDuringDownload("SHA-256");
+        thenStateFileIsDeleted();
+    }
+
+    @Test
+    public void shouldRestartIfRemoteResourceChanged() throws Exception {
+        givenContent(512 * 1024);
+        givenResumeEnabled();
+        givenMaxRetries(0);
+        givenServerDropsConnections(1, 200000);
+        givenFailedDownload();
+        givenContent(300 * 1024);
+
+        whenDownloadIsPerformed();
+
+        thenDownloadSucceeds();
+        thenFileContainsServerContent();
+        thenRequestedRangesAre("bytes=0-", "bytes=200000-524287", "bytes=0-");
+    }
+
+    @Test
+    public void shouldRestartIfServerDoesNotSupportRanges() throws Exception {
+        givenContent(512 * 1024);
+        givenServerWithoutRangeSupport();
+        givenServerDropsConnections(1, 100000);
+        givenSegments(4);
+
+        whenDownloadIsPerformed();
+
+        thenDownloadSucceeds();
+        thenFileContainsServerContent();
+        thenRequestCountIs(2);
+    }
+
+    @Test
+    public void shouldParseContentRange() {
+        assertArrayEquals(new long[] { 0, 99, 1234 },
+                HttpDownloadCountingOutputStream.parseContentRange("bytes 0-99/1234"));
+        assertArrayEquals(new long[] { 10, 99, -1 },
+                HttpDownloadCountingOutputStream.parseContentRange("bytes 10-99/*"));
+        assertEquals(null, HttpDownloadCountingOutputStream.parseContentRange("bytes */1234"));
+        assertEquals(null, HttpDownloadCountingOutputStream.parseContentRange(null));
+    }
+
+    private void givenContent(final int size) {
+        final byte[] content = new byte[size];
+        new Random(size).nextBytes(content);
+        this.server.setContent(content);
+    }
+
+    private void givenSegments(final int segments) {
+        this.requestOptions.setSegments(segments);
+    }
+
+    private void givenHash(final String algorithm) throws Exception {
+        this.requestOptions.setHash(algorithm + ":" + hash(algorithm, this.server.content));
+    }
+
+    private void givenMaxRetries(final int maxRetries) {
+        this.requestOptions.setMaxRetries(maxRetries);
+    }
+
+    private void givenResumeEnabled() {
+        this.requestOptions.setResume(true);
+    }
+
+    private void givenServerDropsConnections(final int count, final int afterBytes) {
+        this.server.dropCount.set(count);
+        this.server.dropAfterBytes = afterBytes;
+    }
+
+    private void givenServerWithoutRangeSupport() {
+        this.server.acceptsRanges = false;
+    }
+
+    private void givenFailedDownload() throws Exception {
+        whenDownloadIsPerformed();
+        thenDownloadFails();
+        assertTrue(DownloadFileUtilities.getDownloadStateFile(this.outFile).exists());
+    }
+
+    private void whenDownloadIsPerformed() throws IOException {
+        if (this.outFile == null) {
+            this.outFile = File.createTempFile("download", ".part");
+        }
+
+        final DownloadOptions downloadOptions = new DownloadOptions();
+        downloadOptions.setOutFile(this.outFile);
+        downloadOptions.setRequestOptions(this.requestOptions);
+        downloadOptions.setCallback(event -> {
+        });
+        downloadOptions.setDownloadURL("http://localhost:" + this.server.getPort() + "/test.dp");
+
+        this.download = new HttpDownloadCountingOutputStream(downloadOptions);
+        this.downloadException = null;
+
+        try {
+            this.download.startWork();
+        } catch (KuraException e) {
+            this.downloadException = e;
+        }
+    }
+
+    private void thenDownloadSucceeds() {
+        if (this.downloadException != null) {
+            throw new AssertionError("download failed", this.downloadException);
+        }
+    }
+
+    private void thenDownloadFails() {
+        if (this.downloadException == null) {
+            fail("download should have failed");
+        }
+    }
+
+    private void thenFileContainsServerContent() throws IOException {
+        assertArrayEquals(this.server.content, Files.readAllBytes(this.outFile.toPath()));
+    }
+
+    private void thenRequestedRangesAre(final String... ranges) {
+        final List<String> requested = this.server.ranges;
+
+        assertEquals(ranges.length, requested.size());
+
+        // segments are requested concurrently
+        for (final String range : ranges) {
+            assertTrue("missing request for " + range + " in " + requested, requested.contains(range));
+        }
+        assertEquals(ranges[0], requested.get(0));
+    }
+
+    private void thenRequestCountIs(final int count) {
+        assertEquals(count, this.server.ranges.size());
+    }
+
+    private void thenHashIsComputedDuringDownload(final String algorithm) throws Exception {
+        assertEquals(hash(algorithm, this.server.content), this.download.getHash(algorithm));
+    }
+
+    private void thenStateFileIsDeleted() {
+        assertFalse(DownloadFileUtilities.getDownloadStateFile(this.outFile).exists());
+    }
+
+    private static String hash(final String algorithm, final byte[] content) throws Exception {
+        return HashUtil.toHex(MessageDigest.getInstance(algorithm).digest(content));
+    }
+
+    private static final class TestServer implements Runnable {
+
+        private final ServerSocket serverSocket;
+        private final Thread thread;
+
+        private final List<String> ranges = new CopyOnWriteArrayList<>();
+        private final AtomicInteger dropCount = new AtomicInteger();
+        private volatile int dropAfterBytes;
+        private volatile boolean acceptsRanges = true;
+        private volatile byte[] content = new byte[0];
+        private volatile String etag;
+
+        TestServer() {
+            try {
+                this.serverSocket = new ServerSocket(0);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            this.thread = new Thread(this, "TestHttpServer");
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+
+        void setContent(final byte[] content) {
+            this.content = content;
+            this.etag = "\"" + content.length + "\"";
+        }
+
+        int getPort() {
+            return this.serverSocket.getLocalPort();
+        }
+
+        void close() throws IOException {
+            this.serverSocket.close();
+        }
+
+        @Override
+        public void run() {
+            while (!this.serverSocket.isClosed()) {
+                try {
+                    final Socket socket = this.serverSocket.accept();
+                    final Thread handler = new Thread(() -> handle(socket));
+                    handler.setDaemon(true);
+                    handler.start();
+                } catch (IOException e) {
+                    // closed
+                }
+            }
+        }
+
+        private void handle(final Socket socket) {
+            try (Socket s = socket) {
+                final BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(s.getInputStream(), StandardCharsets.ISO_8859_1));
+                final Map<String, String> headers = new HashMap<>();
+
+                reader.readLine();
+
+                String line;
+                while ((line = reader.readLine()) != null && !line.isEmpty()) {
+                    final int colon = line.indexOf(':');
+                    headers.put(line.substring(0, colon).trim().toLowerCase(), line.substring(colon + 1).trim());
+                }
+
+                final String range = headers.get("range");
+                final String ifRange = headers.get("if-range");
+                this.ranges.add(range != null ? range : "");
+
+                final byte[] data = this.content;
+                int first = 0;
+                int last = data.length - 1;
+                boolean partial = false;
+
+                if (range != null && this.acceptsRanges && (ifRange == null || ifRange.equals(this.etag))) {
+                    final String[] bounds = range.substring("bytes=".length()).split("-", -1);
+                    first = Integer.parseInt(bounds[0]);
+                    if (!bounds[1].isEmpty()) {
+                        last = Integer.parseInt(bounds[1]);
+                    }
+                    partial = true;
+                }
+
+                final int length = last - first + 1;
+                final StringBuilder response = new StringBuilder();
+
+                if (partial) {
+                    response.append("HTTP/1.1 206 Partial Content\r\n");
+                    response.append("Content-Range: bytes " + first + "-" + last + "/" + data.length + "\r\n");
+                } else {
+                    response.append("HTTP/1.1 200 OK\r\n");
+                }
+                if (this.acceptsRanges) {
+                    response.append("ETag: " + this.etag + "\r\n");
+                }
+                response.append("Content-Length: " + length + "\r\n");
+                response.append("Connection: close\r\n\r\n");
+
+                final OutputStream out = s.getOutputStream();
+                out.write(response.toString().getBytes(StandardCharsets.ISO_8859_1));
+
+                if (this.dropCount.getAndDecrement() > 0) {
+                    out.write(data, first, Math.min(length, this.dropAfterBytes));
+                } else {
+                    out.write(data, first, length);
+                }
+                out.flush();
+            } catch (IOException e) {
+                // client disconnected
+            }
+        }
+    }
+}
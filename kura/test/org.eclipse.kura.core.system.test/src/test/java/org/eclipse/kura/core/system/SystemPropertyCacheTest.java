@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ ******************************************************************************/
+package org.eclipse.kura.core.system;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class SystemPropertyCacheTest {
+
+    private final SystemPropertyCache cache = new SystemPropertyCache();
+
+    @After
+    public void tearDown() {
+        this.cache.stop();
+    }
+
+    @Test
+    public void shouldLoadPropertyOnce() {
+        final AtomicInteger loads = new AtomicInteger();
+        this.cache.register("test", 1, TimeUnit.HOURS, () -> "value" + loads.incrementAndGet());
+        this.cache.start();
+
+        assertEquals("value1", get("test"));
+        assertEquals("value1", get("test"));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void shouldReturnStaleValueAndRefreshInBackground() throws InterruptedException {
+        final AtomicInteger loads = new AtomicInteger();
+        this.cache.register("test", 10, TimeUnit.MILLISECONDS, () -> "value" + loads.incrementAndGet());
+        this.cache.start();
+
+        assertEquals("value1", get("test"));
+        Thread.sleep(20);
+
+        assertEquals("value1", get("test"));
+
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (!"value2".equals(get("test"))) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("property not refreshed");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    public void shouldReloadExpiredPropertyInCallingThreadIfNotStarted() throws InterruptedException {
+        final AtomicInteger loads = new AtomicInteger();
+        this.cache.register("test", 10, TimeUnit.MILLISECONDS, () -> "value" + loads.incrementAndGet());
+
+        assertEquals("value1", get("test"));
+        Thread.sleep(20);
+
+        get("test");
+        assertEquals("value2", get("test"));
+    }
+
+    @Test
+    public void shouldPopulateInParallel() throws Exception {
+        final CyclicBarrier barrier = new CyclicBarrier(3);
+        final CountDownLatch loaded = new CountDownLatch(3);
+
+        for (int i = 0; i < 3; i++) {
+            final String value = "value" + i;
+            this.cache.register("test" + i, 1, TimeUnit.HOURS, () -> {
+                try {
+                    // only completes if the three properties are loaded at the same time
+                    barrier.await(5, TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                loaded.countDown();
+                return value;
+            });
+        }
+
+        this.cache.start();
+        this.cache.populate();
+
+        assertTrue(loaded.await(5, TimeUnit.SECONDS));
+        assertEquals("value0", get("test0"));
+        assertEquals("value1", get("test1"));
+        assertEquals("value2", get("test2"));
+    }
+
+    @Test
+    public void shouldWaitForOngoingLoad() throws Exception {
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        this.cache.register("test", 1, TimeUnit.HOURS, () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "value" + loads.incrementAndGet();
+        });
+
+        this.cache.start();
+        this.cache.populate();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            release.countDown();
+        }).start();
+
+        assertEquals("value1", get("test"));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void shouldNotWaitForQueuedLoadsFromLoaderThreads() {
+        // more dependent properties than loader threads
+        for (int i = 0; i < 8; i++) {
+            this.cache.register("provider" + i, 1, TimeUnit.HOURS, () -> "provided");
+        }
+        for (int i = 0; i < 8; i++) {
+            final String provider = "provider" + i;
+            this.cache.register("property" + i, 1, TimeUnit.HOURS, () -> get(provider));
+        }
+
+        this.cache.start();
+        this.cache.populate();
+
+        for (int i = 0; i < 8; i++) {
+            assertEquals("provided", get("property" + i));
+        }
+    }
+
+    @Test
+    public void shouldRetryFailedLoad() {
+        final AtomicInteger loads = new AtomicInteger();
+        this.cache.register("test", 1, TimeUnit.HOURS, () -> {
+            if (loads.incrementAndGet() == 1) {
+                throw new IllegalStateException("failed");
+            }
+            return "value";
+        });
+        this.cache.start();
+
+        try {
+            get("test");
+            fail("exception expected");
+        } catch (IllegalStateException e) {
+            assertEquals("failed", e.getMessage());
+        }
+
+        assertEquals("value", get("test"));
+    }
+
+    @Test
+    public void shouldUseFallbackForUnknownProperty() {
+        final AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("value1", this.cache.get("unknown", () -> "value" + loads.incrementAndGet()));
+        assertEquals("value2", this.cache.get("unknown", () -> "value" + loads.incrementAndGet()));
+    }
+
+    @Test
+    public void shouldUseFallbackAfterStop() {
+        this.cache.register("test", 1, TimeUnit.HOURS, () -> "cached");
+        this.cache.start();
+        assertEquals("cached", get("test"));
+
+        this.cache.stop();
+
+        assertEquals("direct", this.cache.get("test", () -> "direct"));
+    }
+
+    private String get(final String name) {
+        return this.cache.get(name, () -> {
+            throw new AssertionError("property " + name + " is not registered");
+        });
+    }
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2017, 2021 Eurotech and/or its affiliates and others
+ * Copyright (c) 2017, 2023 Eurotech and/or its affiliates and others
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,8 @@ package org.eclipse.kura.core.system;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -24,6 +26,7 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.kura.KuraProcessExecutionErrorException;
 import org.eclipse.kura.core.linux.executor.LinuxExitStatus;
@@ -357,6 +360,59 @@ public class SystemServiceTest {
         List<SystemResourceInfo> packages = systemService.getSystemPackages();
     }
 
+    @Test
+    public void testGetHostnameWhenNotActivated() {
+        SystemServiceImpl systemService = new SystemServiceImpl();
+        systemService.setExecutorService(mockCommandExecutorService("hostname", new AtomicInteger()));
+
+        assertEquals("value1", systemService.getHostname());
+    }
+
+    @Test
+    public void testPropertyProviderTtlAppliesToHardwareProperties() throws InterruptedException {
+        AtomicInteger providerRuns = new AtomicInteger();
+
+        SystemServiceImpl systemService = new SystemServiceImpl() {
+
+            @Override
+            protected String readResource(String resource) throws IOException {
+                return null;
+            }
+        };
+        systemService.setExecutorService(mockCommandExecutorService("bios-provider", providerRuns));
+        systemService.activate(mock(ComponentContext.class));
+
+        systemService.getProperties().remove(SystemService.KEY_BIOS_VERSION);
+        systemService.getProperties().put(SystemService.KEY_BIOS_VERSION + ".provider", "bios-provider");
+        systemService.getProperties().put(SystemService.KEY_BIOS_VERSION + ".provider.ttl", "0");
+
+        try {
+            assertEquals("value1", systemService.getBiosVersion());
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!"value2".equals(systemService.getBiosVersion())) {
+                assertTrue("provider not run again", System.currentTimeMillis() < deadline);
+                Thread.sleep(10);
+            }
+        } finally {
+            systemService.deactivate(null);
+        }
+    }
+
+    private CommandExecutorService mockCommandExecutorService(String command, AtomicInteger runs) {
+        CommandExecutorService cesMock = mock(CommandExecutorService.class);
+
+        when(cesMock.execute(any(Command.class))).thenAnswer(invocation -> {
+            Command executed = invocation.getArgument(0);
+            CommandStatus status = new CommandStatus(executed, new LinuxExitStatus(0));
+            String output = command.equals(executed.getCommandLine()[0]) ? "value" + runs.incrementAndGet() : "";
+            status.setOutputStream(writeToOutputStream(output));
+            return status;
+        });
+
+        return cesMock;
+    }
+
     private ByteArrayOutputStream writeToOutputStream(String data) throws IOException {
         ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
         DataOutputStream dataOutputStream = new DataOutputStream(byteArrayOutputStream);
@@ -1,6 +1,8 @@
 package org.eclipse.kura.core.test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.ByteArrayOutputStream;
@@ -19,6 +21,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -35,6 +39,8 @@ import org.eclipse.kura.core.testutil.pki.TestCA.CRLCreationOptions;
 import org.eclipse.kura.core.testutil.pki.TestCA.CertificateCreationOptions;
 import org.eclipse.kura.core.testutil.pki.TestCA.TestCAException;
 import org.eclipse.kura.data.DataTransportService;
+import org.eclipse.kura.data.DataTransportToken;
+import org.eclipse.kura.data.transport.listener.DataTransportListener;
 import org.eclipse.kura.security.keystore.KeystoreChangedEvent;
 import org.eclipse.kura.util.wire.test.WireTestUtil;
 import org.junit.AfterClass;
@@ -153,6 +159,44 @@ public class MqttDataTransportTest {
         }
     }
 
+    @Test
+    public void shouldPublishOverMultipleSessions() throws Exception {
+        try (final Fixture fixture = new Fixture()) {
+            final DataTransportService test = fixture.createFactoryConfiguration(DataTransportService.class,
+                    TEST_MQTT_DATA_TRANSPORT_PID, MQTT_DATA_TRANSPORT_FACTORY_PID,
+                    MqttDataTransportOptions.defaultConfiguration().withBrokerUrl("mqtt://localhost:1889")
+                            .withPublishSessions(4).toProperties())
+                    .get(30, TimeUnit.SECONDS);
+
+            final Set<DataTransportToken> confirmed = ConcurrentHashMap.newKeySet();
+            final CountDownLatch confirmations = new CountDownLatch(16);
+            final DataTransportListener listener = new ConfirmationListener(confirmed, confirmations);
+
+            test.addDataTransportListener(listener);
+
+            try {
+                test.connect();
+
+                final Set<DataTransportToken> published = new HashSet<>();
+                final Set<String> sessionIds = new HashSet<>();
+
+                for (int i = 0; i < 16; i++) {
+                    final DataTransportToken token = test.publish("test/topic" + i, new byte[] { (byte) i }, 1,
+                            false);
+                    published.add(token);
+                    sessionIds.add(token.getSessionId());
+                }
+
+                assertTrue(confirmations.await(30, TimeUnit.SECONDS));
+                assertEquals(published, confirmed);
+                assertTrue(sessionIds.size() > 1);
+            } finally {
+                test.removeDataTransportListener(listener);
+                test.disconnect(0);
+            }
+        }
+    }
+
     @Test
     public void shouldNotConnectOverMqttsWithoutKeystore() throws Exception {
         try (final Fixture fixture = new Fixture()) {
@@ -701,6 +745,7 @@ public class MqttDataTransportTest {
         private Optional<String> username = Optional.empty();
         private Optional<String> password = Optional.empty();
         private Optional<String> sslManagerTargetFilter = Optional.empty();
+        private Optional<Integer> publishSessions = Optional.empty();
 
         private MqttDataTransportOptions() {
         }
@@ -729,6 +774,11 @@ public class MqttDataTransportTest {
             return this;
         }
 
+        MqttDataTransportOptions withPublishSessions(final int arg) {
+            this.publishSessions = Optional.of(arg);
+            return this;
+        }
+
         Map<String, Object> toProperties() {
             final Map<String, Object> result = new HashMap<>();
 
@@ -736,6 +786,7 @@ public class MqttDataTransportTest {
             this.username.ifPresent(v -> result.put("username", v));
             this.password.ifPresent(v -> result.put("password", v));
             this.sslManagerTargetFilter.ifPresent(v -> result.put("SslManagerService.target", v));
+            this.publishSessions.ifPresent(v -> result.put("publish-sessions.number", v));
 
             return result;
         }
@@ -845,6 +896,58 @@ public class MqttDataTransportTest {
         }
     }
 
+    private static class ConfirmationListener implements DataTransportListener {
+
+        private final Set<DataTransportToken> confirmed;
+        private final CountDownLatch confirmations;
+
+        ConfirmationListener(final Set<DataTransportToken> confirmed, final CountDownLatch confirmations) {
+            this.confirmed = confirmed;
+            this.confirmations = confirmations;
+        }
+
+        @Override
+        public void onMessageConfirmed(DataTransportToken token) {
+            this.confirmed.add(token);
+            this.confirmations.countDown();
+        }
+
+        @Override
+        public void onConnectionEstablished(boolean newSession) {
+            // not needed
+        }
+
+        @Override
+        public void onDisconnecting() {
+            // not needed
+        }
+
+        @Override
+        public void onDisconnected() {
+            // not needed
+        }
+
+        @Override
+        public void onConfigurationUpdating(boolean wasConnected) {
+            // not needed
+        }
+
+        @Override
+        public void onConfigurationUpdated(boolean wasConnected) {
+            // not needed
+        }
+
+        @Override
+        public void onConnectionLost(Throwable cause) {
+            // not needed
+        }
+
+        @Override
+        public void onMessageArrived(String topic, byte[] payload, int qos, boolean retained) {
+            // not needed
+        }
+    }
+
     private static class Fixture implements AutoCloseable {
 
         private final Set<String> createdPids = new HashSet<>();
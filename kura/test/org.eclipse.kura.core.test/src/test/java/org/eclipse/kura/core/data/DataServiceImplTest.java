@@ -23,14 +23,17 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -41,6 +44,8 @@ import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.kura.KuraConnectException;
+import org.eclipse.kura.KuraException;
+import org.eclipse.kura.KuraStoreCapacityReachedException;
 import org.eclipse.kura.KuraStoreException;
 import org.eclipse.kura.core.testutil.TestUtil;
 import org.eclipse.kura.data.DataTransportService;
@@ -51,6 +56,8 @@ import org.eclipse.kura.message.store.provider.MessageStoreProvider;
 import org.eclipse.kura.status.CloudConnectionStatusComponent;
 import org.eclipse.kura.status.CloudConnectionStatusEnum;
 import org.eclipse.kura.status.CloudConnectionStatusService;
+import org.eclipse.kura.util.message.store.QuotaAwareMessageStore;
+import org.eclipse.kura.util.message.store.QuotaAwareMessageStore.EvictionPolicy;
 import org.eclipse.kura.watchdog.WatchdogService;
 import org.eclipse.paho.client.mqttv3.MqttException;
 import org.junit.Before;
@@ -69,7 +76,7 @@ public class DataServiceImplTest {
     private Map<String, Object> properties;
     private Optional<Exception> exception = Optional.empty();
     private final MessageStoreProvider messageStoreProvider = Mockito.mock(MessageStoreProvider.class);
-    private final MessageStore messageStore = Mockito.mock(MessageStore.class);
+    private final QuotaAwareMessageStore messageStore = Mockito.mock(QuotaAwareMessageStore.class);
     private final List<StoredMessage> storedMessages = new ArrayList<>();
 
     @Before
@@ -187,6 +194,197 @@ public class DataServiceImplTest {
         thenExceptionMessageContains("size exceeds");
     }
 
+    @Test
+    public void shouldDiscardExpiredLowPriorityMessages() throws KuraException {
+        givenDataService();
+        givenMessageStoreProvider();
+        givenDataTrasportServiceConnected();
+        givenConfigurationProperty("message.expiry.interval.seconds", 60L);
+        givenNextMessage(1, 0, 7, 120000);
+        givenIsActive();
+
+        thenMessageIsMarkedAsPublished(1);
+        thenNothingIsPublished();
+    }
+
+    @Test
+    public void shouldDiscardExpiredLowPriorityQos1Messages() throws Exception {
+        givenDataService();
+        givenMessageStoreProvider();
+        givenDataTrasportServiceConnected();
+        givenConfigurationProperty("message.expiry.interval.seconds", 60L);
+        givenNextMessage(1, 1, 7, 120000);
+        givenIsActive();
+
+        thenMessageIsMarkedAsPublished(1);
+        thenMessageIsMarkedAsConfirmed(1);
+        thenNothingIsPublished();
+        thenNoMessagesAreInFlight();
+    }
+
+    @Test
+    public void shouldPublishExpiredHighPriorityMessages() throws KuraException {
+        givenDataService();
+        givenMessageStoreProvider();
+        givenDataTrasportServiceConnected();
+        givenConfigurationProperty("message.expiry.interval.seconds", 60L);
+        givenNextMessage(1, 0, 2, 120000);
+        givenIsActive();
+
+        thenMessageIsPublished("foo");
+    }
+
+    @Test
+    public void shouldPublishRecentLowPriorityMessages() throws KuraException {
+        givenDataService();
+        givenMessageStoreProvider();
+        givenDataTrasportServiceConnected();
+        givenConfigurationProperty("message.expiry.interval.seconds", 60L);
+        givenConfigurationProperty("enable.rate.limit", false);
+        givenNextMessage(1, 0, 7, 1000);
+        givenIsActive();
+
+        thenMessageIsPublished("foo");
+    }
+
+    @Test
+    public void shouldNotExceedTheTransportInFlightWindow() throws KuraException, NoSuchFieldException {
+        givenDataService();
+        givenMessageStoreProvider();
+        givenFlowControlledTrasportServiceConnected(2);
+        givenConfigurationProperty("in-flight-messages.max-number", 9);
+        givenInFlightMessages(2);
+        givenNextMessage(3, 1, 2, 0);
+        givenIsActive();
+
+        thenNextMessageIsRequested();
+        thenNothingIsPublished();
+    }
+
+    @Test
+    public void shouldPublishWithinTheTransportInFlightWindow() throws KuraException, NoSuchFieldException {
+        givenDataService();
+        givenMessageStoreProvider();
+        givenFlowControlledTrasportServiceConnected(3);
+        givenConfigurationProperty("in-flight-messages.max-number", 9);
+        givenInFlightMessages(2);
+        givenNextMessage(3, 1, 2, 0);
+        givenIsActive();
+
+        thenMessageIsPublished("foo");
+    }
+
+    @Test
+    public void shouldRejectMessagesWhenStoreIsFull() throws KuraStoreException {
+        givenDataService();
+        givenMessageStoreProvider();
+        givenDataTrasportServiceConnected();
+        givenConfigurationProperty("store.capacity", 10);
+        givenStoreMessageCount(10);
+        givenIsActive();
+
+        whenMessageIsPublished("foo", new byte[1], 0, false, 7);
+
+        thenExceptionIsThrown(KuraStoreCapacityReachedException.class);
+        thenNoMessagesAreEvicted();
+        thenStoredMessageCountIs(0);
+    }
+
+    @Test
+    public void shouldEvictLowPriorityMessagesWhenStoreIsFull() throws KuraStoreException {
+        givenDataService();
+        givenMessageStoreProvider();
+        givenDataTrasportServiceConnected();
+        givenConfigurationProperty("store.capacity", 10);
+        givenConfigurationProperty("store.low-priority.eviction-policy", "DROP_OLDEST");
+        givenStoreMessageCount(10);
+        givenEvictableMessages(1);
+        givenIsActive();
+
+        whenMessageIsPublished("foo", new byte[1], 0, false, 2);
+
+        thenNoExceptionIsTrown();
+        thenMessageIsStored(0, "foo", new byte[1], 0, false, 2);
+    }
+
+    @Test
+    public void shouldRejectMessagesWhenNoLowPriorityMessageCanBeEvicted() throws KuraStoreException {
+        givenDataService();
+        givenMessageStoreProvider();
+        givenDataTrasportServiceConnected();
+        givenConfigurationProperty("store.capacity", 10);
+        givenConfigurationProperty("store.low-priority.eviction-policy", "DROP_OLDEST");
+        givenStoreMessageCount(10);
+        givenEvictableMessages(0);
+        givenIsActive();
+
+        whenMessageIsPublished("foo", new byte[1], 0, false, 2);
+
+        thenExceptionIsThrown(KuraStoreCapacityReachedException.class);
+        thenStoredMessageCountIs(0);
+    }
+
+    @Test
+    public void shouldEnforceLowPriorityQuota() throws KuraStoreException {
+        givenDataService();
+        givenMessageStoreProvider();
+        givenDataTrasportServiceConnected();
+        givenConfigurationProperty("store.low-priority.capacity", 5);
+        givenConfigurationProperty("store.low-priority.eviction-policy", "DROP_OLDEST");
+        givenIsActive();
+
+        whenMessageIsPublished("foo", new byte[1], 0, false, 7);
+        whenMessageIsPublished("bar", new byte[1], 0, false, 2);
+
+        thenNoExceptionIsTrown();
+        thenLowPriorityQuotaIsEnforced(1, 5, EvictionPolicy.DROP_OLDEST);
+        thenStoredMessageCountIs(2);
+    }
+
+    private void givenStoreMessageCount(final int count) throws KuraStoreException {
+        when(this.messageStore.getMessageCount()).thenReturn(count);
+    }
+
+    private void givenEvictableMessages(final int count) throws KuraStoreException {
+        when(this.messageStore.deleteOldestMessages(eq(5), eq(Integer.MAX_VALUE), Mockito.anyInt())).thenReturn(count);
+    }
+
+    private void givenNextMessage(final int id, final int qos, final int priority, final long ageMillis)
+            throws KuraStoreException {
+        final StoredMessage message = new StoredMessage.Builder(id) //
+                .withTopic("foo") //
+                .withPayload(new byte[0]) //
+                .withQos(qos) //
+                .withPriority(priority) //
+                .withCreatedOn(new Date(System.currentTimeMillis() - ageMillis)) //
+                .build();
+
+        when(this.messageStore.getNextMessage()).thenReturn(Optional.of(message), Optional.empty());
+    }
+
+    private void givenInFlightMessages(final int count) throws NoSuchFieldException {
+        final Map<DataTransportToken, Integer> inFlightMsgIds = new HashMap<>();
+
+        for (int i = 0; i < count; i++) {
+            inFlightMsgIds.put(new DataTransportToken(i, "session"), i);
+        }
+
+        TestUtil.setFieldValue(this.dataServiceImpl, "inFlightMsgIds", inFlightMsgIds);
+    }
+
+    private void givenFlowControlledTrasportServiceConnected(final int inFlightWindow) {
+        this.dataTransportServiceMock = mock(DataTransportService.class,
+                withSettings().extraInterfaces(FlowControlledTransport.class));
+        try {
+            TestUtil.setFieldValue(this.dataServiceImpl, "dataTransportService", this.dataTransportServiceMock);
+            when(this.dataTransportServiceMock.isConnected()).thenReturn(true);
+            when(((FlowControlledTransport) this.dataTransportServiceMock).getInFlightWindow())
+                    .thenReturn(inFlightWindow);
+        } catch (NoSuchFieldException e) {
+            fail(e.getMessage());
+        }
+    }
+
     private void givenConfigurationProperty(final String key, final Object value) {
         this.properties.put(key, value);
     }
@@ -320,6 +518,42 @@ public class DataServiceImplTest {
         assertEquals(priority, message.getPriority());
     }
 
+    private void thenMessageIsMarkedAsPublished(final int id) throws KuraStoreException {
+        verify(this.messageStore, timeout(5000).times(1)).markAsPublished(id);
+    }
+
+    private void thenMessageIsMarkedAsConfirmed(final int id) throws KuraStoreException {
+        verify(this.messageStore, timeout(5000).times(1)).markAsConfirmed(id);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void thenNoMessagesAreInFlight() throws NoSuchFieldException {
+        assertTrue(((Map<DataTransportToken, Integer>) TestUtil.getFieldValue(this.dataServiceImpl, "inFlightMsgIds"))
+                .isEmpty());
+    }
+
+    private void thenMessageIsPublished(final String topic) throws KuraException {
+        verify(this.dataTransportServiceMock, timeout(5000).times(1)).publish(eq(topic), any(), Mockito.anyInt(),
+                Mockito.anyBoolean());
+    }
+
+    private void thenNextMessageIsRequested() throws KuraStoreException {
+        verify(this.messageStore, timeout(5000).atLeastOnce()).getNextMessage();
+    }
+
+    private void thenNothingIsPublished() throws KuraException {
+        verify(this.dataTransportServiceMock, never()).publish(any(), any(), Mockito.anyInt(), Mockito.anyBoolean());
+    }
+
+    private void thenNoMessagesAreEvicted() throws KuraStoreException {
+        verify(this.messageStore, never()).deleteOldestMessages(Mockito.anyInt(), Mockito.anyInt(), Mockito.anyInt());
+    }
+
+    private void thenLowPriorityQuotaIsEnforced(final int times, final int capacity, final EvictionPolicy policy)
+            throws KuraStoreException {
+        verify(this.messageStore, times(times)).enforceQuota(5, Integer.MAX_VALUE, capacity, policy);
+    }
+
     private void thenStoredMessageCountIs(final int expectedCount) {
         assertEquals(expectedCount, this.storedMessages.size());
     }
@@ -21,6 +21,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.eclipse.kura.db.H2DbService;
+import org.eclipse.kura.util.message.store.QuotaAwareMessageStore.EvictionPolicy;
 import org.junit.Test;
 
 public class DataServiceOptionsTest {
@@ -32,6 +33,8 @@ public class DataServiceOptionsTest {
     private static final String STORE_HOUSEKEEPER_INTERVAL_PROP_NAME = "store.housekeeper-interval";
     private static final String STORE_PURGE_AGE_PROP_NAME = "store.purge-age";
     private static final String STORE_CAPACITY_PROP_NAME = "store.capacity";
+    private static final String STORE_LOW_PRIORITY_CAPACITY_PROP_NAME = "store.low-priority.capacity";
+    private static final String STORE_LOW_PRIORITY_EVICTION_POLICY_PROP_NAME = "store.low-priority.eviction-policy";
     private static final String REPUBLISH_IN_FLIGHT_MSGS_PROP_NAME = "in-flight-messages.republish-on-new-session";
     private static final String MAX_IN_FLIGHT_MSGS_PROP_NAME = "in-flight-messages.max-number";
     private static final String IN_FLIGHT_MSGS_CONGESTION_TIMEOUT_PROP_NAME = "in-flight-messages.congestion-timeout";
@@ -46,6 +49,7 @@ public class DataServiceOptionsTest {
     private static final String CONNECTION_SCHEDULE_INACTIVITY_INTERVAL_SECONDS = "connection.schedule.inactivity.interval.seconds";
     private static final String CONNECTION_SCHEDULE_PRIORITY_OVERRIDE_ENABLE = "connection.schedule.priority.override.enable";
     private static final String CONNECTION_SCHEDULE_PRIORITY_OVERRIDE_THRESHOLD = "connection.schedule.priority.override.threshold";
+    private static final String MESSAGE_EXPIRY_INTERVAL_SECONDS = "message.expiry.interval.seconds";
 
     private static final boolean AUTOCONNECT_PROP_DEFAULT = false;
     private static final int CONNECT_DELAY_DEFAULT = 60;
@@ -54,6 +58,8 @@ public class DataServiceOptionsTest {
     private static final int STORE_HOUSEKEEPER_INTERVAL_DEFAULT = 900;
     private static final int STORE_PURGE_AGE_DEFAULT = 60;
     private static final int STORE_CAPACITY_DEFAULT = 10000;
+    private static final int STORE_LOW_PRIORITY_CAPACITY_DEFAULT = 0;
+    private static final EvictionPolicy STORE_LOW_PRIORITY_EVICTION_POLICY_DEFAULT = EvictionPolicy.REJECT;
     private static final boolean REPUBLISH_IN_FLIGHT_MSGS_DEFAULT = true;
     private static final int MAX_IN_FLIGHT_MSGS_DEFAULT = 9;
     private static final int IN_FLIGHT_MSGS_CONGESTION_TIMEOUT_DEFAULT = 0;
@@ -65,6 +71,7 @@ public class DataServiceOptionsTest {
     private static final boolean CONNECTION_SCHEDULE_ENABLED_DEFAULT = false;
     private static final boolean CONNECTION_SCHEDULE_PRIORITY_OVERRIDE_ENABLE_DEFAULT = false;
     private static final int CONNECTION_SCHEDULE_PRIORITY_OVERRIDE_THRESHOLD_DEFAULT = 1;
+    private static final long MESSAGE_EXPIRY_INTERVAL_SECONDS_DEFAULT = 0;
 
     private static final boolean AUTOCONNECT_PROP_CHANGED = true;
     private static final int CONNECT_DELAY_CHANGED = 65;
@@ -73,6 +80,8 @@ public class DataServiceOptionsTest {
     private static final int STORE_HOUSEKEEPER_INTERVAL_CHANGED = 950;
     private static final int STORE_PURGE_AGE_CHANGED = 65;
     private static final int STORE_CAPACITY_CHANGED = 10050;
+    private static final int STORE_LOW_PRIORITY_CAPACITY_CHANGED = 5000;
+    private static final EvictionPolicy STORE_LOW_PRIORITY_EVICTION_POLICY_CHANGED = EvictionPolicy.DROP_OLDEST;
     private static final boolean REPUBLISH_IN_FLIGHT_MSGS_CHANGED = true;
     private static final int MAX_IN_FLIGHT_MSGS_CHANGED = 5;
     private static final int IN_FLIGHT_MSGS_CONGESTION_TIMEOUT_CHANGED = 1;
@@ -84,6 +93,7 @@ public class DataServiceOptionsTest {
     private static final boolean CONNECTION_SCHEDULE_ENABLED_CHANGED = true;
     private static final boolean CONNECTION_SCHEDULE_PRIORITY_OVERRIDE_ENABLE_CHANGED = true;
     private static final int CONNECTION_SCHEDULE_PRIORITY_OVERRIDE_THRESHOLD_CHANGED = 2;
+    private static final long MESSAGE_EXPIRY_INTERVAL_SECONDS_CHANGED = 300;
 
     private static final int CONNECTION_SCHEDULE_INACTIVITY_INTERVAL_SECONDS_CHANGED = 5;
     private static final String RATE_LIMIT_TIME_UNIT_PROP_NAME_CHANGED = "MILLISECONDS";
@@ -175,6 +185,8 @@ public class DataServiceOptionsTest {
         properties.put(STORE_HOUSEKEEPER_INTERVAL_PROP_NAME, STORE_HOUSEKEEPER_INTERVAL_CHANGED);
         properties.put(STORE_PURGE_AGE_PROP_NAME, STORE_PURGE_AGE_CHANGED);
         properties.put(STORE_CAPACITY_PROP_NAME, STORE_CAPACITY_CHANGED);
+        properties.put(STORE_LOW_PRIORITY_CAPACITY_PROP_NAME, STORE_LOW_PRIORITY_CAPACITY_CHANGED);
+        properties.put(STORE_LOW_PRIORITY_EVICTION_POLICY_PROP_NAME, STORE_LOW_PRIORITY_EVICTION_POLICY_CHANGED.name());
         properties.put(REPUBLISH_IN_FLIGHT_MSGS_PROP_NAME, REPUBLISH_IN_FLIGHT_MSGS_CHANGED);
         properties.put(MAX_IN_FLIGHT_MSGS_PROP_NAME, MAX_IN_FLIGHT_MSGS_CHANGED);
         properties.put(IN_FLIGHT_MSGS_CONGESTION_TIMEOUT_PROP_NAME, IN_FLIGHT_MSGS_CONGESTION_TIMEOUT_CHANGED);
@@ -192,6 +204,7 @@ public class DataServiceOptionsTest {
                 CONNECTION_SCHEDULE_PRIORITY_OVERRIDE_ENABLE_CHANGED);
         properties.put(CONNECTION_SCHEDULE_PRIORITY_OVERRIDE_THRESHOLD,
                 CONNECTION_SCHEDULE_PRIORITY_OVERRIDE_THRESHOLD_CHANGED);
+        properties.put(MESSAGE_EXPIRY_INTERVAL_SECONDS, MESSAGE_EXPIRY_INTERVAL_SECONDS_CHANGED);
     }
 
     /*
@@ -226,6 +239,9 @@ public class DataServiceOptionsTest {
         assertEquals(STORE_HOUSEKEEPER_INTERVAL_DEFAULT, this.dataServiceOptions.getStoreHousekeeperInterval());
         assertEquals(STORE_PURGE_AGE_DEFAULT, this.dataServiceOptions.getStorePurgeAge());
         assertEquals(STORE_CAPACITY_DEFAULT, this.dataServiceOptions.getStoreCapacity());
+        assertEquals(STORE_LOW_PRIORITY_CAPACITY_DEFAULT, this.dataServiceOptions.getStoreLowPriorityCapacity());
+        assertEquals(STORE_LOW_PRIORITY_EVICTION_POLICY_DEFAULT,
+                this.dataServiceOptions.getStoreLowPriorityEvictionPolicy());
         assertEquals(REPUBLISH_IN_FLIGHT_MSGS_DEFAULT, this.dataServiceOptions.isPublishInFlightMessages());
         assertEquals(MAX_IN_FLIGHT_MSGS_DEFAULT, this.dataServiceOptions.getMaxInFlightMessages());
         assertEquals(IN_FLIGHT_MSGS_CONGESTION_TIMEOUT_DEFAULT,
@@ -240,6 +256,8 @@ public class DataServiceOptionsTest {
                 this.dataServiceOptions.isConnectionSchedulePriorityOverrideEnabled());
         assertEquals(CONNECTION_SCHEDULE_PRIORITY_OVERRIDE_THRESHOLD_DEFAULT,
                 this.dataServiceOptions.getConnectionSchedulePriorityOverridePriority());
+        assertEquals(MESSAGE_EXPIRY_INTERVAL_SECONDS_DEFAULT,
+                this.dataServiceOptions.getMessageExpiryIntervalSeconds());
     }
 
     private void thenCheckIfAllChangesAreSet() {
@@ -251,6 +269,9 @@ public class DataServiceOptionsTest {
         assertEquals(STORE_HOUSEKEEPER_INTERVAL_CHANGED, this.dataServiceOptions.getStoreHousekeeperInterval());
         assertEquals(STORE_PURGE_AGE_CHANGED, this.dataServiceOptions.getStorePurgeAge());
         assertEquals(STORE_CAPACITY_CHANGED, this.dataServiceOptions.getStoreCapacity());
+        assertEquals(STORE_LOW_PRIORITY_CAPACITY_CHANGED, this.dataServiceOptions.getStoreLowPriorityCapacity());
+        assertEquals(STORE_LOW_PRIORITY_EVICTION_POLICY_CHANGED,
+                this.dataServiceOptions.getStoreLowPriorityEvictionPolicy());
         assertEquals(REPUBLISH_IN_FLIGHT_MSGS_CHANGED, this.dataServiceOptions.isPublishInFlightMessages());
         assertEquals(MAX_IN_FLIGHT_MSGS_CHANGED, this.dataServiceOptions.getMaxInFlightMessages());
         assertEquals(IN_FLIGHT_MSGS_CONGESTION_TIMEOUT_CHANGED,
@@ -265,5 +286,7 @@ public class DataServiceOptionsTest {
                 this.dataServiceOptions.isConnectionSchedulePriorityOverrideEnabled());
         assertEquals(CONNECTION_SCHEDULE_PRIORITY_OVERRIDE_THRESHOLD_CHANGED,
                 this.dataServiceOptions.getConnectionSchedulePriorityOverridePriority());
+        assertEquals(MESSAGE_EXPIRY_INTERVAL_SECONDS_CHANGED,
+                this.dataServiceOptions.getMessageExpiryIntervalSeconds());
     }
 }
@@ -13,6 +13,7 @@
 package org.eclipse.kura.core.data.store;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -26,13 +27,17 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Arrays;
 
+import org.eclipse.kura.KuraStoreCapacityReachedException;
 import org.eclipse.kura.KuraStoreException;
 import org.eclipse.kura.core.db.H2DbMessageStoreImpl;
+import org.eclipse.kura.data.DataTransportToken;
 import org.eclipse.kura.db.H2DbService;
 import org.eclipse.kura.message.store.StoredMessage;
 import org.eclipse.kura.message.store.provider.MessageStore;
 import org.eclipse.kura.util.jdbc.ConnectionProvider;
 import org.eclipse.kura.util.jdbc.SQLFunction;
+import org.eclipse.kura.util.message.store.QuotaAwareMessageStore;
+import org.eclipse.kura.util.message.store.QuotaAwareMessageStore.EvictionPolicy;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -45,6 +50,7 @@ public class DbDataStoreStorageTest {
     private static final int PRIORITY_HIGH = 0;
     private static final int PRIORITY_MEDIUM = 1;
     private static final int PRIORITY_LOW = 2;
+    private static final int PRIORITY_TELEMETRY = 7;
     private static final String TABLE_NAME = "test-table";
     private static final int H2_MAX_ID_VALUE = 2147483647;
     private byte[] payload;
@@ -52,6 +58,8 @@ public class DbDataStoreStorageTest {
 
     private MessageStore dataStore;
     private int messageId;
+    private int firstMessageId;
+    private int deletedCount;
 
     /*
      * Scenarios
@@ -121,6 +129,75 @@ public class DbDataStoreStorageTest {
         thenStoredMessageIs(TOPIC, this.payload, QOS1, true, PRIORITY_MEDIUM);
     }
 
+    @Test
+    public void shouldDropOldestMessagesWhenQuotaIsFull() {
+        givenSmallPayload();
+        givenDbDataStore("quota-drop-table");
+        givenStoredMessages(3, QOS1, PRIORITY_TELEMETRY);
+
+        whenQuotaIsEnforced(PRIORITY_TELEMETRY, 3, EvictionPolicy.DROP_OLDEST);
+
+        thenNoExceptionsOccurred();
+        thenMessageCountIs(PRIORITY_TELEMETRY, 2);
+        thenFirstMessageIsDeleted();
+    }
+
+    @Test
+    public void shouldRejectMessagesWhenQuotaIsFull() {
+        givenSmallPayload();
+        givenDbDataStore("quota-reject-table");
+        givenStoredMessages(3, QOS1, PRIORITY_TELEMETRY);
+
+        whenQuotaIsEnforced(PRIORITY_TELEMETRY, 3, EvictionPolicy.REJECT);
+
+        thenStoreCapacityReachedException();
+        thenMessageCountIs(PRIORITY_TELEMETRY, 3);
+    }
+
+    @Test
+    public void shouldOnlyDropMessagesInThePriorityRange() {
+        givenSmallPayload();
+        givenDbDataStore("quota-range-table");
+        givenStoredMessages(2, QOS1, PRIORITY_LOW);
+        givenStoredMessages(2, QOS1, PRIORITY_TELEMETRY);
+
+        whenOldestMessagesAreDeleted(PRIORITY_TELEMETRY, 10);
+
+        thenDeletedCountIs(2);
+        thenMessageCountIs(PRIORITY_LOW, 2);
+        thenMessageCountIs(PRIORITY_TELEMETRY, 0);
+    }
+
+    @Test
+    public void shouldNotDropInFlightMessages() {
+        givenSmallPayload();
+        givenDbDataStore("quota-inflight-table");
+        givenStoredMessages(1, QOS1, PRIORITY_TELEMETRY);
+        givenFirstMessageInFlight();
+
+        whenOldestMessagesAreDeleted(PRIORITY_TELEMETRY, 1);
+
+        thenDeletedCountIs(0);
+        thenMessageCountIs(PRIORITY_TELEMETRY, 1);
+    }
+
+    @Test
+    public void shouldPurgeDiscardedQos1Messages() {
+        givenSmallPayload();
+        givenDbDataStore("discarded-qos1-table");
+        givenStoredMessages(1, QOS1, PRIORITY_TELEMETRY);
+        givenFirstMessageDiscarded();
+
+        whenInFlightMessagesAreUnpublished();
+
+        thenNoMessagesAreInFlight();
+        thenNoMessagesAreUnpublished();
+
+        whenStaleMessagesAreDeleted();
+
+        thenFirstMessageIsDeleted();
+    }
+
     /*
      * Steps
      */
@@ -147,8 +224,12 @@ public class DbDataStoreStorageTest {
         }
     }
 
-    @SuppressWarnings("restriction")
     private void givenDbDataStore(int houseKeeperInterval, int purgeAge) {
+        givenDbDataStore(TABLE_NAME);
+    }
+
+    @SuppressWarnings("restriction")
+    private void givenDbDataStore(String tableName) {
         H2DbService h2Service = new MockH2DbService();
 
         try {
@@ -158,7 +239,34 @@ public class DbDataStoreStorageTest {
                 public <T> T withConnection(SQLFunction<Connection, T> task) throws SQLException {
                     return h2Service.withConnection(task::call);
                 }
-            }, TABLE_NAME);
+            }, tableName);
+        } catch (KuraStoreException e) {
+            this.occurredException = e;
+        }
+    }
+
+    private void givenStoredMessages(int count, int qos, int priority) {
+        for (int i = 0; i < count; i++) {
+            whenStore(TOPIC, this.payload, qos, false, priority);
+
+            if (i == 0) {
+                this.firstMessageId = this.messageId;
+            }
+        }
+    }
+
+    private void givenFirstMessageInFlight() {
+        try {
+            this.dataStore.markAsPublished(this.firstMessageId, new DataTransportToken(1, "session"));
+        } catch (KuraStoreException e) {
+            this.occurredException = e;
+        }
+    }
+
+    private void givenFirstMessageDiscarded() {
+        try {
+            this.dataStore.markAsPublished(this.firstMessageId);
+            this.dataStore.markAsConfirmed(this.firstMessageId);
         } catch (KuraStoreException e) {
             this.occurredException = e;
         }
@@ -168,6 +276,22 @@ public class DbDataStoreStorageTest {
      * When
      */
 
+    private void whenInFlightMessagesAreUnpublished() {
+        try {
+            this.dataStore.unpublishAllInFlighMessages();
+        } catch (KuraStoreException e) {
+            this.occurredException = e;
+        }
+    }
+
+    private void whenStaleMessagesAreDeleted() {
+        try {
+            this.dataStore.deleteStaleMessages(0);
+        } catch (KuraStoreException e) {
+            this.occurredException = e;
+        }
+    }
+
     private void whenStore(String topic, byte[] payload, int qos, boolean retain, int priority) {
         try {
             this.messageId = this.dataStore.store(topic, payload, qos, retain, priority);
@@ -176,6 +300,23 @@ public class DbDataStoreStorageTest {
         }
     }
 
+    private void whenQuotaIsEnforced(int priority, int capacity, EvictionPolicy policy) {
+        try {
+            ((QuotaAwareMessageStore) this.dataStore).enforceQuota(priority, priority, capacity, policy);
+        } catch (KuraStoreException e) {
+            this.occurredException = e;
+        }
+    }
+
+    private void whenOldestMessagesAreDeleted(int priority, int count) {
+        try {
+            this.deletedCount = ((QuotaAwareMessageStore) this.dataStore).deleteOldestMessages(priority, priority,
+                    count);
+        } catch (KuraStoreException e) {
+            this.occurredException = e;
+        }
+    }
+
     private void whenOverflowingIds() {
         try {
             for (int i = 0; i < H2_MAX_ID_VALUE + 1; i++) {
@@ -270,6 +411,47 @@ public class DbDataStoreStorageTest {
         assertNotNull(this.occurredException);
     }
 
+    private void thenStoreCapacityReachedException() {
+        assertTrue(this.occurredException instanceof KuraStoreCapacityReachedException);
+    }
+
+    private void thenMessageCountIs(int priority, int expectedCount) {
+        try {
+            assertEquals(expectedCount, ((QuotaAwareMessageStore) this.dataStore).getMessageCount(priority, priority));
+        } catch (KuraStoreException e) {
+            fail("Unable to count messages");
+        }
+    }
+
+    private void thenFirstMessageIsDeleted() {
+        try {
+            assertFalse(this.dataStore.get(this.firstMessageId).isPresent());
+        } catch (KuraStoreException e) {
+            fail("Unable to retrieve first message");
+        }
+    }
+
+    private void thenNoMessagesAreInFlight() {
+        try {
+            assertTrue(this.dataStore.getInFlightMessages().isEmpty());
+        } catch (KuraStoreException e) {
+            fail("Unable to retrieve in-flight messages");
+        }
+    }
+
+    private void thenNoMessagesAreUnpublished() {
+        try {
+            assertTrue(this.dataStore.getUnpublishedMessages().isEmpty());
+        } catch (KuraStoreException e) {
+            fail("Unable to retrieve unpublished messages");
+        }
+    }
+
+    private void thenDeletedCountIs(int expectedCount) {
+        assertNull(this.occurredException);
+        assertEquals(expectedCount, this.deletedCount);
+    }
+
     private void thenLastIdIsCorrect() {
         assertEquals(3, this.messageId);
     }
@@ -0,0 +1,363 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.core.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.kura.scheduler.TaskStatistics;
+import org.eclipse.kura.scheduler.WorkloadClass;
+import org.junit.After;
+import org.junit.Test;
+
+public class SchedulerServiceImplTest {
+
+    private final SchedulerServiceImpl scheduler = new SchedulerServiceImpl();
+    private final Map<String, Object> properties = new HashMap<>();
+    private final List<Long> executionTimes = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger executionCount = new AtomicInteger();
+    private ScheduledFuture<?> future;
+    private ExecutorService serialExecutor;
+    private long scheduleTime;
+
+    @Test
+    public void shouldRunDelayedTask() throws InterruptedException, ExecutionException, TimeoutException {
+        givenSchedulerActivated();
+
+        whenTaskIsScheduled(100);
+
+        thenTaskCompletes();
+        thenTaskRunsAfterMs(0, 100);
+        thenExecutionCountIs(1);
+    }
+
+    @Test
+    public void shouldRunTaskWithZeroDelay() throws InterruptedException, ExecutionException, TimeoutException {
+        givenSchedulerActivated();
+
+        whenTaskIsScheduled(0);
+
+        thenTaskCompletes();
+        thenExecutionCountIs(1);
+    }
+
+    @Test
+    public void shouldNotRunCancelledTask() throws InterruptedException {
+        givenSchedulerActivated();
+        givenTaskScheduled(200);
+
+        whenTaskIsCancelled();
+
+        thenExecutionCountAfterMsIs(400, 0);
+    }
+
+    @Test
+    public void shouldRunFixedRateTaskPeriodically() throws InterruptedException {
+        givenSchedulerActivated();
+
+        whenFixedRateTaskIsScheduled(50, 50);
+
+        thenExecutionCountAfterMsIsAtLeast(500, 5);
+        thenTaskRunsAfterMs(2, 150);
+    }
+
+    @Test
+    public void shouldStopPeriodicTaskWhenCancelled() throws InterruptedException {
+        givenSchedulerActivated();
+        givenFixedDelayTaskScheduled(10, 10);
+        givenExecutionCountAfterMsIsAtLeast(300, 1);
+
+        whenTaskIsCancelled();
+
+        thenExecutionCountDoesNotChangeAfterMs(200);
+    }
+
+    @Test
+    public void shouldSuppressPeriodicTaskAfterFailure() throws InterruptedException {
+        givenSchedulerActivated();
+
+        whenFailingFixedRateTaskIsScheduled(10, 10);
+
+        thenExecutionCountAfterMsIs(300, 1);
+        thenTaskFailed();
+        thenStatisticsReportFailures("test", 1);
+    }
+
+    @Test
+    public void shouldRunManyTasksExpiringOnTheSameTick() throws InterruptedException {
+        givenSchedulerActivated();
+
+        whenTasksAreScheduled(1000, 50);
+
+        thenExecutionCountAfterMsIs(500, 1000);
+    }
+
+    @Test
+    public void shouldRunSerialExecutorTasksInOrder() throws InterruptedException {
+        givenSchedulerActivated();
+        givenSerialExecutor(WorkloadClass.IO);
+
+        whenTasksAreSubmittedToSerialExecutor(100);
+
+        thenSerialExecutorTasksRanInOrder(100);
+    }
+
+    @Test
+    public void shouldNotAcceptTasksAfterSerialExecutorShutdown() throws InterruptedException {
+        givenSchedulerActivated();
+        givenSerialExecutor(WorkloadClass.CPU);
+
+        whenSerialExecutorIsShutDown();
+
+        thenSerialExecutorRejectsTasks();
+        thenSerialExecutorIsTerminated();
+    }
+
+    @Test
+    public void shouldKeepScheduledTasksWhenTickIsChanged() throws InterruptedException {
+        givenSchedulerActivated();
+        givenTaskScheduled(300);
+
+        whenTickIsChanged(1);
+
+        thenExecutionCountAfterMsIs(600, 1);
+    }
+
+    @Test
+    public void shouldFailPendingTasksOnDeactivation() throws InterruptedException {
+        givenSchedulerActivated();
+        givenTaskScheduled(10000);
+
+        whenSchedulerIsDeactivated();
+
+        thenTaskFailedWith(RejectedExecutionException.class);
+        thenExecutionCountIs(0);
+    }
+
+    @Test
+    public void shouldFailPeriodicTasksOnDeactivation() throws InterruptedException {
+        givenSchedulerActivated();
+        givenFixedDelayTaskScheduled(10, 10);
+        givenExecutionCountAfterMsIsAtLeast(300, 1);
+
+        whenSchedulerIsDeactivated();
+
+        thenTaskFailedWith(RejectedExecutionException.class);
+        thenExecutionCountDoesNotChangeAfterMs(200);
+    }
+
+    @Test
+    public void shouldRejectTasksAfterDeactivation() {
+        givenSchedulerActivated();
+        givenSchedulerDeactivated();
+
+        thenSchedulingIsRejected();
+    }
+
+    @After
+    public void deactivate() {
+        this.scheduler.deactivate();
+    }
+
+    private void givenSchedulerActivated() {
+        this.scheduler.activate(this.properties);
+    }
+
+    private void givenSchedulerDeactivated() {
+        whenSchedulerIsDeactivated();
+    }
+
+    private void givenTaskScheduled(final long delayMs) {
+        whenTaskIsScheduled(delayMs);
+    }
+
+    private void givenFixedDelayTaskScheduled(final long initialDelayMs, final long delayMs) {
+        this.future = this.scheduler.scheduleWithFixedDelay("test", WorkloadClass.IO, this::recordExecution,
+                initialDelayMs, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void givenExecutionCountAfterMsIsAtLeast(final long delayMs, final int count) throws InterruptedException {
+        thenExecutionCountAfterMsIsAtLeast(delayMs, count);
+    }
+
+    private void givenSerialExecutor(final WorkloadClass workloadClass) {
+        this.serialExecutor = this.scheduler.newSerialExecutor("serial", workloadClass);
+    }
+
+    private void whenTaskIsScheduled(final long delayMs) {
+        this.scheduleTime = System.nanoTime();
+        this.future = this.scheduler.schedule("test", WorkloadClass.IO, this::recordExecution, delayMs,
+                TimeUnit.MILLISECONDS);
+    }
+
+    private void whenTasksAreScheduled(final int count, final long delayMs) {
+        for (int i = 0; i < count; i++) {
+            this.scheduler.schedule("test", WorkloadClass.CPU, this::recordExecution, delayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void whenFixedRateTaskIsScheduled(final long initialDelayMs, final long periodMs) {
+        this.scheduleTime = System.nanoTime();
+        this.future = this.scheduler.scheduleAtFixedRate("test", WorkloadClass.IO, this::recordExecution,
+                initialDelayMs, periodMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void whenFailingFixedRateTaskIsScheduled(final long initialDelayMs, final long periodMs) {
+        this.future = this.scheduler.scheduleAtFixedRate("test", WorkloadClass.IO, () -> {
+            recordExecution();
+            throw new IllegalStateException("test");
+        }, initialDelayMs, periodMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void whenSchedulerIsDeactivated() {
+        this.scheduler.deactivate();
+    }
+
+    private void whenTaskIsCancelled() {
+        assertTrue(this.future.cancel(false));
+    }
+
+    private void whenTasksAreSubmittedToSerialExecutor(final int count) {
+        for (int i = 0; i < count; i++) {
+            final long index = i;
+            this.serialExecutor.execute(() -> this.executionTimes.add(index));
+        }
+    }
+
+    private void whenSerialExecutorIsShutDown() {
+        this.serialExecutor.shutdown();
+    }
+
+    private void whenTickIsChanged(final long tickMs) {
+        this.properties.put("timer.tick.ms", tickMs);
+        this.scheduler.updated(this.properties);
+    }
+
+    private void thenTaskCompletes() throws InterruptedException, ExecutionException, TimeoutException {
+        this.future.get(5, TimeUnit.SECONDS);
+        assertTrue(this.future.isDone());
+    }
+
+    private void thenTaskRunsAfterMs(final int execution, final long delayMs) {
+        final long elapsed = this.executionTimes.get(execution) - this.scheduleTime;
+
+        assertTrue("task ran too early: " + elapsed + " ns", elapsed >= TimeUnit.MILLISECONDS.toNanos(delayMs));
+    }
+
+    private void thenExecutionCountIs(final int count) {
+        assertEquals(count, this.executionCount.get());
+    }
+
+    private void thenExecutionCountAfterMsIs(final long delayMs, final int count) throws InterruptedException {
+        Thread.sleep(delayMs);
+        thenExecutionCountIs(count);
+    }
+
+    private void thenExecutionCountAfterMsIsAtLeast(final long delayMs, final int count) throws InterruptedException {
+        Thread.sleep(delayMs);
+        assertTrue("expected at least " + count + " executions, got " + this.executionCount.get(),
+                this.executionCount.get() >= count);
+    }
+
+    private void thenExecutionCountDoesNotChangeAfterMs(final long delayMs) throws InterruptedException {
+        Thread.sleep(50);
+        final int count = this.executionCount.get();
+        thenExecutionCountAfterMsIs(delayMs, count);
+    }
+
+    private void thenTaskFailed() throws InterruptedException {
+        thenTaskFailedWith(IllegalStateException.class);
+    }
+
+    private void thenTaskFailedWith(final Class<? extends Throwable> failure) throws InterruptedException {
+        assertTrue(this.future.isDone());
+        assertFalse(this.future.isCancelled());
+
+        try {
+            this.future.get();
+            fail("task should have failed");
+        } catch (final ExecutionException e) {
+            assertTrue(failure.isInstance(e.getCause()));
+        }
+    }
+
+    private void thenSchedulingIsRejected() {
+        try {
+            this.scheduler.schedule("test", WorkloadClass.IO, this::recordExecution, 0, TimeUnit.MILLISECONDS);
+            fail("task should have been rejected");
+        } catch (final RejectedExecutionException e) {
+            // expected
+        }
+
+        try {
+            this.scheduler.newSerialExecutor("serial", WorkloadClass.IO);
+            fail("serial executor creation should have been rejected");
+        } catch (final RejectedExecutionException e) {
+            // expected
+        }
+    }
+
+    private void thenStatisticsReportFailures(final String name, final long failures) {
+        final TaskStatistics statistics = this.scheduler.getTaskStatistics().get(name);
+
+        assertEquals(failures, statistics.getFailureCount());
+        assertEquals(WorkloadClass.IO, statistics.getWorkloadClass());
+    }
+
+    private void thenSerialExecutorTasksRanInOrder(final int count) throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        this.serialExecutor.execute(latch::countDown);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        assertEquals(count, this.executionTimes.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, (long) this.executionTimes.get(i));
+        }
+    }
+
+    private void thenSerialExecutorRejectsTasks() {
+        try {
+            this.serialExecutor.execute(this::recordExecution);
+            fail("task should have been rejected");
+        } catch (final RejectedExecutionException e) {
+            // expected
+        }
+    }
+
+    private void thenSerialExecutorIsTerminated() throws InterruptedException {
+        assertTrue(this.serialExecutor.awaitTermination(5, TimeUnit.SECONDS));
+        assertTrue(this.serialExecutor.isTerminated());
+    }
+
+    private void recordExecution() {
+        this.executionTimes.add(System.nanoTime());
+        this.executionCount.incrementAndGet();
+    }
+}
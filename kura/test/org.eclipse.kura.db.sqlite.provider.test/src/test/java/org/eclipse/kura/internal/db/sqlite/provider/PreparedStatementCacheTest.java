@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.internal.db.sqlite.provider;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import org.junit.Test;
+import org.sqlite.SQLiteConnection;
+
+public class PreparedStatementCacheTest {
+
+    private static final String SELECT = "SELECT * FROM foo WHERE id = ?";
+
+    @Test
+    public void shouldReuseStatementAcrossTasks() throws SQLException {
+        givenCacheWithSize(10);
+
+        whenStatementIsUsed(SELECT);
+        whenStatementIsUsed(SELECT);
+        whenStatementIsUsed(SELECT);
+
+        thenStatementIsPreparedTimes(SELECT, 1);
+        thenHitsAndMissesAre(2, 1);
+        verify(this.statement, never()).close();
+        verify(this.statement, times(3)).clearParameters();
+    }
+
+    @Test
+    public void shouldNotCacheDdlStatements() throws SQLException {
+        givenCacheWithSize(10);
+
+        whenStatementIsUsed("CREATE TABLE foo (id INTEGER)");
+        whenStatementIsUsed("CREATE TABLE foo (id INTEGER)");
+
+        thenStatementIsPreparedOnPooledConnectionTimes("CREATE TABLE foo (id INTEGER)", 2);
+        thenHitsAndMissesAre(0, 0);
+    }
+
+    @Test
+    public void shouldNotCacheIfDisabled() throws SQLException {
+        givenCacheWithSize(0);
+
+        whenStatementIsUsed(SELECT);
+        whenStatementIsUsed(SELECT);
+
+        thenStatementIsPreparedOnPooledConnectionTimes(SELECT, 2);
+        thenHitsAndMissesAre(0, 0);
+    }
+
+    @Test
+    public void shouldEvictBrokenStatements() throws SQLException {
+        givenCacheWithSize(10);
+        when(this.statement.execute()).thenThrow(new SQLException("failed"));
+
+        try {
+            whenStatementIsUsed(SELECT);
+        } catch (final SQLException e) {
+            // expected
+        }
+        whenStatementIsUsed(SELECT);
+
+        thenStatementIsPreparedTimes(SELECT, 2);
+        verify(this.statement).close();
+    }
+
+    @Test
+    public void shouldCloseStatementsOnClear() throws SQLException {
+        givenCacheWithSize(10);
+
+        whenStatementIsUsed(SELECT);
+        this.cache.clear();
+
+        verify(this.statement).close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNegativeSize() throws SQLException {
+        givenCacheWithSize(10);
+
+        this.cache.setMaxSize(-1);
+    }
+
+    private PreparedStatementCache cache;
+    private final Connection pooledConnection = mock(Connection.class);
+    private final SQLiteConnection physicalConnection = mock(SQLiteConnection.class);
+    private final PreparedStatement statement = mock(PreparedStatement.class);
+
+    private void givenCacheWithSize(final int size) throws SQLException {
+        this.cache = new PreparedStatementCache(size);
+
+        when(this.pooledConnection.unwrap(SQLiteConnection.class)).thenReturn(this.physicalConnection);
+        when(this.pooledConnection.prepareStatement(anyString())).thenReturn(this.statement);
+        when(this.physicalConnection.prepareStatement(anyString())).thenReturn(this.statement);
+    }
+
+    private void whenStatementIsUsed(final String sql) throws SQLException {
+        this.cache.withCachedStatements(this.pooledConnection, c -> {
+            try (final PreparedStatement stmt = c.prepareStatement(sql)) {
+                return stmt.execute();
+            }
+        });
+    }
+
+    private void thenStatementIsPreparedTimes(final String sql, final int times) throws SQLException {
+        verify(this.physicalConnection, times(times)).prepareStatement(sql);
+        verify(this.pooledConnection, never()).prepareStatement(sql);
+    }
+
+    private void thenStatementIsPreparedOnPooledConnectionTimes(final String sql, final int times)
+            throws SQLException {
+        verify(this.pooledConnection, times(times)).prepareStatement(sql);
+        verify(this.physicalConnection, never()).prepareStatement(sql);
+    }
+
+    private void thenHitsAndMissesAre(final long hits, final long misses) {
+        assertEquals(hits, this.cache.getHitCount());
+        assertEquals(misses, this.cache.getMissCount());
+    }
+}
@@ -67,6 +67,24 @@ public class SqliteDbServiceOptionsTest {
         thenDbUrlIs("jdbc:sqlite:file:/tmp/foo");
     }
 
+    @Test
+    public void shouldFallBackToDefaultPageCacheSizeIfNotPositive() {
+        givenConfigurationProperty("db.cache.size.kib", 0);
+
+        whenOptionsAreCreated();
+
+        thenPageCacheSizeKibIs(2000);
+    }
+
+    @Test
+    public void shouldDisableStatementCacheIfSizeIsNegative() {
+        givenConfigurationProperty("db.statement.cache.size", -1);
+
+        whenOptionsAreCreated();
+
+        thenStatementCacheSizeIs(0);
+    }
+
     private final Map<String, Object> properties = new HashMap<>();
     private SqliteDbServiceOptions options;
 
@@ -86,4 +104,12 @@ public class SqliteDbServiceOptionsTest {
         assertEquals(expectedDbUrl, this.options.getDbUrl());
     }
 
+    private void thenPageCacheSizeKibIs(final int expectedSize) {
+        assertEquals(expectedSize, this.options.getCacheSizeKib());
+    }
+
+    private void thenStatementCacheSizeIs(final int expectedSize) {
+        assertEquals(expectedSize, this.options.getStatementCacheSize());
+    }
+
 }
@@ -12,14 +12,23 @@
  ******************************************************************************/
 package org.eclipse.kura.nm.configuration.monitor;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Optional;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
 import org.eclipse.kura.KuraException;
 import org.eclipse.kura.executor.CommandExecutorService;
 import org.eclipse.kura.linux.net.dhcp.DhcpServerManager;
+import org.eclipse.kura.scheduler.SchedulerService;
+import org.eclipse.kura.scheduler.WorkloadClass;
 import org.junit.Test;
 
 public class DhcpServerMonitorTest {
@@ -27,6 +36,8 @@ public class DhcpServerMonitorTest {
     private DhcpServerMonitor monitor;
     private CommandExecutorService cesMock;
     private DhcpServerManager managerMock;
+    private SchedulerService schedulerServiceMock;
+    private ScheduledFuture<?> futureMock;
     private final Object lock = new Object();
 
     @Test
@@ -45,6 +56,15 @@ public class DhcpServerMonitorTest {
         thenDhcpServerIsStopped();
     }
 
+    @Test
+    public void shouldRunOnSchedulerServiceTest() throws KuraException {
+        givenDhcpdServerMonitorWithSchedulerService();
+        whenDhcpServerMonitorIsStarted();
+        whenDhcpServerMonitorIsStopped();
+        thenMonitorIsScheduledOnSchedulerService();
+        thenScheduledMonitorIsCancelled();
+    }
+
     private void givenDhcpdServerMonitorDisabled() throws KuraException {
         givenDhcpdServerMonitor();
         isDisabled();
@@ -63,6 +83,17 @@ public class DhcpServerMonitorTest {
         this.monitor.clear();
     }
 
+    private void givenDhcpdServerMonitorWithSchedulerService() throws KuraException {
+        this.cesMock = mock(CommandExecutorService.class);
+        this.managerMock = mock(DhcpServerManager.class);
+        this.schedulerServiceMock = mock(SchedulerService.class);
+        this.futureMock = mock(ScheduledFuture.class);
+        doReturn(this.futureMock).when(this.schedulerServiceMock).scheduleAtFixedRate(any(), any(), any(),
+                eq(0L), eq(30L), eq(TimeUnit.SECONDS));
+        this.monitor = new DhcpServerMonitor(this.cesMock, Optional.of(this.schedulerServiceMock));
+        this.monitor.setDhcpServerManager(this.managerMock);
+    }
+
     private void isDisabled() throws KuraException {
         when(this.managerMock.isRunning("wlan0")).thenReturn(false);
         when(this.managerMock.enable("wlan0")).thenReturn(true);
@@ -85,6 +116,19 @@ public class DhcpServerMonitorTest {
         this.monitor.start();
     }
 
+    private void whenDhcpServerMonitorIsStopped() {
+        this.monitor.stop();
+    }
+
+    private void thenMonitorIsScheduledOnSchedulerService() {
+        verify(this.schedulerServiceMock).scheduleAtFixedRate(eq("DhcpServerMonitor"), eq(WorkloadClass.BLOCKING),
+                any(), eq(0L), eq(30L), eq(TimeUnit.SECONDS));
+    }
+
+    private void thenScheduledMonitorIsCancelled() {
+        verify(this.futureMock).cancel(true);
+    }
+
     private void thenDhcpServerIsStarted() throws KuraException, InterruptedException {
         waitForSeconds(1);
         verify(this.managerMock, atLeast(1)).isRunning("wlan0");
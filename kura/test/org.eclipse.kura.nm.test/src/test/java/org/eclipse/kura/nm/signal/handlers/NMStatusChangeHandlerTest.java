@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.nm.signal.handlers;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.kura.net.status.NetworkInterfaceType;
+import org.eclipse.kura.nm.NMDbusConnector;
+import org.eclipse.kura.nm.status.NMStatusCache;
+import org.freedesktop.dbus.exceptions.DBusException;
+import org.freedesktop.dbus.interfaces.Properties;
+import org.freedesktop.dbus.types.Variant;
+import org.junit.Test;
+
+public class NMStatusChangeHandlerTest {
+
+    private static final String MOCK_DEVICE_DBUSPATH_3 = "/org/freedesktop/NetworkManager/Devices/3";
+
+    private final NMDbusConnector nmDbusConnector = mock(NMDbusConnector.class);
+    private final NMStatusCache cache = mock(NMStatusCache.class);
+    private final NMStatusChangeHandler handler = new NMStatusChangeHandler(this.nmDbusConnector, this.cache);
+
+    @Test
+    public void shouldInvalidateTheChangedDevice() throws DBusException {
+        givenInterfaceId(MOCK_DEVICE_DBUSPATH_3, "eth0");
+
+        whenPropertiesChange(MOCK_DEVICE_DBUSPATH_3, "State");
+        whenPropertiesChange(MOCK_DEVICE_DBUSPATH_3, "Ip4Config");
+
+        thenInterfaceIsInvalidated("eth0", 2);
+        thenInterfaceIdIsResolved(MOCK_DEVICE_DBUSPATH_3, 1);
+        verify(this.cache, never()).invalidateAll();
+    }
+
+    @Test
+    public void shouldInvalidateEverythingIfTheDeviceCannotBeResolved() throws DBusException {
+        when(this.nmDbusConnector.getInterfaceIdByDBusPath(MOCK_DEVICE_DBUSPATH_3))
+                .thenThrow(new DBusException("Device vanished"));
+
+        whenPropertiesChange(MOCK_DEVICE_DBUSPATH_3, "State");
+
+        verify(this.cache, times(1)).invalidateAll();
+    }
+
+    @Test
+    public void shouldInvalidateWifiInterfacesOnAccessPointChange() throws DBusException {
+        whenPropertiesChange("/org/freedesktop/NetworkManager/AccessPoint/12", "Strength");
+
+        verify(this.cache, times(1)).invalidateInterfaces(NetworkInterfaceType.WIFI);
+    }
+
+    @Test
+    public void shouldInvalidateModemInterfacesOnModemManagerChange() throws DBusException {
+        whenPropertiesChange("/org/freedesktop/ModemManager1/Modem/0", "SignalQuality");
+
+        verify(this.cache, times(1)).invalidateInterfaces(NetworkInterfaceType.MODEM);
+    }
+
+    @Test
+    public void shouldInvalidateInterfacesOnIpConfigChange() throws DBusException {
+        whenPropertiesChange("/org/freedesktop/NetworkManager/IP4Config/7", "AddressData");
+
+        verify(this.cache, times(1)).invalidateInterfaces();
+    }
+
+    @Test
+    public void shouldInvalidateInterfaceIdsWhenDevicesChange() throws DBusException {
+        whenPropertiesChange("/org/freedesktop/NetworkManager", "State");
+        whenPropertiesChange("/org/freedesktop/NetworkManager", "AllDevices");
+
+        verify(this.cache, times(1)).invalidateAll();
+    }
+
+    @Test
+    public void shouldIgnoreUnrelatedChanges() throws DBusException {
+        whenPropertiesChange("/org/freedesktop/NetworkManager/Settings/4", "Unsaved");
+        whenPropertiesChange("/fi/w1/wpa_supplicant1/Interfaces/1", "State");
+
+        verify(this.cache, never()).invalidateAll();
+        verify(this.cache, never()).invalidateInterfaces();
+    }
+
+    /*
+     * Given
+     */
+
+    private void givenInterfaceId(String dbusPath, String interfaceId) throws DBusException {
+        when(this.nmDbusConnector.getInterfaceIdByDBusPath(dbusPath)).thenReturn(interfaceId);
+    }
+
+    /*
+     * When
+     */
+
+    private void whenPropertiesChange(String dbusPath, String propertyName) throws DBusException {
+        Map<String, Variant<?>> changed = new HashMap<>();
+        changed.put(propertyName, new Variant<>("value"));
+
+        this.handler.handle(new Properties.PropertiesChanged(dbusPath, "org.freedesktop.NetworkManager", changed,
+                Collections.emptyList()));
+    }
+
+    /*
+     * Then
+     */
+
+    private void thenInterfaceIsInvalidated(String interfaceId, int count) {
+        verify(this.cache, times(count)).invalidateInterface(interfaceId);
+    }
+
+    private void thenInterfaceIdIsResolved(String dbusPath, int count) throws DBusException {
+        verify(this.nmDbusConnector, times(count)).getInterfaceIdByDBusPath(dbusPath);
+    }
+}
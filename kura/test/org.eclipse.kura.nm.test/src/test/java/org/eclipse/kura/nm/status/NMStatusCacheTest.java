@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.nm.status;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.kura.KuraException;
+import org.eclipse.kura.net.status.NetworkInterfaceStatus;
+import org.eclipse.kura.net.status.NetworkInterfaceType;
+import org.freedesktop.dbus.exceptions.DBusException;
+import org.junit.Test;
+
+public class NMStatusCacheTest {
+
+    private NMStatusCache cache;
+    private final AtomicInteger loadCount = new AtomicInteger();
+    private Optional<NetworkInterfaceStatus> status;
+
+    @Test
+    public void shouldServeStatusFromCache() throws DBusException, KuraException {
+        givenNMStatusCache(60000);
+
+        whenStatusIsRetrieved("eth0", NetworkInterfaceType.ETHERNET);
+        whenStatusIsRetrieved("eth0", NetworkInterfaceType.ETHERNET);
+
+        thenStatusIsReturned();
+        thenLoadCountIs(1);
+    }
+
+    @Test
+    public void shouldReloadInvalidatedStatus() throws DBusException, KuraException {
+        givenNMStatusCache(60000);
+        givenCachedStatus("eth0", NetworkInterfaceType.ETHERNET);
+
+        whenInterfaceIsInvalidated("eth0");
+        whenStatusIsRetrieved("eth0", NetworkInterfaceType.ETHERNET);
+
+        thenLoadCountIs(2);
+    }
+
+    @Test
+    public void shouldReloadExpiredStatus() throws DBusException, KuraException, InterruptedException {
+        givenNMStatusCache(10);
+        givenCachedStatus("eth0", NetworkInterfaceType.ETHERNET);
+
+        Thread.sleep(50);
+        whenStatusIsRetrieved("eth0", NetworkInterfaceType.ETHERNET);
+
+        thenLoadCountIs(2);
+    }
+
+    @Test
+    public void shouldOnlyInvalidateInterfacesOfTheGivenType() throws DBusException, KuraException {
+        givenNMStatusCache(60000);
+        givenCachedStatus("eth0", NetworkInterfaceType.ETHERNET);
+        givenCachedStatus("wlan0", NetworkInterfaceType.WIFI);
+
+        whenInterfacesOfTypeAreInvalidated(NetworkInterfaceType.WIFI);
+        whenStatusIsRetrieved("eth0", NetworkInterfaceType.ETHERNET);
+        whenStatusIsRetrieved("wlan0", NetworkInterfaceType.WIFI);
+
+        thenLoadCountIs(3);
+    }
+
+    @Test
+    public void shouldNotStoreStatusInvalidatedWhileLoading() throws DBusException, KuraException {
+        givenNMStatusCache(60000);
+
+        this.cache.getStatus("eth0", () -> {
+            this.loadCount.incrementAndGet();
+            this.cache.invalidateInterface("eth0");
+            return mockStatus(NetworkInterfaceType.ETHERNET);
+        });
+        whenStatusIsRetrieved("eth0", NetworkInterfaceType.ETHERNET);
+
+        thenLoadCountIs(2);
+    }
+
+    @Test
+    public void shouldNotCacheMissingInterfaces() throws DBusException, KuraException {
+        givenNMStatusCache(60000);
+
+        this.status = this.cache.getStatus("eth0", () -> {
+            this.loadCount.incrementAndGet();
+            return null;
+        });
+        whenStatusIsRetrieved("eth0", NetworkInterfaceType.ETHERNET);
+
+        thenLoadCountIs(2);
+    }
+
+    @Test
+    public void shouldServeInterfaceIdsFromCache() throws DBusException, KuraException {
+        givenNMStatusCache(60000);
+
+        List<String> first = whenInterfaceIdsAreRetrieved();
+        List<String> second = whenInterfaceIdsAreRetrieved();
+        this.cache.invalidateInterfaceIds();
+        whenInterfaceIdsAreRetrieved();
+
+        assertEquals(first, second);
+        thenLoadCountIs(2);
+    }
+
+    /*
+     * Given
+     */
+
+    private void givenNMStatusCache(long maxAgeMillis) {
+        this.cache = new NMStatusCache(maxAgeMillis);
+    }
+
+    private void givenCachedStatus(String interfaceId, NetworkInterfaceType type) throws DBusException, KuraException {
+        whenStatusIsRetrieved(interfaceId, type);
+    }
+
+    /*
+     * When
+     */
+
+    private void whenStatusIsRetrieved(String interfaceId, NetworkInterfaceType type)
+            throws DBusException, KuraException {
+        this.status = this.cache.getStatus(interfaceId, () -> {
+            this.loadCount.incrementAndGet();
+            return mockStatus(type);
+        });
+    }
+
+    private List<String> whenInterfaceIdsAreRetrieved() throws DBusException, KuraException {
+        return this.cache.getInterfaceIds(() -> {
+            this.loadCount.incrementAndGet();
+            return Arrays.asList("eth0", "wlan0");
+        });
+    }
+
+    private void whenInterfaceIsInvalidated(String interfaceId) {
+        this.cache.invalidateInterface(interfaceId);
+    }
+
+    private void whenInterfacesOfTypeAreInvalidated(NetworkInterfaceType type) {
+        this.cache.invalidateInterfaces(type);
+    }
+
+    /*
+     * Then
+     */
+
+    private void thenStatusIsReturned() {
+        assertTrue(this.status.isPresent());
+        assertSame(NetworkInterfaceType.ETHERNET, this.status.get().getType());
+    }
+
+    private void thenLoadCountIs(int expectedCount) {
+        assertEquals(expectedCount, this.loadCount.get());
+    }
+
+    private static NetworkInterfaceStatus mockStatus(NetworkInterfaceType type) {
+        NetworkInterfaceStatus result = mock(NetworkInterfaceStatus.class);
+        when(result.getType()).thenReturn(type);
+        return result;
+    }
+}
@@ -17,7 +17,11 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.net.UnknownHostException;
@@ -73,8 +77,11 @@ import org.eclipse.kura.net.status.wifi.WifiInterfaceStatus.WifiInterfaceStatusB
 import org.eclipse.kura.net.status.wifi.WifiMode;
 import org.eclipse.kura.net.status.wifi.WifiSecurity;
 import org.eclipse.kura.nm.NMDbusConnector;
+import org.eclipse.kura.nm.signal.handlers.NMStatusChangeHandler;
+import org.freedesktop.dbus.connections.impl.DBusConnection;
 import org.freedesktop.dbus.errors.UnknownMethod;
 import org.freedesktop.dbus.exceptions.DBusException;
+import org.freedesktop.dbus.interfaces.Properties;
 import org.junit.Test;
 
 public class NMStatusServiceImplTest {
@@ -82,6 +89,7 @@ public class NMStatusServiceImplTest {
     private NMStatusServiceImpl statusService;
     private NMDbusConnector nmDbusConnector;
     private CommandExecutorService commandExecutorService;
+    private DBusConnection dbusConnection;
     private Optional<NetworkInterfaceStatus> status;
     private List<String> interfaceNames = new ArrayList<>();
     private boolean exceptionCaught = false;
@@ -197,6 +205,51 @@ public class NMStatusServiceImplTest {
         thenRetrievedModemkInterfaceStatusHasFullProperties();
     }
 
+    @Test
+    public void shouldServeStatusFromCacheWhenActivated() throws DBusException, UnknownHostException, KuraException {
+        givenNMStatusServiceImplWithEthernetInterface();
+        givenActivatedNMStatusServiceImpl();
+        whenInterfaceStatusIsRetrieved("abcd0");
+        whenInterfaceStatusIsRetrieved("abcd0");
+        thenInterfaceStatusIsReturned();
+        thenInterfaceStatusIsLoaded("abcd0", false, 1);
+        thenStatusChangeHandlerIsRegistered();
+    }
+
+    @Test
+    public void shouldNotCacheStatusWhenNotActivated() throws DBusException, UnknownHostException, KuraException {
+        givenNMStatusServiceImplWithEthernetInterface();
+        whenInterfaceStatusIsRetrieved("abcd0");
+        whenInterfaceStatusIsRetrieved("abcd0");
+        thenInterfaceStatusIsReturned();
+        thenInterfaceStatusIsLoaded("abcd0", false, 2);
+    }
+
+    @Test
+    public void shouldRecomputeCachedStatus() throws DBusException, UnknownHostException, KuraException {
+        givenNMStatusServiceImplWithWifiInterface();
+        givenActivatedNMStatusServiceImpl();
+        when(this.nmDbusConnector.getInterfaceStatus("wlan0", true, this.commandExecutorService))
+                .thenReturn(buildWifiInterfaceStatus("wlan0"));
+        whenInterfaceStatusIsRetrieved("wlan0");
+        whenInterfaceStatusIsRecomputed("wlan0");
+        whenInterfaceStatusIsRetrieved("wlan0");
+        thenInterfaceStatusIsReturned();
+        thenInterfaceStatusIsLoaded("wlan0", false, 1);
+        thenInterfaceStatusIsLoaded("wlan0", true, 1);
+    }
+
+    @Test
+    public void shouldServeInterfaceIdsFromCacheWhenActivated()
+            throws UnknownHostException, DBusException, KuraException {
+        givenNMStatusServiceImplWithInterfaces();
+        givenActivatedNMStatusServiceImpl();
+        whenInterfaceNameListIsRetrived();
+        whenInterfaceNameListIsRetrived();
+        thenInterfaceNameListIsNotEmpty();
+        verify(this.nmDbusConnector, times(1)).getInterfaceIds();
+    }
+
     private void givenNMStatusServiceImplWithNonExistingInterface()
             throws DBusException, UnknownHostException, KuraException {
         createTestObjects();
@@ -267,6 +320,20 @@ public class NMStatusServiceImplTest {
         when(this.nmDbusConnector.getInterfaceIds()).thenThrow(new DBusException("Cannot retrieve interface list."));
     }
 
+    private void givenActivatedNMStatusServiceImpl() {
+        this.dbusConnection = mock(DBusConnection.class);
+        when(this.nmDbusConnector.getDbusConnection()).thenReturn(this.dbusConnection);
+        this.statusService.activate();
+    }
+
+    private void whenInterfaceStatusIsRecomputed(String interfaceName) {
+        try {
+            this.status = this.statusService.getNetworkStatus(interfaceName, true);
+        } catch (KuraException e) {
+            this.exceptionCaught = true;
+        }
+    }
+
     private void whenInterfaceStatusIsRetrieved(String interfaceName) {
         try {
             this.status = this.statusService.getNetworkStatus(interfaceName);
@@ -393,6 +460,17 @@ public class NMStatusServiceImplTest {
         assertEquals(buildModemInterfaceStatus("wwan0").hashCode(), modemStatus.hashCode());
     }
 
+    private void thenInterfaceStatusIsLoaded(String interfaceName, boolean recompute, int count)
+            throws DBusException, KuraException {
+        verify(this.nmDbusConnector, times(count)).getInterfaceStatus(interfaceName, recompute,
+                this.commandExecutorService);
+    }
+
+    private void thenStatusChangeHandlerIsRegistered() throws DBusException {
+        verify(this.dbusConnection, times(1)).addSigHandler(eq(Properties.PropertiesChanged.class),
+                any(NMStatusChangeHandler.class));
+    }
+
     private void thenKuraExceptionIsCaught() {
         assertTrue(this.exceptionCaught);
     }
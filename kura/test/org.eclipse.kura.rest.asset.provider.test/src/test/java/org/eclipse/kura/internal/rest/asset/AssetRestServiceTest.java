@@ -24,6 +24,8 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -215,7 +217,7 @@ public class AssetRestServiceTest {
 
         ReadRequest requestMock = mock(ReadRequest.class);
         try {
-            svc.read(pid, requestMock);
+            svc.read(pid, requestMock, 0);
             fail("Expected an exception.");
         } catch (WebApplicationException e) {
             // OK
@@ -261,12 +263,56 @@ public class AssetRestServiceTest {
             }
         };
 
-        JsonElement json = svc.read(pid, request);
+        JsonElement json = svc.read(pid, request, 0);
         assertEquals(
                 "[{\"channelStatus\":{\"channelFlag\":\"SUCCESS\"},\"name\":\"ch1\",\"valueType\":\"BOOLEAN\",\"value\":true,\"timestamp\":0,\"unit\":\"\"}]",
                 json.toString());
     }
 
+    @Test
+    public void testReadSelectedChannelsWithMaxAge() throws KuraException {
+        // test selective channel read allowing cached values
+
+        AssetRestService svc = new AssetRestService();
+
+        String pid = "pid1";
+
+        AssetService asMock = mock(AssetService.class);
+        svc.setAssetService(asMock);
+
+        Asset assetMock = mock(Asset.class);
+        when(asMock.getAsset(pid)).thenReturn(assetMock);
+
+        Set<String> channelNames = new HashSet<>();
+        channelNames.add("ch1");
+
+        List<ChannelRecord> records = new ArrayList<>();
+        ChannelRecord record = ChannelRecord.createReadRecord("ch1", DataType.BOOLEAN);
+        record.setChannelStatus(new ChannelStatus(ChannelFlag.SUCCESS));
+        record.setValue(TypedValues.newBooleanValue(true));
+        records.add(record);
+        when(assetMock.read(channelNames, 1000L)).thenReturn(records);
+
+        ReadRequest request = new ReadRequest() {
+
+            @Override
+            public Set<String> getChannelNames() {
+                return channelNames;
+            }
+
+            @Override
+            public boolean isValid() {
+                return true;
+            }
+        };
+
+        JsonElement json = svc.read(pid, request, 1000L);
+        assertEquals(
+                "[{\"channelStatus\":{\"channelFlag\":\"SUCCESS\"},\"name\":\"ch1\",\"valueType\":\"BOOLEAN\",\"value\":true,\"timestamp\":0,\"unit\":\"\"}]",
+                json.toString());
+        verify(assetMock, times(0)).read(channelNames);
+    }
+
     @Test
     public void testWriteValidationException() throws KuraException {
         // test channel write with invalid request
@@ -392,4 +438,24 @@ public class AssetRestServiceTest {
         assertFalse(req.isValid());
     }
 
+    @Test
+    public void testStreamEventDataIsSplitOnLineBreaks() throws IOException {
+        // test that line breaks in the event data do not break the SSE framing
+
+        StringWriter writer = new StringWriter();
+
+        AssetRestService.writeEvent(writer, "error", "first\nsecond\r\nthird\rfourth");
+
+        assertEquals("event: error\ndata: first\ndata: second\ndata: third\ndata: fourth\n\n", writer.toString());
+    }
+
+    @Test
+    public void testStreamEventWithoutName() throws IOException {
+        StringWriter writer = new StringWriter();
+
+        AssetRestService.writeEvent(writer, null, "[]");
+
+        assertEquals("data: []\n\n", writer.toString());
+    }
+
 }
@@ -0,0 +1,224 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ ******************************************************************************/
+package org.eclipse.kura.internal.rest.asset;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.eclipse.kura.KuraException;
+import org.eclipse.kura.asset.Asset;
+import org.eclipse.kura.channel.ChannelRecord;
+import org.eclipse.kura.channel.listener.ChannelEvent;
+import org.eclipse.kura.channel.listener.ChannelListener;
+import org.eclipse.kura.internal.rest.asset.AssetValueStreams.Subscription;
+import org.eclipse.kura.type.TypedValues;
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class AssetValueStreamsTest {
+
+    private final AssetValueStreams streams = new AssetValueStreams(2);
+    private final Asset asset = mock(Asset.class);
+    private final List<Set<String>> reads = new CopyOnWriteArrayList<>();
+    private final AtomicInteger readCount = new AtomicInteger();
+
+    public AssetValueStreamsTest() throws KuraException {
+        when(this.asset.read(any())).thenAnswer(invocation -> {
+            final Set<String> channelNames = invocation.getArgument(0);
+            final int count = this.readCount.incrementAndGet();
+
+            this.reads.add(new HashSet<>(channelNames));
+            return channelNames.stream().map(name -> record(name, count)).collect(Collectors.toList());
+        });
+    }
+
+    @After
+    public void tearDown() {
+        this.streams.close();
+    }
+
+    @Test
+    public void shouldShareReadsAmongSubscribers() throws Exception {
+        final Subscription first = this.streams.subscribe("asset", this.asset, channels("c1"), 100, false);
+        final Subscription second = this.streams.subscribe("asset", this.asset, channels("c2"), 100, false);
+
+        final List<ChannelRecord> firstValues = first.next(5000);
+        final List<ChannelRecord> secondValues = second.next(5000);
+
+        assertEquals(Collections.singletonList("c1"), names(firstValues));
+        assertEquals(Collections.singletonList("c2"), names(secondValues));
+
+        waitForReads(3);
+        assertEquals(channels("c1", "c2"), this.reads.get(this.reads.size() - 1));
+    }
+
+    @Test
+    public void shouldCoalesceValuesOfSlowSubscribers() throws Exception {
+        // the fast subscriber drives the read rate
+        this.streams.subscribe("asset", this.asset, channels("c1"), 100, false);
+        final Subscription subscription = this.streams.subscribe("asset", this.asset, channels("c1"), 1000, false);
+
+        assertEquals(1, subscription.next(5000).size());
+
+        final long start = System.currentTimeMillis();
+        final List<ChannelRecord> values = subscription.next(5000);
+
+        assertTrue(System.currentTimeMillis() - start >= 800);
+        assertEquals(1, values.size());
+        assertTrue(subscription.getCoalescedCount() > 0);
+    }
+
+    @Test
+    public void shouldRegisterOneListenerPerChannel() throws Exception {
+        final Subscription first = this.streams.subscribe("asset", this.asset, channels("c1"), 100, true);
+        final Subscription second = this.streams.subscribe("asset", this.asset, channels("c1"), 100, true);
+
+        final ArgumentCaptor<ChannelListener> captor = ArgumentCaptor.forClass(ChannelListener.class);
+        verify(this.asset, times(1)).registerChannelListener(eq("c1"), captor.capture());
+
+        captor.getValue().onChannelEvent(new ChannelEvent(record("c1", 42)));
+
+        assertEquals(42, first.next(5000).get(0).getValue().getValue());
+        assertEquals(42, second.next(5000).get(0).getValue().getValue());
+        verify(this.asset, times(0)).read(any());
+
+        first.close();
+        verify(this.asset, times(0)).unregisterChannelListener(any());
+
+        second.close();
+        verify(this.asset, times(1)).unregisterChannelListener(captor.getValue());
+    }
+
+    @Test
+    public void shouldLimitSubscriptions() throws Exception {
+        final Subscription first = this.streams.subscribe("asset", this.asset, channels("c1"), 100, false);
+        this.streams.subscribe("asset", this.asset, channels("c1"), 100, false);
+
+        try {
+            this.streams.subscribe("asset", this.asset, channels("c1"), 100, false);
+            fail("subscription should have been rejected");
+        } catch (KuraException e) {
+            // expected
+        }
+
+        first.close();
+        assertTrue(this.streams.hasCapacity());
+    }
+
+    @Test
+    public void shouldCloseSubscriptions() throws Exception {
+        final Subscription subscription = this.streams.subscribe("asset", this.asset, channels("c1"), 100, false);
+
+        this.streams.close();
+
+        assertNull(subscription.next(5000));
+    }
+
+    @Test
+    public void shouldNotDelayOtherAssetsOnSlowReads() throws Exception {
+        final AssetValueStreams boundedStreams = new AssetValueStreams(4, 2, 60000);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Asset slowAsset = mock(Asset.class);
+
+        when(slowAsset.read(any())).thenAnswer(invocation -> {
+            release.await();
+            return Collections.emptyList();
+        });
+
+        try {
+            boundedStreams.subscribe("slow", slowAsset, channels("c1"), 100, false);
+            final Subscription subscription = boundedStreams.subscribe("asset", this.asset, channels("c1"), 100,
+                    false);
+
+            assertEquals(Collections.singletonList("c1"), names(subscription.next(5000)));
+            assertEquals(Collections.singletonList("c1"), names(subscription.next(5000)));
+            verify(slowAsset, times(1)).read(any());
+        } finally {
+            release.countDown();
+            boundedStreams.close();
+        }
+    }
+
+    @Test
+    public void shouldInterruptReadsThatTimeOut() throws Exception {
+        final AssetValueStreams boundedStreams = new AssetValueStreams(4, 1, 200);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final AtomicInteger slowReadCount = new AtomicInteger();
+        final Asset slowAsset = mock(Asset.class);
+
+        when(slowAsset.read(any())).thenAnswer(invocation -> {
+            if (slowReadCount.incrementAndGet() == 1) {
+                try {
+                    Thread.sleep(60000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw e;
+                }
+            }
+            return Collections.singletonList(record("c1", 1));
+        });
+
+        try {
+            final Subscription subscription = boundedStreams.subscribe("slow", slowAsset, channels("c1"), 100,
+                    false);
+
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+            assertEquals(Collections.singletonList("c1"), names(subscription.next(5000)));
+        } finally {
+            boundedStreams.close();
+        }
+    }
+
+    private void waitForReads(final int count) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5000;
+
+        while (this.readCount.get() < count) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("channels not read");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static Set<String> channels(final String... names) {
+        return new HashSet<>(Arrays.asList(names));
+    }
+
+    private static List<String> names(final List<ChannelRecord> records) {
+        return records.stream().map(ChannelRecord::getChannelName).collect(Collectors.toList());
+    }
+
+    private static ChannelRecord record(final String channelName, final int value) {
+        return ChannelRecord.createWriteRecord(channelName, TypedValues.newIntegerValue(value));
+    }
+}
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ ******************************************************************************/
+package org.eclipse.kura.web.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.kura.core.testutil.TestUtil;
+import org.eclipse.kura.web.shared.model.GwtEventInfo;
+import org.junit.Test;
+import org.osgi.service.event.Event;
+
+public class GwtEventServiceImplTest {
+
+    private static final int MAX_EVENT_COUNT = 64;
+
+    private final GwtEventServiceImpl service = new GwtEventServiceImpl();
+
+    @Test
+    public void shouldReturnEventsInSequenceOrder() {
+        givenEvents(10);
+
+        List<GwtEventInfo> events = this.service.getNextEvents("0");
+
+        assertEquals(10, events.size());
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(Integer.toString(i + 1), events.get(i).getSequence());
+            assertEquals("test/topic/" + i, events.get(i).getTopic());
+        }
+    }
+
+    @Test
+    public void shouldReturnOnlyEventsAfterTheGivenSequence() {
+        givenEvents(10);
+
+        List<GwtEventInfo> events = this.service.getNextEvents("7");
+
+        assertEquals(3, events.size());
+        assertEquals("8", events.get(0).getSequence());
+        assertEquals("10", events.get(2).getSequence());
+    }
+
+    @Test
+    public void shouldKeepOnlyTheLatestEventsWhenTheBufferWraps() {
+        givenEvents(MAX_EVENT_COUNT + 10);
+
+        List<GwtEventInfo> events = this.service.getNextEvents("0");
+
+        assertEquals(MAX_EVENT_COUNT, events.size());
+        assertEquals("11", events.get(0).getSequence());
+        assertEquals(Integer.toString(MAX_EVENT_COUNT + 10), events.get(MAX_EVENT_COUNT - 1).getSequence());
+    }
+
+    @Test
+    public void shouldNotOverwriteNewerEventWithDelayedOlderOne() throws Throwable {
+        givenEvents(MAX_EVENT_COUNT + 1);
+
+        // simulates a thread that was delayed between the sequence increment and the store
+        GwtEventInfo stale = new GwtEventInfo("stale/topic");
+        stale.set(GwtEventInfo.SEQUENCE, "1");
+        TestUtil.invokePrivate(this.service, "publish", new Class<?>[] { long.class, GwtEventInfo.class }, 1L,
+                stale);
+
+        List<GwtEventInfo> events = this.service.getNextEvents(Integer.toString(MAX_EVENT_COUNT));
+
+        assertEquals(1, events.size());
+        assertEquals(Integer.toString(MAX_EVENT_COUNT + 1), events.get(0).getSequence());
+        assertEquals("test/topic/" + MAX_EVENT_COUNT, events.get(0).getTopic());
+    }
+
+    @Test
+    public void shouldWakeUpPendingPollsOnStop() throws Exception {
+        CompletableFuture<List<GwtEventInfo>> poll = CompletableFuture
+                .supplyAsync(() -> this.service.getNextEvents("0"));
+
+        Thread.sleep(100);
+        this.service.stop();
+
+        List<GwtEventInfo> events = poll.get(5, TimeUnit.SECONDS);
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void shouldWakeUpPendingPollsOnNewEvent() throws Exception {
+        CompletableFuture<List<GwtEventInfo>> poll = CompletableFuture
+                .supplyAsync(() -> this.service.getNextEvents("0"));
+
+        Thread.sleep(100);
+        givenEvents(1);
+
+        List<GwtEventInfo> events = poll.get(5, TimeUnit.SECONDS);
+        assertEquals(1, events.size());
+        assertEquals("1", events.get(0).getSequence());
+    }
+
+    private void givenEvents(int count) {
+        for (int i = 0; i < count; i++) {
+            this.service.handleEvent(new Event("test/topic/" + i, Collections.<String, Object> emptyMap()));
+        }
+    }
+}
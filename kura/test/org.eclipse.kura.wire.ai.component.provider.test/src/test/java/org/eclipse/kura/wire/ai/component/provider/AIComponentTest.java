@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Eurotech and/or its affiliates and others
+ * Copyright (c) 2022, 2023 Eurotech and/or its affiliates and others
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,10 @@ import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -46,12 +50,19 @@ public class AIComponentTest {
     private static final String PREPROCESSOR_MODEL_NAME = "preprocessor.model.name";
     private static final String INFERENCE_MODEL_NAME = "inference.model.name";
     private static final String POSTPROCESSOR_MODEL_NAME = "postprocessor.model.name";
+    private static final String BATCHING_ENABLED = "batching.enabled";
+    private static final String BATCHING_MAX_SIZE = "batching.max.size";
+    private static final String BATCHING_MAX_QUEUE_DELAY = "batching.max.queue.delay.ms";
+    private static final String BATCHING_MAX_IN_FLIGHT = "batching.max.in.flight";
 
     private AIComponent aiComponent;
+    private WireSupport wireSupport;
     private Map<String, Object> compProperties;
     private InferenceEngineServiceMock engine;
     private WireEnvelope inputEnvelope;
     private boolean exceptionsOccurred;
+    private Thread receiveThread;
+    private Thread deactivateThread;
 
     /*
      * Scenarios
@@ -130,6 +141,91 @@ public class AIComponentTest {
         thenNoExceptionsOccurred();
     }
 
+    @Test
+    public void shouldInferOnceForFullBatch() {
+        givenInferenceEngine();
+        givenInputEnvelope(4);
+        givenWireProperties("", "infer", "");
+        givenBatching(4, 60000L);
+        givenModelInfo("infer");
+        givenActivate();
+
+        whenOnWireReceive(this.inputEnvelope);
+
+        thenEnvelopesAreEmitted(4);
+        thenInferIsCalled(1);
+        thenNoExceptionsOccurred();
+    }
+
+    @Test
+    public void shouldInferPartialBatchAfterQueueDelay() {
+        givenInferenceEngine();
+        givenInputEnvelope(3);
+        givenWireProperties("preprocessor", "infer", "postprocessor");
+        givenBatching(8, 100L);
+        givenModelInfo("preprocessor");
+        givenModelInfo("infer");
+        givenModelInfo("postprocessor");
+        givenActivate();
+
+        whenOnWireReceive(this.inputEnvelope);
+
+        thenEnvelopesAreEmitted(3);
+        thenInferIsCalled(3);
+        thenNoExceptionsOccurred();
+    }
+
+    @Test
+    public void shouldSplitRecordsInMultipleBatches() {
+        givenInferenceEngine();
+        givenInputEnvelope(5);
+        givenWireProperties("", "infer", "");
+        givenBatching(2, 100L);
+        givenModelInfo("infer");
+        givenActivate();
+
+        whenOnWireReceive(this.inputEnvelope);
+
+        thenEnvelopesAreEmitted(5);
+        thenInferIsCalled(3);
+        thenNoExceptionsOccurred();
+    }
+
+    @Test
+    public void shouldProcessPendingRecordsOnDeactivate() {
+        givenInferenceEngine();
+        givenInputEnvelope(1);
+        givenWireProperties("", "infer", "");
+        givenBatching(8, 60000L);
+        givenModelInfo("infer");
+        givenActivate();
+
+        whenOnWireReceive(this.inputEnvelope);
+        whenDeactivate();
+
+        thenEnvelopesAreEmitted(1);
+        thenInferIsCalled(1);
+        thenNoExceptionsOccurred();
+    }
+
+    @Test
+    public void shouldNotBlockDeactivateOnHungInference() throws InterruptedException {
+        givenInferenceEngine();
+        givenHungInference();
+        givenInputEnvelope(4);
+        givenWireProperties("", "infer", "");
+        givenBatching(1, 60000L);
+        givenBatchingMaxInFlight(1);
+        givenModelInfo("infer");
+        givenActivate();
+        givenOnWireReceiveInBackground(this.inputEnvelope);
+
+        whenDeactivateInBackground();
+
+        thenDeactivateCompletesWithin(30000);
+        thenBackgroundReceiveCompletesWithin(1000);
+    }
+
     /*
      * Steps
      */
@@ -170,12 +266,41 @@ public class AIComponentTest {
         }
     }
 
+    private void givenBatching(int maxSize, long maxQueueDelay) {
+        this.compProperties.put(BATCHING_ENABLED, true);
+        this.compProperties.put(BATCHING_MAX_SIZE, maxSize);
+        this.compProperties.put(BATCHING_MAX_QUEUE_DELAY, maxQueueDelay);
+    }
+
+    private void givenBatchingMaxInFlight(int maxInFlight) {
+        this.compProperties.put(BATCHING_MAX_IN_FLIGHT, maxInFlight);
+    }
+
+    private void givenHungInference() {
+        this.engine.setInferenceHung();
+    }
+
+    private void givenOnWireReceiveInBackground(WireEnvelope env) throws InterruptedException {
+        this.receiveThread = new Thread(() -> whenOnWireReceive(env));
+        this.receiveThread.start();
+
+        // wait for the first batch to reach the hung inference stage
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (this.engine.wasCalledTimes() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
     private void givenActivate() {
         ComponentContext mockContext = mock(ComponentContext.class);
         this.aiComponent.activate(mockContext, this.compProperties);
     }
 
     private void givenInputEnvelope() {
+        givenInputEnvelope(1);
+    }
+
+    private void givenInputEnvelope(int recordCount) {
         List<WireRecord> records = new ArrayList<>();
         Map<String, TypedValue<?>> recordProps = new HashMap<String, TypedValue<?>>() {
             private static final long serialVersionUID = 1L;
@@ -190,7 +315,9 @@ public class AIComponentTest {
             }
         };
 
-        records.add(new WireRecord(recordProps));
+        for (int i = 0; i < recordCount; i++) {
+            records.add(new WireRecord(recordProps));
+        }
         this.inputEnvelope = new WireEnvelope("example_asset_pid", records);
     }
 
@@ -240,10 +367,24 @@ public class AIComponentTest {
         }
     }
 
+    private void whenDeactivate() {
+        this.aiComponent.deactivate();
+    }
+
+    private void whenDeactivateInBackground() {
+        this.deactivateThread = new Thread(this::whenDeactivate);
+        this.deactivateThread.start();
+    }
+
     /*
      * Then
      */
 
+    private void thenEnvelopesAreEmitted(int nTimes) {
+        verify(this.wireSupport, timeout(5000).times(nTimes)).emit(any());
+        verify(this.wireSupport, after(200).times(nTimes)).emit(any());
+    }
+
     private void thenInferIsCalled(int nTimes) {
         try {
             assertEquals(nTimes, this.engine.wasCalledTimes());
@@ -253,6 +394,16 @@ public class AIComponentTest {
         }
     }
 
+    private void thenDeactivateCompletesWithin(long timeoutMs) throws InterruptedException {
+        this.deactivateThread.join(timeoutMs);
+        assertFalse(this.deactivateThread.isAlive());
+    }
+
+    private void thenBackgroundReceiveCompletesWithin(long timeoutMs) throws InterruptedException {
+        this.receiveThread.join(timeoutMs);
+        assertFalse(this.receiveThread.isAlive());
+    }
+
     private void thenNoExceptionsOccurred() {
         assertFalse(this.exceptionsOccurred);
     }
@@ -271,8 +422,8 @@ public class AIComponentTest {
 
         // wire dependencies
         WireHelperService wireHelperService = mock(WireHelperService.class);
-        WireSupport wireSupport = mock(WireSupport.class);
-        when(wireHelperService.newWireSupport(any(), any())).thenReturn(wireSupport);
+        this.wireSupport = mock(WireSupport.class);
+        when(wireHelperService.newWireSupport(any(), any())).thenReturn(this.wireSupport);
         this.aiComponent.bindWireHelperService(wireHelperService);
 
         this.exceptionsOccurred = false;
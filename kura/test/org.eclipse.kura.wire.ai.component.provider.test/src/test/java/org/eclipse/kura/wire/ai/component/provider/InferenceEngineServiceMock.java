@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Eurotech and/or its affiliates and others
+ * Copyright (c) 2022, 2023 Eurotech and/or its affiliates and others
  *
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,8 @@ package org.eclipse.kura.wire.ai.component.provider;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.kura.KuraErrorCode;
 import org.eclipse.kura.KuraException;
@@ -28,11 +30,11 @@ public class InferenceEngineServiceMock implements InferenceEngineService {
 
     private List<ModelInfo> models;
     private boolean isEngineReady;
-    private int timesCalled = 0;
+    private final AtomicInteger timesCalled = new AtomicInteger();
+    private volatile CountDownLatch inferenceGate;
 
     public InferenceEngineServiceMock() {
         this.models = new ArrayList<>();
-        this.timesCalled = 0;
     }
 
     public void setEngineReady() {
@@ -47,31 +49,63 @@ public class InferenceEngineServiceMock implements InferenceEngineService {
         this.models.add(info);
     }
 
+    public void setInferenceHung() {
+        this.inferenceGate = new CountDownLatch(1);
+    }
+
     public int wasCalledTimes() {
-        return this.timesCalled;
+        return this.timesCalled.get();
     }
 
     @Override
     public List<Tensor> infer(ModelInfo modelInfo, List<Tensor> inputData) throws KuraException {
-        this.timesCalled++;
+        this.timesCalled.incrementAndGet();
+
+        final CountDownLatch gate = this.inferenceGate;
+
+        if (gate != null) {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new KuraException(KuraErrorCode.TIMED_OUT);
+            }
+        }
 
         if (!this.isEngineReady) {
             throw new KuraException(KuraErrorCode.BAD_REQUEST);
         }
 
         List<Tensor> inferResult = new ArrayList<>();
+        long batchSize = getBatchSize(inputData);
 
         for (ModelInfo model : this.models) {
             for (TensorDescriptor outDesc : model.getOutputs()) {
                 List<Object> tensorData = new ArrayList<>();
-                tensorData.add((Object) 0);
-                inferResult.add(new Tensor(Object.class, outDesc, tensorData));
+                for (long i = 0; i < batchSize; i++) {
+                    tensorData.add((Object) 0);
+                }
+                inferResult.add(new Tensor(Object.class, withBatchSize(outDesc, batchSize), tensorData));
             }
         }
 
         return inferResult;
     }
 
+    private long getBatchSize(List<Tensor> inputData) {
+        if (inputData.isEmpty() || inputData.get(0).getDescriptor().getShape().isEmpty()) {
+            return 1;
+        }
+        return Math.max(1, inputData.get(0).getDescriptor().getShape().get(0));
+    }
+
+    private TensorDescriptor withBatchSize(TensorDescriptor descriptor, long batchSize) {
+        List<Long> shape = new ArrayList<>();
+        shape.add(batchSize);
+        return new TensorDescriptor(descriptor.getName(), descriptor.getType(), descriptor.getFormat(), shape,
+                descriptor.getParameters());
+    }
+
     @Override
     public Optional<ModelInfo> getModelInfo(String modelName) throws KuraException {
         if (!this.isEngineReady) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Eurotech and/or its affiliates and others
+ * Copyright (c) 2022, 2023 Eurotech and/or its affiliates and others
  *
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -83,6 +84,18 @@ public class TensorListAdapterTest {
         thenResultingNamedTensorIsEqualTo("INPUT0", Byte.class, Arrays.asList((byte) 1, (byte) 2, (byte) 3, (byte) 4));
     }
 
+    @Test
+    public void adapterShouldCreateBufferBackedTensorFromByteArray() {
+        givenWireRecordPropWith("INPUT0", new ByteArrayValue(new byte[] { 1, 2, 3, 4 }));
+        givenWireRecord();
+        givenTensorDescriptorWith("INPUT0", "UINT8", Arrays.asList(1L, 4L));
+
+        whenTensorListAdapterConvertsFromWireRecord();
+
+        thenNoExceptionOccurred();
+        thenResultingNamedTensorBufferIsEqualTo("INPUT0", ByteBuffer.wrap(new byte[] { 1, 2, 3, 4 }));
+    }
+
     @Test
     public void adapterShouldWorkWithFloatWiredRecord() {
         givenWireRecordPropWith("INPUT0", new FloatValue(1.0F));
@@ -208,6 +221,18 @@ public class TensorListAdapterTest {
         thenResultingNamedWireRecordPropertiesAreEqualTo("OUTPUT0", new ByteArrayValue(new byte[] { 1, 2, 3 }));
     }
 
+    @Test
+    public void adapterShouldWorkWithBufferBackedByteTensor() {
+        givenTensorDescriptorWith("OUTPUT0", "UINT8", Arrays.asList(1L, 3L));
+        givenBufferTensorWith("OUTPUT0", "UINT8", Arrays.asList(1L, 3L), ByteBuffer.wrap(new byte[] { 1, 2, 3 }));
+
+        whenTensorListAdapterConvertsFromTensorList();
+
+        thenNoExceptionOccurred();
+        thenResultingWireRecordIsSize(1);
+        thenResultingNamedWireRecordPropertiesAreEqualTo("OUTPUT0", new ByteArrayValue(new byte[] { 1, 2, 3 }));
+    }
+
     @Test
     public void adapterShouldWorkWithFloatTensor() {
         givenTensorDescriptorWith("OUTPUT0", "FP32", Arrays.asList(1L, 1L));
@@ -340,6 +365,12 @@ public class TensorListAdapterTest {
         this.inputTensors.add(tensor);
     }
 
+    private void givenBufferTensorWith(String name, String type, List<Long> shape, ByteBuffer data) {
+        TensorDescriptor descriptor = new TensorDescriptor(name, type, Optional.empty(), shape, new HashMap<>());
+
+        this.inputTensors.add(new Tensor(Byte.class, descriptor, data));
+    }
+
     /*
      * When
      */
@@ -403,6 +434,14 @@ public class TensorListAdapterTest {
         assertEquals(expectedData, data.get());
     }
 
+    private void thenResultingNamedTensorBufferIsEqualTo(String name, ByteBuffer expected) {
+        Tensor tensor = findTensorByName(name, outputTensors);
+
+        assertNotNull(tensor);
+        assertTrue(tensor.getBuffer().isPresent());
+        assertEquals(expected, tensor.getBuffer().get());
+    }
+
     private Tensor findTensorByName(String name, List<Tensor> tensorList) {
         for (Tensor currTensor : tensorList) {
             String currTensorName = currTensor.getDescriptor().getName();
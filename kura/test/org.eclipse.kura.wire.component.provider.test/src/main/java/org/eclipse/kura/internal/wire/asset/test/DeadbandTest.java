@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.internal.wire.asset.test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.kura.channel.ChannelType;
+import org.eclipse.kura.type.DataType;
+import org.junit.Test;
+
+public class DeadbandTest extends WireAssetTestBase {
+
+    @Test
+    public void shouldNotEmitValuesInsideAbsoluteDeadband() {
+        givenAssetWithChannelProperty("+deadband.absolute", 1.0d);
+
+        whenDriverEmitsEvents(
+                "foo", 10.0d, //
+                "foo", 10.5d, //
+                "foo", 10.9d, //
+                "foo", 11.5d, //
+                "foo", 11.0d //
+        );
+
+        thenAssetOutputContains(0, "foo", 10.0d);
+        thenAssetOutputContains(1, "foo", 11.5d);
+        thenTotalEmittedEnvelopeCountAfter1SecIs(2);
+    }
+
+    @Test
+    public void shouldNotEmitValuesInsidePercentDeadband() {
+        givenAssetWithChannelProperty("+deadband.percent", 10.0d);
+
+        whenDriverEmitsEvents(
+                "foo", 100.0d, //
+                "foo", 105.0d, //
+                "foo", 95.0d, //
+                "foo", 111.0d, //
+                "foo", 120.0d //
+        );
+
+        thenAssetOutputContains(0, "foo", 100.0d);
+        thenAssetOutputContains(1, "foo", 111.0d);
+        thenTotalEmittedEnvelopeCountAfter1SecIs(2);
+    }
+
+    @Test
+    public void shouldNotEmitValuesBeforeMinReportInterval() {
+        givenAssetWithChannelProperty("+report.min.interval.ms", 60000L);
+
+        whenDriverEmitsEvents(
+                "foo", 1.0d, //
+                "foo", 2.0d, //
+                "foo", 3.0d //
+        );
+
+        thenAssetOutputContains(0, "foo", 1.0d);
+        thenTotalEmittedEnvelopeCountAfter1SecIs(1);
+    }
+
+    @Test
+    public void shouldApplyDeadbandIfOnChangeIsDisabled() {
+        givenAssetWithChannelProperty("+deadband.absolute", 1.0d);
+
+        givenChannelValues("foo", 10.0d, 10.0d, 12.0d);
+
+        whenAssetReceivesEnvelopes(3);
+
+        thenAssetOutputContains(0, "foo", 10.0d);
+        thenAssetOutputContains(1, "foo", 12.0d);
+        thenTotalEmittedEnvelopeCountAfter1SecIs(2);
+    }
+
+    private void givenAssetWithChannelProperty(final String key, final Object value) {
+        final Map<String, Object> result = new HashMap<>();
+
+        result.put("driver.pid", "testDriver");
+        result.put("emit.empty.envelopes", false);
+        result.put("foo#+name", "foo");
+        result.put("foo#+type", ChannelType.READ.name());
+        result.put("foo#+value.type", DataType.DOUBLE.name());
+        result.put("foo#+enabled", true);
+        result.put("foo#+listen", true);
+        result.put("foo#" + key, value);
+
+        givenAssetConfig(result);
+    }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020 Eurotech and/or its affiliates and others
+ * Copyright (c) 2020, 2023 Eurotech and/or its affiliates and others
  * 
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -17,9 +17,11 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -31,6 +33,7 @@ import org.eclipse.kura.configuration.ConfigurationService;
 import org.eclipse.kura.util.wire.test.GraphBuilder;
 import org.eclipse.kura.util.wire.test.TestEmitterReceiver;
 import org.eclipse.kura.util.wire.test.WireTestUtil;
+import org.eclipse.kura.wire.WireEnvelope;
 import org.eclipse.kura.wire.graph.WireGraphService;
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -307,6 +310,76 @@ public class TimerTest {
         }
     }
 
+    @Test
+    public void shouldTickEvery10MillisWhenAligned()
+            throws InterruptedException, ExecutionException, TimeoutException {
+        WireTestUtil.updateWireComponentConfiguration(configurationService, TEST_TIMER_PID, TimerConfig.defaultConfig() //
+                .withType(TimerType.ALIGNED) //
+                .withInterval(10) //
+                .withTimeUnit(TimeUnit.MILLISECONDS) //
+                .toProperties()).get(60, TimeUnit.SECONDS);
+
+        final List<Long> timestamps = new CopyOnWriteArrayList<>();
+
+        this.testEmitterReceiver.setConsumer(e -> timestamps.add(getTimerValue(e)));
+
+        sleep(1000);
+        this.testEmitterReceiver.setConsumer(e -> {
+        });
+
+        final int finalCount = timestamps.size();
+
+        assertTrue("count should be greater than 90 but was " + finalCount, finalCount >= 90);
+        assertTrue("count should be less than 110 but was " + finalCount, finalCount <= 110);
+
+        for (final long timestamp : timestamps) {
+            assertEquals("tick " + timestamp + " is not aligned", 0, timestamp % 10);
+        }
+    }
+
+    @Test
+    public void shouldAlignTicksOfMultipleTimers() throws InterruptedException, ExecutionException, TimeoutException {
+        WireTestUtil.updateWireComponentConfiguration(configurationService, TEST_TIMER_PID, TimerConfig.defaultConfig() //
+                .withType(TimerType.ALIGNED) //
+                .withInterval(10) //
+                .withTimeUnit(TimeUnit.MILLISECONDS) //
+                .toProperties()).get(60, TimeUnit.SECONDS);
+
+        WireTestUtil.updateWireComponentConfiguration(configurationService, TEST_TIMER_PID2,
+                TimerConfig.defaultConfig() //
+                        .withType(TimerType.ALIGNED) //
+                        .withInterval(20000) //
+                        .withTimeUnit(TimeUnit.MICROSECONDS) //
+                        .toProperties())
+                .get(60, TimeUnit.SECONDS);
+
+        final List<Long> timestamps = new CopyOnWriteArrayList<>();
+        final List<Long> timestamps2 = new CopyOnWriteArrayList<>();
+
+        this.testEmitterReceiver.setConsumer(e -> timestamps.add(getTimerValue(e)));
+        this.testEmitterReceiver2.setConsumer(e -> timestamps2.add(getTimerValue(e)));
+
+        sleep(1000);
+        this.testEmitterReceiver.setConsumer(e -> {
+        });
+        this.testEmitterReceiver2.setConsumer(e -> {
+        });
+
+        assertTrue("count should be at least 40 but was " + timestamps2.size(), timestamps2.size() >= 40);
+
+        int aligned = 0;
+
+        for (final long timestamp : timestamps2) {
+            assertEquals("tick " + timestamp + " is not aligned", 0, timestamp % 20);
+            if (timestamps.contains(timestamp)) {
+                aligned++;
+            }
+        }
+
+        assertTrue("only " + aligned + " ticks out of " + timestamps2.size() + " are shared by both timers",
+                aligned >= timestamps2.size() - 2);
+    }
+
     @Test
     public void shouldContinueToTickIfReceiverThrows()
             throws InterruptedException, ExecutionException, TimeoutException {
@@ -330,6 +403,10 @@ public class TimerTest {
         assertTrue(finalCount <= 11);
     }
 
+    private static long getTimerValue(final WireEnvelope envelope) {
+        return (Long) envelope.getRecords().get(0).getProperties().get("TIMER").getValue();
+    }
+
     private void sleep(final long millis) {
         synchronized (this) {
             try {
@@ -342,7 +419,8 @@ public class TimerTest {
 
     private enum TimerType {
         SIMPLE,
-        CRON
+        CRON,
+        ALIGNED
     }
 
     private static final class TimerConfig {
@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ * 
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *  Eurotech
+ ******************************************************************************/
+package org.eclipse.kura.internal.wire.aggregator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.kura.type.TypedValue;
+import org.eclipse.kura.type.TypedValues;
+import org.eclipse.kura.wire.WireRecord;
+import org.junit.Test;
+
+public class AggregationWindowTest {
+
+    private final Map<String, Object> properties = new HashMap<>();
+    private AggregationWindow window;
+    private List<WireRecord> records;
+
+    @Test
+    public void shouldAggregateTheLastPanesOfSlidingWindows() {
+        givenProperty("window.type", "SLIDING");
+        givenProperty("window.length", 30);
+        givenProperty("window.slide", 10);
+        givenProperty("statistics", "min,max,count");
+        givenWindow();
+
+        whenValuesAreAdded(1.0, 2.0);
+        whenWindowIsClosed();
+        thenStatisticsAre(1.0, 2.0, 2);
+
+        whenValuesAreAdded(3.0);
+        whenWindowIsClosed();
+        thenStatisticsAre(1.0, 3.0, 3);
+
+        whenValuesAreAdded(4.0);
+        whenWindowIsClosed();
+        thenStatisticsAre(1.0, 4.0, 4);
+
+        whenValuesAreAdded(5.0);
+        whenWindowIsClosed();
+        thenStatisticsAre(3.0, 5.0, 3);
+    }
+
+    @Test
+    public void shouldResetTumblingWindows() {
+        givenProperty("window.type", "TUMBLING");
+        givenProperty("statistics", "min,max,count");
+        givenWindow();
+
+        whenValuesAreAdded(1.0, 2.0);
+        whenWindowIsClosed();
+        thenStatisticsAre(1.0, 2.0, 2);
+
+        whenValuesAreAdded(7.0);
+        whenWindowIsClosed();
+        thenStatisticsAre(7.0, 7.0, 1);
+    }
+
+    @Test
+    public void shouldNotEmitEmptyWindows() {
+        givenProperty("window.type", "TUMBLING");
+        givenWindow();
+
+        whenValuesAreAdded(1.0);
+        whenWindowIsClosed();
+        whenWindowIsClosed();
+
+        assertTrue(this.records.isEmpty());
+    }
+
+    @Test
+    public void shouldMergeAccumulators() {
+        final StatisticsAccumulator first = new StatisticsAccumulator();
+        final StatisticsAccumulator second = new StatisticsAccumulator();
+        final StatisticsAccumulator all = new StatisticsAccumulator();
+
+        for (final double value : new double[] { 1.5, 2.0, 8.25 }) {
+            first.add(value);
+            all.add(value);
+        }
+        for (final double value : new double[] { -3.0, 4.0 }) {
+            second.add(value);
+            all.add(value);
+        }
+
+        first.merge(second);
+
+        assertEquals(all.getCount(), first.getCount());
+        assertEquals(all.getMin(), first.getMin(), 0.000001);
+        assertEquals(all.getMax(), first.getMax(), 0.000001);
+        assertEquals(all.getAverage(), first.getAverage(), 0.000001);
+        assertEquals(all.getStandardDeviation(), first.getStandardDeviation(), 0.000001);
+    }
+
+    /*
+     * Given
+     */
+
+    private void givenProperty(final String key, final Object value) {
+        this.properties.put(key, value);
+    }
+
+    private void givenWindow() {
+        this.window = new AggregationWindow(new AggregatorOptions(this.properties));
+    }
+
+    /*
+     * When
+     */
+
+    private void whenValuesAreAdded(final double... values) {
+        for (final double value : values) {
+            final Map<String, TypedValue<?>> recordProperties = new HashMap<>();
+            recordProperties.put("value", TypedValues.newDoubleValue(value));
+            this.window.add(new WireRecord(recordProperties));
+        }
+    }
+
+    private void whenWindowIsClosed() {
+        this.records = this.window.close();
+    }
+
+    /*
+     * Then
+     */
+
+    private void thenStatisticsAre(final double min, final double max, final long count) {
+        assertEquals(1, this.records.size());
+
+        final Map<String, TypedValue<?>> result = this.records.get(0).getProperties();
+
+        assertEquals(min, (Double) result.get("value_min").getValue(), 0.000001);
+        assertEquals(max, (Double) result.get("value_max").getValue(), 0.000001);
+        assertEquals(count, result.get("value_count").getValue());
+    }
+}
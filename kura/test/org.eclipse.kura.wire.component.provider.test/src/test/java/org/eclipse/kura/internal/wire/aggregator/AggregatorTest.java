@@ -0,0 +1,262 @@
+/*******************************************************************************
+ * Copyright (c) 2023 Eurotech and/or its affiliates and others
+ * 
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * 
+ * Contributors:
+ *  Eurotech
+ ******************************************************************************/
+package org.eclipse.kura.internal.wire.aggregator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.kura.scheduler.SchedulerService;
+import org.eclipse.kura.scheduler.WorkloadClass;
+import org.eclipse.kura.type.TypedValue;
+import org.eclipse.kura.type.TypedValues;
+import org.eclipse.kura.wire.WireEnvelope;
+import org.eclipse.kura.wire.WireHelperService;
+import org.eclipse.kura.wire.WireRecord;
+import org.eclipse.kura.wire.WireSupport;
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.osgi.service.component.ComponentContext;
+
+public class AggregatorTest {
+
+    private final Aggregator aggregator = new Aggregator();
+    private final WireSupport wireSupport = mock(WireSupport.class);
+    private final SchedulerService schedulerService = mock(SchedulerService.class);
+    private final ScheduledFuture<?> windowTask = mock(ScheduledFuture.class);
+    private final Map<String, Object> properties = new HashMap<>();
+    private List<WireRecord> emittedRecords = new ArrayList<>();
+
+    @After
+    public void tearDown() {
+        this.aggregator.deactivate();
+    }
+
+    @Test
+    public void shouldEmitStatisticsWhenCountWindowIsFull() {
+        givenProperty("window.type", "COUNT");
+        givenProperty("window.records", 4);
+        givenProperty("statistics", "min,max,avg,count,stddev");
+        givenActivatedAggregator();
+
+        whenRecordsAreReceived(record("temperature", 2.0), record("temperature", 4.0), record("temperature", 4.0));
+
+        thenNothingIsEmitted();
+
+        whenRecordsAreReceived(record("temperature", 6.0));
+
+        thenEmittedRecordCountIs(1);
+        thenEmittedValueIs(0, "temperature_min", 2.0);
+        thenEmittedValueIs(0, "temperature_max", 6.0);
+        thenEmittedValueIs(0, "temperature_avg", 4.0);
+        thenEmittedValueIs(0, "temperature_stddev", Math.sqrt(2.0));
+        thenEmittedLongIs(0, "temperature_count", 4L);
+    }
+
+    @Test
+    public void shouldOnlyAggregateSelectedNumericProperties() {
+        givenProperty("window.type", "COUNT");
+        givenProperty("window.records", 1);
+        givenProperty("property.names", "temperature, humidity");
+        givenProperty("statistics", "avg");
+        givenActivatedAggregator();
+
+        final Map<String, TypedValue<?>> values = new HashMap<>();
+        values.put("temperature", TypedValues.newIntegerValue(20));
+        values.put("humidity", TypedValues.newStringValue("high"));
+        values.put("pressure", TypedValues.newDoubleValue(1000.0));
+        whenRecordsAreReceived(new WireRecord(values));
+
+        thenEmittedRecordCountIs(1);
+        thenEmittedValueIs(0, "temperature_avg", 20.0);
+        thenPropertyIsMissing(0, "humidity_avg");
+        thenPropertyIsMissing(0, "pressure_avg");
+    }
+
+    @Test
+    public void shouldEmitOneRecordPerGroup() {
+        givenProperty("window.type", "COUNT");
+        givenProperty("window.records", 4);
+        givenProperty("statistics", "max");
+        givenProperty("group.by", "sensor");
+        givenActivatedAggregator();
+
+        whenRecordsAreReceived(groupRecord("a", 1.0), groupRecord("b", 10.0), groupRecord("a", 3.0),
+                groupRecord("b", 5.0));
+
+        thenEmittedRecordCountIs(2);
+        thenEmittedValueIs(0, "value_max", 3.0);
+        thenEmittedGroupIs(0, "a");
+        thenEmittedValueIs(1, "value_max", 10.0);
+        thenEmittedGroupIs(1, "b");
+    }
+
+    @Test
+    public void shouldDownsampleReceivedRecords() {
+        givenProperty("window.type", "COUNT");
+        givenProperty("window.records", 2);
+        givenProperty("statistics", "avg,count");
+        givenProperty("downsampling.factor", 2);
+        givenActivatedAggregator();
+
+        whenRecordsAreReceived(record("value", 1.0), record("value", 100.0), record("value", 3.0),
+                record("value", 100.0));
+
+        thenEmittedRecordCountIs(1);
+        thenEmittedValueIs(0, "value_avg", 2.0);
+        thenEmittedLongIs(0, "value_count", 2L);
+    }
+
+    @Test
+    public void shouldCloseTumblingWindowsPeriodically() {
+        givenProperty("window.type", "TUMBLING");
+        givenProperty("window.length", 1);
+        givenProperty("statistics", "count");
+        givenActivatedAggregator();
+
+        whenRecordsAreReceived(record("value", 1.0), record("value", 2.0));
+
+        thenEmittedEventually();
+        thenEmittedLongIs(0, "value_count", 2L);
+    }
+
+    @Test
+    public void shouldScheduleTimeWindowsOnSchedulerService() {
+        givenProperty("window.type", "TUMBLING");
+        givenProperty("window.length", 10);
+        givenProperty("statistics", "count");
+        givenSchedulerService();
+        givenActivatedAggregator();
+
+        thenWindowTaskIsScheduledEvery(10L);
+
+        whenAggregatorIsDeactivated();
+
+        thenWindowTaskIsCancelled();
+    }
+
+    /*
+     * Given
+     */
+
+    private void givenProperty(final String key, final Object value) {
+        this.properties.put(key, value);
+    }
+
+    private void givenSchedulerService() {
+        when(this.schedulerService.scheduleAtFixedRate(any(), any(), any(), anyLong(), anyLong(), any()))
+                .thenAnswer(invocation -> this.windowTask);
+
+        this.aggregator.bindSchedulerService(this.schedulerService);
+    }
+
+    private void givenActivatedAggregator() {
+        final WireHelperService wireHelperService = mock(WireHelperService.class);
+        when(wireHelperService.newWireSupport(any(), any())).thenReturn(this.wireSupport);
+
+        this.aggregator.bindWireHelperService(wireHelperService);
+        this.aggregator.activate(this.properties, mock(ComponentContext.class));
+    }
+
+    /*
+     * When
+     */
+
+    private void whenAggregatorIsDeactivated() {
+        this.aggregator.deactivate();
+    }
+
+    private void whenRecordsAreReceived(final WireRecord... records) {
+        this.aggregator.onWireReceive(new WireEnvelope("emitter", Arrays.asList(records)));
+    }
+
+    /*
+     * Then
+     */
+
+    private void thenWindowTaskIsScheduledEvery(final long periodSeconds) {
+        verify(this.schedulerService).scheduleAtFixedRate(any(), eq(WorkloadClass.IO), any(), eq(periodSeconds),
+                eq(periodSeconds), eq(TimeUnit.SECONDS));
+    }
+
+    private void thenWindowTaskIsCancelled() {
+        verify(this.windowTask).cancel(false);
+    }
+
+    private void thenNothingIsEmitted() {
+        verify(this.wireSupport, never()).emit(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void thenEmittedRecordCountIs(final int expectedCount) {
+        final ArgumentCaptor<List<WireRecord>> captor = ArgumentCaptor.forClass(List.class);
+        verify(this.wireSupport).emit(captor.capture());
+
+        this.emittedRecords = captor.getValue();
+        assertEquals(expectedCount, this.emittedRecords.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void thenEmittedEventually() {
+        final ArgumentCaptor<List<WireRecord>> captor = ArgumentCaptor.forClass(List.class);
+        verify(this.wireSupport, timeout(5000)).emit(captor.capture());
+
+        this.emittedRecords = captor.getValue();
+    }
+
+    private void thenEmittedValueIs(final int index, final String name, final double expectedValue) {
+        assertEquals(expectedValue, (Double) this.emittedRecords.get(index).getProperties().get(name).getValue(),
+                0.000001);
+    }
+
+    private void thenEmittedLongIs(final int index, final String name, final long expectedValue) {
+        assertEquals(expectedValue, this.emittedRecords.get(index).getProperties().get(name).getValue());
+    }
+
+    private void thenEmittedGroupIs(final int index, final String expectedGroup) {
+        assertEquals(expectedGroup, this.emittedRecords.get(index).getProperties().get("sensor").getValue());
+    }
+
+    private void thenPropertyIsMissing(final int index, final String name) {
+        assertFalse(this.emittedRecords.get(index).getProperties().containsKey(name));
+    }
+
+    private static WireRecord record(final String name, final double value) {
+        final Map<String, TypedValue<?>> values = new HashMap<>();
+        values.put(name, TypedValues.newDoubleValue(value));
+        return new WireRecord(values);
+    }
+
+    private static WireRecord groupRecord(final String group, final double value) {
+        final Map<String, TypedValue<?>> values = new HashMap<>();
+        values.put("sensor", TypedValues.newStringValue(group));
+        values.put("value", TypedValues.newDoubleValue(value));
+        return new WireRecord(values);
+    }
+}
@@ -0,0 +1,369 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.internal.wire.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.eclipse.kura.wire.WireEnvelope;
+import org.eclipse.kura.wire.graph.ReceiverPort;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class BarrierAggregatorTest {
+
+    private final List<ReceiverPort> ports = new ArrayList<>();
+    private final List<Consumer<WireEnvelope>> portConsumers = new ArrayList<>();
+    private final List<List<WireEnvelope>> tuples = new ArrayList<>();
+    private final List<WireEnvelope> envelopes = new ArrayList<>();
+
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final ScheduledFuture<?> timeoutFuture = mock(ScheduledFuture.class);
+    private final ArgumentCaptor<Runnable> timeoutTask = ArgumentCaptor.forClass(Runnable.class);
+    private final List<ScheduledFuture<?>> scheduledTimeouts = new ArrayList<>();
+
+    private final Set<WireEnvelope> emittedEnvelopes = ConcurrentHashMap.newKeySet();
+    private final List<WireEnvelope> lastEnvelopes = new ArrayList<>();
+
+    private BarrierAggregator aggregator;
+
+    /*
+     * Scenarios
+     */
+
+    @Test
+    public void shouldNotEmitUntilAllPortsReceived() {
+        givenBarrierAggregator(2);
+
+        whenEnvelopeReceived(0);
+
+        thenEmittedTupleCount(0);
+    }
+
+    @Test
+    public void shouldEmitWhenAllPortsReceived() {
+        givenBarrierAggregator(2);
+
+        whenEnvelopeReceived(0);
+        whenEnvelopeReceived(1);
+
+        thenEmittedTupleCount(1);
+        thenTupleContains(0, 0, 1);
+    }
+
+    @Test
+    public void shouldReplaceEnvelopeReceivedTwiceOnTheSamePort() {
+        givenBarrierAggregator(2);
+        givenEnvelopeReceived(0);
+
+        whenEnvelopeReceived(0);
+        whenEnvelopeReceived(1);
+
+        thenEmittedTupleCount(1);
+        thenTupleContains(0, 1, 2);
+    }
+
+    @Test
+    public void shouldClearSlotsAfterEmitting() {
+        givenBarrierAggregator(2);
+        givenEnvelopeReceived(0);
+        givenEnvelopeReceived(1);
+
+        whenEnvelopeReceived(0);
+
+        thenEmittedTupleCount(1);
+    }
+
+    @Test
+    public void shouldKeepWorkingIfTheConsumerFails() {
+        givenBarrierAggregator(1);
+        givenFailingConsumer();
+
+        whenEnvelopeReceived(0);
+        whenEnvelopeReceived(0);
+
+        thenEmittedTupleCount(2);
+    }
+
+    @Test
+    public void shouldScheduleTimeoutOnFirstEnvelope() {
+        givenTimedBarrierAggregator(2, 100);
+
+        whenEnvelopeReceived(0);
+
+        thenTimeoutIsScheduled(100);
+    }
+
+    @Test
+    public void shouldEmitPartialTupleOnTimeout() {
+        givenTimedBarrierAggregator(2, 100);
+        givenEnvelopeReceived(0);
+
+        whenTimeoutExpires();
+
+        thenEmittedTupleCount(1);
+        thenTupleContains(0, 0, null);
+    }
+
+    @Test
+    public void shouldCancelTimeoutWhenComplete() {
+        givenTimedBarrierAggregator(2, 100);
+        givenEnvelopeReceived(0);
+
+        whenEnvelopeReceived(1);
+
+        thenTimeoutIsCancelled();
+    }
+
+    @Test
+    public void shouldIgnoreStaleTimeout() {
+        givenTimedBarrierAggregator(2, 100);
+        givenEnvelopeReceived(0);
+        givenEnvelopeReceived(1);
+
+        whenTimeoutExpires();
+
+        thenEmittedTupleCount(1);
+    }
+
+    @Test
+    public void shouldOnlyCancelTheTimeoutOfTheCompletedGeneration() {
+        givenTimedBarrierAggregatorWithDistinctTimeouts(2, 100);
+        givenEnvelopeReceived(0);
+        givenEnvelopeReceived(1);
+
+        whenEnvelopeReceived(0);
+
+        thenTimeoutOfGenerationIsCancelled(0, true);
+        thenTimeoutOfGenerationIsCancelled(1, false);
+    }
+
+    @Test
+    public void shouldFlushPartialTuplesWhenGenerationsCompleteConcurrently() throws InterruptedException {
+        final ScheduledThreadPoolExecutor realScheduler = new ScheduledThreadPoolExecutor(1);
+
+        try {
+            givenPorts(2);
+            givenAggregatorWithScheduler(realScheduler, 5);
+
+            for (int i = 0; i < 500; i++) {
+                whenGenerationIsCompletedWhileTheNextStarts();
+
+                thenLastEnvelopesAreEventuallyEmitted(1000);
+            }
+        } finally {
+            realScheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldNotScheduleTimeoutWithoutWindow() {
+        givenTimedBarrierAggregator(2, 0);
+
+        whenEnvelopeReceived(0);
+
+        thenNoTimeoutIsScheduled();
+    }
+
+    /*
+     * Steps
+     */
+
+    /*
+     * Given
+     */
+
+    private void givenBarrierAggregator(final int size) {
+        givenPorts(size);
+        this.aggregator = new BarrierAggregator(this.ports);
+        this.aggregator.onWireReceive(this.tuples::add);
+    }
+
+    private void givenTimedBarrierAggregator(final int size, final long windowMillis) {
+        givenPorts(size);
+        doReturn(this.timeoutFuture).when(this.scheduler).schedule(any(Runnable.class), anyLong(), any());
+        this.aggregator = new BarrierAggregator(this.ports, windowMillis, this.scheduler);
+        this.aggregator.onWireReceive(this.tuples::add);
+    }
+
+    private void givenTimedBarrierAggregatorWithDistinctTimeouts(final int size, final long windowMillis) {
+        givenPorts(size);
+        doAnswer(invocation -> {
+            final ScheduledFuture<?> future = mock(ScheduledFuture.class);
+            this.scheduledTimeouts.add(future);
+            return future;
+        }).when(this.scheduler).schedule(any(Runnable.class), anyLong(), any());
+        this.aggregator = new BarrierAggregator(this.ports, windowMillis, this.scheduler);
+        this.aggregator.onWireReceive(this.tuples::add);
+    }
+
+    private void givenAggregatorWithScheduler(final ScheduledExecutorService realScheduler, final long windowMillis) {
+        this.aggregator = new BarrierAggregator(this.ports, windowMillis, realScheduler);
+        this.aggregator.onWireReceive(tuple -> tuple.stream().filter(e -> e != null)
+                .forEach(this.emittedEnvelopes::add));
+    }
+
+    private void givenFailingConsumer() {
+        this.aggregator.onWireReceive(tuple -> {
+            this.tuples.add(tuple);
+            throw new IllegalStateException("failure");
+        });
+    }
+
+    private void givenEnvelopeReceived(final int port) {
+        whenEnvelopeReceived(port);
+    }
+
+    private void givenPorts(final int size) {
+        for (int i = 0; i < size; i++) {
+            final ReceiverPort port = mock(ReceiverPort.class);
+            this.ports.add(port);
+        }
+    }
+
+    /*
+     * When
+     */
+
+    private void whenEnvelopeReceived(final int port) {
+        final WireEnvelope envelope = new WireEnvelope("emitter" + port, Collections.emptyList());
+        this.envelopes.add(envelope);
+        getPortConsumer(port).accept(envelope);
+    }
+
+    private void whenGenerationIsCompletedWhileTheNextStarts() throws InterruptedException {
+        final WireEnvelope first = new WireEnvelope("emitter0", Collections.emptyList());
+        final WireEnvelope completing = new WireEnvelope("emitter1", Collections.emptyList());
+        final WireEnvelope next = new WireEnvelope("emitter0", Collections.emptyList());
+
+        getPortConsumer(0).accept(first);
+
+        final CountDownLatch start = new CountDownLatch(1);
+        final Thread completer = startThread(start, () -> getPortConsumer(1).accept(completing));
+        final Thread starter = startThread(start, () -> getPortConsumer(0).accept(next));
+
+        start.countDown();
+        completer.join();
+        starter.join();
+
+        this.lastEnvelopes.clear();
+        this.lastEnvelopes.add(completing);
+        this.lastEnvelopes.add(next);
+    }
+
+    private void whenTimeoutExpires() {    private void whenTimeoutExpires() {
+        verify(this.scheduler).schedule(this.timeoutTask.capture(), anyLong(), any());
+        this.timeoutTask.getValue().run();
+    }
+
+    /*
+     * Then
+     */
+
+    private void thenEmittedTupleCount(final int count) {
+        assertEquals(count, this.tuples.size());
+    }
+
+    private void thenTupleContains(final int tuple, final Integer... envelopeIndexes) {
+        final List<WireEnvelope> emitted = this.tuples.get(tuple);
+
+        assertEquals(envelopeIndexes.length, emitted.size());
+
+        for (int i = 0; i < envelopeIndexes.length; i++) {
+            if (envelopeIndexes[i] == null) {
+                assertNull(emitted.get(i));
+            } else {
+                assertSame(this.envelopes.get(envelopeIndexes[i]), emitted.get(i));
+            }
+        }
+    }
+
+    private void thenTimeoutIsScheduled(final long windowMillis) {
+        verify(this.scheduler, times(1)).schedule(any(Runnable.class), eq(windowMillis), eq(TimeUnit.MILLISECONDS));
+    }
+
+    private void thenTimeoutIsCancelled() {
+        verify(this.timeoutFuture).cancel(false);
+    }
+
+    private void thenTimeoutOfGenerationIsCancelled(final int generation, final boolean cancelled) {
+        verify(this.scheduledTimeouts.get(generation), times(cancelled ? 1 : 0)).cancel(false);
+    }
+
+    private void thenLastEnvelopesAreEventuallyEmitted(final long timeoutMillis) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + timeoutMillis;
+
+        while (!this.emittedEnvelopes.containsAll(this.lastEnvelopes) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(this.emittedEnvelopes.containsAll(this.lastEnvelopes));
+    }
+
+    private void thenNoTimeoutIsScheduled() {
+        verify(this.scheduler, never()).schedule(any(Runnable.class), anyLong(), any());
+    }
+
+    /*
+     * Utilities
+     */
+
+    @SuppressWarnings("unchecked")
+    private Consumer<WireEnvelope> getPortConsumer(final int port) {
+        if (this.portConsumers.isEmpty()) {
+            for (final ReceiverPort receiverPort : this.ports) {
+                final ArgumentCaptor<Consumer<WireEnvelope>> captor = ArgumentCaptor.forClass(Consumer.class);
+                verify(receiverPort).onWireReceive(captor.capture());
+                this.portConsumers.add(captor.getValue());
+            }
+        }
+
+        return this.portConsumers.get(port);
+    }
+
+    private static Thread startThread(final CountDownLatch start, final Runnable task) {
+        final Thread thread = new Thread(() -> {
+            try {
+                start.await();
+                task.run();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread.start();
+        return thread;
+    }
+}
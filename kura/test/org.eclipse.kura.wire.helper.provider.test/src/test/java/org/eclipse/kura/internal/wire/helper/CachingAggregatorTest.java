@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.internal.wire.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.eclipse.kura.wire.WireEnvelope;
+import org.eclipse.kura.wire.graph.ReceiverPort;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class CachingAggregatorTest {
+
+    private final List<ReceiverPort> ports = new ArrayList<>();
+    private final List<Consumer<WireEnvelope>> portConsumers = new ArrayList<>();
+    private final List<List<WireEnvelope>> snapshots = new ArrayList<>();
+    private final List<WireEnvelope> envelopes = new ArrayList<>();
+
+    /*
+     * Scenarios
+     */
+
+    @Test
+    public void shouldEmitOnEachEnvelope() {
+        givenCachingAggregator(2);
+
+        whenEnvelopeReceived(0);
+        whenEnvelopeReceived(0);
+
+        thenEmittedSnapshotCount(2);
+    }
+
+    @Test
+    public void shouldEmitPartialSnapshot() {
+        givenCachingAggregator(2);
+
+        whenEnvelopeReceived(1);
+
+        thenSnapshotContains(0, null, 0);
+    }
+
+    @Test
+    public void shouldKeepLastEnvelopeOfEachPort() {
+        givenCachingAggregator(2);
+        givenEnvelopeReceived(0);
+        givenEnvelopeReceived(1);
+
+        whenEnvelopeReceived(0);
+
+        thenSnapshotContains(2, 2, 1);
+    }
+
+    @Test
+    public void shouldNotAlterAlreadyEmittedSnapshots() {
+        givenCachingAggregator(2);
+        givenEnvelopeReceived(0);
+
+        whenEnvelopeReceived(1);
+
+        thenSnapshotContains(0, 0, null);
+    }
+
+    /*
+     * Steps
+     */
+
+    /*
+     * Given
+     */
+
+    @SuppressWarnings("unchecked")
+    private void givenCachingAggregator(final int size) {
+        for (int i = 0; i < size; i++) {
+            this.ports.add(mock(ReceiverPort.class));
+        }
+
+        new CachingAggregator(this.ports).onWireReceive(this.snapshots::add);
+
+        for (final ReceiverPort port : this.ports) {
+            final ArgumentCaptor<Consumer<WireEnvelope>> captor = ArgumentCaptor.forClass(Consumer.class);
+            verify(port).onWireReceive(captor.capture());
+            this.portConsumers.add(captor.getValue());
+        }
+    }
+
+    private void givenEnvelopeReceived(final int port) {
+        whenEnvelopeReceived(port);
+    }
+
+    /*
+     * When
+     */
+
+    private void whenEnvelopeReceived(final int port) {
+        final WireEnvelope envelope = new WireEnvelope("emitter" + port, Collections.emptyList());
+        this.envelopes.add(envelope);
+        this.portConsumers.get(port).accept(envelope);
+    }
+
+    /*
+     * Then
+     */
+
+    private void thenEmittedSnapshotCount(final int count) {
+        assertEquals(count, this.snapshots.size());
+    }
+
+    private void thenSnapshotContains(final int snapshot, final Integer... envelopeIndexes) {
+        final List<WireEnvelope> emitted = this.snapshots.get(snapshot);
+
+        assertEquals(envelopeIndexes.length, emitted.size());
+
+        for (int i = 0; i < envelopeIndexes.length; i++) {
+            if (envelopeIndexes[i] == null) {
+                assertNull(emitted.get(i));
+            } else {
+                assertSame(this.envelopes.get(envelopeIndexes[i]), emitted.get(i));
+            }
+        }
+    }
+}
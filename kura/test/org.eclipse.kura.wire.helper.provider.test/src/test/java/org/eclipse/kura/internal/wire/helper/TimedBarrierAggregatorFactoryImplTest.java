@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.internal.wire.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.eclipse.kura.wire.WireEnvelope;
+import org.eclipse.kura.wire.graph.PortAggregator;
+import org.eclipse.kura.wire.graph.ReceiverPort;
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class TimedBarrierAggregatorFactoryImplTest {
+
+    private final TimedBarrierAggregatorFactoryImpl factory = new TimedBarrierAggregatorFactoryImpl();
+    private final List<ReceiverPort> ports = new ArrayList<>();
+    private final List<Consumer<WireEnvelope>> portConsumers = new ArrayList<>();
+    private final CompletableFuture<List<WireEnvelope>> tuple = new CompletableFuture<>();
+
+    private WireEnvelope envelope;
+    private PortAggregator aggregator;
+
+    /*
+     * Scenarios
+     */
+
+    @Test
+    public void shouldBuildBarrierAggregator() {
+        givenActivatedFactory();
+
+        whenAggregatorIsBuilt();
+
+        thenAggregatorIsBarrier();
+    }
+
+    @Test
+    public void shouldBuildBarrierAggregatorWithoutWindow() throws Exception {
+        givenActivatedFactory();
+        givenTimedAggregator(0);
+
+        whenEnvelopeReceived(0);
+
+        thenNoTupleIsEmittedWithin(200);
+    }
+
+    @Test
+    public void shouldEmitPartialTupleWhenWindowExpires() throws Exception {
+        givenActivatedFactory();
+        givenTimedAggregator(50);
+
+        whenEnvelopeReceived(0);
+
+        thenPartialTupleIsEmitted();
+    }
+
+    @Test
+    public void shouldNotEmitAfterDeactivation() throws Exception {
+        givenActivatedFactory();
+        givenTimedAggregator(50);
+        givenEnvelopeReceived(0);
+
+        whenFactoryIsDeactivated();
+
+        thenNoTupleIsEmittedWithin(200);
+    }
+
+    @After
+    public void cleanUp() {
+        this.factory.deactivate();
+    }
+
+    /*
+     * Steps
+     */
+
+    /*
+     * Given
+     */
+
+    private void givenActivatedFactory() {
+        this.factory.activate();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenTimedAggregator(final long windowMillis) {
+        givenPorts(2);
+        this.aggregator = this.factory.build(this.ports, windowMillis);
+        this.aggregator.onWireReceive(this.tuple::complete);
+
+        for (final ReceiverPort port : this.ports) {
+            final ArgumentCaptor<Consumer<WireEnvelope>> captor = ArgumentCaptor.forClass(Consumer.class);
+            verify(port).onWireReceive(captor.capture());
+            this.portConsumers.add(captor.getValue());
+        }
+    }
+
+    private void givenEnvelopeReceived(final int port) {
+        whenEnvelopeReceived(port);
+    }
+
+    private void givenPorts(final int size) {
+        for (int i = 0; i < size; i++) {
+            this.ports.add(mock(ReceiverPort.class));
+        }
+    }
+
+    /*
+     * When
+     */
+
+    private void whenAggregatorIsBuilt() {
+        givenPorts(2);
+        this.aggregator = this.factory.build(this.ports);
+    }
+
+    private void whenEnvelopeReceived(final int port) {
+        this.envelope = new WireEnvelope("emitter", Collections.emptyList());
+        this.portConsumers.get(port).accept(this.envelope);
+    }
+
+    private void whenFactoryIsDeactivated() {
+        this.factory.deactivate();
+    }
+
+    /*
+     * Then
+     */
+
+    private void thenAggregatorIsBarrier() {
+        assertTrue(this.aggregator instanceof BarrierAggregator);
+    }
+
+    private void thenPartialTupleIsEmitted() throws Exception {
+        final List<WireEnvelope> emitted = this.tuple.get(10, TimeUnit.SECONDS);
+
+        assertEquals(2, emitted.size());
+        assertSame(this.envelope, emitted.get(0));
+        assertNull(emitted.get(1));
+    }
+
+    private void thenNoTupleIsEmittedWithin(final long millis) throws Exception {
+        Thread.sleep(millis);
+
+        assertFalse(this.tuple.isDone());
+    }
+}
@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.internal.wire.helper;
+
+import static org.eclipse.kura.wire.graph.Constants.WIRE_EMITTER_PORT_PROP_NAME;
+import static org.eclipse.kura.wire.graph.Constants.WIRE_RECEIVER_PORT_PROP_NAME;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.Map;
+
+import org.eclipse.kura.wire.WireEmitter;
+import org.eclipse.kura.wire.WireEnvelope;
+import org.eclipse.kura.wire.WireReceiver;
+import org.junit.Test;
+import org.osgi.service.wireadmin.Wire;
+import org.osgi.service.wireadmin.WireConstants;
+
+public class WireSupportImplTest {
+
+    private final WireSupportRegistry registry = new WireSupportRegistry();
+    private final Map<String, WireReceiver> receivers = new HashMap<>();
+    private final Map<String, WireSupportImpl> receiverWireSupports = new HashMap<>();
+    private final Map<String, Wire> wires = new HashMap<>();
+
+    private WireSupportImpl emitterWireSupport;
+
+    /*
+     * Scenarios
+     */
+
+    @Test
+    public void shouldDeliverDirectlyToKnownReceiver() {
+        givenReceiver("receiver");
+        givenReceiverConnected("receiver");
+        givenEmitterConnectedTo("receiver");
+
+        whenEmit();
+
+        thenReceiverGotEnvelopes("receiver", 1);
+        thenWireAdminIsNotUsed("receiver");
+    }
+
+    @Test
+    public void shouldFallBackToWireAdminIfReceiverIsUnknown() {
+        givenEmitterConnectedTo("receiver");
+
+        whenEmit();
+
+        thenWireAdminIsUsed("receiver");
+    }
+
+    @Test
+    public void shouldFallBackToWireAdminIfReceiverIsNotAwareOfTheWire() {
+        givenReceiver("receiver");
+        givenEmitterConnectedTo("receiver");
+
+        whenEmit();
+
+        thenReceiverGotEnvelopes("receiver", 0);
+        thenWireAdminIsUsed("receiver");
+    }
+
+    @Test
+    public void shouldResolveReceiverRegisteredAfterTheWire() {
+        givenEmitterConnectedTo("receiver");
+        givenReceiver("receiver");
+        givenReceiverConnected("receiver");
+
+        whenEmit();
+
+        thenReceiverGotEnvelopes("receiver", 1);
+        thenWireAdminIsNotUsed("receiver");
+    }
+
+    @Test
+    public void shouldResolveNewReceiverInstance() {
+        givenReceiver("receiver");
+        givenReceiverConnected("receiver");
+        givenEmitterConnectedTo("receiver");
+        givenEmitted();
+        givenReceiverReplaced("receiver");
+        givenReceiverConnected("receiver");
+
+        whenEmit();
+
+        thenReceiverGotEnvelopes("receiver", 1);
+        thenWireAdminIsNotUsed("receiver");
+    }
+
+    @Test
+    public void shouldKeepDeliveringIfAReceiverFails() {
+        givenReceiver("failing");
+        givenReceiverConnected("failing");
+        givenReceiverFails("failing");
+        givenReceiver("receiver");
+        givenReceiverConnected("receiver");
+        givenEmitterConnectedTo("failing", "receiver");
+
+        whenEmit();
+
+        thenReceiverGotEnvelopes("failing", 1);
+        thenReceiverGotEnvelopes("receiver", 1);
+        thenWireAdminIsNotUsed("failing");
+    }
+
+    /*
+     * Steps
+     */
+
+    /*
+     * Given
+     */
+
+    private void givenReceiver(final String pid) {
+        final WireReceiver receiver = mock(WireReceiver.class);
+        final WireSupportImpl wireSupport = new WireSupportImpl(receiver, pid, pid, 1, 0, this.registry);
+
+        this.registry.register(pid, wireSupport);
+        this.receivers.put(pid, receiver);
+        this.receiverWireSupports.put(pid, wireSupport);
+    }
+
+    private void givenReceiverReplaced(final String pid) {
+        givenReceiver(pid);
+    }
+
+    private void givenReceiverConnected(final String pid) {
+        this.receiverWireSupports.get(pid).producersConnected(new Wire[] { getWire(pid) });
+    }
+
+    private void givenReceiverFails(final String pid) {
+        doThrow(new IllegalStateException("failure")).when(this.receivers.get(pid)).onWireReceive(any());
+    }
+
+    private void givenEmitterConnectedTo(final String... pids) {
+        this.emitterWireSupport = new WireSupportImpl(mock(WireEmitter.class), "emitter", "emitter", 0, 1,
+                this.registry);
+        this.registry.register("emitter", this.emitterWireSupport);
+
+        final Wire[] connected = new Wire[pids.length];
+
+        for (int i = 0; i < pids.length; i++) {
+            connected[i] = getWire(pids[i]);
+        }
+
+        this.emitterWireSupport.consumersConnected(connected);
+    }
+
+    private void givenEmitted() {
+        whenEmit();
+    }
+
+    /*
+     * When
+     */
+
+    private void whenEmit() {
+        this.emitterWireSupport.emit(Collections.emptyList());
+    }
+
+    /*
+     * Then
+     */
+
+    private void thenReceiverGotEnvelopes(final String pid, final int count) {
+        verify(this.receivers.get(pid), times(count)).onWireReceive(any(WireEnvelope.class));
+    }
+
+    private void thenWireAdminIsNotUsed(final String pid) {
+        verify(getWire(pid), never()).update(any());
+    }
+
+    private void thenWireAdminIsUsed(final String pid) {
+        verify(getWire(pid), times(1)).update(any(WireEnvelope.class));
+    }
+
+    /*
+     * Utilities
+     */
+
+    private Wire getWire(final String receiverPid) {
+        return this.wires.computeIfAbsent(receiverPid, pid -> {
+            final Hashtable<String, Object> properties = new Hashtable<>();
+            properties.put(WIRE_EMITTER_PORT_PROP_NAME.value(), 0);
+            properties.put(WIRE_RECEIVER_PORT_PROP_NAME.value(), 0);
+            properties.put(WireConstants.WIREADMIN_PRODUCER_PID, "emitter");
+            properties.put(WireConstants.WIREADMIN_CONSUMER_PID, pid);
+
+            final Wire wire = mock(Wire.class);
+            when(wire.getProperties()).thenReturn(properties);
+            when(wire.isConnected()).thenReturn(true);
+            return wire;
+        });
+    }
+}
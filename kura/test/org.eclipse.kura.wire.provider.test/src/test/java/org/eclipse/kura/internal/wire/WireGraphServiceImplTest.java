@@ -14,8 +14,10 @@ package org.eclipse.kura.internal.wire;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -29,6 +31,7 @@ import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
 
+import org.eclipse.kura.KuraErrorCode;
 import org.eclipse.kura.KuraException;
 import org.eclipse.kura.configuration.ComponentConfiguration;
 import org.eclipse.kura.configuration.ConfigurationService;
@@ -248,6 +251,158 @@ public class WireGraphServiceImplTest {
         }
     }
 
+    @Test
+    public void testWireGraphUpdateSkipsUnchangedComponents()
+            throws KuraException, NoSuchFieldException, InvalidSyntaxException {
+        ConfigurationService configurationService = mock(ConfigurationService.class);
+        WireAdmin wireAdmin = mock(WireAdmin.class);
+        when(wireAdmin.getWires(null)).thenReturn(new Wire[0]);
+
+        WireGraphServiceImpl wireGraphService = getWireGraphServiceImpl(new HashMap<>());
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(WIRE_GRAPH_PROPERTY_NAME, SIMPLE_GRAPH);
+
+        TestUtil.setFieldValue(wireGraphService, "configurationService", configurationService);
+        TestUtil.setFieldValue(wireGraphService, "wireAdmin", wireAdmin);
+
+        wireGraphService.activate(mock(ComponentContext.class), properties);
+
+        ServiceTracker<WireComponent, WireComponent> wireComponentServiceTracker = mock(ServiceTracker.class);
+        TestUtil.setFieldValue(wireGraphService, "wireComponentServiceTracker", wireComponentServiceTracker);
+
+        List<ComponentConfiguration> configServiceComponentConfigurations = new ArrayList<>();
+        configServiceComponentConfigurations.add(createEmitterComponentConfiguration());
+        configServiceComponentConfigurations.add(createReceiverComponentConfiguration());
+        when(configurationService.getComponentConfigurations(any())).thenReturn(configServiceComponentConfigurations);
+        when(configurationService.getComponentConfiguration(WIRE_SERVICE_PID))
+                .thenReturn(new ComponentConfigurationImpl(WIRE_SERVICE_PID, null, new HashMap<>()));
+
+        WireComponentConfiguration receiverWireComponentConfiguration = createReceiverWireComponentConfiguration();
+        receiverWireComponentConfiguration.getConfiguration().getConfigurationProperties().put("fakeProp1", "changed");
+
+        List<WireComponentConfiguration> wireComponentConfigurations = new ArrayList<>();
+        wireComponentConfigurations.add(createEmitterWireComponentConfiguration());
+        wireComponentConfigurations.add(receiverWireComponentConfiguration);
+
+        List<MultiportWireConfiguration> wireConfigurations = new ArrayList<>();
+        wireConfigurations.add(new MultiportWireConfiguration("emitterPid", "receiverPid", 0, 0));
+
+        final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+
+        wireGraphService.update(new WireGraphConfiguration(wireComponentConfigurations, wireConfigurations));
+
+        verify(configurationService).updateConfigurations(captor.capture(), eq(true));
+
+        List<ComponentConfiguration> arguments = captor.getValue();
+
+        assertEquals(2, arguments.size());
+        assertEquals("receiverPid", arguments.get(0).getPid());
+        assertEquals(WIRE_SERVICE_PID, arguments.get(1).getPid());
+    }
+
+    @Test
+    public void testWireGraphUpdateRollback() throws KuraException, NoSuchFieldException, InvalidSyntaxException {
+        ConfigurationService configurationService = mock(ConfigurationService.class);
+        WireAdmin wireAdmin = mock(WireAdmin.class);
+        when(wireAdmin.getWires(null)).thenReturn(new Wire[0]);
+
+        WireGraphServiceImpl wireGraphService = getWireGraphServiceImpl(new HashMap<>());
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(WIRE_GRAPH_PROPERTY_NAME, DEFAULT_GRAPH);
+
+        TestUtil.setFieldValue(wireGraphService, "configurationService", configurationService);
+        TestUtil.setFieldValue(wireGraphService, "wireAdmin", wireAdmin);
+
+        wireGraphService.activate(mock(ComponentContext.class), properties);
+
+        ServiceTracker<WireComponent, WireComponent> wireComponentServiceTracker = mock(ServiceTracker.class);
+        TestUtil.setFieldValue(wireGraphService, "wireComponentServiceTracker", wireComponentServiceTracker);
+
+        doThrow(new KuraException(KuraErrorCode.CONFIGURATION_ERROR)).when(configurationService)
+                .createFactoryConfiguration(eq("foo"), eq("receiverPid"), ArgumentMatchers.anyMap(), eq(false));
+
+        List<WireComponentConfiguration> wireComponentConfigurations = new ArrayList<>();
+        wireComponentConfigurations.add(createEmitterWireComponentConfiguration());
+        wireComponentConfigurations.add(createReceiverWireComponentConfiguration());
+
+        try {
+            wireGraphService.update(new WireGraphConfiguration(wireComponentConfigurations, new ArrayList<>()));
+            fail("update should have failed");
+        } catch (KuraException e) {
+            assertEquals(KuraErrorCode.CONFIGURATION_ERROR, e.getCode());
+        }
+
+        verify(configurationService, times(1)).deleteFactoryConfiguration("emitterPid", false);
+        verify(configurationService, times(0)).updateConfigurations(ArgumentMatchers.anyList(), eq(true));
+        assertEquals(DEFAULT_GRAPH, wireGraphService.marshal(wireGraphService.get()));
+    }
+
+    @Test
+    public void testWireGraphUpdateRollbackRestoresUpdatedConfigurations()
+            throws KuraException, NoSuchFieldException, InvalidSyntaxException {
+        ConfigurationService configurationService = mock(ConfigurationService.class);
+        WireGraphServiceImpl wireGraphService = givenActivatedWireGraphService(configurationService);
+
+        doThrow(new KuraException(KuraErrorCode.CONFIGURATION_ERROR)).doNothing().when(configurationService)
+                .updateConfigurations(ArgumentMatchers.anyList(), eq(true));
+
+        WireComponentConfiguration receiverWireComponentConfiguration = createReceiverWireComponentConfiguration();
+        receiverWireComponentConfiguration.getConfiguration().getConfigurationProperties().put("fakeProp1", "changed");
+
+        List<WireComponentConfiguration> wireComponentConfigurations = new ArrayList<>();
+        wireComponentConfigurations.add(createEmitterWireComponentConfiguration());
+        wireComponentConfigurations.add(receiverWireComponentConfiguration);
+
+        try {
+            wireGraphService.update(new WireGraphConfiguration(wireComponentConfigurations, new ArrayList<>()));
+            fail("update should have failed");
+        } catch (KuraException e) {
+            assertEquals(KuraErrorCode.CONFIGURATION_ERROR, e.getCode());
+        }
+
+        final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        verify(configurationService, times(2)).updateConfigurations(captor.capture(), eq(true));
+
+        List<ComponentConfiguration> restored = captor.getAllValues().get(1);
+
+        assertEquals(2, restored.size());
+        assertEquals("receiverPid", restored.get(0).getPid());
+        assertEquals("value2", restored.get(0).getConfigurationProperties().get("fakeProp1"));
+        assertEquals(WIRE_SERVICE_PID, restored.get(1).getPid());
+        assertEquals(SIMPLE_GRAPH, restored.get(1).getConfigurationProperties().get(WIRE_GRAPH_PROPERTY_NAME));
+    }
+
+    @Test
+    public void testWireGraphUpdateDetectsRemovedProperties()
+            throws KuraException, NoSuchFieldException, InvalidSyntaxException {
+        ConfigurationService configurationService = mock(ConfigurationService.class);
+        WireGraphServiceImpl wireGraphService = givenActivatedWireGraphService(configurationService);
+
+        WireComponentConfiguration receiverWireComponentConfiguration = createReceiverWireComponentConfiguration();
+        receiverWireComponentConfiguration.getConfiguration().getConfigurationProperties().remove("fakeProp1");
+
+        List<WireComponentConfiguration> wireComponentConfigurations = new ArrayList<>();
+        wireComponentConfigurations.add(createEmitterWireComponentConfiguration());
+        wireComponentConfigurations.add(receiverWireComponentConfiguration);
+
+        List<MultiportWireConfiguration> wireConfigurations = new ArrayList<>();
+        wireConfigurations.add(new MultiportWireConfiguration("emitterPid", "receiverPid", 0, 0));
+
+        final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+
+        wireGraphService.update(new WireGraphConfiguration(wireComponentConfigurations, wireConfigurations));
+
+        verify(configurationService).updateConfigurations(captor.capture(), eq(true));
+
+        List<ComponentConfiguration> arguments = captor.getValue();
+
+        assertEquals(2, arguments.size());
+        assertEquals("receiverPid", arguments.get(0).getPid());
+        assertEquals(WIRE_SERVICE_PID, arguments.get(1).getPid());
+    }
+
     @Test
     public void testGetWireGraph() throws NoSuchFieldException, KuraException {
         ConfigurationService configurationService = mock(ConfigurationService.class);
@@ -311,6 +466,34 @@ public class WireGraphServiceImplTest {
         assertEquals("{\"components\":[],\"wires\":[]}", arguments.get(WIRE_GRAPH_PROPERTY_NAME));
     }
 
+    private WireGraphServiceImpl givenActivatedWireGraphService(final ConfigurationService configurationService)
+            throws KuraException, NoSuchFieldException, InvalidSyntaxException {
+        WireAdmin wireAdmin = mock(WireAdmin.class);
+        when(wireAdmin.getWires(null)).thenReturn(new Wire[0]);
+
+        WireGraphServiceImpl wireGraphService = getWireGraphServiceImpl(new HashMap<>());
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(WIRE_GRAPH_PROPERTY_NAME, SIMPLE_GRAPH);
+
+        TestUtil.setFieldValue(wireGraphService, "configurationService", configurationService);
+        TestUtil.setFieldValue(wireGraphService, "wireAdmin", wireAdmin);
+
+        wireGraphService.activate(mock(ComponentContext.class), properties);
+
+        ServiceTracker<WireComponent, WireComponent> wireComponentServiceTracker = mock(ServiceTracker.class);
+        TestUtil.setFieldValue(wireGraphService, "wireComponentServiceTracker", wireComponentServiceTracker);
+
+        List<ComponentConfiguration> configServiceComponentConfigurations = new ArrayList<>();
+        configServiceComponentConfigurations.add(createEmitterComponentConfiguration());
+        configServiceComponentConfigurations.add(createReceiverComponentConfiguration());
+        when(configurationService.getComponentConfigurations(any())).thenReturn(configServiceComponentConfigurations);
+        when(configurationService.getComponentConfiguration(WIRE_SERVICE_PID))
+                .thenReturn(createWireGraphServiceComponentConfiguration());
+
+        return wireGraphService;
+    }
+
     private WireGraphServiceImpl getWireGraphServiceImpl(final Map<String, String> servicePidMappings) {
         WireGraphServiceImpl wireGraphService = new WireGraphServiceImpl() {
 
@@ -19,6 +19,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
+import org.eclipse.kura.wire.script.tools.EngineType;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -27,6 +28,7 @@ public class ConditionalComponentOptionsTest {
     private Map<String, Object> properties = new HashMap<>();
     private ConditionalComponentOptions options;
     private Optional<String> returnedBooleanExpression = Optional.empty();
+    private EngineType returnedEngineType;
 
     /*
      * Scenarios
@@ -61,6 +63,25 @@ public class ConditionalComponentOptionsTest {
         thenReturnedScriptSourceIsEmpty();
     }
 
+    @Test
+    public void shouldReturnDefaultEngineType() {
+        givenFilterComponentOptions();
+
+        whenGetEngineType();
+
+        thenReturnedEngineTypeIs(EngineType.JAVASCRIPT);
+    }
+
+    @Test
+    public void shouldReturnExpressionEngineType() {
+        givenEngineProperty("EXPRESSION");
+        givenFilterComponentOptions();
+
+        whenGetEngineType();
+
+        thenReturnedEngineTypeIs(EngineType.EXPRESSION);
+    }
+
     /*
      * Steps
      */
@@ -73,6 +94,10 @@ public class ConditionalComponentOptionsTest {
         this.properties.put(ConditionalComponentOptions.CONDITION_PROPERTY_KEY, booleanExpression);
     }
 
+    private void givenEngineProperty(String engine) {
+        this.properties.put(ConditionalComponentOptions.ENGINE_PROPERTY_KEY, engine);
+    }
+
     private void givenFilterComponentOptions() {
         this.options = new ConditionalComponentOptions(this.properties);
     }
@@ -85,6 +110,10 @@ public class ConditionalComponentOptionsTest {
         this.returnedBooleanExpression = this.options.getBooleanExpression();
     }
 
+    private void whenGetEngineType() {
+        this.returnedEngineType = this.options.getEngineType();
+    }
+
     /*
      * Then
      */
@@ -97,6 +126,10 @@ public class ConditionalComponentOptionsTest {
         assertFalse(this.returnedBooleanExpression.isPresent());
     }
 
+    private void thenReturnedEngineTypeIs(EngineType expectedResult) {
+        assertEquals(expectedResult, this.returnedEngineType);
+    }
+
     /*
      * Utilities
      */
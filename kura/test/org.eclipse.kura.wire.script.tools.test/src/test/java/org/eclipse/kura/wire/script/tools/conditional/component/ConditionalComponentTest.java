@@ -302,6 +302,58 @@ public class ConditionalComponentTest {
 
     }
 
+    @Test
+    public void expressionEngineTrue() {
+        givenProperty(ConditionalComponentOptions.ENGINE_PROPERTY_KEY, "EXPRESSION");
+        givenProperty(ConditionalComponentOptions.CONDITION_PROPERTY_KEY, "p1 != null && p1 * 2 > p2");
+        givenUpdated(this.properties);
+        givenInputWireRecord("p1", TypedValues.newIntegerValue(42), "p2", TypedValues.newDoubleValue(80.5));
+        givenInputWireEnvelope("test.pid.1");
+
+        whenOnWireReceive();
+
+        thenOutputTrue();
+    }
+
+    @Test
+    public void expressionEngineFalse() {
+        givenProperty(ConditionalComponentOptions.ENGINE_PROPERTY_KEY, "EXPRESSION");
+        givenProperty(ConditionalComponentOptions.CONDITION_PROPERTY_KEY, "p1 == p2");
+        givenUpdated(this.properties);
+        givenInputWireRecord("p1", TypedValues.newStringValue("ghrt5g5"), "p2", TypedValues.newStringValue("123"));
+        givenInputWireEnvelope("test.pid.1");
+
+        whenOnWireReceive();
+
+        thenOutputFalse();
+    }
+
+    @Test
+    public void expressionEngineResultIsNotBoolean() {
+        givenProperty(ConditionalComponentOptions.ENGINE_PROPERTY_KEY, "EXPRESSION");
+        givenProperty(ConditionalComponentOptions.CONDITION_PROPERTY_KEY, "p1 + p2");
+        givenUpdated(this.properties);
+        givenInputWireRecord("p1", TypedValues.newIntegerValue(42), "p2", TypedValues.newIntegerValue(0));
+        givenInputWireEnvelope("test.pid.1");
+
+        whenOnWireReceive();
+
+        thenNoOutputProvided();
+    }
+
+    @Test
+    public void expressionEngineSyntaxError() {
+        givenProperty(ConditionalComponentOptions.ENGINE_PROPERTY_KEY, "EXPRESSION");
+        givenProperty(ConditionalComponentOptions.CONDITION_PROPERTY_KEY, "p1 == (p2");
+        givenUpdated(this.properties);
+        givenInputWireRecord("p1", TypedValues.newIntegerValue(42), "p2", TypedValues.newIntegerValue(0));
+        givenInputWireEnvelope("test.pid.1");
+
+        whenOnWireReceive();
+
+        thenNoOutputProvided();
+    }
+
     /*
      * Steps
      */
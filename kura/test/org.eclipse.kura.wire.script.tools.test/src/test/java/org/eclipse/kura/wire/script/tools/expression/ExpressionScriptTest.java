@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.wire.script.tools.expression;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.eclipse.kura.type.TypedValue;
+import org.eclipse.kura.type.TypedValues;
+import org.eclipse.kura.wire.WireRecord;
+import org.junit.Test;
+
+public class ExpressionScriptTest {
+
+    private final Map<String, TypedValue<?>> properties = new HashMap<>();
+    private ExpressionScript script;
+    private WireRecord inputRecord;
+    private Optional<WireRecord> result;
+    private Exception occurredException;
+
+    /*
+     * Scenarios
+     */
+
+    @Test
+    public void shouldForwardMatchingRecordUnchanged() {
+        givenProperty("TEMP", TypedValues.newDoubleValue(35.0));
+        givenScript("TEMP != null && TEMP > 30");
+
+        whenApply();
+
+        thenInputRecordIsForwarded();
+    }
+
+    @Test
+    public void shouldDiscardNotMatchingRecord() {
+        givenProperty("TEMP", TypedValues.newDoubleValue(25.0));
+        givenScript("TEMP > 30");
+
+        whenApply();
+
+        thenRecordIsDiscarded();
+    }
+
+    @Test
+    public void shouldSetProperties() {
+        givenProperty("TEMP", TypedValues.newDoubleValue(35.0));
+        givenScript("// convert to fahrenheit\nTEMP_F = TEMP * 9 / 5 + 32\nHOT = TEMP_F > 90; COUNT = 1");
+
+        whenApply();
+
+        thenOutputContains("TEMP", TypedValues.newDoubleValue(35.0));
+        thenOutputContains("TEMP_F", TypedValues.newDoubleValue(95.0));
+        thenOutputContains("HOT", TypedValues.newBooleanValue(true));
+        thenOutputContains("COUNT", TypedValues.newIntegerValue(1));
+    }
+
+    @Test
+    public void shouldRemovePropertySetToNull() {
+        givenProperty("TEMP", TypedValues.newDoubleValue(35.0));
+        givenProperty("HUMIDITY", TypedValues.newDoubleValue(40.0));
+        givenScript("HUMIDITY = null");
+
+        whenApply();
+
+        thenOutputDoesNotContain("HUMIDITY");
+        thenOutputContains("TEMP", TypedValues.newDoubleValue(35.0));
+    }
+
+    @Test
+    public void shouldApplyConditionAfterAssignments() {
+        givenProperty("TEMP", TypedValues.newDoubleValue(20.0));
+        givenScript("TEMP_F = TEMP * 9 / 5 + 32; TEMP_F > 90");
+
+        whenApply();
+
+        thenRecordIsDiscarded();
+    }
+
+    @Test
+    public void shouldReportMissingSeparator() {
+        givenScript("A = 1 B = 2");
+
+        thenExceptionOccurred(ExpressionException.class);
+    }
+
+    @Test
+    public void shouldReportNonBooleanCondition() {
+        givenProperty("TEMP", TypedValues.newDoubleValue(20.0));
+        givenScript("TEMP + 1");
+
+        whenApply();
+
+        thenExceptionOccurred(ExpressionException.class);
+    }
+
+    /*
+     * Steps
+     */
+
+    /*
+     * Given
+     */
+
+    private void givenProperty(String key, TypedValue<?> value) {
+        this.properties.put(key, value);
+    }
+
+    private void givenScript(String source) {
+        try {
+            this.script = ExpressionScript.compile(source);
+        } catch (Exception e) {
+            this.occurredException = e;
+        }
+    }
+
+    /*
+     * When
+     */
+
+    private void whenApply() {
+        this.inputRecord = new WireRecord(this.properties);
+
+        try {
+            this.result = this.script.apply(this.inputRecord);
+        } catch (Exception e) {
+            this.occurredException = e;
+        }
+    }
+
+    /*
+     * Then
+     */
+
+    private void thenInputRecordIsForwarded() {
+        assertTrue(this.result.isPresent());
+        assertSame(this.inputRecord, this.result.get());
+    }
+
+    private void thenRecordIsDiscarded() {
+        assertFalse(this.result.isPresent());
+    }
+
+    private void thenOutputContains(String key, TypedValue<?> expectedValue) {
+        assertTrue(this.result.isPresent());
+        assertEquals(expectedValue, this.result.get().getProperties().get(key));
+    }
+
+    private void thenOutputDoesNotContain(String key) {
+        assertTrue(this.result.isPresent());
+        assertFalse(this.result.get().getProperties().containsKey(key));
+    }
+
+    private void thenExceptionOccurred(Class<? extends Exception> expectedException) {
+        assertTrue(expectedException.isInstance(this.occurredException));
+    }
+}
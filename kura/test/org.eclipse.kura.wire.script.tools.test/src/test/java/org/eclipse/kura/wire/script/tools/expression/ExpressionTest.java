@@ -0,0 +1,283 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.wire.script.tools.expression;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.kura.type.TypedValue;
+import org.eclipse.kura.type.TypedValues;
+import org.junit.Test;
+
+public class ExpressionTest {
+
+    private final Map<String, TypedValue<?>> properties = new HashMap<>();
+    private Expression expression;
+    private Object result;
+    private Exception occurredException;
+
+    /*
+     * Scenarios
+     */
+
+    @Test
+    public void shouldRespectOperatorPrecedence() {
+        givenExpression("1 + 2 * 3 - (4 - 2) / 2");
+
+        whenEvaluate();
+
+        thenResultIs(6);
+    }
+
+    @Test
+    public void shouldReadRecordProperties() {
+        givenProperty("TIMER", TypedValues.newLongValue(4500L));
+        givenExpression("TIMER != null && (TIMER / 1000) % 2 == 0");
+
+        whenEvaluate();
+
+        thenResultIs(true);
+    }
+
+    @Test
+    public void shouldReadPropertiesWithDotsInTheName() {
+        givenProperty("temperature.celsius", TypedValues.newDoubleValue(21.5));
+        givenExpression("temperature.celsius * 2 + property('temperature.celsius')");
+
+        whenEvaluate();
+
+        thenResultIs(64.5);
+    }
+
+    @Test
+    public void shouldEvaluateMissingPropertyAsNull() {
+        givenExpression("missing");
+
+        whenEvaluate();
+
+        thenResultIsNull();
+    }
+
+    @Test
+    public void shouldPromoteIntegerToLong() {
+        givenProperty("p1", TypedValues.newIntegerValue(2));
+        givenProperty("p2", TypedValues.newLongValue(3L));
+        givenExpression("p1 * p2");
+
+        whenEvaluate();
+
+        thenResultIs(6L);
+    }
+
+    @Test
+    public void shouldPromoteFloatToDouble() {
+        givenProperty("p1", TypedValues.newFloatValue(1.5f));
+        givenExpression("p1 / 2.0");
+
+        whenEvaluate();
+
+        thenResultIs(0.75);
+    }
+
+    @Test
+    public void shouldKeepFloatType() {
+        givenProperty("p1", TypedValues.newFloatValue(1.5f));
+        givenExpression("-p1 + 1");
+
+        whenEvaluate();
+
+        thenResultIs(-0.5f);
+    }
+
+    @Test
+    public void shouldUseIntegerDivision() {
+        givenExpression("7 / 2");
+
+        whenEvaluate();
+
+        thenResultIs(3);
+    }
+
+    @Test
+    public void shouldCompareNumbersOfDifferentTypes() {
+        givenProperty("p1", TypedValues.newLongValue(42L));
+        givenProperty("p2", TypedValues.newDoubleValue(42.0));
+        givenExpression("p1 == p2 && p1 >= 42 && p1 < 42.5");
+
+        whenEvaluate();
+
+        thenResultIs(true);
+    }
+
+    @Test
+    public void shouldConcatenateStrings() {
+        givenProperty("p1", TypedValues.newStringValue("hello"));
+        givenExpression("p1 + \" world \" + 1");
+
+        whenEvaluate();
+
+        thenResultIs("hello world 1");
+    }
+
+    @Test
+    public void shouldCompareStrings() {
+        givenProperty("p1", TypedValues.newStringValue("abc"));
+        givenExpression("p1 < 'abd' && p1 == 'abc'");
+
+        whenEvaluate();
+
+        thenResultIs(true);
+    }
+
+    @Test
+    public void shouldCompareByteArrays() {
+        givenProperty("p1", TypedValues.newByteArrayValue(new byte[] { 1, 2 }));
+        givenProperty("p2", TypedValues.newByteArrayValue(new byte[] { 1, 2 }));
+        givenExpression("p1 == p2");
+
+        whenEvaluate();
+
+        thenResultIs(true);
+    }
+
+    @Test
+    public void shouldEvaluateConditionalOperator() {
+        givenProperty("p1", TypedValues.newIntegerValue(-3));
+        givenExpression("p1 < 0 ? 'negative' : 'positive'");
+
+        whenEvaluate();
+
+        thenResultIs("negative");
+    }
+
+    @Test
+    public void shouldShortCircuitLogicalOperators() {
+        givenExpression("exists('p1') && p1 > 0");
+
+        whenEvaluate();
+
+        thenResultIs(false);
+    }
+
+    @Test
+    public void shouldEvaluateFunctions() {
+        givenProperty("p1", TypedValues.newDoubleValue(2.5));
+        givenExpression("abs(-2) + max(1, 3) + min(4, 5) + round(p1) + floor(p1) + ceil(p1) + sqrt(4) + pow(2, 3)");
+
+        whenEvaluate();
+
+        thenResultIs(27.0);
+    }
+
+    @Test
+    public void shouldReportSyntaxError() {
+        givenExpression("p1 == (p2");
+
+        thenExceptionOccurred(ExpressionException.class);
+    }
+
+    @Test
+    public void shouldReportUnknownFunction() {
+        givenExpression("foo(1)");
+
+        thenExceptionOccurred(ExpressionException.class);
+    }
+
+    @Test
+    public void shouldReportConstantErrorsAtCompileTime() {
+        givenExpression("1 / 0");
+
+        thenExceptionOccurred(ExpressionException.class);
+    }
+
+    @Test
+    public void shouldReportTypeErrorAtEvaluation() {
+        givenProperty("p1", TypedValues.newStringValue("abc"));
+        givenExpression("p1 > 2");
+
+        whenEvaluate();
+
+        thenExceptionOccurred(ExpressionException.class);
+    }
+
+    @Test
+    public void shouldReportNonBooleanCondition() {
+        givenExpression("missing + 1");
+
+        whenTest();
+
+        thenExceptionOccurred(ExpressionException.class);
+    }
+
+    /*
+     * Steps
+     */
+
+    /*
+     * Given
+     */
+
+    private void givenProperty(String key, TypedValue<?> value) {
+        this.properties.put(key, value);
+    }
+
+    private void givenExpression(String source) {
+        try {
+            this.expression = Expression.compile(source);
+        } catch (Exception e) {
+            this.occurredException = e;
+        }
+    }
+
+    /*
+     * When
+     */
+
+    private void whenEvaluate() {
+        try {
+            this.result = this.expression.evaluate(this.properties);
+        } catch (Exception e) {
+            this.occurredException = e;
+        }
+    }
+
+    private void whenTest() {
+        try {
+            this.result = this.expression.test(this.properties);
+        } catch (Exception e) {
+            this.occurredException = e;
+        }
+    }
+
+    /*
+     * Then
+     */
+
+    private void thenResultIs(Object expectedResult) {
+        assertNull(this.occurredException);
+        assertEquals(expectedResult, this.result);
+    }
+
+    private void thenResultIsNull() {
+        assertNull(this.occurredException);
+        assertNull(this.result);
+    }
+
+    private void thenExceptionOccurred(Class<? extends Exception> expectedException) {
+        assertTrue(expectedException.isInstance(this.occurredException));
+    }
+}
@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Eurotech and/or its affiliates and others
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *  Eurotech
+ *******************************************************************************/
+package org.eclipse.kura.wire.script.tools.filter.component;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.kura.type.TypedValue;
+import org.eclipse.kura.type.TypedValues;
+import org.eclipse.kura.wire.WireEnvelope;
+import org.eclipse.kura.wire.WireHelperService;
+import org.eclipse.kura.wire.WireRecord;
+import org.eclipse.kura.wire.WireSupport;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.osgi.service.component.ComponentContext;
+
+public class ExpressionEngineTest {
+
+    private ArgumentCaptor<Object> outputCaptor = ArgumentCaptor.forClass(Object.class);
+    private WireSupport wireSupport = mock(WireSupport.class);
+    private WireHelperService wireHelperService = mock(WireHelperService.class);
+
+    private FilterComponent filterComponent;
+    private Map<String, Object> properties = new HashMap<>();
+    private List<WireRecord> inputRecords = new LinkedList<>();
+
+    public ExpressionEngineTest() {
+        this.filterComponent = new FilterComponent();
+
+        when(this.wireHelperService.newWireSupport(any(), any())).thenReturn(this.wireSupport);
+        this.filterComponent.bindWireHelperService(this.wireHelperService);
+
+        ComponentContext context = mock(ComponentContext.class);
+        this.filterComponent.activate(context, new HashMap<String, Object>());
+    }
+
+    /*
+     * Scenarios
+     */
+
+    @Test
+    public void shouldEmitOnlyMatchingRecords() {
+        givenExpressionScript("TEMP > 30");
+        givenInputWireRecord("TEMP", TypedValues.newDoubleValue(35.0));
+        givenInputWireRecord("TEMP", TypedValues.newDoubleValue(25.0));
+        givenInputWireRecord("TEMP", TypedValues.newDoubleValue(40.0));
+
+        whenOnWireReceive();
+
+        thenOutputRecordCountIs(2);
+        thenOutputRecordContains(0, "TEMP", TypedValues.newDoubleValue(35.0));
+        thenOutputRecordContains(1, "TEMP", TypedValues.newDoubleValue(40.0));
+    }
+
+    @Test
+    public void shouldEmitComputedProperties() {
+        givenExpressionScript("TEMP_F = TEMP * 9 / 5 + 32");
+        givenInputWireRecord("TEMP", TypedValues.newDoubleValue(35.0));
+
+        whenOnWireReceive();
+
+        thenOutputRecordCountIs(1);
+        thenOutputRecordContains(0, "TEMP_F", TypedValues.newDoubleValue(95.0));
+    }
+
+    @Test
+    public void shouldDropRecordsThatCannotBeEvaluated() {
+        givenExpressionScript("TEMP > 30");
+        givenInputWireRecord("TEMP", TypedValues.newStringValue("hot"));
+        givenInputWireRecord("TEMP", TypedValues.newDoubleValue(40.0));
+
+        whenOnWireReceive();
+
+        thenOutputRecordCountIs(1);
+        thenOutputRecordContains(0, "TEMP", TypedValues.newDoubleValue(40.0));
+    }
+
+    @Test
+    public void shouldNotEmitIfNoRecordMatches() {
+        givenExpressionScript("TEMP > 30");
+        givenInputWireRecord("TEMP", TypedValues.newDoubleValue(25.0));
+
+        whenOnWireReceive();
+
+        thenNoOutputIsEmitted();
+    }
+
+    @Test
+    public void shouldNotEmitIfScriptDoesNotCompile() {
+        givenExpressionScript("TEMP > (30");
+        givenInputWireRecord("TEMP", TypedValues.newDoubleValue(35.0));
+
+        whenOnWireReceive();
+
+        thenNoOutputIsEmitted();
+    }
+
+    /*
+     * Steps
+     */
+
+    /*
+     * Given
+     */
+
+    private void givenExpressionScript(String script) {
+        this.properties.put(FilterComponentOptions.ENGINE_KEY, "EXPRESSION");
+        this.properties.put(FilterComponentOptions.SCRIPT_KEY, script);
+        this.filterComponent.updated(this.properties);
+    }
+
+    private void givenInputWireRecord(String propertyKey, TypedValue<?> propertyValue) {
+        Map<String, TypedValue<?>> inputProperty = new HashMap<>();
+        inputProperty.put(propertyKey, propertyValue);
+        this.inputRecords.add(new WireRecord(inputProperty));
+    }
+
+    /*
+     * When
+     */
+
+    private void whenOnWireReceive() {
+        this.filterComponent.onWireReceive(new WireEnvelope("test.pid", this.inputRecords));
+    }
+
+    /*
+     * Then
+     */
+
+    @SuppressWarnings("unchecked")
+    private void thenOutputRecordCountIs(int expectedCount) {
+        verify(this.wireSupport).emit((List<WireRecord>) this.outputCaptor.capture());
+        assertEquals(expectedCount, ((List<WireRecord>) this.outputCaptor.getValue()).size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void thenOutputRecordContains(int index, String propertyKey, TypedValue<?> expectedValue) {
+        List<WireRecord> outputRecords = (List<WireRecord>) this.outputCaptor.getValue();
+        assertEquals(expectedValue, outputRecords.get(index).getProperties().get(propertyKey));
+    }
+
+    private void thenNoOutputIsEmitted() {
+        verify(this.wireSupport, never()).emit(any());
+    }
+}
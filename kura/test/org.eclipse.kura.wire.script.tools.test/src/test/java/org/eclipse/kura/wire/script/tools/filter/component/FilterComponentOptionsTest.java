@@ -19,6 +19,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
+import org.eclipse.kura.wire.script.tools.EngineType;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -28,6 +29,7 @@ public class FilterComponentOptionsTest {
     private FilterComponentOptions options;
     private Optional<String> returnedScriptSource = Optional.empty();
     private boolean returnedIsScriptContextDrop;
+    private EngineType returnedEngineType;
 
     /*
      * Scenarios
@@ -101,6 +103,35 @@ public class FilterComponentOptionsTest {
         thenReturnedScriptSourceIsEmpty();
     }
 
+    @Test
+    public void shouldReturnDefaultEngineType() {
+        givenFilterComponentOptions();
+
+        whenGetEngineType();
+
+        thenReturnedEngineTypeIs(EngineType.JAVASCRIPT);
+    }
+
+    @Test
+    public void shouldReturnExpressionEngineType() {
+        givenEngineProperty("EXPRESSION");
+        givenFilterComponentOptions();
+
+        whenGetEngineType();
+
+        thenReturnedEngineTypeIs(EngineType.EXPRESSION);
+    }
+
+    @Test
+    public void shouldReturnDefaultEngineTypeIfNotValid() {
+        givenEngineProperty("python");
+        givenFilterComponentOptions();
+
+        whenGetEngineType();
+
+        thenReturnedEngineTypeIs(EngineType.JAVASCRIPT);
+    }
+
     /*
      * Steps
      */
@@ -117,6 +148,10 @@ public class FilterComponentOptionsTest {
         this.properties.put(FilterComponentOptions.SCRIPT_CONTEXT_DROP_KEY, contextDrop);
     }
 
+    private void givenEngineProperty(String engine) {
+        this.properties.put(FilterComponentOptions.ENGINE_KEY, engine);
+    }
+
     private void givenFilterComponentOptions() {
         this.options = new FilterComponentOptions(this.properties);
     }
@@ -133,6 +168,10 @@ public class FilterComponentOptionsTest {
         this.returnedIsScriptContextDrop = this.options.isScriptContextDrop();
     }
 
+    private void whenGetEngineType() {
+        this.returnedEngineType = this.options.getEngineType();
+    }
+
     /*
      * Then
      */
@@ -149,6 +188,10 @@ public class FilterComponentOptionsTest {
         assertEquals(expectedResult, this.returnedIsScriptContextDrop);
     }
 
+    private void thenReturnedEngineTypeIs(EngineType expectedResult) {
+        assertEquals(expectedResult, this.returnedEngineType);
+    }
+
     /*
      * Utilities
      */